@@ -8,6 +8,8 @@ import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(name = "report_configurations")
 @Getter
@@ -55,4 +57,7 @@ public class ReportConfiguration extends BaseEntity {
 
     @Column(name = "is_active", nullable = false)
     private Boolean active = true;
+
+    @Column(name = "next_run_at")
+    private LocalDateTime nextRunAt;
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.inventory.system.common.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A report or dataset export run in the background. The resolved request is kept as JSON
+ * together with its hash, which identifies identical in-flight jobs; the finished file lives
+ * in object storage under {@code fileKey} until {@code expiresAt}.
+ */
+@Entity
+@Table(name = "report_jobs")
+@Getter
+@Setter
+public class ReportJob extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "report_type", nullable = false)
+    private ReportType reportType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "output_format", nullable = false)
+    private ReportOutputFormat outputFormat = ReportOutputFormat.CSV;
+
+    @Column(name = "dataset")
+    private String dataset;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReportJobStatus status = ReportJobStatus.QUEUED;
+
+    @Column(name = "request_json", columnDefinition = "TEXT")
+    private String requestJson;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "requested_at", nullable = false)
+    private LocalDateTime requestedAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "rows_written", nullable = false)
+    private long rowsWritten;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @Column(name = "file_key")
+    private String fileKey;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+}
@@ -0,0 +1,9 @@
+package com.inventory.system.common.entity;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    EXPIRED
+}
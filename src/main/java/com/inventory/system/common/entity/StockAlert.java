@@ -0,0 +1,60 @@
+package com.inventory.system.common.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A replenishment rule that is currently breached: available-to-promise at or below its
+ * minimum, or above its maximum. Rows are written only by {@code StockAlertEvaluator}, which
+ * re-evaluates the affected rules whenever stock, reservations or the rules change.
+ */
+@Entity
+@Table(name = "stock_alerts", uniqueConstraints = @UniqueConstraint(
+        name = "ux_stock_alerts_rule", columnNames = {"tenant_id", "replenishment_rule_id"}))
+@Getter
+@Setter
+public class StockAlert extends BaseEntity {
+
+    @Column(name = "replenishment_rule_id", nullable = false)
+    private UUID replenishmentRuleId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_variant_id", nullable = false)
+    private ProductVariant productVariant;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "warehouse_id", nullable = false)
+    private Warehouse warehouse;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StockAlertStatus status;
+
+    @Column(name = "current_stock", nullable = false, precision = 19, scale = 6)
+    private BigDecimal currentStock;
+
+    @Column(name = "min_stock", nullable = false, precision = 19, scale = 6)
+    private BigDecimal minStock;
+
+    @Column(name = "max_stock", nullable = false, precision = 19, scale = 6)
+    private BigDecimal maxStock;
+
+    @Column(name = "suggested_quantity", nullable = false, precision = 19, scale = 6)
+    private BigDecimal suggestedQuantity;
+
+    @Column(name = "evaluated_at", nullable = false)
+    private LocalDateTime evaluatedAt;
+}
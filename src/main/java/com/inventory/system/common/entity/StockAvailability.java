@@ -0,0 +1,51 @@
+package com.inventory.system.common.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Materialized available-to-promise per variant and warehouse, kept current in the same
+ * transaction as stock movements and reservation changes. The row with nil location and
+ * batch keys is the warehouse total; rows with a location and/or batch key track that
+ * inventory position on its own so position-level reservations can be checked as well.
+ */
+@Entity
+@Table(name = "stock_availability", uniqueConstraints = @UniqueConstraint(
+        name = "ux_stock_availability_key",
+        columnNames = {"tenant_id", "product_variant_id", "warehouse_id", "location_key", "batch_key"}))
+@Getter
+@Setter
+public class StockAvailability extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_variant_id", nullable = false)
+    private ProductVariant productVariant;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "warehouse_id", nullable = false)
+    private Warehouse warehouse;
+
+    @Column(name = "location_key", nullable = false)
+    private UUID locationKey;
+
+    @Column(name = "batch_key", nullable = false)
+    private UUID batchKey;
+
+    /** AVAILABLE stock on hand. */
+    @Column(name = "on_hand", nullable = false, precision = 19, scale = 6)
+    private BigDecimal onHand;
+
+    /** Quantity held by ACTIVE and PENDING reservations. */
+    @Column(nullable = false, precision = 19, scale = 6)
+    private BigDecimal reserved;
+}
@@ -0,0 +1,55 @@
+package com.inventory.system.common.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Daily rollup of the movement ledger: the summed quantity and cost of one movement type for
+ * one variant at one warehouse on one day. Maintained in the same transaction as the
+ * movements it counts, so date-range reports can read it instead of {@code stock_movements}.
+ */
+@Entity
+@Table(name = "stock_movement_daily_totals", uniqueConstraints = @UniqueConstraint(
+        name = "ux_stock_movement_daily_totals_key",
+        columnNames = {"tenant_id", "product_variant_id", "warehouse_id", "movement_date", "movement_type"}))
+@Getter
+@Setter
+public class StockMovementDailyTotal extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_variant_id", nullable = false)
+    private ProductVariant productVariant;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "warehouse_id", nullable = false)
+    private Warehouse warehouse;
+
+    @Column(name = "movement_date", nullable = false)
+    private LocalDate movementDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "movement_type", nullable = false, length = 50)
+    private StockMovement.StockMovementType movementType;
+
+    /** Sum of the movements' quantities as recorded (adjustments keep their sign). */
+    @Column(nullable = false, precision = 19, scale = 6)
+    private BigDecimal quantity;
+
+    @Column(name = "total_cost", nullable = false, precision = 19, scale = 6)
+    private BigDecimal totalCost;
+
+    @Column(name = "movement_count", nullable = false)
+    private long movementCount;
+}
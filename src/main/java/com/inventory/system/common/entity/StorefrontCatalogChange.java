@@ -0,0 +1,29 @@
+package com.inventory.system.common.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * One storefront catalog version: the product template it changed, or none when the change
+ * can affect any product (a category edit). Catalog indexes replay the versions they have
+ * not seen to reload only the changed templates. Only the most recent versions are kept.
+ */
+@Entity
+@Table(name = "storefront_catalog_changes", indexes = @Index(
+        name = "idx_storefront_catalog_changes_version", columnList = "tenant_id, version"))
+@Getter
+@Setter
+public class StorefrontCatalogChange extends BaseEntity {
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "product_template_id")
+    private UUID productTemplateId;
+}
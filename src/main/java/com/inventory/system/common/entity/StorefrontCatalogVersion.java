@@ -0,0 +1,25 @@
+package com.inventory.system.common.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The current version of a tenant's storefront catalog. It is incremented, with a row lock,
+ * in the same transaction as every change to published products, images or categories, so
+ * versions commit in order and an instance can tell from one lookup whether its catalog
+ * index is current. Written only by {@code StorefrontCatalogChangeRecorder}.
+ */
+@Entity
+@Table(name = "storefront_catalog_versions", uniqueConstraints = @UniqueConstraint(
+        name = "ux_storefront_catalog_versions_tenant", columnNames = {"tenant_id"}))
+@Getter
+@Setter
+public class StorefrontCatalogVersion extends BaseEntity {
+
+    @Column(nullable = false)
+    private long version;
+}
@@ -0,0 +1,24 @@
+package com.inventory.system.common.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The current version of a tenant's storefront CMS pages, incremented in the same
+ * transaction as every page create, update or delete. Public page responses use it as their
+ * HTTP validator. Written only by {@code StorefrontCmsVersionRecorder}.
+ */
+@Entity
+@Table(name = "storefront_cms_versions", uniqueConstraints = @UniqueConstraint(
+        name = "ux_storefront_cms_versions_tenant", columnNames = {"tenant_id"}))
+@Getter
+@Setter
+public class StorefrontCmsVersion extends BaseEntity {
+
+    @Column(nullable = false)
+    private long version;
+}
@@ -0,0 +1,38 @@
+package com.inventory.system.common.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * A lower-case storefront product slug and the product it names: a template slug when
+ * {@code productVariantId} is null, otherwise the slug of one variant. Slugs a product no
+ * longer uses are kept with {@code isCurrent = false} so old links can be redirected.
+ * Maintained by {@code StorefrontProductSlugIndexer}.
+ */
+@Entity
+@Table(name = "storefront_product_slugs",
+        uniqueConstraints = @UniqueConstraint(name = "ux_storefront_product_slugs_slug", columnNames = {"tenant_id", "slug"}),
+        indexes = @Index(name = "idx_storefront_product_slugs_template", columnList = "tenant_id, product_template_id"))
+@Getter
+@Setter
+public class StorefrontProductSlug extends BaseEntity {
+
+    @Column(nullable = false)
+    private String slug;
+
+    @Column(name = "product_template_id", nullable = false)
+    private UUID productTemplateId;
+
+    @Column(name = "product_variant_id")
+    private UUID productVariantId;
+
+    @Column(name = "is_current", nullable = false)
+    private Boolean isCurrent = true;
+}
@@ -8,10 +8,14 @@ import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 
+// Dynamic updates keep unrelated edits from overwriting used_capacity, which
+// WarehouseCapacityTracker maintains with relative UPDATEs.
 @Entity
+@DynamicUpdate
 @Table(name = "warehouses")
 @Getter
 @Setter
@@ -10,8 +10,11 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.util.UriUtils;
 import org.springframework.transaction.UnexpectedRollbackException;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -48,6 +51,22 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(new ApiResponse<>(false, ex.getMessage()), HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Old product links answer with a permanent redirect to the product's current slug.
+     */
+    @ExceptionHandler(StorefrontProductMovedException.class)
+    public ResponseEntity<ApiResponse<Map<String, String>>> handleStorefrontProductMovedException(StorefrontProductMovedException ex) {
+        return ResponseEntity.status(HttpStatus.MOVED_PERMANENTLY)
+                .location(URI.create("/api/v1/storefront/public/products/"
+                        + UriUtils.encodePathSegment(ex.getSlug(), StandardCharsets.UTF_8)))
+                .body(ApiResponse.<Map<String, String>>builder()
+                        .status(HttpStatus.MOVED_PERMANENTLY.value())
+                        .success(false)
+                        .message(ex.getMessage())
+                        .data(Map.of("slug", ex.getSlug()))
+                        .build());
+    }
+
     /**
      * Fail-closed: a tenant configured for a dedicated database could not be
      * served. We deliberately return 503 (Service Unavailable) and NEVER fall
@@ -0,0 +1,18 @@
+package com.inventory.system.common.exception;
+
+import lombok.Getter;
+
+/**
+ * A storefront product was requested by a slug it no longer uses; {@code slug} is the one
+ * it uses now.
+ */
+@Getter
+public class StorefrontProductMovedException extends RuntimeException {
+
+    private final String slug;
+
+    public StorefrontProductMovedException(String slug) {
+        super("Storefront product moved to slug " + slug);
+        this.slug = slug;
+    }
+}
@@ -1,6 +1,7 @@
 package com.inventory.system.config;
 
 import com.inventory.system.config.filter.RequestCorrelationFilter;
+import com.inventory.system.config.tenant.StorefrontHostTenantCache;
 import com.inventory.system.config.tenant.TenantContextFilter;
 import com.inventory.system.security.JwtService;
 import com.inventory.system.service.StorefrontDomainService;
@@ -32,9 +33,10 @@ public class WebConfiguration {
     public FilterRegistrationBean<TenantContextFilter> tenantContextFilter(
             EntityManager entityManager,
             StorefrontDomainService storefrontDomainService,
+            StorefrontHostTenantCache storefrontHostTenantCache,
             JwtService jwtService) {
         FilterRegistrationBean<TenantContextFilter> registrationBean = new FilterRegistrationBean<>();
-        registrationBean.setFilter(new TenantContextFilter(entityManager, storefrontDomainService, jwtService));
+        registrationBean.setFilter(new TenantContextFilter(entityManager, storefrontDomainService, storefrontHostTenantCache, jwtService));
         registrationBean.addUrlPatterns("/api/*");
         registrationBean.setOrder(-101);
         return registrationBean;
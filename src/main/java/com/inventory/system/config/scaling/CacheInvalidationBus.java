@@ -0,0 +1,77 @@
+package com.inventory.system.config.scaling;
+
+import com.inventory.system.payload.CacheInvalidationMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Drops keys of in-process caches on every instance. Caches register a handler under their
+ * name; {@link #invalidate} runs the handlers of this instance right away and, when
+ * {@code app.scaling.enabled}, broadcasts the key over the RabbitMQ cache invalidation
+ * exchange so {@link CacheInvalidationWorker} runs them on the other instances too.
+ *
+ * <p>Delivery is best effort: a broadcast that cannot be sent is logged, so caches that rely
+ * on it should still bound how long an entry lives.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus {
+
+    private final ObjectProvider<RabbitTemplate> rabbitTemplateProvider;
+    private final boolean scalingEnabled;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, List<Consumer<String>>> handlers = new ConcurrentHashMap<>();
+
+    public CacheInvalidationBus(ObjectProvider<RabbitTemplate> rabbitTemplateProvider,
+                                @Value("${app.scaling.enabled:false}") boolean scalingEnabled) {
+        this.rabbitTemplateProvider = rabbitTemplateProvider;
+        this.scalingEnabled = scalingEnabled;
+    }
+
+    /**
+     * Runs {@code handler} with the key of every invalidation of {@code cache}, local or remote.
+     */
+    public void register(String cache, Consumer<String> handler) {
+        handlers.computeIfAbsent(cache, ignored -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    /**
+     * Drops {@code key} from {@code cache} on this instance and on every other instance.
+     */
+    public void invalidate(String cache, String key) {
+        evict(cache, key);
+        RabbitTemplate rabbit = scalingEnabled ? rabbitTemplateProvider.getIfAvailable() : null;
+        if (rabbit == null) {
+            return;
+        }
+        try {
+            rabbit.convertAndSend(RabbitConfig.CACHE_INVALIDATION_EXCHANGE, "",
+                    new CacheInvalidationMessage(instanceId, cache, key));
+        } catch (RuntimeException ex) {
+            log.warn("Could not broadcast invalidation of {} key {}: {}", cache, key, ex.getMessage());
+        }
+    }
+
+    void receive(CacheInvalidationMessage message) {
+        if (message == null || message.getCache() == null || instanceId.equals(message.getOrigin())) {
+            return;
+        }
+        evict(message.getCache(), message.getKey());
+    }
+
+    private void evict(String cache, String key) {
+        for (Consumer<String> handler : handlers.getOrDefault(cache, List.of())) {
+            handler.accept(key);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.inventory.system.config.scaling;
+
+import com.inventory.system.payload.CacheInvalidationMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies cache invalidations broadcast by other instances. Each instance listens on its own
+ * anonymous queue bound to the fanout exchange, so every instance receives every message.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.scaling.enabled", havingValue = "true")
+public class CacheInvalidationWorker {
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    @RabbitListener(queues = "#{cacheInvalidationQueue.name}")
+    public void onInvalidation(CacheInvalidationMessage message) {
+        cacheInvalidationBus.receive(message);
+    }
+}
@@ -1,8 +1,10 @@
 package com.inventory.system.config.scaling;
 
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.rabbit.annotation.EnableRabbit;
@@ -15,9 +17,13 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
- * RabbitMQ topology for async Shopify sync. Only created when {@code app.scaling.enabled}
- * — without it (dev/test) no listener containers start, so no broker connection is needed.
- * A dead-letter queue captures jobs that exhaust retries for later inspection.
+ * RabbitMQ topology for async Shopify sync and background report jobs. Only created when
+ * {@code app.scaling.enabled} — without it (dev/test) no listener containers start, so no
+ * broker connection is needed. A dead-letter queue per job type captures jobs that exhaust
+ * retries for later inspection.
+ *
+ * <p>Cache invalidations are fanned out to one exclusive, auto-deleted queue per instance,
+ * so every running instance sees each message once and nothing piles up for stopped ones.
  */
 @Configuration
 @EnableRabbit
@@ -30,6 +36,14 @@ public class RabbitConfig {
     public static final String DLQ = "masterinventory.shopify.sync.dlq";
     public static final String DLQ_ROUTING_KEY = "shopify.sync.dlq";
 
+    public static final String REPORT_EXCHANGE = "masterinventory.reports";
+    public static final String REPORT_QUEUE = "masterinventory.reports.jobs";
+    public static final String REPORT_ROUTING_KEY = "reports.job";
+    public static final String REPORT_DLQ = "masterinventory.reports.jobs.dlq";
+    public static final String REPORT_DLQ_ROUTING_KEY = "reports.job.dlq";
+
+    public static final String CACHE_INVALIDATION_EXCHANGE = "masterinventory.cache-invalidation";
+
     @Bean
     public DirectExchange shopifyExchange() {
         return new DirectExchange(EXCHANGE, true, false);
@@ -58,6 +72,49 @@ public class RabbitConfig {
         return BindingBuilder.bind(shopifySyncDlq).to(shopifyExchange).with(DLQ_ROUTING_KEY);
     }
 
+    @Bean
+    public DirectExchange reportExchange() {
+        return new DirectExchange(REPORT_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public Queue reportJobQueue() {
+        return QueueBuilder.durable(REPORT_QUEUE)
+                .withArgument("x-dead-letter-exchange", REPORT_EXCHANGE)
+                .withArgument("x-dead-letter-routing-key", REPORT_DLQ_ROUTING_KEY)
+                .build();
+    }
+
+    @Bean
+    public Queue reportJobDlq() {
+        return QueueBuilder.durable(REPORT_DLQ).build();
+    }
+
+    @Bean
+    public Binding reportJobBinding(Queue reportJobQueue, DirectExchange reportExchange) {
+        return BindingBuilder.bind(reportJobQueue).to(reportExchange).with(REPORT_ROUTING_KEY);
+    }
+
+    @Bean
+    public Binding reportJobDlqBinding(Queue reportJobDlq, DirectExchange reportExchange) {
+        return BindingBuilder.bind(reportJobDlq).to(reportExchange).with(REPORT_DLQ_ROUTING_KEY);
+    }
+
+    @Bean
+    public FanoutExchange cacheInvalidationExchange() {
+        return new FanoutExchange(CACHE_INVALIDATION_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public Queue cacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding cacheInvalidationBinding(Queue cacheInvalidationQueue, FanoutExchange cacheInvalidationExchange) {
+        return BindingBuilder.bind(cacheInvalidationQueue).to(cacheInvalidationExchange);
+    }
+
     @Bean
     public MessageConverter jacksonMessageConverter() {
         return new Jackson2JsonMessageConverter();
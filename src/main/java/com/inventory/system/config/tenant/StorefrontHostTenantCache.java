@@ -0,0 +1,147 @@
+package com.inventory.system.config.tenant;
+
+import com.inventory.system.config.scaling.CacheInvalidationBus;
+import com.inventory.system.service.StorefrontDomainService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process cache of storefront host to tenant resolutions for {@link TenantContextFilter},
+ * so storefront requests find their tenant without a database lookup. Hosts that resolve to
+ * no tenant are cached as well, so traffic on unknown hosts does not reach the database
+ * either.
+ *
+ * <p>The cache holds at most {@code app.storefront.host-cache.max-entries} (default 10000)
+ * hosts and drops the least recently used first. A host's entry is dropped on every instance
+ * through the {@link CacheInvalidationBus} when a storefront domain with that hostname is
+ * added, verified, activated or removed, and a tenant's platform host when the tenant is
+ * created, renamed, activated, deactivated or deleted (see
+ * {@code StorefrontHostTenantCacheInvalidator}). Resolved entries live at most
+ * {@code app.storefront.host-cache.ttl-seconds} (default 300) and unknown hosts
+ * {@code app.storefront.host-cache.negative-ttl-seconds} (default 60), which bounds staleness
+ * should an invalidation be lost.
+ */
+@Component
+public class StorefrontHostTenantCache {
+
+    public static final String CACHE = "storefront.host-tenants";
+
+    private record Entry(String tenantId, long expiresAtMillis) {}
+
+    private final StorefrontDomainService storefrontDomainService;
+    private final CacheInvalidationBus invalidationBus;
+    private final Map<String, Entry> entries;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final Counter hits;
+    private final Counter misses;
+
+    public StorefrontHostTenantCache(StorefrontDomainService storefrontDomainService,
+                                     CacheInvalidationBus invalidationBus,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.storefront.host-cache.max-entries:10000}") int maxEntries,
+                                     @Value("${app.storefront.host-cache.ttl-seconds:300}") long ttlSeconds,
+                                     @Value("${app.storefront.host-cache.negative-ttl-seconds:60}") long negativeTtlSeconds) {
+        this.storefrontDomainService = storefrontDomainService;
+        this.invalidationBus = invalidationBus;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.negativeTtlMillis = negativeTtlSeconds * 1000L;
+        this.hits = Counter.builder("storefront.host.cache.hits")
+                .description("Storefront host resolutions served from the cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("storefront.host.cache.misses")
+                .description("Storefront host resolutions that queried the domain tables")
+                .register(meterRegistry);
+        invalidationBus.register(CACHE, this::evict);
+    }
+
+    /**
+     * The tenant serving {@code host}, or empty when no tenant does.
+     */
+    public Optional<String> resolve(String host) {
+        String key = normalize(host);
+        if (key == null) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        Entry cached = entries.get(key);
+        if (cached != null && cached.expiresAtMillis() > now) {
+            hits.increment();
+            return Optional.ofNullable(cached.tenantId());
+        }
+        misses.increment();
+        long generation = invalidations.get();
+        String tenantId = storefrontDomainService.resolveTenantIdForHost(key).orElse(null);
+        long ttl = tenantId != null ? ttlMillis : negativeTtlMillis;
+        if (ttl > 0) {
+            Entry entry = new Entry(tenantId, now + ttl);
+            entries.put(key, entry);
+            if (invalidations.get() != generation) {
+                entries.remove(key, entry);
+            }
+        }
+        return Optional.ofNullable(tenantId);
+    }
+
+    /**
+     * Drops the resolutions of {@code hostnames} on every instance.
+     */
+    public void invalidate(Collection<String> hostnames) {
+        for (String hostname : hostnames) {
+            String key = normalize(hostname);
+            if (key != null) {
+                invalidationBus.invalidate(CACHE, key);
+            }
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict(String host) {
+        invalidations.incrementAndGet();
+        if (host != null) {
+            entries.remove(host);
+        }
+    }
+
+    /**
+     * Lower-cases the host and strips any scheme, port or path, as domain resolution does.
+     */
+    static String normalize(String host) {
+        if (host == null || host.isBlank()) {
+            return null;
+        }
+        String normalized = host.trim().toLowerCase(Locale.ROOT);
+        int scheme = normalized.indexOf("://");
+        if (scheme >= 0) {
+            normalized = normalized.substring(scheme + 3);
+        }
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c == ':' || c == '/') {
+                normalized = normalized.substring(0, i);
+                break;
+            }
+        }
+        return normalized.isEmpty() ? null : normalized;
+    }
+}
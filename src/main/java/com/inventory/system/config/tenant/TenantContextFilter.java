@@ -24,11 +24,14 @@ public class TenantContextFilter implements Filter {
 
     private final EntityManager entityManager;
     private final StorefrontDomainService storefrontDomainService;
+    private final StorefrontHostTenantCache storefrontHostTenantCache;
     private final JwtService jwtService;
 
-    public TenantContextFilter(EntityManager entityManager, StorefrontDomainService storefrontDomainService, JwtService jwtService) {
+    public TenantContextFilter(EntityManager entityManager, StorefrontDomainService storefrontDomainService,
+                               StorefrontHostTenantCache storefrontHostTenantCache, JwtService jwtService) {
         this.entityManager = entityManager;
         this.storefrontDomainService = storefrontDomainService;
+        this.storefrontHostTenantCache = storefrontHostTenantCache;
         this.jwtService = jwtService;
     }
 
@@ -120,7 +123,7 @@ public class TenantContextFilter implements Filter {
                 requestHost = override;
             }
         }
-        return storefrontDomainService.resolveTenantIdForHost(requestHost).orElse(null);
+        return storefrontHostTenantCache.resolve(requestHost).orElse(null);
     }
 
     private String resolveTenantId(HttpServletRequest request) {
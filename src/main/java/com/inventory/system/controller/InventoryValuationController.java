@@ -4,6 +4,9 @@ import com.inventory.system.payload.ApiResponse;
 import com.inventory.system.payload.InventoryValuationReportDto;
 import com.inventory.system.service.InventoryValuationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -26,4 +29,12 @@ public class InventoryValuationController {
         List<InventoryValuationReportDto> report = valuationService.getValuationReport(warehouseId);
         return ResponseEntity.ok(ApiResponse.success(report));
     }
+
+    @GetMapping("/paged")
+    public ResponseEntity<ApiResponse<Page<InventoryValuationReportDto>>> getValuationReportPage(
+            @RequestParam(required = false) UUID warehouseId,
+            @PageableDefault(size = 100) Pageable pageable) {
+        Page<InventoryValuationReportDto> report = valuationService.getValuationReport(warehouseId, pageable);
+        return ResponseEntity.ok(ApiResponse.success(report));
+    }
 }
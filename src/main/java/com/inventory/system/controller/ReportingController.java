@@ -7,6 +7,8 @@ import com.inventory.system.common.entity.SalesOrderStatus;
 import com.inventory.system.payload.AgingAnalysisReportDto;
 import com.inventory.system.payload.ApiResponse;
 import com.inventory.system.payload.CurrentStockReportDto;
+import com.inventory.system.payload.CursorPageDto;
+import com.inventory.system.payload.DailyMovementSummaryDto;
 import com.inventory.system.payload.DataExchangeDataset;
 import com.inventory.system.payload.DataExchangeTemplateDto;
 import com.inventory.system.payload.DataImportHistoryDto;
@@ -14,9 +16,9 @@ import com.inventory.system.payload.DataImportValidationResultDto;
 import com.inventory.system.payload.GenerateReportRequest;
 import com.inventory.system.payload.GeneratedReportDto;
 import com.inventory.system.payload.PurchaseOrderReportDto;
-import com.inventory.system.payload.ReportFileDto;
 import com.inventory.system.payload.ReportConfigurationDto;
 import com.inventory.system.payload.ReportExecutionHistoryDto;
+import com.inventory.system.payload.ReportJobDto;
 import com.inventory.system.payload.ReportShareDto;
 import com.inventory.system.payload.SalesOrderReportDto;
 import com.inventory.system.payload.ShareReportRequest;
@@ -25,11 +27,16 @@ import com.inventory.system.payload.SupplierPerformanceReportDto;
 import com.inventory.system.payload.WebhookDeliveryDto;
 import com.inventory.system.payload.WebhookEndpointDto;
 import com.inventory.system.service.DataExchangeService;
+import com.inventory.system.service.ReportJobService;
 import com.inventory.system.service.ReportSharingService;
 import com.inventory.system.service.ReportingService;
 import com.inventory.system.service.WebhookService;
+import com.inventory.system.service.reporting.export.ReportExport;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -45,7 +52,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
@@ -59,6 +68,7 @@ public class ReportingController {
         private final ReportSharingService reportSharingService;
         private final DataExchangeService dataExchangeService;
         private final WebhookService webhookService;
+        private final ReportJobService reportJobService;
 
     @GetMapping("/configurations")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'USER', 'VIEWER')")
@@ -121,6 +131,18 @@ public class ReportingController {
                 "Current stock report retrieved successfully"));
     }
 
+    @GetMapping("/standard/current-stock/cursor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'USER', 'VIEWER')")
+    public ResponseEntity<ApiResponse<CursorPageDto<CurrentStockReportDto>>> getCurrentStockByCursor(
+            @RequestParam(required = false) UUID warehouseId,
+            @RequestParam(required = false) UUID productVariantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(ApiResponse.success(
+                reportingService.getCurrentStockReportByCursor(warehouseId, productVariantId, cursor, size),
+                "Current stock report retrieved successfully"));
+    }
+
     @GetMapping("/standard/stock-movements")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'USER', 'VIEWER')")
     public ResponseEntity<ApiResponse<List<StockMovementReportDto>>> getStockMovements(
@@ -133,6 +155,18 @@ public class ReportingController {
                 "Stock movement report retrieved successfully"));
     }
 
+    @GetMapping("/standard/stock-movements/daily")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'USER', 'VIEWER')")
+    public ResponseEntity<ApiResponse<List<DailyMovementSummaryDto>>> getDailyMovementSummary(
+            @RequestParam(required = false) UUID warehouseId,
+            @RequestParam(required = false) UUID productVariantId,
+            @RequestParam(required = false) LocalDate fromDate,
+            @RequestParam(required = false) LocalDate toDate) {
+        return ResponseEntity.ok(ApiResponse.success(
+                reportingService.getDailyMovementSummary(warehouseId, productVariantId, fromDate, toDate),
+                "Daily movement summary retrieved successfully"));
+    }
+
     @GetMapping("/standard/aging-analysis")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'USER', 'VIEWER')")
     public ResponseEntity<ApiResponse<List<AgingAnalysisReportDto>>> getAgingAnalysis(
@@ -170,11 +204,12 @@ public class ReportingController {
 
     @GetMapping("/standard/supplier-performance")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'USER', 'VIEWER')")
-    public ResponseEntity<ApiResponse<List<SupplierPerformanceReportDto>>> getSupplierPerformance(
+    public ResponseEntity<ApiResponse<Page<SupplierPerformanceReportDto>>> getSupplierPerformance(
             @RequestParam(required = false) LocalDate fromDate,
-            @RequestParam(required = false) LocalDate toDate) {
+            @RequestParam(required = false) LocalDate toDate,
+            @PageableDefault(size = 50) Pageable pageable) {
         return ResponseEntity.ok(ApiResponse.success(
-                reportingService.getSupplierPerformanceReport(fromDate, toDate),
+                reportingService.getSupplierPerformanceReport(fromDate, toDate, pageable),
                 "Supplier performance report retrieved successfully"));
     }
 
@@ -188,13 +223,63 @@ public class ReportingController {
 
     @PostMapping("/builder/export")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'USER', 'VIEWER')")
-        public ResponseEntity<byte[]> exportReport(@RequestBody GenerateReportRequest request) {
-                ReportFileDto file = reportingService.exportReportFile(request);
-                MediaType mediaType = MediaType.parseMediaType(file.getContentType());
+        public ResponseEntity<StreamingResponseBody> exportReport(@RequestBody GenerateReportRequest request) {
+                ReportExport export = reportingService.prepareReportExport(request);
+                StreamingResponseBody body = output -> reportingService.writeReportExport(export, output);
         return ResponseEntity.ok()
-                .contentType(mediaType)
-                                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
-                                .body(file.getContent());
+                .contentType(MediaType.parseMediaType(export.contentType()))
+                                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + export.fileName() + "\"")
+                                .body(body);
+    }
+
+    @PostMapping("/jobs")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'USER', 'VIEWER')")
+    public ResponseEntity<ApiResponse<ReportJobDto>> submitReportJob(@RequestBody GenerateReportRequest request) {
+        return new ResponseEntity<>(ApiResponse.success(
+                reportJobService.submitReport(request),
+                "Report job submitted successfully"), HttpStatus.ACCEPTED);
+    }
+
+    @PostMapping("/jobs/data-exchange/{dataset}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'USER', 'VIEWER')")
+    public ResponseEntity<ApiResponse<ReportJobDto>> submitDatasetJob(@PathVariable DataExchangeDataset dataset) {
+        return new ResponseEntity<>(ApiResponse.success(
+                reportJobService.submitDataset(dataset),
+                "Dataset export job submitted successfully"), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/jobs")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'USER', 'VIEWER')")
+    public ResponseEntity<ApiResponse<List<ReportJobDto>>> getReportJobs() {
+        return ResponseEntity.ok(ApiResponse.success(
+                reportJobService.getJobs(),
+                "Report jobs retrieved successfully"));
+    }
+
+    @GetMapping("/jobs/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'USER', 'VIEWER')")
+    public ResponseEntity<ApiResponse<ReportJobDto>> getReportJob(@PathVariable UUID id) {
+        return ResponseEntity.ok(ApiResponse.success(
+                reportJobService.getJob(id),
+                "Report job retrieved successfully"));
+    }
+
+    @GetMapping("/jobs/{id}/download")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'USER', 'VIEWER')")
+    public ResponseEntity<StreamingResponseBody> downloadReportJob(@PathVariable UUID id) {
+        ReportJobService.Download download = reportJobService.download(id);
+        StreamingResponseBody body = output -> {
+            try (InputStream content = download.content()) {
+                content.transferTo(output);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(download.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + download.fileName() + "\"");
+        if (download.size() != null) {
+            response.contentLength(download.size());
+        }
+        return response.body(body);
     }
 
         @GetMapping("/configurations/{id}/shares")
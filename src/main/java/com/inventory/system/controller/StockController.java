@@ -1,8 +1,11 @@
 package com.inventory.system.controller;
 
 import com.inventory.system.payload.ApiResponse;
+import com.inventory.system.payload.CursorPageDto;
 import com.inventory.system.payload.StockAlertDto;
 import com.inventory.system.payload.StockAdjustmentDto;
+import com.inventory.system.payload.StockBatchAdjustmentRequest;
+import com.inventory.system.payload.StockBatchAdjustmentResultDto;
 import com.inventory.system.payload.StockDto;
 import com.inventory.system.payload.StockMovementDto;
 import com.inventory.system.service.ReplenishmentService;
@@ -11,6 +14,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -19,6 +23,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @RestController
@@ -56,6 +61,12 @@ public class StockController {
         return ResponseEntity.ok(ApiResponse.success(movement, "Stock adjusted successfully"));
     }
 
+    @PostMapping("/adjust/batch")
+    public ResponseEntity<ApiResponse<StockBatchAdjustmentResultDto>> adjustStockBatch(@Valid @RequestBody StockBatchAdjustmentRequest request) {
+        StockBatchAdjustmentResultDto result = stockService.adjustStockBatch(request.getLines());
+        return ResponseEntity.ok(ApiResponse.success(result, "Stock adjusted successfully"));
+    }
+
     @GetMapping("/movements")
     public ResponseEntity<ApiResponse<Page<StockMovementDto>>> getStockMovements(
             @RequestParam(required = false) UUID warehouseId,
@@ -65,6 +76,19 @@ public class StockController {
         return ResponseEntity.ok(ApiResponse.success(movements, "Stock movements retrieved successfully"));
     }
 
+    @GetMapping("/movements/cursor")
+    public ResponseEntity<ApiResponse<CursorPageDto<StockMovementDto>>> getStockMovementsByCursor(
+            @RequestParam(required = false) UUID warehouseId,
+            @RequestParam(required = false) UUID productVariantId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        CursorPageDto<StockMovementDto> movements = stockService.getStockMovementsByCursor(
+                warehouseId, productVariantId, from, to, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(movements, "Stock movements retrieved successfully"));
+    }
+
     @GetMapping("/alerts")
     public ResponseEntity<ApiResponse<java.util.List<StockAlertDto>>> getStockAlerts(@RequestParam UUID warehouseId) {
         java.util.List<StockAlertDto> alerts = replenishmentService.getStockAlerts(warehouseId);
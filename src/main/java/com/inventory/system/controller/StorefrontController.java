@@ -35,7 +35,11 @@ import com.inventory.system.common.exception.ResourceNotFoundException;
 import com.inventory.system.config.tenant.TenantContext;
 import com.inventory.system.service.FileStorageService;
 import com.inventory.system.service.StorefrontService;
+import com.inventory.system.service.storefront.StorefrontPublishedConfig;
+import com.inventory.system.service.storefront.StorefrontResponseValidators;
+import com.inventory.system.service.storefront.StorefrontSurrogateKeys;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.MediaType;
 import org.springframework.http.MediaTypeFactory;
@@ -49,11 +53,15 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -67,6 +75,7 @@ public class StorefrontController {
     private final StorefrontService storefrontService;
     private final FileStorageService fileStorageService;
     private final com.inventory.system.service.VirtualTryOnService virtualTryOnService;
+    private final StorefrontResponseValidators storefrontResponseValidators;
 
     @GetMapping("/config")
     @PreAuthorize("hasAuthority('MENU:ANALYTICS')")
@@ -278,8 +287,9 @@ public class StorefrontController {
     }
 
     @GetMapping("/public/config")
-    public ResponseEntity<ApiResponse<StorefrontConfigDto>> getPublicConfig() {
-        return ResponseEntity.ok(ApiResponse.success(storefrontService.getPublicConfig()));
+    public ResponseEntity<ApiResponse<StorefrontConfigDto>> getPublicConfig(WebRequest webRequest) {
+        StorefrontPublishedConfig published = storefrontService.getPublishedConfig();
+        return conditional(webRequest, storefrontResponseValidators.config(published), published::config);
     }
 
     @GetMapping("/domains/caddy/validate")
@@ -290,8 +300,8 @@ public class StorefrontController {
     }
 
     @GetMapping("/public/collections")
-    public ResponseEntity<ApiResponse<List<StorefrontCollectionDto>>> getPublicCollections() {
-        return ResponseEntity.ok(ApiResponse.success(storefrontService.getPublicCollections()));
+    public ResponseEntity<ApiResponse<List<StorefrontCollectionDto>>> getPublicCollections(WebRequest webRequest) {
+        return conditional(webRequest, storefrontResponseValidators.collections(), storefrontService::getPublicCollections);
     }
 
     @GetMapping("/public/products")
@@ -300,8 +310,10 @@ public class StorefrontController {
             @RequestParam(required = false, name = "collection") String collectionSlug,
             @RequestParam(required = false) String sort,
             @RequestParam(required = false) Integer page,
-            @RequestParam(required = false) Integer size) {
-        return ResponseEntity.ok(ApiResponse.success(storefrontService.getPublicProducts(query, collectionSlug, sort, page, size)));
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        return conditional(webRequest, storefrontResponseValidators.products(),
+                () -> storefrontService.getPublicProducts(query, collectionSlug, sort, page, size));
     }
 
     @org.springframework.web.bind.annotation.PostMapping("/public/cart/preview")
@@ -337,13 +349,15 @@ public class StorefrontController {
     }
 
     @GetMapping("/public/products/{slug}")
-    public ResponseEntity<ApiResponse<StorefrontProductDto>> getPublicProduct(@PathVariable String slug) {
-        return ResponseEntity.ok(ApiResponse.success(storefrontService.getPublicProduct(slug)));
+    public ResponseEntity<ApiResponse<StorefrontProductDto>> getPublicProduct(@PathVariable String slug, WebRequest webRequest) {
+        return conditional(webRequest, storefrontResponseValidators.products(),
+                () -> storefrontService.getPublicProduct(slug),
+                product -> StorefrontSurrogateKeys.product(TenantContext.getTenantId(), product.getProductTemplateId()));
     }
 
     @GetMapping("/public/pages/{slug}")
-    public ResponseEntity<ApiResponse<StorefrontCmsPageDto>> getPublicCmsPage(@PathVariable String slug) {
-        return ResponseEntity.ok(ApiResponse.success(storefrontService.getPublicCmsPage(slug)));
+    public ResponseEntity<ApiResponse<StorefrontCmsPageDto>> getPublicCmsPage(@PathVariable String slug, WebRequest webRequest) {
+        return conditional(webRequest, storefrontResponseValidators.page(slug), () -> storefrontService.getPublicCmsPage(slug));
     }
 
     @org.springframework.web.bind.annotation.PostMapping("/public/account/login/request")
@@ -395,4 +409,32 @@ public class StorefrontController {
         }
         return authorization.trim();
     }
+
+    private <T> ResponseEntity<ApiResponse<T>> conditional(WebRequest webRequest,
+                                                           Optional<StorefrontResponseValidators.Validators> validators,
+                                                           Supplier<T> body) {
+        return conditional(webRequest, validators, body, null);
+    }
+
+    /**
+     * Answers a public GET with 304 when the request's validators still match, before the
+     * body is built, and otherwise attaches the validators, Cache-Control and surrogate keys
+     * to the response. {@code surrogateKey} adds a key that is only known from the body.
+     */
+    private <T> ResponseEntity<ApiResponse<T>> conditional(WebRequest webRequest,
+                                                           Optional<StorefrontResponseValidators.Validators> validators,
+                                                           Supplier<T> body,
+                                                           Function<T, String> surrogateKey) {
+        if (validators.isEmpty()) {
+            return ResponseEntity.ok(ApiResponse.success(body.get()));
+        }
+        if (validators.get().notModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(validators.get().headers()).build();
+        }
+        T value = body.get();
+        StorefrontResponseValidators.Validators sent = surrogateKey != null && value != null
+                ? validators.get().withSurrogateKey(surrogateKey.apply(value))
+                : validators.get();
+        return ResponseEntity.ok().headers(sent.headers()).body(ApiResponse.success(value));
+    }
 }
@@ -0,0 +1,18 @@
+package com.inventory.system.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/** Message body broadcast to every instance to drop one key of an in-process cache. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationMessage implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private String origin;
+    private String cache;
+    private String key;
+}
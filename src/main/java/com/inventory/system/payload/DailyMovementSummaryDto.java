@@ -0,0 +1,16 @@
+package com.inventory.system.payload;
+
+import com.inventory.system.common.entity.StockMovement;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class DailyMovementSummaryDto {
+    private LocalDate movementDate;
+    private StockMovement.StockMovementType type;
+    private BigDecimal quantity;
+    private BigDecimal totalCost;
+    private long movementCount;
+}
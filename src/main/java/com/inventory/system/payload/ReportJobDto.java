@@ -0,0 +1,28 @@
+package com.inventory.system.payload;
+
+import com.inventory.system.common.entity.ReportJobStatus;
+import com.inventory.system.common.entity.ReportOutputFormat;
+import com.inventory.system.common.entity.ReportType;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+public class ReportJobDto {
+    private UUID id;
+    private ReportType reportType;
+    private ReportOutputFormat outputFormat;
+    private String dataset;
+    private ReportJobStatus status;
+    private LocalDateTime requestedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime expiresAt;
+    private long rowsWritten;
+    private String fileName;
+    private String contentType;
+    private Long fileSize;
+    private String errorMessage;
+    private String createdBy;
+}
@@ -0,0 +1,17 @@
+package com.inventory.system.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/** Message body for a claimed report job consumed by the RabbitMQ worker. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobMessage implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private String tenantId;
+    private String jobId;
+}
@@ -0,0 +1,21 @@
+package com.inventory.system.payload;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Many stock adjustments applied atomically by stockService.adjustStockBatch(...).
+ */
+@Data
+public class StockBatchAdjustmentRequest {
+
+    @NotEmpty(message = "At least one adjustment line is required")
+    @Size(max = 50000, message = "A batch may contain at most 50000 lines")
+    @Valid
+    private List<StockAdjustmentDto> lines = new ArrayList<>();
+}
@@ -0,0 +1,11 @@
+package com.inventory.system.payload;
+
+import lombok.Data;
+
+@Data
+public class StockBatchAdjustmentResultDto {
+    private int totalLines;
+    private int movementsCreated;
+    /** Distinct stock positions whose quantity changed (lines on the same position are netted). */
+    private int positionsUpdated;
+}
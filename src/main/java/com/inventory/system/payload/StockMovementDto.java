@@ -27,4 +27,6 @@ public class StockMovementDto {
     private LocalDateTime createdAt;
     private String createdBy;
     private List<String> serialNumbers;
+    /** On-hand quantity of the adjusted position after the movement; set only on adjustment responses. */
+    private BigDecimal resultingQuantity;
 }
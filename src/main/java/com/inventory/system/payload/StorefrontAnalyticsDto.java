@@ -15,6 +15,10 @@ public class StorefrontAnalyticsDto {
     private BigDecimal totalRevenue;
     private BigDecimal averageOrderValue;
     private long newCustomers;
+    /** New customers who also placed a storefront order in the range. */
+    private long convertedCustomers;
+    /** {@code convertedCustomers} as a percentage of {@code newCustomers}. */
+    private BigDecimal conversionRate;
     private List<StatusBreakdown> ordersByStatus;
     private List<TopProduct> topProducts;
     private List<DailyRevenue> dailyRevenue;
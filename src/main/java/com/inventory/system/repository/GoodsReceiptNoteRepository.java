@@ -1,10 +1,15 @@
 package com.inventory.system.repository;
 
 import com.inventory.system.common.entity.GoodsReceiptNote;
+import com.inventory.system.repository.projection.SupplierReceiptStats;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.UUID;
 
 @Repository
@@ -12,4 +17,15 @@ public interface GoodsReceiptNoteRepository extends JpaRepository<GoodsReceiptNo
     boolean existsByGrnNumber(String grnNumber);
 
     java.util.List<GoodsReceiptNote> findByPurchaseOrderId(UUID purchaseOrderId);
+
+    @Query("SELECT g.supplier.id AS supplierId, COUNT(g) AS receiptCount, " +
+            "SUM(CASE WHEN o.expectedDeliveryDate IS NOT NULL AND CAST(g.receivedDate AS LocalDate) <= o.expectedDeliveryDate " +
+            "THEN 1 ELSE 0 END) AS onTimeCount, " +
+            "AVG((g.receivedDate - o.orderDate) BY DAY) AS averageLeadTimeDays " +
+            "FROM GoodsReceiptNote g JOIN g.purchaseOrder o " +
+            "WHERE g.supplier.id IN :supplierIds AND g.receivedDate BETWEEN :from AND :to " +
+            "GROUP BY g.supplier.id")
+    java.util.List<SupplierReceiptStats> summarizeBySupplier(@Param("supplierIds") Collection<UUID> supplierIds,
+                                                            @Param("from") LocalDateTime from,
+                                                            @Param("to") LocalDateTime to);
 }
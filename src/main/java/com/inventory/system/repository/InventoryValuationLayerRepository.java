@@ -2,24 +2,55 @@ package com.inventory.system.repository;
 
 import com.inventory.system.common.entity.InventoryValuationLayer;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 public interface InventoryValuationLayerRepository extends JpaRepository<InventoryValuationLayer, UUID> {
 
+    // Open-layer cursor pages: only layers with quantity left, in consumption order, keyset
+    // paginated on (receivedDate, id) and served by idx_valuation_layers_open.
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM InventoryValuationLayer l WHERE l.productVariant.id = :productVariantId AND l.warehouse.id = :warehouseId " +
+            "AND l.quantityRemaining > 0 ORDER BY l.receivedDate ASC, l.id ASC")
+    List<InventoryValuationLayer> findOpenLayersFifo(@Param("productVariantId") UUID productVariantId,
+                                                     @Param("warehouseId") UUID warehouseId,
+                                                     Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM InventoryValuationLayer l WHERE l.productVariant.id = :productVariantId AND l.warehouse.id = :warehouseId " +
+            "AND l.quantityRemaining > 0 AND (l.receivedDate > :afterDate OR (l.receivedDate = :afterDate AND l.id > :afterId)) " +
+            "ORDER BY l.receivedDate ASC, l.id ASC")
+    List<InventoryValuationLayer> findOpenLayersFifoAfter(@Param("productVariantId") UUID productVariantId,
+                                                          @Param("warehouseId") UUID warehouseId,
+                                                          @Param("afterDate") LocalDateTime afterDate,
+                                                          @Param("afterId") UUID afterId,
+                                                          Pageable pageable);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT l FROM InventoryValuationLayer l WHERE l.productVariant.id = :productVariantId AND l.warehouse.id = :warehouseId AND l.quantityRemaining > 0 ORDER BY l.receivedDate ASC")
-    List<InventoryValuationLayer> findLayersForFifo(@Param("productVariantId") UUID productVariantId, @Param("warehouseId") UUID warehouseId);
+    @Query("SELECT l FROM InventoryValuationLayer l WHERE l.productVariant.id = :productVariantId AND l.warehouse.id = :warehouseId " +
+            "AND l.quantityRemaining > 0 ORDER BY l.receivedDate DESC, l.id DESC")
+    List<InventoryValuationLayer> findOpenLayersLifo(@Param("productVariantId") UUID productVariantId,
+                                                     @Param("warehouseId") UUID warehouseId,
+                                                     Pageable pageable);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT l FROM InventoryValuationLayer l WHERE l.productVariant.id = :productVariantId AND l.warehouse.id = :warehouseId AND l.quantityRemaining > 0 ORDER BY l.receivedDate DESC")
-    List<InventoryValuationLayer> findLayersForLifo(@Param("productVariantId") UUID productVariantId, @Param("warehouseId") UUID warehouseId);
+    @Query("SELECT l FROM InventoryValuationLayer l WHERE l.productVariant.id = :productVariantId AND l.warehouse.id = :warehouseId " +
+            "AND l.quantityRemaining > 0 AND (l.receivedDate < :beforeDate OR (l.receivedDate = :beforeDate AND l.id < :beforeId)) " +
+            "ORDER BY l.receivedDate DESC, l.id DESC")
+    List<InventoryValuationLayer> findOpenLayersLifoBefore(@Param("productVariantId") UUID productVariantId,
+                                                           @Param("warehouseId") UUID warehouseId,
+                                                           @Param("beforeDate") LocalDateTime beforeDate,
+                                                           @Param("beforeId") UUID beforeId,
+                                                           Pageable pageable);
 
     @Query("SELECT SUM(l.quantityRemaining * l.unitCost) FROM InventoryValuationLayer l WHERE l.productVariant.id = :productVariantId AND l.warehouse.id = :warehouseId")
     BigDecimal calculateTotalValue(@Param("productVariantId") UUID productVariantId, @Param("warehouseId") UUID warehouseId);
@@ -5,10 +5,15 @@ import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface ProductCostRepository extends JpaRepository<ProductCost, UUID> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     Optional<ProductCost> findByProductVariantIdAndWarehouseId(UUID productVariantId, UUID warehouseId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<ProductCost> findByProductVariantIdInAndWarehouseIdIn(Collection<UUID> productVariantIds, Collection<UUID> warehouseIds);
 }
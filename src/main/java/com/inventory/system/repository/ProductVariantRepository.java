@@ -1,28 +1,53 @@
 package com.inventory.system.repository;
 
 import com.inventory.system.common.entity.ProductVariant;
+import com.inventory.system.repository.projection.ProductVariantExportRow;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface ProductVariantRepository extends JpaRepository<ProductVariant, UUID>, JpaSpecificationExecutor<ProductVariant> {
     Optional<ProductVariant> findBySku(String sku);
     boolean existsBySku(String sku);
     List<ProductVariant> findByTemplateId(UUID templateId);
+
+    @Query("select v from ProductVariant v join fetch v.template where v.id in :ids")
+    List<ProductVariant> findAllWithTemplateByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Every variant's export columns, read from a database cursor; the caller must close the
+     * stream inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select v.sku as sku, v.barcode as barcode, v.price as price, t.id as templateId " +
+            "from ProductVariant v left join v.template t order by v.sku, v.id")
+    Stream<ProductVariantExportRow> streamExportRows();
     List<ProductVariant> findByTemplatePublishedToStorefrontTrueAndTemplateIsActiveTrue();
     org.springframework.data.domain.Page<ProductVariant> findByTemplatePublishedToStorefrontTrueAndTemplateIsActiveTrue(Pageable pageable);
 
+    @EntityGraph(attributePaths = {"template", "template.category", "template.uom"})
     List<ProductVariant> findByTenantIdAndTemplatePublishedToStorefrontTrueAndTemplateIsActiveTrue(String tenantId);
 
+    @EntityGraph(attributePaths = {"template", "template.category", "template.uom"})
+    List<ProductVariant> findByTenantIdAndTemplateIdInAndTemplatePublishedToStorefrontTrueAndTemplateIsActiveTrue(
+            String tenantId, Collection<UUID> templateIds);
+
     @Query("select v from ProductVariant v join v.template t where t.publishedToStorefront = true and t.isActive = true and t.storefrontSlug = :slug")
     Optional<ProductVariant> findPublishedStorefrontVariantBySlug(@Param("slug") String slug);
 
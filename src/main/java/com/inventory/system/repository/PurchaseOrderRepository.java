@@ -2,19 +2,36 @@ package com.inventory.system.repository;
 
 import com.inventory.system.common.entity.PurchaseOrder;
 import com.inventory.system.common.entity.PurchaseOrderStatus;
+import com.inventory.system.repository.projection.SupplierOrderedQuantity;
+import com.inventory.system.repository.projection.SupplierSpend;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, UUID>, JpaSpecificationExecutor<PurchaseOrder> {
+    String SUPPLIER_SPEND = "SELECT s.id AS supplierId, s.name AS supplierName, s.rating AS supplierRating, " +
+            "COUNT(o) AS purchaseOrderCount, " +
+            "SUM(CASE WHEN o.status = :completed OR o.status = :closed THEN 1 ELSE 0 END) AS completedOrderCount, " +
+            "COALESCE(SUM(o.totalAmount), 0) AS totalSpend " +
+            "FROM Supplier s LEFT JOIN PurchaseOrder o ON o.supplier = s AND o.orderDate BETWEEN :from AND :to " +
+            "GROUP BY s.id, s.name, s.rating " +
+            "ORDER BY COALESCE(SUM(o.totalAmount), 0) DESC, s.name, s.id";
 
     Optional<PurchaseOrder> findByPoNumber(String poNumber);
 
@@ -26,4 +43,45 @@ public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, UU
 
     // Additional queries can be added as needed for filtering by status AND supplier, etc.
     Page<PurchaseOrder> findBySupplierIdAndStatus(UUID supplierId, PurchaseOrderStatus status, Pageable pageable);
+
+    /**
+     * Purchase orders dated in {@code [from, to]} with their supplier, newest first, read from
+     * a database cursor; the caller must close the stream inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT po FROM PurchaseOrder po JOIN FETCH po.supplier " +
+            "WHERE po.orderDate BETWEEN :from AND :to ORDER BY po.orderDate DESC, po.id DESC")
+    Stream<PurchaseOrder> streamByOrderDateBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * One page of suppliers with the count and value of their purchase orders dated in
+     * {@code [from, to]}, highest spend first. Suppliers without orders in the range are
+     * included with zeros.
+     */
+    @Query(value = SUPPLIER_SPEND, countQuery = "SELECT COUNT(s) FROM Supplier s")
+    Page<SupplierSpend> findSupplierSpend(@Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to,
+                                          @Param("completed") PurchaseOrderStatus completed,
+                                          @Param("closed") PurchaseOrderStatus closed,
+                                          Pageable pageable);
+
+    /**
+     * Every supplier's row of {@link #findSupplierSpend} in the same order, aggregated once and
+     * read from a database cursor; the caller must close the stream inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(SUPPLIER_SPEND)
+    Stream<SupplierSpend> streamSupplierSpend(@Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to,
+                                              @Param("completed") PurchaseOrderStatus completed,
+                                              @Param("closed") PurchaseOrderStatus closed);
+
+    @Query("SELECT o.supplier.id AS supplierId, SUM(i.quantity) AS orderedQuantity, " +
+            "SUM(i.receivedQuantity) AS receivedQuantity " +
+            "FROM PurchaseOrderItem i JOIN i.purchaseOrder o " +
+            "WHERE o.supplier.id IN :supplierIds AND o.orderDate BETWEEN :from AND :to " +
+            "GROUP BY o.supplier.id")
+    List<SupplierOrderedQuantity> sumOrderedQuantityBySupplier(@Param("supplierIds") Collection<UUID> supplierIds,
+                                                               @Param("from") LocalDateTime from,
+                                                               @Param("to") LocalDateTime to);
 }
@@ -1,10 +1,16 @@
 package com.inventory.system.repository;
 
 import com.inventory.system.common.entity.ReportConfiguration;
+import com.inventory.system.repository.projection.DueReportSchedule;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,5 +21,49 @@ public interface ReportConfigurationRepository extends JpaRepository<ReportConfi
 
     Optional<ReportConfiguration> findByCode(String code);
 
-    List<ReportConfiguration> findByActiveTrueAndScheduleCronIsNotNull();
-}
\ No newline at end of file
+    /**
+     * Schedules due at {@code now} across all tenants, at most {@code perTenant} per tenant
+     * and {@code limit} in total. Rows are interleaved by tenant (each tenant's oldest first,
+     * then each tenant's second oldest, ...) so a tenant with many due schedules cannot push
+     * the others out of the batch.
+     */
+    @Query(value = "SELECT id, tenant_id AS tenantId, schedule_cron AS scheduleCron FROM ("
+            + "SELECT id, tenant_id, schedule_cron, next_run_at, "
+            + "ROW_NUMBER() OVER (PARTITION BY tenant_id ORDER BY next_run_at) AS tenant_rank "
+            + "FROM report_configurations "
+            + "WHERE is_active = TRUE AND schedule_cron IS NOT NULL AND next_run_at <= :now) due "
+            + "WHERE tenant_rank <= :perTenant "
+            + "ORDER BY tenant_rank, next_run_at "
+            + "LIMIT :limit",
+            nativeQuery = true)
+    List<DueReportSchedule> findDueSchedules(@Param("now") LocalDateTime now,
+                                             @Param("perTenant") int perTenant,
+                                             @Param("limit") int limit);
+
+    /**
+     * Active schedules that have no next run time yet: rows written before the column
+     * existed, across all tenants.
+     */
+    @Query("SELECT c.id AS id, c.tenantId AS tenantId, c.scheduleCron AS scheduleCron FROM ReportConfiguration c "
+            + "WHERE c.active = true AND c.scheduleCron IS NOT NULL AND c.nextRunAt IS NULL")
+    List<DueReportSchedule> findUnscheduled();
+
+    /**
+     * Claims a due schedule by moving its next run time to {@code nextRunAt}. Returns 0 when
+     * another instance claimed it first or the schedule was changed since it was read.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReportConfiguration c SET c.nextRunAt = :nextRunAt "
+            + "WHERE c.id = :id AND c.active = true AND c.nextRunAt <= :now")
+    int claimDueSchedule(@Param("id") UUID id, @Param("now") LocalDateTime now, @Param("nextRunAt") LocalDateTime nextRunAt);
+
+    /**
+     * Sets the first run time of a schedule found by {@link #findUnscheduled()}, unless one
+     * was set in the meantime.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReportConfiguration c SET c.nextRunAt = :nextRunAt WHERE c.id = :id AND c.nextRunAt IS NULL")
+    int initializeNextRun(@Param("id") UUID id, @Param("nextRunAt") LocalDateTime nextRunAt);
+}
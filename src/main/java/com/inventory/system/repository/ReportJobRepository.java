@@ -0,0 +1,55 @@
+package com.inventory.system.repository;
+
+import com.inventory.system.common.entity.ReportJob;
+import com.inventory.system.common.entity.ReportJobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, UUID> {
+    List<ReportJob> findTop50ByOrderByCreatedAtDesc();
+
+    Optional<ReportJob> findFirstByRequestHashAndStatusIn(String requestHash, Collection<ReportJobStatus> statuses);
+
+    long countByStatus(ReportJobStatus status);
+
+    List<ReportJob> findByStatusOrderByRequestedAtAsc(ReportJobStatus status, Pageable pageable);
+
+    List<ReportJob> findByStatusAndHeartbeatAtBefore(ReportJobStatus status, LocalDateTime heartbeatBefore);
+
+    List<ReportJob> findByStatusAndExpiresAtBefore(ReportJobStatus status, LocalDateTime expiresBefore);
+
+    /**
+     * Records the progress of a job that is still running; a job that completed or failed
+     * meanwhile is left as it is.
+     *
+     * @return 1 when the job was still running, 0 otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReportJob j SET j.rowsWritten = :rowsWritten, j.heartbeatAt = :now "
+            + "WHERE j.id = :id AND j.status = :running")
+    int recordHeartbeat(@Param("id") UUID id, @Param("rowsWritten") long rowsWritten, @Param("now") LocalDateTime now,
+                        @Param("running") ReportJobStatus running);
+
+    /**
+     * Tenants with queued or running jobs or with completed jobs past their expiry. Called
+     * without a tenant set, so it spans tenants.
+     */
+    @Query("SELECT DISTINCT j.tenantId FROM ReportJob j WHERE j.status IN :inFlight " +
+            "OR (j.status = :expiring AND j.expiresAt < :now)")
+    List<String> findTenantIdsWithPendingWork(@Param("inFlight") Collection<ReportJobStatus> inFlight,
+                                              @Param("expiring") ReportJobStatus expiring,
+                                              @Param("now") LocalDateTime now);
+}
@@ -1,21 +1,81 @@
 package com.inventory.system.repository;
 
+import com.inventory.system.common.entity.SalesChannel;
 import com.inventory.system.common.entity.SalesOrder;
+import com.inventory.system.repository.projection.DailySalesTotals;
+import com.inventory.system.repository.projection.ProductSales;
+import com.inventory.system.repository.projection.SalesStatusCount;
+import com.inventory.system.repository.projection.SalesTotals;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface SalesOrderRepository extends JpaRepository<SalesOrder, UUID>, JpaSpecificationExecutor<SalesOrder> {
+    String CHANNEL_WINDOW = "o.salesChannel = :channel AND o.orderDate >= :from AND o.orderDate < :to ";
+
     boolean existsBySoNumber(String soNumber);
     Optional<SalesOrder> findBySoNumber(String soNumber);
     Optional<SalesOrder> findBySoNumberAndCustomerEmailIgnoreCase(String soNumber, String email);
     Optional<SalesOrder> findBySoNumberAndCustomerPhoneNumber(String soNumber, String phoneNumber);
     Page<SalesOrder> findByCustomerId(UUID customerId, Pageable pageable);
+
+    /**
+     * Sales orders dated in {@code [from, to]} with their customer and warehouse, newest
+     * first, read from a database cursor; the caller must close the stream inside a
+     * transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT o FROM SalesOrder o JOIN FETCH o.customer LEFT JOIN FETCH o.warehouse " +
+            "WHERE o.orderDate BETWEEN :from AND :to ORDER BY o.orderDate DESC, o.id DESC")
+    Stream<SalesOrder> streamByOrderDateBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
     long countByCustomerId(UUID customerId);
+
+    @Query("SELECT COUNT(o) AS orderCount, COALESCE(SUM(o.totalAmount), 0) AS revenue FROM SalesOrder o " +
+            "WHERE " + CHANNEL_WINDOW)
+    SalesTotals sumByChannel(@Param("channel") SalesChannel channel,
+                             @Param("from") LocalDateTime from,
+                             @Param("to") LocalDateTime to);
+
+    @Query("SELECT o.status AS status, COUNT(o) AS orderCount FROM SalesOrder o " +
+            "WHERE " + CHANNEL_WINDOW +
+            "GROUP BY o.status ORDER BY COUNT(o) DESC")
+    List<SalesStatusCount> countByChannelGroupByStatus(@Param("channel") SalesChannel channel,
+                                                       @Param("from") LocalDateTime from,
+                                                       @Param("to") LocalDateTime to);
+
+    @Query("SELECT CAST(o.orderDate AS LocalDate) AS orderDay, COUNT(o) AS orderCount, " +
+            "COALESCE(SUM(o.totalAmount), 0) AS revenue FROM SalesOrder o " +
+            "WHERE " + CHANNEL_WINDOW +
+            "GROUP BY CAST(o.orderDate AS LocalDate) ORDER BY CAST(o.orderDate AS LocalDate)")
+    List<DailySalesTotals> sumByChannelGroupByDay(@Param("channel") SalesChannel channel,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to);
+
+    /**
+     * Best-selling SKUs by quantity; the page size is the number of products returned.
+     */
+    @Query("SELECT v.sku AS sku, MIN(t.name) AS productName, COALESCE(SUM(i.quantity), 0) AS quantity, " +
+            "COALESCE(SUM(i.totalPrice), 0) AS revenue " +
+            "FROM SalesOrderItem i JOIN i.salesOrder o JOIN i.productVariant v LEFT JOIN v.template t " +
+            "WHERE " + CHANNEL_WINDOW +
+            "GROUP BY v.sku ORDER BY COALESCE(SUM(i.quantity), 0) DESC, v.sku")
+    List<ProductSales> findTopProductsByChannel(@Param("channel") SalesChannel channel,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to,
+                                                Pageable pageable);
 }
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,6 +19,7 @@ public interface SerialNumberRepository extends JpaRepository<SerialNumber, UUID
     List<SerialNumber> findByProductVariantAndStatus(ProductVariant productVariant, SerialNumberStatus status);
     List<SerialNumber> findAllBySerialNumber(String serialNumber);
     List<SerialNumber> findByProductVariantId(UUID productVariantId);
+    List<SerialNumber> findByProductVariantIdAndSerialNumberIn(UUID productVariantId, Collection<String> serialNumbers);
 
         @Query("""
                         select s from SerialNumber s
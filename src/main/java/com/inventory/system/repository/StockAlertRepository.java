@@ -0,0 +1,28 @@
+package com.inventory.system.repository;
+
+import com.inventory.system.common.entity.StockAlert;
+import com.inventory.system.common.entity.StockAlertStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface StockAlertRepository extends JpaRepository<StockAlert, UUID> {
+
+    String ALERT_FEED = "SELECT a FROM StockAlert a " +
+            "JOIN FETCH a.productVariant v JOIN FETCH v.template JOIN FETCH a.warehouse w ";
+
+    @Query(ALERT_FEED + "ORDER BY LOWER(w.name), LOWER(v.sku)")
+    List<StockAlert> findFeed();
+
+    @Query(ALERT_FEED + "WHERE w.id = :warehouseId ORDER BY LOWER(v.sku)")
+    List<StockAlert> findFeedByWarehouse(@Param("warehouseId") UUID warehouseId);
+
+    long countByStatus(StockAlertStatus status);
+
+    long countByWarehouseIdAndStatus(UUID warehouseId, StockAlertStatus status);
+}
@@ -0,0 +1,43 @@
+package com.inventory.system.repository;
+
+import com.inventory.system.common.entity.StockAvailability;
+import com.inventory.system.repository.projection.VariantQuantity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface StockAvailabilityRepository extends JpaRepository<StockAvailability, UUID> {
+
+    @Query("SELECT a.onHand - a.reserved FROM StockAvailability a " +
+            "WHERE a.productVariant.id = :productVariantId AND a.warehouse.id = :warehouseId " +
+            "AND a.locationKey = :locationKey AND a.batchKey = :batchKey")
+    BigDecimal findAvailableToPromise(@Param("productVariantId") UUID productVariantId,
+                                      @Param("warehouseId") UUID warehouseId,
+                                      @Param("locationKey") UUID locationKey,
+                                      @Param("batchKey") UUID batchKey);
+
+    @Query("SELECT COALESCE(SUM(a.onHand - a.reserved), 0) FROM StockAvailability a " +
+            "WHERE a.productVariant.id = :productVariantId AND a.locationKey = :totalKey AND a.batchKey = :totalKey")
+    BigDecimal sumAvailableToPromiseByProductVariant(@Param("productVariantId") UUID productVariantId,
+                                                     @Param("totalKey") UUID totalKey);
+
+    @Query("SELECT a.productVariant.id AS productVariantId, a.onHand - a.reserved AS quantity FROM StockAvailability a " +
+            "WHERE a.productVariant.id IN :productVariantIds AND a.warehouse.id = :warehouseId " +
+            "AND a.locationKey = :totalKey AND a.batchKey = :totalKey")
+    List<VariantQuantity> findAvailableToPromiseByWarehouse(@Param("productVariantIds") Collection<UUID> productVariantIds,
+                                                            @Param("warehouseId") UUID warehouseId,
+                                                            @Param("totalKey") UUID totalKey);
+
+    @Query("SELECT a.productVariant.id AS productVariantId, SUM(a.onHand - a.reserved) AS quantity FROM StockAvailability a " +
+            "WHERE a.productVariant.id IN :productVariantIds AND a.locationKey = :totalKey AND a.batchKey = :totalKey " +
+            "GROUP BY a.productVariant.id")
+    List<VariantQuantity> sumAvailableToPromiseByProductVariants(@Param("productVariantIds") Collection<UUID> productVariantIds,
+                                                                 @Param("totalKey") UUID totalKey);
+}
@@ -0,0 +1,54 @@
+package com.inventory.system.repository;
+
+import com.inventory.system.common.entity.StockMovement;
+import com.inventory.system.common.entity.StockMovementDailyTotal;
+import com.inventory.system.repository.projection.DailyMovementTotal;
+import com.inventory.system.repository.projection.VariantWarehouseQuantity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Date-range reads over the daily movement rollup. Dates are inclusive; a null variant or
+ * warehouse matches all of them.
+ */
+@Repository
+public interface StockMovementDailyTotalRepository extends JpaRepository<StockMovementDailyTotal, UUID> {
+
+    String RANGE = "(:productVariantId IS NULL OR d.productVariant.id = :productVariantId) " +
+            "AND (:warehouseId IS NULL OR d.warehouse.id = :warehouseId) " +
+            "AND d.movementDate BETWEEN :fromDate AND :toDate ";
+
+    @Query("SELECT COALESCE(SUM(d.quantity), 0) FROM StockMovementDailyTotal d WHERE " + RANGE +
+            "AND d.movementType IN :types")
+    BigDecimal sumQuantity(@Param("productVariantId") UUID productVariantId,
+                           @Param("warehouseId") UUID warehouseId,
+                           @Param("fromDate") LocalDate fromDate,
+                           @Param("toDate") LocalDate toDate,
+                           @Param("types") Collection<StockMovement.StockMovementType> types);
+
+    @Query("SELECT d.productVariant.id AS productVariantId, d.warehouse.id AS warehouseId, SUM(d.quantity) AS quantity " +
+            "FROM StockMovementDailyTotal d WHERE " + RANGE + "AND d.movementType IN :types " +
+            "GROUP BY d.productVariant.id, d.warehouse.id")
+    List<VariantWarehouseQuantity> sumQuantityByVariantAndWarehouse(@Param("productVariantId") UUID productVariantId,
+                                                                    @Param("warehouseId") UUID warehouseId,
+                                                                    @Param("fromDate") LocalDate fromDate,
+                                                                    @Param("toDate") LocalDate toDate,
+                                                                    @Param("types") Collection<StockMovement.StockMovementType> types);
+
+    @Query("SELECT d.movementDate AS movementDate, d.movementType AS movementType, SUM(d.quantity) AS quantity, " +
+            "SUM(d.totalCost) AS totalCost, SUM(d.movementCount) AS movementCount " +
+            "FROM StockMovementDailyTotal d WHERE " + RANGE +
+            "GROUP BY d.movementDate, d.movementType ORDER BY d.movementDate, d.movementType")
+    List<DailyMovementTotal> findDailyTotals(@Param("productVariantId") UUID productVariantId,
+                                             @Param("warehouseId") UUID warehouseId,
+                                             @Param("fromDate") LocalDate fromDate,
+                                             @Param("toDate") LocalDate toDate);
+}
@@ -1,26 +1,93 @@
 package com.inventory.system.repository;
 
 import com.inventory.system.common.entity.StockMovement;
+import com.inventory.system.repository.projection.StockMovementView;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface StockMovementRepository extends JpaRepository<StockMovement, UUID>, JpaSpecificationExecutor<StockMovement> {
 
+    String MOVEMENT_VIEW = "SELECT m.id AS id, pv.id AS productVariantId, pv.sku AS productVariantSku, t.name AS productName, " +
+            "w.id AS warehouseId, w.name AS warehouseName, sl.id AS storageLocationId, sl.name AS storageLocationName, " +
+            "b.id AS batchId, b.batchNumber AS batchNumber, m.quantity AS quantity, m.unitCost AS unitCost, " +
+            "m.totalCost AS totalCost, m.type AS type, m.reason AS reason, m.referenceId AS referenceId, " +
+            "m.createdAt AS createdAt, m.createdBy AS createdBy " +
+            "FROM StockMovement m JOIN m.productVariant pv JOIN pv.template t JOIN m.warehouse w " +
+            "LEFT JOIN m.storageLocation sl LEFT JOIN m.batch b ";
+
     List<StockMovement> findByReferenceIdOrderByCreatedAtAsc(String referenceId);
 
-    @Query("SELECT SUM(sm.quantity) FROM StockMovement sm WHERE sm.productVariant.id = :productVariantId AND sm.warehouse.id = :warehouseId AND sm.createdAt >= :fromDate AND sm.type IN :types")
-    BigDecimal sumQuantityByProductAndWarehouseAndDateAndType(
-            @Param("productVariantId") UUID productVariantId,
-            @Param("warehouseId") UUID warehouseId,
-            @Param("fromDate") LocalDateTime fromDate,
-            @Param("types") List<StockMovement.StockMovementType> types);
+    @Query(value = MOVEMENT_VIEW +
+            "WHERE (:warehouseId IS NULL OR w.id = :warehouseId) AND (:productVariantId IS NULL OR pv.id = :productVariantId)",
+            countQuery = "SELECT COUNT(m) FROM StockMovement m " +
+                    "WHERE (:warehouseId IS NULL OR m.warehouse.id = :warehouseId) " +
+                    "AND (:productVariantId IS NULL OR m.productVariant.id = :productVariantId)")
+    Page<StockMovementView> findViews(@Param("warehouseId") UUID warehouseId,
+                                      @Param("productVariantId") UUID productVariantId,
+                                      Pageable pageable);
+
+    @Query(MOVEMENT_VIEW + "WHERE b.id = :batchId ORDER BY m.createdAt DESC")
+    List<StockMovementView> findViewsByBatchId(@Param("batchId") UUID batchId);
+
+    @Query(MOVEMENT_VIEW + "WHERE m.id IN (SELECT l.stockMovement.id FROM StockMovementSerialNumber l " +
+            "WHERE l.serialNumber.serialNumber = :serialNumber) ORDER BY m.createdAt DESC")
+    List<StockMovementView> findViewsBySerialNumber(@Param("serialNumber") String serialNumber);
+
+    /**
+     * First keyset page, newest first. The bounds are plain comparisons on created_at so
+     * only the partitions of the requested range are scanned.
+     */
+    @Query(MOVEMENT_VIEW +
+            "WHERE m.createdAt >= :from AND m.createdAt < :to " +
+            "AND (:warehouseId IS NULL OR w.id = :warehouseId) AND (:productVariantId IS NULL OR pv.id = :productVariantId) " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<StockMovementView> findViewsFirstPage(@Param("warehouseId") UUID warehouseId,
+                                               @Param("productVariantId") UUID productVariantId,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to,
+                                               Pageable limit);
+
+    /**
+     * Keyset page following the row ({@code cursorCreatedAt}, {@code cursorId}), newest first.
+     */
+    @Query(MOVEMENT_VIEW +
+            "WHERE m.createdAt >= :from AND m.createdAt <= :cursorCreatedAt " +
+            "AND (m.createdAt < :cursorCreatedAt OR m.id < :cursorId) " +
+            "AND (:warehouseId IS NULL OR w.id = :warehouseId) AND (:productVariantId IS NULL OR pv.id = :productVariantId) " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<StockMovementView> findViewsPageBefore(@Param("warehouseId") UUID warehouseId,
+                                                @Param("productVariantId") UUID productVariantId,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                @Param("cursorId") UUID cursorId,
+                                                Pageable limit);
+
+    /**
+     * Every movement of {@code from} (inclusive) to {@code to} (exclusive), newest first,
+     * read through a server-side cursor for exports.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(MOVEMENT_VIEW +
+            "WHERE m.createdAt >= :from AND m.createdAt < :to " +
+            "AND (:warehouseId IS NULL OR w.id = :warehouseId) AND (:productVariantId IS NULL OR pv.id = :productVariantId) " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    Stream<StockMovementView> streamViews(@Param("warehouseId") UUID warehouseId,
+                                          @Param("productVariantId") UUID productVariantId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to);
 }
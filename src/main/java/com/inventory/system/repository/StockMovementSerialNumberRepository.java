@@ -3,9 +3,13 @@ package com.inventory.system.repository;
 import com.inventory.system.common.entity.SerialNumber;
 import com.inventory.system.common.entity.StockMovement;
 import com.inventory.system.common.entity.StockMovementSerialNumber;
+import com.inventory.system.repository.projection.MovementSerialNumber;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -13,4 +17,9 @@ import java.util.UUID;
 public interface StockMovementSerialNumberRepository extends JpaRepository<StockMovementSerialNumber, UUID> {
     List<StockMovementSerialNumber> findByStockMovement(StockMovement stockMovement);
     List<StockMovementSerialNumber> findBySerialNumber(SerialNumber serialNumber);
+
+    @Query("SELECT l.stockMovement.id AS stockMovementId, s.serialNumber AS serialNumber " +
+            "FROM StockMovementSerialNumber l JOIN l.serialNumber s " +
+            "WHERE l.stockMovement.id IN :stockMovementIds ORDER BY s.serialNumber")
+    List<MovementSerialNumber> findSerialNumbersByStockMovementIds(@Param("stockMovementIds") Collection<UUID> stockMovementIds);
 }
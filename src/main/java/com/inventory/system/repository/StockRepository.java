@@ -2,21 +2,105 @@ package com.inventory.system.repository;
 
 import com.inventory.system.common.entity.StockStatus;
 import com.inventory.system.common.entity.Stock;
+import com.inventory.system.common.entity.StockMovement;
+import com.inventory.system.repository.projection.CurrentStockPosition;
+import com.inventory.system.repository.projection.VariantWarehouseAging;
+import com.inventory.system.repository.projection.VariantWarehouseQuantity;
+import com.inventory.system.repository.projection.VariantWarehouseValuation;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface StockRepository extends JpaRepository<Stock, UUID>, JpaSpecificationExecutor<Stock> {
+
+    String AVERAGE_COST_VALUATION = "SELECT pv.id AS productVariantId, pv.sku AS productVariantSku, t.name AS productName, " +
+            "w.id AS warehouseId, w.name AS warehouseName, SUM(s.quantity) AS quantity, " +
+            "COALESCE(pc.averageCost, 0) AS cost " +
+            "FROM Stock s JOIN s.productVariant pv JOIN pv.template t JOIN s.warehouse w " +
+            "LEFT JOIN ProductCost pc ON pc.productVariant = pv AND pc.warehouse = w " +
+            "WHERE (:warehouseId IS NULL OR w.id = :warehouseId) " +
+            "GROUP BY pv.id, pv.sku, t.name, w.id, w.name, pc.averageCost " +
+            "HAVING SUM(s.quantity) <> 0 " +
+            "ORDER BY w.name, pv.sku, w.id, pv.id";
+
+    String LAYER_VALUATION = "SELECT pv.id AS productVariantId, pv.sku AS productVariantSku, t.name AS productName, " +
+            "w.id AS warehouseId, w.name AS warehouseName, SUM(s.quantity) AS quantity, " +
+            "(SELECT COALESCE(SUM(l.quantityRemaining * l.unitCost), 0) FROM InventoryValuationLayer l " +
+            "WHERE l.productVariant.id = pv.id AND l.warehouse.id = w.id AND l.quantityRemaining > 0) AS cost " +
+            "FROM Stock s JOIN s.productVariant pv JOIN pv.template t JOIN s.warehouse w " +
+            "WHERE (:warehouseId IS NULL OR w.id = :warehouseId) " +
+            "GROUP BY pv.id, pv.sku, t.name, w.id, w.name " +
+            "HAVING SUM(s.quantity) <> 0 " +
+            "ORDER BY w.name, pv.sku, w.id, pv.id";
+
+    /**
+     * Aging positions: one row per variant/warehouse with non-zero stock, its last movement
+     * and its outbound quantity since the day {@code :since}. The last movement is an index
+     * probe on (tenant, variant, warehouse, created_at) and the outbound sum reads the daily
+     * rollup, so each position costs a handful of index lookups whatever the ledger size.
+     * Never-moved positions come first, then the longest idle.
+     */
+    String AGING = "SELECT pv.id AS productVariantId, pv.sku AS productVariantSku, t.name AS productName, " +
+            "w.id AS warehouseId, w.name AS warehouseName, SUM(s.quantity) AS quantity, " +
+            "COALESCE(pc.averageCost, 0) AS averageCost, " +
+            "(SELECT COALESCE(SUM(l.quantityRemaining * l.unitCost), 0) FROM InventoryValuationLayer l " +
+            "WHERE l.productVariant.id = pv.id AND l.warehouse.id = w.id AND l.quantityRemaining > 0) AS layerValue, " +
+            "(SELECT MAX(m.createdAt) FROM StockMovement m WHERE m.tenantId = :tenantId " +
+            "AND m.productVariant.id = pv.id AND m.warehouse.id = w.id) AS lastMovementAt, " +
+            "(SELECT COALESCE(SUM(d.quantity), 0) FROM StockMovementDailyTotal d WHERE d.tenantId = :tenantId " +
+            "AND d.productVariant.id = pv.id AND d.warehouse.id = w.id AND d.movementDate >= :since " +
+            "AND d.movementType IN :outboundTypes) AS outboundQuantity " +
+            "FROM Stock s JOIN s.productVariant pv JOIN pv.template t JOIN s.warehouse w " +
+            "LEFT JOIN ProductCost pc ON pc.productVariant = pv AND pc.warehouse = w " +
+            "WHERE (:warehouseId IS NULL OR w.id = :warehouseId) " +
+            "GROUP BY pv.id, pv.sku, t.name, w.id, w.name, pc.averageCost " +
+            "HAVING SUM(s.quantity) <> 0 " +
+            "ORDER BY lastMovementAt ASC NULLS FIRST, w.name, pv.sku, w.id, pv.id";
+
+    /**
+     * Current stock: one row per variant, warehouse and stock status with non-zero on-hand
+     * quantity, joined to the warehouse total of {@code stock_availability} (on hand less
+     * active and pending reservations) and to both cost sources. Rows are ordered by SKU, then
+     * by variant, warehouse and status ids, which is also the keyset of the paged queries.
+     */
+    String CURRENT_STOCK = "SELECT pv.id AS productVariantId, pv.sku AS productVariantSku, t.name AS productName, " +
+            "w.id AS warehouseId, w.name AS warehouseName, s.status AS stockStatus, SUM(s.quantity) AS quantity, " +
+            "COALESCE(a.onHand - a.reserved, 0) AS availableToPromise, " +
+            "COALESCE(pc.averageCost, 0) AS averageCost, " +
+            "(SELECT SUM(l.quantityRemaining * l.unitCost) / SUM(l.quantityRemaining) FROM InventoryValuationLayer l " +
+            "WHERE l.productVariant.id = pv.id AND l.warehouse.id = w.id AND l.quantityRemaining > 0) AS layerUnitCost " +
+            "FROM Stock s JOIN s.productVariant pv JOIN pv.template t JOIN s.warehouse w " +
+            "LEFT JOIN ProductCost pc ON pc.productVariant = pv AND pc.warehouse = w " +
+            "LEFT JOIN StockAvailability a ON a.productVariant = pv AND a.warehouse = w " +
+            "AND a.locationKey = :totalKey AND a.batchKey = :totalKey " +
+            "WHERE (:warehouseId IS NULL OR w.id = :warehouseId) " +
+            "AND (:productVariantId IS NULL OR pv.id = :productVariantId) ";
+
+    String CURRENT_STOCK_GROUPING = "GROUP BY pv.id, pv.sku, t.name, w.id, w.name, s.status, a.onHand, a.reserved, pc.averageCost " +
+            "HAVING SUM(s.quantity) <> 0 " +
+            "ORDER BY pv.sku, pv.id, w.id, s.status";
+
+    String VALUATION_COUNT = "SELECT COUNT(*) FROM (SELECT s.productVariant.id AS productVariantId FROM Stock s " +
+            "WHERE (:warehouseId IS NULL OR s.warehouse.id = :warehouseId) " +
+            "GROUP BY s.productVariant.id, s.warehouse.id HAVING SUM(s.quantity) <> 0) g";
+
     List<Stock> findByProductVariantIdAndWarehouseIdAndQuantityGreaterThan(UUID productVariantId, UUID warehouseId, BigDecimal quantity);
 
     Optional<Stock> findByProductVariantIdAndWarehouseIdAndStorageLocationId(UUID productVariantId, UUID warehouseId, UUID storageLocationId);
@@ -60,6 +144,13 @@ public interface StockRepository extends JpaRepository<Stock, UUID>, JpaSpecific
     @Query("SELECT SUM(s.quantity) FROM Stock s WHERE s.productVariant.id = :productVariantId AND s.warehouse.id = :warehouseId AND s.status = :status")
     BigDecimal countTotalQuantityByProductVariantAndWarehouseAndStatus(@Param("productVariantId") UUID productVariantId, @Param("warehouseId") UUID warehouseId, @Param("status") StockStatus status);
 
+    @Query("SELECT s.productVariant.id AS productVariantId, s.warehouse.id AS warehouseId, SUM(s.quantity) AS quantity " +
+            "FROM Stock s WHERE s.productVariant.id IN :productVariantIds AND s.warehouse.id IN :warehouseIds " +
+            "AND s.status = 'AVAILABLE' GROUP BY s.productVariant.id, s.warehouse.id")
+    List<VariantWarehouseQuantity> sumAvailableQuantityByVariantAndWarehouse(
+            @Param("productVariantIds") Collection<UUID> productVariantIds,
+            @Param("warehouseIds") Collection<UUID> warehouseIds);
+
     @Query("SELECT COALESCE(SUM(s.quantity), 0) FROM Stock s WHERE s.warehouse.id = :warehouseId")
     BigDecimal sumTotalQuantityByWarehouse(@Param("warehouseId") UUID warehouseId);
 
@@ -75,4 +166,56 @@ public interface StockRepository extends JpaRepository<Stock, UUID>, JpaSpecific
             "where lower(pv.sku) like lower(concat('%', :q, '%')) " +
             "or lower(w.name) like lower(concat('%', :q, '%'))")
     Page<Stock> searchByQuery(@Param("q") String query, Pageable pageable);
+
+    @Query(value = AVERAGE_COST_VALUATION, countQuery = VALUATION_COUNT)
+    Page<VariantWarehouseValuation> findAverageCostValuation(@Param("warehouseId") UUID warehouseId, Pageable pageable);
+
+    @Query(value = LAYER_VALUATION, countQuery = VALUATION_COUNT)
+    Page<VariantWarehouseValuation> findLayerValuation(@Param("warehouseId") UUID warehouseId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(AVERAGE_COST_VALUATION)
+    Stream<VariantWarehouseValuation> streamAverageCostValuation(@Param("warehouseId") UUID warehouseId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(LAYER_VALUATION)
+    Stream<VariantWarehouseValuation> streamLayerValuation(@Param("warehouseId") UUID warehouseId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(CURRENT_STOCK + CURRENT_STOCK_GROUPING)
+    Stream<CurrentStockPosition> streamCurrentStock(@Param("warehouseId") UUID warehouseId,
+                                                    @Param("productVariantId") UUID productVariantId,
+                                                    @Param("totalKey") UUID totalKey);
+
+    @Query(CURRENT_STOCK + CURRENT_STOCK_GROUPING)
+    List<CurrentStockPosition> findCurrentStockFirstPage(@Param("warehouseId") UUID warehouseId,
+                                                         @Param("productVariantId") UUID productVariantId,
+                                                         @Param("totalKey") UUID totalKey,
+                                                         Pageable limit);
+
+    /**
+     * Keyset page following the row ({@code cursorSku}, {@code cursorVariantId},
+     * {@code cursorWarehouseId}, {@code cursorStatus}) in SKU order.
+     */
+    @Query(CURRENT_STOCK +
+            "AND pv.sku >= :cursorSku " +
+            "AND (pv.sku > :cursorSku OR pv.id > :cursorVariantId " +
+            "OR (pv.id = :cursorVariantId AND (w.id > :cursorWarehouseId " +
+            "OR (w.id = :cursorWarehouseId AND s.status > :cursorStatus)))) " +
+            CURRENT_STOCK_GROUPING)
+    List<CurrentStockPosition> findCurrentStockPageAfter(@Param("warehouseId") UUID warehouseId,
+                                                         @Param("productVariantId") UUID productVariantId,
+                                                         @Param("totalKey") UUID totalKey,
+                                                         @Param("cursorSku") String cursorSku,
+                                                         @Param("cursorVariantId") UUID cursorVariantId,
+                                                         @Param("cursorWarehouseId") UUID cursorWarehouseId,
+                                                         @Param("cursorStatus") StockStatus cursorStatus,
+                                                         Pageable limit);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(AGING)
+    Stream<VariantWarehouseAging> streamAging(@Param("tenantId") String tenantId,
+                                              @Param("warehouseId") UUID warehouseId,
+                                              @Param("since") LocalDate since,
+                                              @Param("outboundTypes") Collection<StockMovement.StockMovementType> outboundTypes);
 }
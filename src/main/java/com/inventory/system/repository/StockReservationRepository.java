@@ -8,12 +8,13 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
@@ -42,11 +43,22 @@ public interface StockReservationRepository extends JpaRepository<StockReservati
             @Param("storageLocationId") UUID storageLocationId,
             @Param("batchId") UUID batchId);
 
-    List<StockReservation> findByStatusAndExpiresAtBefore(StockReservationStatus status, LocalDateTime expiresAt);
-
     @EntityGraph(attributePaths = {"productVariant", "warehouse", "storageLocation", "batch"})
     List<StockReservation> findByReferenceIdAndStatusIn(String referenceId, Collection<StockReservationStatus> statuses);
 
+    /**
+     * Moves a reservation to {@code target} only while it is still in one of {@code from}. A
+     * concurrent release, fulfilment or expiry holding the row makes this wait and then match
+     * nothing, so exactly one of them returns the reserved quantity to ATP.
+     *
+     * @return 1 when this call made the transition, 0 otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE StockReservation r SET r.status = :target WHERE r.id = :id AND r.status IN :from")
+    int transitionStatus(@Param("id") UUID id, @Param("from") Collection<StockReservationStatus> from,
+                         @Param("target") StockReservationStatus target);
+
     @Override
     @EntityGraph(attributePaths = {"productVariant", "warehouse", "storageLocation", "batch"})
     Page<StockReservation> findAll(Specification<StockReservation> spec, Pageable pageable);
@@ -1,9 +1,13 @@
 package com.inventory.system.repository;
 
+import com.inventory.system.common.entity.SalesChannel;
 import com.inventory.system.common.entity.StorefrontAccount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +15,18 @@ import java.util.UUID;
 public interface StorefrontAccountRepository extends JpaRepository<StorefrontAccount, UUID> {
     Optional<StorefrontAccount> findFirstByEmailIgnoreCase(String email);
     Optional<StorefrontAccount> findFirstByCustomerId(UUID customerId);
+
+    long countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Accounts created in {@code [from, to)} whose customer placed an order on {@code channel}
+     * in the same range.
+     */
+    @Query("SELECT COUNT(a) FROM StorefrontAccount a " +
+            "WHERE a.createdAt >= :from AND a.createdAt < :to AND EXISTS (" +
+            "SELECT o.id FROM SalesOrder o WHERE o.customer = a.customer AND o.salesChannel = :channel " +
+            "AND o.orderDate >= :from AND o.orderDate < :to)")
+    long countCreatedWithOrder(@Param("channel") SalesChannel channel,
+                               @Param("from") LocalDateTime from,
+                               @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,12 @@
+package com.inventory.system.repository;
+
+import com.inventory.system.common.entity.StorefrontCatalogChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface StorefrontCatalogChangeRepository extends JpaRepository<StorefrontCatalogChange, UUID> {
+
+    List<StorefrontCatalogChange> findByTenantIdAndVersionBetweenOrderByVersionAsc(String tenantId, long fromVersion, long toVersion);
+}
@@ -0,0 +1,15 @@
+package com.inventory.system.repository;
+
+import com.inventory.system.common.entity.StorefrontCatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface StorefrontCatalogVersionRepository extends JpaRepository<StorefrontCatalogVersion, UUID> {
+
+    @Query("select v.version from StorefrontCatalogVersion v where v.tenantId = :tenantId")
+    Optional<Long> findVersionByTenantId(@Param("tenantId") String tenantId);
+}
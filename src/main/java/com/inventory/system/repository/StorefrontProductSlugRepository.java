@@ -0,0 +1,15 @@
+package com.inventory.system.repository;
+
+import com.inventory.system.common.entity.StorefrontProductSlug;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface StorefrontProductSlugRepository extends JpaRepository<StorefrontProductSlug, UUID> {
+    Optional<StorefrontProductSlug> findByTenantIdAndSlug(String tenantId, String slug);
+    List<StorefrontProductSlug> findByTenantIdAndSlugIn(String tenantId, Collection<String> slugs);
+    List<StorefrontProductSlug> findByTenantIdAndProductTemplateId(String tenantId, UUID productTemplateId);
+}
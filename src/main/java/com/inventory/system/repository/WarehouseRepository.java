@@ -2,8 +2,14 @@ package com.inventory.system.repository;
 
 import com.inventory.system.common.entity.Warehouse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,4 +18,32 @@ import java.util.UUID;
 public interface WarehouseRepository extends JpaRepository<Warehouse, UUID> {
     Optional<Warehouse> findByName(String name);
     List<Warehouse> findByTenantIdOrderByCreatedAtAsc(String tenantId);
+
+    /**
+     * Relative update so concurrent flushes compose instead of overwriting each other.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update Warehouse w set w.usedCapacity = coalesce(w.usedCapacity, 0) + :delta where w.id = :warehouseId")
+    int incrementUsedCapacity(@Param("warehouseId") UUID warehouseId, @Param("delta") BigDecimal delta);
+
+    /**
+     * Resets drifted counters to the authoritative stock sum; rows already in sync are not touched.
+     * Only settled warehouses are compared: one whose stock changed at or after
+     * {@code settledBefore}, or that is listed in {@code busyWarehouseIds}, may still have a
+     * committed delta waiting in some instance's flush buffer. That delta is already part of the
+     * sum, so resetting the counter now would count it again when it is flushed.
+     * {@code anyBusy} must be false when the collection is empty; Hibernate renders an empty
+     * {@code not in} as {@code 1=0}, which would match no warehouse at all.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update Warehouse w set w.usedCapacity = "
+            + "(select coalesce(sum(s.quantity), 0) from Stock s where s.warehouse.id = w.id) "
+            + "where w.tenantId = :tenantId and (:anyBusy = false or w.id not in :busyWarehouseIds) "
+            + "and not exists (select 1 from Stock s3 where s3.warehouse.id = w.id and s3.updatedAt >= :settledBefore) "
+            + "and (w.usedCapacity is null or w.usedCapacity <> "
+            + "(select coalesce(sum(s2.quantity), 0) from Stock s2 where s2.warehouse.id = w.id))")
+    int reconcileUsedCapacity(@Param("tenantId") String tenantId,
+                              @Param("settledBefore") LocalDateTime settledBefore,
+                              @Param("anyBusy") boolean anyBusy,
+                              @Param("busyWarehouseIds") Collection<UUID> busyWarehouseIds);
 }
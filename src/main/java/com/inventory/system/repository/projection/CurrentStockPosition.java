@@ -0,0 +1,34 @@
+package com.inventory.system.repository.projection;
+
+import com.inventory.system.common.entity.StockStatus;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * On-hand quantity of one variant at one warehouse in one stock status, returned by the
+ * grouped current-stock query together with the warehouse's available-to-promise and both
+ * cost columns: {@code averageCost} is the weighted-average unit cost and
+ * {@code layerUnitCost} the average unit cost of the open FIFO/LIFO layers.
+ */
+public interface CurrentStockPosition {
+    UUID getProductVariantId();
+
+    String getProductVariantSku();
+
+    String getProductName();
+
+    UUID getWarehouseId();
+
+    String getWarehouseName();
+
+    StockStatus getStockStatus();
+
+    BigDecimal getQuantity();
+
+    BigDecimal getAvailableToPromise();
+
+    BigDecimal getAverageCost();
+
+    BigDecimal getLayerUnitCost();
+}
@@ -0,0 +1,22 @@
+package com.inventory.system.repository.projection;
+
+import com.inventory.system.common.entity.StockMovement;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Movement totals of one type on one day, summed over the variants and warehouses selected
+ * by a daily rollup query.
+ */
+public interface DailyMovementTotal {
+    LocalDate getMovementDate();
+
+    StockMovement.StockMovementType getMovementType();
+
+    BigDecimal getQuantity();
+
+    BigDecimal getTotalCost();
+
+    Long getMovementCount();
+}
@@ -0,0 +1,10 @@
+package com.inventory.system.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Number and total value of the sales orders placed on one day.
+ */
+public interface DailySalesTotals extends SalesTotals {
+    LocalDate getOrderDay();
+}
@@ -0,0 +1,15 @@
+package com.inventory.system.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * A scheduled report configuration whose next run time has passed, read across tenants
+ * by the report scheduler.
+ */
+public interface DueReportSchedule {
+    UUID getId();
+
+    String getTenantId();
+
+    String getScheduleCron();
+}
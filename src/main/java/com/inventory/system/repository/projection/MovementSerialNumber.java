@@ -0,0 +1,12 @@
+package com.inventory.system.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * A serial number recorded against a stock movement.
+ */
+public interface MovementSerialNumber {
+    UUID getStockMovementId();
+
+    String getSerialNumber();
+}
@@ -0,0 +1,16 @@
+package com.inventory.system.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Quantity and value sold of one SKU, summed over the order items matching a grouped query.
+ */
+public interface ProductSales {
+    String getSku();
+
+    String getProductName();
+
+    BigDecimal getQuantity();
+
+    BigDecimal getRevenue();
+}
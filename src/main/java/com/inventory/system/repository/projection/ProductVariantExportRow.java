@@ -0,0 +1,17 @@
+package com.inventory.system.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * The columns of the product data-exchange export for one variant.
+ */
+public interface ProductVariantExportRow {
+    String getSku();
+
+    String getBarcode();
+
+    BigDecimal getPrice();
+
+    UUID getTemplateId();
+}
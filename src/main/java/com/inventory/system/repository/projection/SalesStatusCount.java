@@ -0,0 +1,12 @@
+package com.inventory.system.repository.projection;
+
+import com.inventory.system.common.entity.SalesOrderStatus;
+
+/**
+ * Number of sales orders in one status.
+ */
+public interface SalesStatusCount {
+    SalesOrderStatus getStatus();
+
+    Long getOrderCount();
+}
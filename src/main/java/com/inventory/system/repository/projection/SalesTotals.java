@@ -0,0 +1,12 @@
+package com.inventory.system.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Number and total value of the sales orders matching a grouped query.
+ */
+public interface SalesTotals {
+    Long getOrderCount();
+
+    BigDecimal getRevenue();
+}
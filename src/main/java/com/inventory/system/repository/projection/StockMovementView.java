@@ -0,0 +1,49 @@
+package com.inventory.system.repository.projection;
+
+import com.inventory.system.common.entity.StockMovement;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A stock movement with the display fields of its variant, warehouse, location and batch,
+ * read in one joined query for movement listings.
+ */
+public interface StockMovementView {
+    UUID getId();
+
+    UUID getProductVariantId();
+
+    String getProductVariantSku();
+
+    String getProductName();
+
+    UUID getWarehouseId();
+
+    String getWarehouseName();
+
+    UUID getStorageLocationId();
+
+    String getStorageLocationName();
+
+    UUID getBatchId();
+
+    String getBatchNumber();
+
+    BigDecimal getQuantity();
+
+    BigDecimal getUnitCost();
+
+    BigDecimal getTotalCost();
+
+    StockMovement.StockMovementType getType();
+
+    String getReason();
+
+    String getReferenceId();
+
+    LocalDateTime getCreatedAt();
+
+    String getCreatedBy();
+}
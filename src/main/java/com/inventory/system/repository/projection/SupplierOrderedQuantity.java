@@ -0,0 +1,14 @@
+package com.inventory.system.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Ordered and received item quantities of one supplier's purchase orders in a date range.
+ */
+public interface SupplierOrderedQuantity {
+    UUID getSupplierId();
+
+    Long getOrderedQuantity();
+
+    Long getReceivedQuantity();
+}
@@ -0,0 +1,18 @@
+package com.inventory.system.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Delivery statistics of one supplier's goods receipts in a date range: how many there were,
+ * how many arrived by the order's expected delivery date, and the average number of whole
+ * days from order to receipt.
+ */
+public interface SupplierReceiptStats {
+    UUID getSupplierId();
+
+    Long getReceiptCount();
+
+    Long getOnTimeCount();
+
+    Double getAverageLeadTimeDays();
+}
@@ -0,0 +1,22 @@
+package com.inventory.system.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A supplier with the number and value of its purchase orders in a date range, returned by
+ * the grouped supplier performance query. Suppliers without orders in the range have zeros.
+ */
+public interface SupplierSpend {
+    UUID getSupplierId();
+
+    String getSupplierName();
+
+    Double getSupplierRating();
+
+    Long getPurchaseOrderCount();
+
+    Long getCompletedOrderCount();
+
+    BigDecimal getTotalSpend();
+}
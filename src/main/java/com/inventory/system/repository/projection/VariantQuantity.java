@@ -0,0 +1,13 @@
+package com.inventory.system.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Aggregated quantity for one variant, returned by grouped availability queries.
+ */
+public interface VariantQuantity {
+    UUID getProductVariantId();
+
+    BigDecimal getQuantity();
+}
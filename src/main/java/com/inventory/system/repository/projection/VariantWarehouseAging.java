@@ -0,0 +1,33 @@
+package com.inventory.system.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * On-hand quantity of one variant at one warehouse together with its movement activity,
+ * returned by the grouped aging query. Both cost columns are selected so the caller can pick
+ * the one matching the tenant's valuation method: {@code averageCost} is the weighted-average
+ * unit cost and {@code layerValue} the total value of the open FIFO/LIFO layers.
+ */
+public interface VariantWarehouseAging {
+    UUID getProductVariantId();
+
+    String getProductVariantSku();
+
+    String getProductName();
+
+    UUID getWarehouseId();
+
+    String getWarehouseName();
+
+    BigDecimal getQuantity();
+
+    BigDecimal getAverageCost();
+
+    BigDecimal getLayerValue();
+
+    LocalDateTime getLastMovementAt();
+
+    BigDecimal getOutboundQuantity();
+}
@@ -0,0 +1,15 @@
+package com.inventory.system.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Aggregated quantity for one variant at one warehouse, returned by grouped stock queries.
+ */
+public interface VariantWarehouseQuantity {
+    UUID getProductVariantId();
+
+    UUID getWarehouseId();
+
+    BigDecimal getQuantity();
+}
@@ -0,0 +1,25 @@
+package com.inventory.system.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * On-hand quantity and cost of one variant at one warehouse, returned by the grouped
+ * valuation queries. {@code cost} is the average unit cost for weighted-average valuation
+ * and the total value of the open layers for FIFO/LIFO.
+ */
+public interface VariantWarehouseValuation {
+    UUID getProductVariantId();
+
+    String getProductVariantSku();
+
+    String getProductName();
+
+    UUID getWarehouseId();
+
+    String getWarehouseName();
+
+    BigDecimal getQuantity();
+
+    BigDecimal getCost();
+}
@@ -12,10 +12,13 @@ import com.inventory.system.repository.CategoryPermissionRepository;
 import com.inventory.system.repository.CategoryRepository;
 import com.inventory.system.repository.ProductAttributeRepository;
 import com.inventory.system.repository.RoleRepository;
+import com.inventory.system.service.storefront.events.StorefrontCatalogChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -30,6 +33,7 @@ public class CategoryServiceImpl implements CategoryService {
     private final ProductAttributeRepository productAttributeRepository;
     private final CategoryPermissionRepository categoryPermissionRepository;
     private final RoleRepository roleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -55,6 +59,9 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         Category savedCategory = categoryRepository.save(category);
+        if (Boolean.TRUE.equals(savedCategory.getPublishedToStorefront())) {
+            eventPublisher.publishEvent(new StorefrontCatalogChangedEvent(null, Instant.now()));
+        }
         return mapToDto(savedCategory, false);
     }
 
@@ -104,6 +111,8 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         Category updatedCategory = categoryRepository.save(category);
+        // Category names, slugs and trails are shown on every product in the category or below it.
+        eventPublisher.publishEvent(new StorefrontCatalogChangedEvent(null, Instant.now()));
         return mapToDto(updatedCategory, false);
     }
 
@@ -113,6 +122,7 @@ public class CategoryServiceImpl implements CategoryService {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(new StorefrontCatalogChangedEvent(null, Instant.now()));
     }
 
     @Override
@@ -51,6 +51,7 @@ import java.util.UUID;
 public class DataExchangeServiceImpl implements DataExchangeService {
 
     private static final TypeReference<List<Map<String, Object>>> LIST_OF_MAPS = new TypeReference<>() {};
+    private static final int STOCK_IMPORT_CHUNK_SIZE = 5000;
 
     private final DataImportHistoryRepository dataImportHistoryRepository;
     private final ProductService productService;
@@ -149,20 +150,24 @@ public class DataExchangeServiceImpl implements DataExchangeService {
 
         try {
             List<CSVRecord> records = parseCsv(content);
-            int processed = 0;
-            for (CSVRecord record : records) {
-                processed++;
-                try {
-                    processRecord(dataset, record);
-                    successCount++;
-                } catch (RuntimeException exception) {
-                    failedCount++;
-                    errors.add("Row " + (processed + 1) + ": " + exception.getMessage());
+            if (dataset == DataExchangeDataset.STOCKS) {
+                importStockAdjustments(records, history, errors);
+            } else {
+                int processed = 0;
+                for (CSVRecord record : records) {
+                    processed++;
+                    try {
+                        processRecord(dataset, record);
+                        successCount++;
+                    } catch (RuntimeException exception) {
+                        failedCount++;
+                        errors.add("Row " + (processed + 1) + ": " + exception.getMessage());
+                    }
+
+                    history.setProcessedRecords(processed);
+                    history.setSuccessfulRecords(successCount);
+                    history.setFailedRecords(failedCount);
                 }
-
-                history.setProcessedRecords(processed);
-                history.setSuccessfulRecords(successCount);
-                history.setFailedRecords(failedCount);
             }
 
             history.setStatus(errors.isEmpty() ? DataImportStatus.COMPLETED : DataImportStatus.FAILED);
@@ -232,7 +237,7 @@ public class DataExchangeServiceImpl implements DataExchangeService {
         switch (dataset) {
             case PRODUCTS -> importProduct(record);
             case SUPPLIERS -> importSupplier(record);
-            case STOCKS -> importStockAdjustment(record);
+            case STOCKS -> stockService.adjustStock(parseStockAdjustment(record));
             case PURCHASE_ORDERS -> importPurchaseOrder(record);
             case SALES_ORDERS -> importSalesOrder(record);
         }
@@ -259,7 +264,53 @@ public class DataExchangeServiceImpl implements DataExchangeService {
         supplierService.createSupplier(request);
     }
 
-    private void importStockAdjustment(CSVRecord record) {
+    /**
+     * Stock rows are applied through adjustStockBatch in chunks, so a large file costs a few
+     * set-based transactions instead of one transaction and several lookups per row. A chunk
+     * that fails as a whole is replayed row by row to pinpoint the offending rows while the
+     * valid ones still go through.
+     */
+    private void importStockAdjustments(List<CSVRecord> records, DataImportHistory history, List<String> errors) {
+        int successCount = 0;
+        int failedCount = 0;
+        List<Integer> rowNumbers = new ArrayList<>();
+        List<StockAdjustmentDto> adjustments = new ArrayList<>();
+        for (int i = 0; i < records.size(); i++) {
+            try {
+                adjustments.add(parseStockAdjustment(records.get(i)));
+                rowNumbers.add(i + 2);
+            } catch (RuntimeException exception) {
+                failedCount++;
+                errors.add("Row " + (i + 2) + ": " + exception.getMessage());
+            }
+        }
+
+        for (int from = 0; from < adjustments.size(); from += STOCK_IMPORT_CHUNK_SIZE) {
+            int to = Math.min(from + STOCK_IMPORT_CHUNK_SIZE, adjustments.size());
+            try {
+                stockService.adjustStockBatch(adjustments.subList(from, to));
+                successCount += to - from;
+            } catch (RuntimeException batchFailure) {
+                for (int i = from; i < to; i++) {
+                    try {
+                        stockService.adjustStock(adjustments.get(i));
+                        successCount++;
+                    } catch (RuntimeException exception) {
+                        failedCount++;
+                        errors.add("Row " + rowNumbers.get(i) + ": " + exception.getMessage());
+                    }
+                }
+            }
+            history.setProcessedRecords(failedCount + successCount);
+            history.setSuccessfulRecords(successCount);
+            history.setFailedRecords(failedCount);
+        }
+        history.setProcessedRecords(records.size());
+        history.setSuccessfulRecords(successCount);
+        history.setFailedRecords(failedCount);
+    }
+
+    private StockAdjustmentDto parseStockAdjustment(CSVRecord record) {
         StockAdjustmentDto dto = new StockAdjustmentDto();
         dto.setProductVariantId(parseUuid(record, "productVariantId"));
         dto.setWarehouseId(parseUuid(record, "warehouseId"));
@@ -270,7 +321,7 @@ public class DataExchangeServiceImpl implements DataExchangeService {
         dto.setType(StockMovement.StockMovementType.valueOf(record.get("movementType").trim().toUpperCase()));
         dto.setReason(blankToNull(record.get("reason")));
         dto.setReferenceId(blankToNull(record.get("referenceId")));
-        stockService.adjustStock(dto);
+        return dto;
     }
 
     private void importPurchaseOrder(CSVRecord record) {
@@ -14,6 +14,13 @@ public interface FileStorageService {
      */
     String uploadBytes(byte[] content, String originalFilename, String contentType, String folder);
 
+    /**
+     * Store {@code size} bytes read from {@code content} without buffering them in memory,
+     * e.g. a generated report spooled to a temporary file. Returns the object key like
+     * {@link #uploadBytes}. The caller closes the stream.
+     */
+    String uploadStream(InputStream content, long size, String originalFilename, String contentType, String folder);
+
     void deleteFile(String filename);
 
     InputStream getFile(String filename);
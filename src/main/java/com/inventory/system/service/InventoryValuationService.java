@@ -1,14 +1,60 @@
 package com.inventory.system.service;
 
 import com.inventory.system.common.entity.StockMovement;
+import com.inventory.system.common.entity.ValuationMethod;
 import com.inventory.system.payload.InventoryValuationReportDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface InventoryValuationService {
     void processInbound(StockMovement movement, BigDecimal unitCost);
     void processOutbound(StockMovement movement);
+
+    /**
+     * Values a batch of movements in line order with one cost/layer lookup per variant and
+     * warehouse instead of one per movement. Stock quantities must already include the whole
+     * batch; persisting the movements is left to the caller.
+     */
+    void processBatch(List<BatchLine> lines);
+
+    /**
+     * The current tenant's valuation method, FIFO when none is configured.
+     */
+    ValuationMethod getValuationMethod();
+
+    /**
+     * The current tenant's valuation currency: the valuation currency setting, else the
+     * default currency setting, else USD.
+     */
+    String getValuationCurrency();
+
     BigDecimal getCurrentValuation(UUID productVariantId, UUID warehouseId);
     List<InventoryValuationReportDto> getValuationReport(UUID warehouseId);
+
+    /**
+     * One page of the valuation report, computed by a single grouped query over stock joined
+     * to the current cost (average cost or open layers). Rows are ordered by warehouse name
+     * and SKU; the pageable's sort is ignored.
+     */
+    Page<InventoryValuationReportDto> getValuationReport(UUID warehouseId, Pageable pageable);
+
+    /**
+     * Streams the whole valuation report to {@code consumer} row by row from a server-side
+     * cursor, so large tenants are never materialised in memory.
+     */
+    void streamValuationReport(UUID warehouseId, Consumer<InventoryValuationReportDto> consumer);
+
+    /**
+     * One movement of a batch. {@code quantity} is the unsigned moved quantity and
+     * {@code availableQuantityChange} the signed change it made to AVAILABLE on-hand stock
+     * (zero for movements in other statuses).
+     */
+    record BatchLine(StockMovement movement, BigDecimal quantity, BigDecimal unitCost, boolean inbound,
+                     BigDecimal availableQuantityChange) {
+    }
 }
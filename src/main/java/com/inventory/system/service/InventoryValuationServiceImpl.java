@@ -4,24 +4,35 @@ import com.inventory.system.common.entity.InventoryValuationLayer;
 import com.inventory.system.common.entity.ProductCost;
 import com.inventory.system.common.entity.StockMovement;
 import com.inventory.system.common.entity.ValuationMethod;
-import com.inventory.system.common.entity.Stock;
 import com.inventory.system.payload.InventoryValuationReportDto;
 import com.inventory.system.repository.InventoryValuationLayerRepository;
 import com.inventory.system.repository.ProductCostRepository;
 import com.inventory.system.repository.StockRepository;
+import com.inventory.system.repository.projection.VariantWarehouseValuation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -68,6 +79,20 @@ public class InventoryValuationServiceImpl implements InventoryValuationService
         }
     }
 
+    @Override
+    @Transactional
+    public void processBatch(List<BatchLine> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        ValuationMethod method = getValuationMethod();
+        if (method == ValuationMethod.WEIGHTED_AVERAGE) {
+            processWeightedAverageBatch(lines);
+        } else {
+            processLayeredBatch(lines, method);
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public BigDecimal getCurrentValuation(UUID productVariantId, UUID warehouseId) {
@@ -86,61 +111,57 @@ public class InventoryValuationServiceImpl implements InventoryValuationService
     @Override
     @Transactional(readOnly = true)
     public List<InventoryValuationReportDto> getValuationReport(UUID warehouseId) {
-        List<Stock> stocks;
-        if (warehouseId != null) {
-            stocks = stockRepository.findAll((root, query, cb) -> cb.equal(root.get("warehouse").get("id"), warehouseId));
-        } else {
-            stocks = stockRepository.findAll();
-        }
+        List<InventoryValuationReportDto> report = new ArrayList<>();
+        streamValuationReport(warehouseId, report::add);
+        return report;
+    }
 
-        // Group by Warehouse and ProductVariant
-        Map<String, List<Stock>> grouped = stocks.stream()
-                .collect(Collectors.groupingBy(s -> s.getWarehouse().getId() + ":" + s.getProductVariant().getId()));
+    @Override
+    @Transactional(readOnly = true)
+    public Page<InventoryValuationReportDto> getValuationReport(UUID warehouseId, Pageable pageable) {
+        ValuationMethod method = getValuationMethod();
+        String currency = getValuationCurrency();
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        Page<VariantWarehouseValuation> rows = method == ValuationMethod.WEIGHTED_AVERAGE
+                ? stockRepository.findAverageCostValuation(warehouseId, unsorted)
+                : stockRepository.findLayerValuation(warehouseId, unsorted);
+        return rows.map(row -> toReportDto(row, method, currency));
+    }
 
-        List<InventoryValuationReportDto> report = new ArrayList<>();
+    @Override
+    @Transactional(readOnly = true)
+    public void streamValuationReport(UUID warehouseId, Consumer<InventoryValuationReportDto> consumer) {
         ValuationMethod method = getValuationMethod();
-        String valuationCurrency = getValuationCurrency();
-
-        for (List<Stock> group : grouped.values()) {
-            if (group.isEmpty()) continue;
-
-            Stock first = group.get(0);
-            UUID pId = first.getProductVariant().getId();
-            UUID wId = first.getWarehouse().getId();
-
-            BigDecimal totalQty = group.stream()
-                    .map(Stock::getQuantity)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            if (totalQty.compareTo(BigDecimal.ZERO) == 0) continue;
-
-            InventoryValuationReportDto dto = new InventoryValuationReportDto();
-            dto.setProductVariantId(pId);
-            dto.setProductVariantSku(first.getProductVariant().getSku());
-            dto.setProductName(first.getProductVariant().getTemplate().getName());
-            dto.setWarehouseId(wId);
-            dto.setWarehouseName(first.getWarehouse().getName());
-            dto.setCurrency(valuationCurrency);
-            dto.setQuantity(totalQty);
-
-            if (method == ValuationMethod.WEIGHTED_AVERAGE) {
-                BigDecimal avgCost = getCurrentValuation(pId, wId);
-                dto.setUnitCost(avgCost);
-                dto.setTotalValue(totalQty.multiply(avgCost));
-            } else {
-                // FIFO/LIFO: Value comes from layers
-                BigDecimal totalValue = getCurrentValuation(pId, wId);
-                dto.setTotalValue(totalValue);
-                // Approx Unit Cost
-                if (totalQty.compareTo(BigDecimal.ZERO) != 0) {
-                    dto.setUnitCost(totalValue.divide(totalQty, 6, RoundingMode.HALF_UP));
-                } else {
-                    dto.setUnitCost(BigDecimal.ZERO);
-                }
-            }
-            report.add(dto);
+        String currency = getValuationCurrency();
+        try (Stream<VariantWarehouseValuation> rows = method == ValuationMethod.WEIGHTED_AVERAGE
+                ? stockRepository.streamAverageCostValuation(warehouseId)
+                : stockRepository.streamLayerValuation(warehouseId)) {
+            rows.forEach(row -> consumer.accept(toReportDto(row, method, currency)));
         }
-        return report;
+    }
+
+    private InventoryValuationReportDto toReportDto(VariantWarehouseValuation row, ValuationMethod method, String currency) {
+        BigDecimal quantity = row.getQuantity();
+        BigDecimal cost = row.getCost() != null ? row.getCost() : BigDecimal.ZERO;
+
+        InventoryValuationReportDto dto = new InventoryValuationReportDto();
+        dto.setProductVariantId(row.getProductVariantId());
+        dto.setProductVariantSku(row.getProductVariantSku());
+        dto.setProductName(row.getProductName());
+        dto.setWarehouseId(row.getWarehouseId());
+        dto.setWarehouseName(row.getWarehouseName());
+        dto.setCurrency(currency);
+        dto.setQuantity(quantity);
+
+        if (method == ValuationMethod.WEIGHTED_AVERAGE) {
+            dto.setUnitCost(cost);
+            dto.setTotalValue(quantity.multiply(cost));
+        } else {
+            // FIFO/LIFO: value comes from the open layers, unit cost is the implied average
+            dto.setTotalValue(cost);
+            dto.setUnitCost(cost.divide(quantity, 6, RoundingMode.HALF_UP));
+        }
+        return dto;
     }
 
     private void processWeightedAverageInbound(StockMovement movement, BigDecimal unitCost) {
@@ -148,14 +169,7 @@ public class InventoryValuationServiceImpl implements InventoryValuationService
         UUID warehouseId = movement.getWarehouse().getId();
 
         ProductCost productCost = productCostRepository.findByProductVariantIdAndWarehouseId(variantId, warehouseId)
-                .orElseGet(() -> {
-                    ProductCost pc = new ProductCost();
-                    pc.setProductVariant(movement.getProductVariant());
-                    pc.setWarehouse(movement.getWarehouse());
-                    pc.setAverageCost(BigDecimal.ZERO);
-                    pc.setCurrency(getValuationCurrency());
-                    return pc;
-                });
+                .orElseGet(() -> newProductCost(movement, getValuationCurrency()));
 
         if (productCost.getCurrency() == null || productCost.getCurrency().isBlank()) {
             productCost.setCurrency(getValuationCurrency());
@@ -177,7 +191,11 @@ public class InventoryValuationServiceImpl implements InventoryValuationService
 
         if (currentTotalStock == null) currentTotalStock = BigDecimal.ZERO;
 
-        BigDecimal inboundQty = movement.getQuantity();
+        blendAverageCost(productCost, movement.getQuantity(), unitCost, currentTotalStock);
+        productCostRepository.save(productCost);
+    }
+
+    private void blendAverageCost(ProductCost productCost, BigDecimal inboundQty, BigDecimal unitCost, BigDecimal currentTotalStock) {
         BigDecimal oldTotalStock = currentTotalStock.subtract(inboundQty);
 
         if (oldTotalStock.compareTo(BigDecimal.ZERO) <= 0) {
@@ -189,8 +207,15 @@ public class InventoryValuationServiceImpl implements InventoryValuationService
             BigDecimal newAvgCost = totalValue.divide(currentTotalStock, 6, RoundingMode.HALF_UP);
             productCost.setAverageCost(newAvgCost);
         }
+    }
 
-        productCostRepository.save(productCost);
+    private ProductCost newProductCost(StockMovement movement, String currency) {
+        ProductCost pc = new ProductCost();
+        pc.setProductVariant(movement.getProductVariant());
+        pc.setWarehouse(movement.getWarehouse());
+        pc.setAverageCost(BigDecimal.ZERO);
+        pc.setCurrency(currency);
+        return pc;
     }
 
     private void processLayeredInbound(StockMovement movement, BigDecimal unitCost) {
@@ -216,29 +241,12 @@ public class InventoryValuationServiceImpl implements InventoryValuationService
     }
 
     private void processLayeredOutbound(StockMovement movement, ValuationMethod method) {
-        List<InventoryValuationLayer> layers;
-        if (method == ValuationMethod.LIFO) {
-            layers = layerRepository.findLayersForLifo(movement.getProductVariant().getId(), movement.getWarehouse().getId());
-        } else {
-            layers = layerRepository.findLayersForFifo(movement.getProductVariant().getId(), movement.getWarehouse().getId());
-        }
-
-        BigDecimal remainingQty = movement.getQuantity();
-        BigDecimal totalCost = BigDecimal.ZERO;
-
-        for (InventoryValuationLayer layer : layers) {
-            if (remainingQty.compareTo(BigDecimal.ZERO) <= 0) break;
-
-            BigDecimal consume = remainingQty.min(layer.getQuantityRemaining());
-
-            BigDecimal layerCost = consume.multiply(layer.getUnitCost());
-            totalCost = totalCost.add(layerCost);
-
-            layer.setQuantityRemaining(layer.getQuantityRemaining().subtract(consume));
-            remainingQty = remainingQty.subtract(consume);
-
-            layerRepository.save(layer);
-        }
+        OpenLayerCursor cursor = new OpenLayerCursor(layerRepository, movement.getProductVariant().getId(),
+                movement.getWarehouse().getId(), method == ValuationMethod.LIFO);
+        Set<InventoryValuationLayer> touched = new LinkedHashSet<>();
+        BigDecimal totalCost = cursor.consume(movement.getQuantity(), touched);
+        // Decrements are flushed as one JDBC batch (hibernate.jdbc.batch_size)
+        layerRepository.saveAll(touched);
 
         // If we ran out of layers (selling more than we have in history?), we assume 0 cost for remainder?
         // Or we use the last layer's cost?
@@ -254,7 +262,103 @@ public class InventoryValuationServiceImpl implements InventoryValuationService
         movement.setTotalCost(totalCost);
     }
 
-    private ValuationMethod getValuationMethod() {
+    private void processWeightedAverageBatch(List<BatchLine> lines) {
+        Set<UUID> variantIds = new HashSet<>();
+        Set<UUID> warehouseIds = new HashSet<>();
+        Map<VariantWarehouse, BigDecimal> batchAvailableChange = new HashMap<>();
+        for (BatchLine line : lines) {
+            VariantWarehouse key = VariantWarehouse.of(line.movement());
+            variantIds.add(key.productVariantId());
+            warehouseIds.add(key.warehouseId());
+            batchAvailableChange.merge(key, line.availableQuantityChange(), BigDecimal::add);
+        }
+
+        Map<VariantWarehouse, ProductCost> costs = new HashMap<>();
+        productCostRepository.findByProductVariantIdInAndWarehouseIdIn(variantIds, warehouseIds)
+                .forEach(cost -> costs.put(new VariantWarehouse(cost.getProductVariant().getId(), cost.getWarehouse().getId()), cost));
+
+        // Stock already reflects the whole batch; rewind to the pre-batch on-hand and replay
+        // line by line so each inbound blends against the quantity it actually arrived on.
+        Map<VariantWarehouse, BigDecimal> runningStock = new HashMap<>();
+        stockRepository.sumAvailableQuantityByVariantAndWarehouse(variantIds, warehouseIds)
+                .forEach(row -> runningStock.put(new VariantWarehouse(row.getProductVariantId(), row.getWarehouseId()), row.getQuantity()));
+        batchAvailableChange.forEach((key, change) ->
+                runningStock.put(key, runningStock.getOrDefault(key, BigDecimal.ZERO).subtract(change)));
+
+        String currency = getValuationCurrency();
+        Set<ProductCost> touched = new LinkedHashSet<>();
+        for (BatchLine line : lines) {
+            StockMovement movement = line.movement();
+            VariantWarehouse key = VariantWarehouse.of(movement);
+            BigDecimal currentTotalStock = runningStock.merge(key, line.availableQuantityChange(), BigDecimal::add);
+
+            if (line.inbound()) {
+                BigDecimal unitCost = line.unitCost() != null ? line.unitCost() : BigDecimal.ZERO;
+                ProductCost productCost = costs.computeIfAbsent(key, k -> newProductCost(movement, currency));
+                if (productCost.getCurrency() == null || productCost.getCurrency().isBlank()) {
+                    productCost.setCurrency(currency);
+                }
+                blendAverageCost(productCost, line.quantity(), unitCost, currentTotalStock);
+                touched.add(productCost);
+                movement.setUnitCost(unitCost);
+                movement.setTotalCost(unitCost.multiply(line.quantity()));
+            } else {
+                ProductCost cost = costs.get(key);
+                BigDecimal avgCost = cost != null ? cost.getAverageCost() : BigDecimal.ZERO;
+                movement.setUnitCost(avgCost);
+                movement.setTotalCost(avgCost.multiply(line.quantity()));
+            }
+        }
+        productCostRepository.saveAll(touched);
+    }
+
+    private void processLayeredBatch(List<BatchLine> lines, ValuationMethod method) {
+        // One cursor per variant/warehouse with outbound lines; layers received earlier in the
+        // same batch join it in consumption order.
+        Map<VariantWarehouse, OpenLayerCursor> cursors = new HashMap<>();
+        for (BatchLine line : lines) {
+            VariantWarehouse key = VariantWarehouse.of(line.movement());
+            if (!line.inbound()) {
+                cursors.computeIfAbsent(key, k -> new OpenLayerCursor(layerRepository,
+                        k.productVariantId(), k.warehouseId(), method == ValuationMethod.LIFO));
+            }
+        }
+
+        Set<InventoryValuationLayer> touched = new LinkedHashSet<>();
+        for (BatchLine line : lines) {
+            StockMovement movement = line.movement();
+            OpenLayerCursor cursor = cursors.get(VariantWarehouse.of(movement));
+            if (line.inbound()) {
+                BigDecimal unitCost = line.unitCost() != null ? line.unitCost() : BigDecimal.ZERO;
+                InventoryValuationLayer layer = new InventoryValuationLayer();
+                layer.setProductVariant(movement.getProductVariant());
+                layer.setWarehouse(movement.getWarehouse());
+                layer.setQuantityRemaining(line.quantity());
+                layer.setUnitCost(unitCost);
+                layer.setReceivedDate(LocalDateTime.now());
+                layer.setReference(movement.getReferenceId());
+                touched.add(layer);
+                if (cursor != null) {
+                    cursor.receive(layer);
+                }
+                movement.setUnitCost(unitCost);
+                movement.setTotalCost(unitCost.multiply(line.quantity()));
+            } else {
+                BigDecimal totalCost = cursor.consume(line.quantity(), touched);
+                BigDecimal unitCost = BigDecimal.ZERO;
+                if (line.quantity().compareTo(BigDecimal.ZERO) > 0) {
+                    unitCost = totalCost.divide(line.quantity(), 6, RoundingMode.HALF_UP);
+                }
+                movement.setUnitCost(unitCost);
+                movement.setTotalCost(totalCost);
+            }
+        }
+        layerRepository.saveAll(touched);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ValuationMethod getValuationMethod() {
         return tenantSettingService.findSetting(VALUATION_METHOD_KEY)
                 .map(setting -> {
                     try {
@@ -266,7 +370,9 @@ public class InventoryValuationServiceImpl implements InventoryValuationService
                 .orElse(ValuationMethod.FIFO);
     }
 
-    private String getValuationCurrency() {
+    @Override
+    @Transactional(readOnly = true)
+    public String getValuationCurrency() {
         return tenantSettingService.findSetting(VALUATION_CURRENCY_KEY)
                 .map(setting -> setting.getValue())
                 .filter(value -> value != null && !value.isBlank())
@@ -277,4 +383,107 @@ public class InventoryValuationServiceImpl implements InventoryValuationService
                 .map(String::toUpperCase)
                 .orElse(FALLBACK_CURRENCY);
     }
+
+    /**
+     * Walks the open layers of one variant/warehouse in consumption order, reading them from
+     * the database a small page at a time and only as far as the outbound quantity needs, so
+     * fully consumed history is never scanned. Pages are locked for update as they are read.
+     * Layers received after the cursor was opened join it: at the end for FIFO, at the front
+     * for LIFO.
+     */
+    private static final class OpenLayerCursor {
+        private static final int PAGE_SIZE = 16;
+
+        private final InventoryValuationLayerRepository repository;
+        private final UUID productVariantId;
+        private final UUID warehouseId;
+        private final boolean lifo;
+        private final Deque<InventoryValuationLayer> buffer = new ArrayDeque<>();
+        private final Deque<InventoryValuationLayer> received = new ArrayDeque<>();
+        private InventoryValuationLayer lastFetched;
+        private boolean exhausted;
+
+        OpenLayerCursor(InventoryValuationLayerRepository repository, UUID productVariantId, UUID warehouseId, boolean lifo) {
+            this.repository = repository;
+            this.productVariantId = productVariantId;
+            this.warehouseId = warehouseId;
+            this.lifo = lifo;
+        }
+
+        void receive(InventoryValuationLayer layer) {
+            if (lifo) {
+                buffer.addFirst(layer);
+            } else {
+                received.addLast(layer);
+            }
+        }
+
+        /**
+         * Draws {@code quantity} from the open layers and returns its cost. Any quantity not
+         * covered by layers is costed at zero.
+         */
+        BigDecimal consume(BigDecimal quantity, Collection<InventoryValuationLayer> touched) {
+            BigDecimal remainingQty = quantity;
+            BigDecimal totalCost = BigDecimal.ZERO;
+
+            while (remainingQty.compareTo(BigDecimal.ZERO) > 0) {
+                Deque<InventoryValuationLayer> source = nextSource();
+                if (source == null) break;
+                InventoryValuationLayer layer = source.peekFirst();
+
+                BigDecimal consume = remainingQty.min(layer.getQuantityRemaining());
+                totalCost = totalCost.add(consume.multiply(layer.getUnitCost()));
+                layer.setQuantityRemaining(layer.getQuantityRemaining().subtract(consume));
+                remainingQty = remainingQty.subtract(consume);
+                touched.add(layer);
+
+                if (layer.getQuantityRemaining().compareTo(BigDecimal.ZERO) <= 0) {
+                    source.pollFirst();
+                }
+            }
+            return totalCost;
+        }
+
+        private Deque<InventoryValuationLayer> nextSource() {
+            while (true) {
+                while (!buffer.isEmpty() && buffer.peekFirst().getQuantityRemaining().compareTo(BigDecimal.ZERO) <= 0) {
+                    buffer.pollFirst();
+                }
+                if (!buffer.isEmpty()) {
+                    return buffer;
+                }
+                if (exhausted) {
+                    return received.isEmpty() ? null : received;
+                }
+                fetchNextPage();
+            }
+        }
+
+        private void fetchNextPage() {
+            Pageable page = PageRequest.of(0, PAGE_SIZE);
+            List<InventoryValuationLayer> layers;
+            if (lastFetched == null) {
+                layers = lifo
+                        ? repository.findOpenLayersLifo(productVariantId, warehouseId, page)
+                        : repository.findOpenLayersFifo(productVariantId, warehouseId, page);
+            } else {
+                layers = lifo
+                        ? repository.findOpenLayersLifoBefore(productVariantId, warehouseId,
+                                lastFetched.getReceivedDate(), lastFetched.getId(), page)
+                        : repository.findOpenLayersFifoAfter(productVariantId, warehouseId,
+                                lastFetched.getReceivedDate(), lastFetched.getId(), page);
+            }
+            buffer.addAll(layers);
+            if (!layers.isEmpty()) {
+                lastFetched = layers.get(layers.size() - 1);
+            }
+            exhausted = layers.size() < PAGE_SIZE;
+        }
+    }
+
+    private record VariantWarehouse(UUID productVariantId, UUID warehouseId) {
+        static VariantWarehouse of(StockMovement movement) {
+            return new VariantWarehouse(movement.getProductVariant().getId(), movement.getWarehouse().getId());
+        }
+    }
 }
@@ -74,6 +74,29 @@ public class MinioFileStorageService implements FileStorageService {
         }
     }
 
+    @Override
+    public String uploadStream(InputStream content, long size, String originalFilename, String contentType, String folder) {
+        String safeName = (originalFilename == null || originalFilename.isBlank()) ? "file" : originalFilename;
+        String filename = folder + "/" + UUID.randomUUID() + "-" + safeName;
+        try {
+            boolean found = minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build());
+            if (!found) {
+                minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+            }
+            minioClient.putObject(
+                    PutObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(filename)
+                            .stream(content, size, -1)
+                            .contentType(contentType == null || contentType.isBlank() ? "application/octet-stream" : contentType)
+                            .build());
+            return filename;
+        } catch (Exception e) {
+            log.error("Error uploading stream to MinIO", e);
+            throw new RuntimeException("Could not upload stream " + safeName, e);
+        }
+    }
+
     @Override
     public void deleteFile(String filename) {
         try {
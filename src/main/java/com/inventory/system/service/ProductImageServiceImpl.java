@@ -6,11 +6,14 @@ import com.inventory.system.common.exception.ResourceNotFoundException;
 import com.inventory.system.payload.ProductImageDto;
 import com.inventory.system.repository.ProductImageRepository;
 import com.inventory.system.repository.ProductTemplateRepository;
+import com.inventory.system.service.storefront.events.StorefrontCatalogChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -22,6 +25,7 @@ public class ProductImageServiceImpl implements ProductImageService {
     private final ProductImageRepository productImageRepository;
     private final ProductTemplateRepository productTemplateRepository;
     private final FileStorageService fileStorageService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -46,6 +50,7 @@ public class ProductImageServiceImpl implements ProductImageService {
         image.setIsMain(isMain != null ? isMain : false);
 
         image = productImageRepository.save(image);
+        catalogChanged(templateId);
         return mapToDto(image);
     }
 
@@ -59,6 +64,7 @@ public class ProductImageServiceImpl implements ProductImageService {
                                                        // Assuming deleteFile logs error and shouldn't block DB delete
                                                        // unless critical.
         productImageRepository.delete(image);
+        catalogChanged(image.getProductTemplate().getId());
     }
 
     @Override
@@ -88,7 +94,13 @@ public class ProductImageServiceImpl implements ProductImageService {
 
         unsetMainImages(image.getProductTemplate().getId());
         image.setIsMain(true);
-        return mapToDto(productImageRepository.save(image));
+        ProductImage saved = productImageRepository.save(image);
+        catalogChanged(saved.getProductTemplate().getId());
+        return mapToDto(saved);
+    }
+
+    private void catalogChanged(UUID templateId) {
+        eventPublisher.publishEvent(new StorefrontCatalogChangedEvent(templateId, Instant.now()));
     }
 
     private void unsetMainImages(UUID templateId) {
@@ -7,7 +7,9 @@ import com.inventory.system.common.exception.BadRequestException;
 import com.inventory.system.common.exception.ResourceNotFoundException;
 import com.inventory.system.payload.*;
 import com.inventory.system.repository.*;
+import com.inventory.system.service.storefront.events.StorefrontCatalogChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -20,11 +22,14 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -43,6 +48,7 @@ public class ProductServiceImpl implements ProductService {
     private final ProductVariantVersionRepository productVariantVersionRepository;
     private final ObjectMapper objectMapper;
     private final StockService stockService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public String generateSku(ProductVariant variant) {
@@ -91,6 +97,7 @@ public class ProductServiceImpl implements ProductService {
         }
 
         template = productTemplateRepository.save(template);
+        catalogChanged(template.getId());
         return mapToDto(template);
     }
 
@@ -164,6 +171,7 @@ public class ProductServiceImpl implements ProductService {
         }
 
         template = productTemplateRepository.save(template);
+        catalogChanged(template.getId());
         return mapToDto(template);
     }
 
@@ -187,6 +195,7 @@ public class ProductServiceImpl implements ProductService {
         ProductTemplate template = productTemplateRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product Template", "id", id));
         productTemplateRepository.delete(template);
+        catalogChanged(template.getId());
     }
 
     // --- Attribute Group Methods ---
@@ -259,6 +268,7 @@ public class ProductServiceImpl implements ProductService {
     public ProductAttributeDto updateProductAttribute(UUID id, ProductAttributeDto dto) {
         ProductAttribute attribute = productAttributeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product Attribute", "id", id));
+        ProductTemplate previousTemplate = attribute.getTemplate();
 
         attribute.setName(dto.getName());
         if (dto.getType() != null)
@@ -281,6 +291,10 @@ public class ProductServiceImpl implements ProductService {
         }
 
         attribute = productAttributeRepository.save(attribute);
+        if (previousTemplate != null && previousTemplate != attribute.getTemplate()) {
+            catalogChanged(previousTemplate.getId());
+        }
+        attributeChanged(attribute);
         return mapToDto(attribute);
     }
 
@@ -310,6 +324,7 @@ public class ProductServiceImpl implements ProductService {
             productAttributeValueRepository.deleteAll(values);
         }
         productAttributeRepository.delete(attribute);
+        attributeChanged(attribute);
     }
 
     // --- Variant Methods ---
@@ -344,6 +359,7 @@ public class ProductServiceImpl implements ProductService {
         }
 
         variant = productVariantRepository.save(variant);
+        catalogChanged(template.getId());
 
         // Handle attributes
         if (dto.getAttributeValues() != null) {
@@ -397,6 +413,7 @@ public class ProductServiceImpl implements ProductService {
     public ProductVariantDto updateProductVariant(UUID id, ProductVariantDto dto) {
         ProductVariant variant = productVariantRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product Variant", "id", id));
+        ProductTemplate previousTemplate = variant.getTemplate();
 
         boolean templateChanged = false;
         if (dto.getTemplateId() != null && (variant.getTemplate() == null
@@ -481,6 +498,10 @@ public class ProductServiceImpl implements ProductService {
         }
 
         ProductVariant updated = productVariantRepository.save(variant);
+        if (templateChanged && previousTemplate != null) {
+            catalogChanged(previousTemplate.getId());
+        }
+        catalogChanged(updated.getTemplate().getId());
         ProductVariantDto result = mapToDto(updated);
         saveVariantVersion(updated, "UPDATE");
         return result;
@@ -540,6 +561,7 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product Variant", "id", id));
         saveVariantVersion(variant, "DELETE");
         productVariantRepository.delete(variant);
+        catalogChanged(variant.getTemplate().getId());
     }
 
     @Override
@@ -552,6 +574,7 @@ public class ProductServiceImpl implements ProductService {
         List<ProductVariant> variants = productVariantRepository.findAllById(request.getProductVariantIds());
         BulkProductOperationResultDto result = new BulkProductOperationResultDto();
         result.setTotalRequested(request.getProductVariantIds().size());
+        Set<UUID> changedTemplateIds = new LinkedHashSet<>();
 
         for (ProductVariant variant : variants) {
             try {
@@ -568,12 +591,16 @@ public class ProductServiceImpl implements ProductService {
 
                 ProductVariant saved = productVariantRepository.save(variant);
                 saveVariantVersion(saved, "BULK_UPDATE");
+                if (saved.getTemplate() != null) {
+                    changedTemplateIds.add(saved.getTemplate().getId());
+                }
                 result.setTotalUpdated(result.getTotalUpdated() + 1);
             } catch (Exception ex) {
                 result.getErrors().add("Variant " + variant.getId() + ": " + ex.getMessage());
             }
         }
 
+        changedTemplateIds.forEach(this::catalogChanged);
         return result;
     }
 
@@ -689,6 +716,20 @@ public class ProductServiceImpl implements ProductService {
         return createProductVariant(variantDto);
     }
 
+    // --- Storefront Catalog ---
+
+    private void catalogChanged(UUID productTemplateId) {
+        eventPublisher.publishEvent(new StorefrontCatalogChangedEvent(productTemplateId, Instant.now()));
+    }
+
+    /**
+     * Attribute names appear in variant labels: a template attribute changes its template,
+     * a shared one any product.
+     */
+    private void attributeChanged(ProductAttribute attribute) {
+        catalogChanged(attribute.getTemplate() != null ? attribute.getTemplate().getId() : null);
+    }
+
     // --- Mappers ---
 
     private ProductTemplateDto mapToDto(ProductTemplate template) {
@@ -0,0 +1,12 @@
+package com.inventory.system.service;
+
+import com.inventory.system.common.entity.PurchaseOrderStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Raised when a purchase order is created, edited or changes status.
+ */
+public record PurchaseOrderChangedEvent(UUID purchaseOrderId, PurchaseOrderStatus status, Instant occurredAt) {
+}
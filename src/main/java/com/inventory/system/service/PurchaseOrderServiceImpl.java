@@ -17,6 +17,7 @@ import com.inventory.system.repository.ProductVariantRepository;
 import com.inventory.system.repository.PurchaseOrderRepository;
 import com.inventory.system.repository.SupplierRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -26,6 +27,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -43,6 +45,7 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
     private final PurchaseOrderRepository purchaseOrderRepository;
     private final SupplierRepository supplierRepository;
     private final ProductVariantRepository productVariantRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -94,6 +97,7 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
         purchaseOrder.setTotalAmount(totalAmount);
 
         PurchaseOrder savedPo = purchaseOrderRepository.save(purchaseOrder);
+        publishChanged(savedPo);
         return mapToDto(savedPo);
     }
 
@@ -181,6 +185,7 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
         purchaseOrder.setTotalAmount(totalAmount);
 
         PurchaseOrder savedPo = purchaseOrderRepository.save(purchaseOrder);
+        publishChanged(savedPo);
         return mapToDto(savedPo);
     }
 
@@ -194,6 +199,7 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
         purchaseOrder.setStatus(status);
 
         PurchaseOrder savedPo = purchaseOrderRepository.save(purchaseOrder);
+        publishChanged(savedPo);
         return mapToDto(savedPo);
     }
 
@@ -205,6 +211,11 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
             throw new BadRequestException("Cannot delete Purchase Order that is not in PENDING status");
         }
         purchaseOrderRepository.delete(purchaseOrder);
+        publishChanged(purchaseOrder);
+    }
+
+    private void publishChanged(PurchaseOrder purchaseOrder) {
+        eventPublisher.publishEvent(new PurchaseOrderChangedEvent(purchaseOrder.getId(), purchaseOrder.getStatus(), Instant.now()));
     }
 
     private void validateSupplierEligibility(Supplier supplier) {
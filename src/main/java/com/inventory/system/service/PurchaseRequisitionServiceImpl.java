@@ -35,6 +35,7 @@ public class PurchaseRequisitionServiceImpl implements PurchaseRequisitionServic
     private final ProductVariantRepository productVariantRepository;
     private final com.inventory.system.repository.PurchaseOrderRepository purchaseOrderRepository;
     private final com.inventory.system.repository.SupplierRepository supplierRepository;
+    private final org.springframework.context.ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -140,6 +141,7 @@ public class PurchaseRequisitionServiceImpl implements PurchaseRequisitionServic
         po.setItems(poItems);
         po.setTotalAmount(poTotal);
         com.inventory.system.common.entity.PurchaseOrder savedPo = purchaseOrderRepository.save(po);
+        eventPublisher.publishEvent(new PurchaseOrderChangedEvent(savedPo.getId(), savedPo.getStatus(), java.time.Instant.now()));
 
         pr.setConvertedAt(LocalDateTime.now());
         pr.setConvertedPurchaseOrderId(savedPo.getId());
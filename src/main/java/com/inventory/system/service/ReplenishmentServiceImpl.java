@@ -1,6 +1,7 @@
 package com.inventory.system.service;
 
 import com.inventory.system.common.entity.ReplenishmentRule;
+import com.inventory.system.common.entity.StockAlert;
 import com.inventory.system.common.entity.StockMovement;
 import com.inventory.system.common.entity.Warehouse;
 import com.inventory.system.common.entity.ProductVariant;
@@ -9,18 +10,21 @@ import com.inventory.system.payload.ReplenishmentRuleDto;
 import com.inventory.system.payload.ReplenishmentSuggestionDto;
 import com.inventory.system.payload.StockAlertDto;
 import com.inventory.system.repository.ReplenishmentRuleRepository;
-import com.inventory.system.repository.StockMovementRepository;
+import com.inventory.system.repository.StockAlertRepository;
+import com.inventory.system.repository.StockMovementDailyTotalRepository;
 import com.inventory.system.repository.WarehouseRepository;
 import com.inventory.system.repository.ProductVariantRepository;
+import com.inventory.system.service.inventory.StockAlertEvaluator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -29,17 +33,19 @@ import java.util.stream.Collectors;
 public class ReplenishmentServiceImpl implements ReplenishmentService {
 
     private final ReplenishmentRuleRepository replenishmentRuleRepository;
-    private final StockMovementRepository stockMovementRepository;
+    private final StockMovementDailyTotalRepository stockMovementDailyTotalRepository;
     private final WarehouseRepository warehouseRepository;
     private final ProductVariantRepository productVariantRepository;
     private final StockReservationService stockReservationService;
+    private final StockAlertRepository stockAlertRepository;
+    private final StockAlertEvaluator stockAlertEvaluator;
 
     @Override
     @Transactional
     public ReplenishmentRuleDto createRule(ReplenishmentRuleDto dto) {
         ReplenishmentRule rule = new ReplenishmentRule();
         updateRuleFromDto(rule, dto);
-        return mapToDto(replenishmentRuleRepository.save(rule));
+        return mapToDto(saveAndRefreshAlerts(rule));
     }
 
     @Override
@@ -48,7 +54,7 @@ public class ReplenishmentServiceImpl implements ReplenishmentService {
         ReplenishmentRule rule = replenishmentRuleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("ReplenishmentRule", "id", id));
         updateRuleFromDto(rule, dto);
-        return mapToDto(replenishmentRuleRepository.save(rule));
+        return mapToDto(saveAndRefreshAlerts(rule));
     }
 
     @Override
@@ -58,6 +64,8 @@ public class ReplenishmentServiceImpl implements ReplenishmentService {
             throw new ResourceNotFoundException("ReplenishmentRule", "id", id);
         }
         replenishmentRuleRepository.deleteById(id);
+        replenishmentRuleRepository.flush();
+        stockAlertEvaluator.refreshRule(id);
     }
 
     @Override
@@ -82,15 +90,16 @@ public class ReplenishmentServiceImpl implements ReplenishmentService {
         ReplenishmentRule rule = replenishmentRuleRepository.findById(ruleId)
                 .orElseThrow(() -> new ResourceNotFoundException("ReplenishmentRule", "id", ruleId));
 
-        // Calculate Average Daily Usage over last 30 days
-        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
+        // Calculate Average Daily Usage over the last 30 days (today included) from the daily rollup
+        LocalDate today = LocalDate.now();
 
         List<StockMovement.StockMovementType> types = List.of(StockMovement.StockMovementType.OUT, StockMovement.StockMovementType.TRANSFER_OUT);
 
-        BigDecimal totalUsage = stockMovementRepository.sumQuantityByProductAndWarehouseAndDateAndType(
+        BigDecimal totalUsage = stockMovementDailyTotalRepository.sumQuantity(
                 rule.getProductVariant().getId(),
                 rule.getWarehouse().getId(),
-                thirtyDaysAgo,
+                today.minusDays(29),
+                today,
                 types
         );
 
@@ -106,7 +115,7 @@ public class ReplenishmentServiceImpl implements ReplenishmentService {
         BigDecimal reorderPoint = avgDailyUsage.multiply(BigDecimal.valueOf(leadTime)).add(safetyStock);
 
         rule.setMinStock(reorderPoint);
-        replenishmentRuleRepository.save(rule);
+        saveAndRefreshAlerts(rule);
     }
 
     @Override
@@ -115,11 +124,11 @@ public class ReplenishmentServiceImpl implements ReplenishmentService {
         List<ReplenishmentRule> rules = replenishmentRuleRepository.findByWarehouseIdAndIsEnabledTrue(warehouseId);
         List<ReplenishmentSuggestionDto> suggestions = new ArrayList<>();
 
+        Map<UUID, BigDecimal> availableToPromise = stockReservationService.getAvailableToPromise(
+                rules.stream().map(rule -> rule.getProductVariant().getId()).toList(), warehouseId);
+
         for (ReplenishmentRule rule : rules) {
-            BigDecimal availableStock = stockReservationService.getAvailableToPromise(
-                    rule.getProductVariant().getId(),
-                    rule.getWarehouse().getId()
-            );
+            BigDecimal availableStock = availableToPromise.getOrDefault(rule.getProductVariant().getId(), BigDecimal.ZERO);
 
             if (availableStock.compareTo(rule.getMinStock()) <= 0) {
                 ReplenishmentSuggestionDto suggestion = new ReplenishmentSuggestionDto();
@@ -147,44 +156,38 @@ public class ReplenishmentServiceImpl implements ReplenishmentService {
         return suggestions;
     }
 
+    /**
+     * Reads the materialized alerts kept by {@link StockAlertEvaluator}; a null warehouse
+     * returns the alerts of every warehouse ordered by warehouse name and SKU.
+     */
     @Override
     @Transactional(readOnly = true)
     public List<StockAlertDto> getStockAlerts(UUID warehouseId) {
-        List<ReplenishmentRule> rules = replenishmentRuleRepository.findByWarehouseIdAndIsEnabledTrue(warehouseId);
-        List<StockAlertDto> alerts = new ArrayList<>();
-
-        for (ReplenishmentRule rule : rules) {
-            BigDecimal availableStock = stockReservationService.getAvailableToPromise(
-                    rule.getProductVariant().getId(),
-                    rule.getWarehouse().getId()
-            );
-
-            if (availableStock.compareTo(rule.getMinStock()) <= 0) {
-                StockAlertDto alert = buildAlert(rule, availableStock, com.inventory.system.common.entity.StockAlertStatus.BELOW_MIN);
-                alerts.add(alert);
-            } else if (availableStock.compareTo(rule.getMaxStock()) > 0) {
-                StockAlertDto alert = buildAlert(rule, availableStock, com.inventory.system.common.entity.StockAlertStatus.ABOVE_MAX);
-                alerts.add(alert);
-            }
-        }
+        List<StockAlert> alerts = warehouseId != null
+                ? stockAlertRepository.findFeedByWarehouse(warehouseId)
+                : stockAlertRepository.findFeed();
+        return alerts.stream().map(this::mapAlert).collect(Collectors.toList());
+    }
 
-        return alerts;
+    private ReplenishmentRule saveAndRefreshAlerts(ReplenishmentRule rule) {
+        ReplenishmentRule saved = replenishmentRuleRepository.save(rule);
+        replenishmentRuleRepository.flush();
+        stockAlertEvaluator.refreshRule(rule.getId());
+        return saved;
     }
 
-    private StockAlertDto buildAlert(ReplenishmentRule rule, BigDecimal availableStock, com.inventory.system.common.entity.StockAlertStatus status) {
+    private StockAlertDto mapAlert(StockAlert stockAlert) {
         StockAlertDto alert = new StockAlertDto();
-        alert.setProductVariantId(rule.getProductVariant().getId());
-        alert.setProductVariantName(rule.getProductVariant().getTemplate().getName() + " - " + rule.getProductVariant().getSku());
-        alert.setSku(rule.getProductVariant().getSku());
-        alert.setWarehouseId(rule.getWarehouse().getId());
-        alert.setWarehouseName(rule.getWarehouse().getName());
-        alert.setCurrentStock(availableStock);
-        alert.setMinStock(rule.getMinStock());
-        alert.setMaxStock(rule.getMaxStock());
-        if (rule.getMaxStock() != null && availableStock != null) {
-            alert.setSuggestedQuantity(rule.getMaxStock().subtract(availableStock).max(BigDecimal.ZERO));
-        }
-        alert.setStatus(status);
+        alert.setProductVariantId(stockAlert.getProductVariant().getId());
+        alert.setProductVariantName(stockAlert.getProductVariant().getTemplate().getName() + " - " + stockAlert.getProductVariant().getSku());
+        alert.setSku(stockAlert.getProductVariant().getSku());
+        alert.setWarehouseId(stockAlert.getWarehouse().getId());
+        alert.setWarehouseName(stockAlert.getWarehouse().getName());
+        alert.setCurrentStock(stockAlert.getCurrentStock());
+        alert.setMinStock(stockAlert.getMinStock());
+        alert.setMaxStock(stockAlert.getMaxStock());
+        alert.setSuggestedQuantity(stockAlert.getSuggestedQuantity());
+        alert.setStatus(stockAlert.getStatus());
         return alert;
     }
 
@@ -0,0 +1,41 @@
+package com.inventory.system.service;
+
+import com.inventory.system.payload.DataExchangeDataset;
+import com.inventory.system.payload.GenerateReportRequest;
+import com.inventory.system.payload.ReportJobDto;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+
+public interface ReportJobService {
+
+    /**
+     * A completed job's file opened from storage. The caller closes {@code content}.
+     */
+    record Download(String fileName, String contentType, Long size, InputStream content) {
+    }
+
+    /**
+     * Queues a report builder export and returns at once. A request identical to one the
+     * tenant already has queued or running returns that job instead of a new one.
+     */
+    ReportJobDto submitReport(GenerateReportRequest request);
+
+    /**
+     * Queues a data exchange dataset export, deduplicated like {@link #submitReport}.
+     */
+    ReportJobDto submitDataset(DataExchangeDataset dataset);
+
+    ReportJobDto getJob(UUID id);
+
+    List<ReportJobDto> getJobs();
+
+    Download download(UUID id);
+
+    /**
+     * Runs a claimed job on the calling thread: writes the file, stores it and records the
+     * outcome. Called by the reporting executor or the RabbitMQ worker with the job's tenant set.
+     */
+    void runJob(UUID id);
+}
@@ -0,0 +1,473 @@
+package com.inventory.system.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.inventory.system.common.entity.ReportJob;
+import com.inventory.system.common.entity.ReportJobStatus;
+import com.inventory.system.common.entity.ReportOutputFormat;
+import com.inventory.system.common.entity.ReportType;
+import com.inventory.system.common.exception.BadRequestException;
+import com.inventory.system.common.exception.ResourceNotFoundException;
+import com.inventory.system.config.scaling.DistributedLockService;
+import com.inventory.system.config.scaling.RabbitConfig;
+import com.inventory.system.config.tenant.TenantContext;
+import com.inventory.system.payload.DataExchangeDataset;
+import com.inventory.system.payload.GenerateReportRequest;
+import com.inventory.system.payload.ReportJobDto;
+import com.inventory.system.payload.ReportJobMessage;
+import com.inventory.system.repository.ReportJobRepository;
+import com.inventory.system.service.reporting.export.ReportExport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background report and dataset exports. A submitted job is stored as QUEUED and handed to
+ * the tenant-aware reporting executor, or to the RabbitMQ report queue when
+ * {@code app.scaling.enabled}, once the tenant has fewer than
+ * {@code app.reporting.jobs.max-running-per-tenant} (default 2) jobs running. The runner
+ * spools the file to a temporary file, uploads it through {@link FileStorageService} and
+ * records the row count. While a job runs, its instance writes a heartbeat with the rows
+ * written so far every {@code app.reporting.jobs.heartbeat-interval-ms} (default 5000),
+ * whatever phase the export is in.
+ *
+ * <p>Identical requests are deduplicated while in flight by a hash of the resolved request,
+ * backed by a partial unique index. A periodic sweep fails jobs whose heartbeat stopped
+ * (the instance running them died), deletes expired files and dispatches queued jobs that
+ * no completing job picked up.
+ */
+@Slf4j
+@Service
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private static final List<ReportJobStatus> IN_FLIGHT = List.of(ReportJobStatus.QUEUED, ReportJobStatus.RUNNING);
+    private static final String SWEEP_LOCK_KEY = "reporting:jobs:sweep";
+
+    private final ReportJobRepository reportJobRepository;
+    private final ReportingService reportingService;
+    private final FileStorageService fileStorageService;
+    private final DistributedLockService lockService;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor reportingTaskExecutor;
+    private final ObjectProvider<RabbitTemplate> rabbitTemplateProvider;
+    private final ObjectProvider<ReportJobServiceImpl> self;
+    private final boolean scalingEnabled;
+    private final int maxRunningPerTenant;
+    private final int maxQueuedPerTenant;
+    private final Duration retention;
+    private final Duration staleAfter;
+    private final String owner = UUID.randomUUID().toString();
+    private final ConcurrentHashMap<UUID, RunningJob> running = new ConcurrentHashMap<>();
+
+    public ReportJobServiceImpl(ReportJobRepository reportJobRepository,
+                                ReportingService reportingService,
+                                FileStorageService fileStorageService,
+                                DistributedLockService lockService,
+                                ObjectMapper objectMapper,
+                                TaskExecutor reportingTaskExecutor,
+                                ObjectProvider<RabbitTemplate> rabbitTemplateProvider,
+                                ObjectProvider<ReportJobServiceImpl> self,
+                                @Value("${app.scaling.enabled:false}") boolean scalingEnabled,
+                                @Value("${app.reporting.jobs.max-running-per-tenant:2}") int maxRunningPerTenant,
+                                @Value("${app.reporting.jobs.max-queued-per-tenant:20}") int maxQueuedPerTenant,
+                                @Value("${app.reporting.jobs.retention-hours:24}") long retentionHours,
+                                @Value("${app.reporting.jobs.stale-after-minutes:30}") long staleAfterMinutes) {
+        this.reportJobRepository = reportJobRepository;
+        this.reportingService = reportingService;
+        this.fileStorageService = fileStorageService;
+        this.lockService = lockService;
+        this.objectMapper = objectMapper;
+        this.reportingTaskExecutor = reportingTaskExecutor;
+        this.rabbitTemplateProvider = rabbitTemplateProvider;
+        this.self = self;
+        this.scalingEnabled = scalingEnabled;
+        this.maxRunningPerTenant = maxRunningPerTenant;
+        this.maxQueuedPerTenant = maxQueuedPerTenant;
+        this.retention = Duration.ofHours(retentionHours);
+        this.staleAfter = Duration.ofMinutes(staleAfterMinutes);
+    }
+
+    @Override
+    public ReportJobDto submitReport(GenerateReportRequest request) {
+        ReportExport export = reportingService.prepareReportExport(request);
+        GenerateReportRequest prepared = export.request();
+        return submit(prepared.getReportType(), prepared.getFormat(), null, canonicalJson(prepared),
+                export.fileName(), export.contentType());
+    }
+
+    @Override
+    public ReportJobDto submitDataset(DataExchangeDataset dataset) {
+        if (dataset == null) {
+            throw new BadRequestException("Dataset is required");
+        }
+        return submit(ReportType.DATA_EXPORT, ReportOutputFormat.CSV, dataset.name(), null,
+                dataset.name().toLowerCase() + "-export.csv", "text/csv");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReportJobDto getJob(UUID id) {
+        return mapJob(getJobEntity(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReportJobDto> getJobs() {
+        return reportJobRepository.findTop50ByOrderByCreatedAtDesc().stream()
+                .map(this::mapJob)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Download download(UUID id) {
+        ReportJob job = getJobEntity(id);
+        if (job.getStatus() != ReportJobStatus.COMPLETED || job.getFileKey() == null) {
+            throw new BadRequestException("Report job " + id + " has no file to download (status " + job.getStatus() + ")");
+        }
+        return new Download(job.getFileName(), job.getContentType(), job.getFileSize(),
+                fileStorageService.getFile(job.getFileKey()));
+    }
+
+    @Override
+    public void runJob(UUID id) {
+        ReportJob job = self.getObject().findRunning(id).orElse(null);
+        if (job == null) {
+            return;
+        }
+        RunningJob tracked = new RunningJob(job.getTenantId(), new AtomicLong());
+        running.put(id, tracked);
+        Path spool = null;
+        try {
+            spool = Files.createTempFile("report-job-", ".tmp");
+            long rows = writeJob(job, spool, tracked.rowsWritten());
+            long size = Files.size(spool);
+            String fileKey;
+            try (InputStream content = Files.newInputStream(spool)) {
+                fileKey = fileStorageService.uploadStream(content, size, job.getFileName(), job.getContentType(),
+                        "reports/" + job.getTenantId());
+            }
+            self.getObject().complete(id, fileKey, size, rows);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Report job {} failed: {}", id, ex.getMessage());
+            self.getObject().fail(id, ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName());
+        } finally {
+            running.remove(id);
+            deleteSpool(spool);
+            dispatchQueued();
+        }
+    }
+
+    /**
+     * Writes a heartbeat for every job running on this instance, so the sweep can tell a
+     * long export (a sorted report held until its last row, a dataset query, an upload) from
+     * one whose instance died.
+     */
+    @Scheduled(fixedDelayString = "${app.reporting.jobs.heartbeat-interval-ms:5000}")
+    public void heartbeat() {
+        running.forEach((id, job) -> {
+            try {
+                TenantContext.runWithTenant(job.tenantId(), () -> reportJobRepository.recordHeartbeat(
+                        id, job.rowsWritten().get(), LocalDateTime.now(), ReportJobStatus.RUNNING));
+            } catch (RuntimeException ex) {
+                log.warn("Could not record the heartbeat of report job {}: {}", id, ex.getMessage());
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.reporting.jobs.sweep-interval-ms:60000}")
+    public void sweep() {
+        if (!lockService.tryAcquire(SWEEP_LOCK_KEY, owner, Duration.ofMinutes(5))) {
+            return;
+        }
+        try {
+            for (String tenantId : reportJobRepository.findTenantIdsWithPendingWork(IN_FLIGHT,
+                    ReportJobStatus.COMPLETED, LocalDateTime.now())) {
+                try {
+                    TenantContext.runWithTenant(tenantId, () -> {
+                        self.getObject().expireAndFailStale().forEach(this::deleteStoredFile);
+                        dispatchQueued();
+                    });
+                } catch (RuntimeException ex) {
+                    log.warn("Report job sweep failed for tenant {}: {}", tenantId, ex.getMessage());
+                }
+            }
+        } finally {
+            lockService.release(SWEEP_LOCK_KEY, owner);
+        }
+    }
+
+    /**
+     * Stores a new queued job, or returns the tenant's queued or running job for the same
+     * request. Flushes so a concurrent duplicate fails here on the in-flight index.
+     */
+    @Transactional
+    public ReportJobDto createJob(ReportType reportType, ReportOutputFormat format, String dataset, String requestJson,
+                                  String requestHash, String fileName, String contentType) {
+        Optional<ReportJob> inFlight = reportJobRepository.findFirstByRequestHashAndStatusIn(requestHash, IN_FLIGHT);
+        if (inFlight.isPresent()) {
+            return mapJob(inFlight.get());
+        }
+        if (reportJobRepository.countByStatus(ReportJobStatus.QUEUED) >= maxQueuedPerTenant) {
+            throw new BadRequestException("Too many report jobs are queued; wait for the running jobs to finish");
+        }
+        ReportJob job = new ReportJob();
+        job.setReportType(reportType);
+        job.setOutputFormat(format);
+        job.setDataset(dataset);
+        job.setStatus(ReportJobStatus.QUEUED);
+        job.setRequestJson(requestJson);
+        job.setRequestHash(requestHash);
+        job.setRequestedAt(LocalDateTime.now());
+        job.setFileName(fileName);
+        job.setContentType(contentType);
+        return mapJob(reportJobRepository.saveAndFlush(job));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ReportJobDto> findInFlight(String requestHash) {
+        return reportJobRepository.findFirstByRequestHashAndStatusIn(requestHash, IN_FLIGHT).map(this::mapJob);
+    }
+
+    /**
+     * Moves the oldest queued jobs to RUNNING while the tenant is under its running limit.
+     */
+    @Transactional
+    public List<UUID> claimQueued() {
+        int slots = maxRunningPerTenant - (int) reportJobRepository.countByStatus(ReportJobStatus.RUNNING);
+        if (slots <= 0) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> claimed = new ArrayList<>();
+        for (ReportJob job : reportJobRepository.findByStatusOrderByRequestedAtAsc(ReportJobStatus.QUEUED, PageRequest.of(0, slots))) {
+            job.setStatus(ReportJobStatus.RUNNING);
+            job.setStartedAt(now);
+            job.setHeartbeatAt(now);
+            claimed.add(job.getId());
+        }
+        return claimed;
+    }
+
+    @Transactional
+    public void requeue(UUID id) {
+        reportJobRepository.findById(id).ifPresent(job -> {
+            job.setStatus(ReportJobStatus.QUEUED);
+            job.setStartedAt(null);
+            job.setHeartbeatAt(null);
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ReportJob> findRunning(UUID id) {
+        return reportJobRepository.findById(id).filter(job -> job.getStatus() == ReportJobStatus.RUNNING);
+    }
+
+    @Transactional
+    public void complete(UUID id, String fileKey, long fileSize, long rowsWritten) {
+        ReportJob job = reportJobRepository.findById(id).orElse(null);
+        if (job == null) {
+            deleteStoredFile(fileKey);
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        job.setStatus(ReportJobStatus.COMPLETED);
+        job.setFileKey(fileKey);
+        job.setFileSize(fileSize);
+        job.setRowsWritten(rowsWritten);
+        job.setErrorMessage(null);
+        job.setCompletedAt(now);
+        job.setExpiresAt(now.plus(retention));
+    }
+
+    @Transactional
+    public void fail(UUID id, String errorMessage) {
+        reportJobRepository.findById(id).ifPresent(job -> {
+            job.setStatus(ReportJobStatus.FAILED);
+            job.setErrorMessage(errorMessage);
+            job.setCompletedAt(LocalDateTime.now());
+        });
+    }
+
+    /**
+     * Fails the tenant's running jobs without a recent heartbeat and expires completed jobs
+     * past their retention.
+     *
+     * @return the storage keys of the expired files, deleted by the caller after commit
+     */
+    @Transactional
+    public List<String> expireAndFailStale() {
+        LocalDateTime now = LocalDateTime.now();
+        for (ReportJob job : reportJobRepository.findByStatusAndHeartbeatAtBefore(ReportJobStatus.RUNNING, now.minus(staleAfter))) {
+            job.setStatus(ReportJobStatus.FAILED);
+            job.setErrorMessage("Report job stopped reporting progress");
+            job.setCompletedAt(now);
+        }
+        List<String> expiredKeys = new ArrayList<>();
+        for (ReportJob job : reportJobRepository.findByStatusAndExpiresAtBefore(ReportJobStatus.COMPLETED, now)) {
+            expiredKeys.add(job.getFileKey());
+            job.setStatus(ReportJobStatus.EXPIRED);
+            job.setFileKey(null);
+        }
+        return expiredKeys;
+    }
+
+    private ReportJobDto submit(ReportType reportType, ReportOutputFormat format, String dataset, String requestJson,
+                                String fileName, String contentType) {
+        String requestHash = sha256(reportType + "|" + format + "|" + dataset + "|" + requestJson);
+        ReportJobDto job;
+        try {
+            job = self.getObject().createJob(reportType, format, dataset, requestJson, requestHash, fileName, contentType);
+        } catch (DataIntegrityViolationException duplicate) {
+            // An identical submission committed first; the in-flight index kept only that one
+            job = self.getObject().findInFlight(requestHash).orElseThrow(() -> duplicate);
+        }
+        if (job.getStatus() == ReportJobStatus.QUEUED) {
+            dispatchQueued();
+            return self.getObject().getJob(job.getId());
+        }
+        return job;
+    }
+
+    /**
+     * Claims and dispatches the current tenant's queued jobs up to its running limit. Claims
+     * are serialised per instance and, with scaling enabled, across instances by a tenant lock;
+     * a dispatcher that loses the lock leaves the work to the holder or the next sweep.
+     */
+    private void dispatchQueued() {
+        String tenantId = TenantContext.requireTenantId();
+        String lockKey = "reporting:jobs:" + tenantId;
+        List<UUID> claimed;
+        synchronized (this) {
+            if (!lockService.tryAcquire(lockKey, owner, Duration.ofSeconds(30))) {
+                return;
+            }
+            try {
+                claimed = self.getObject().claimQueued();
+            } finally {
+                lockService.release(lockKey, owner);
+            }
+        }
+        claimed.forEach(id -> dispatch(tenantId, id));
+    }
+
+    private void dispatch(String tenantId, UUID id) {
+        RabbitTemplate rabbit = scalingEnabled ? rabbitTemplateProvider.getIfAvailable() : null;
+        try {
+            if (rabbit != null) {
+                rabbit.convertAndSend(RabbitConfig.REPORT_EXCHANGE, RabbitConfig.REPORT_ROUTING_KEY,
+                        new ReportJobMessage(tenantId, id.toString()));
+            } else {
+                reportingTaskExecutor.execute(() -> runJob(id));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not dispatch report job {}: {}", id, ex.getMessage());
+            self.getObject().requeue(id);
+        }
+    }
+
+    private long writeJob(ReportJob job, Path spool, AtomicLong rowsWritten) throws IOException {
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(spool))) {
+            if (job.getDataset() != null) {
+                return reportingService.writeDatasetExport(DataExchangeDataset.valueOf(job.getDataset()), output,
+                        rowsWritten::set);
+            }
+            GenerateReportRequest request = objectMapper.readValue(job.getRequestJson(), GenerateReportRequest.class);
+            ReportExport export = new ReportExport(job.getFileName(), job.getContentType(), request);
+            return reportingService.writeReportExport(export, output, rowsWritten::set);
+        }
+    }
+
+    private String canonicalJson(GenerateReportRequest request) {
+        try {
+            return objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS).writeValueAsString(request);
+        } catch (JsonProcessingException exception) {
+            throw new BadRequestException("Report request cannot be serialised", exception);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private void deleteStoredFile(String fileKey) {
+        if (fileKey == null) {
+            return;
+        }
+        try {
+            fileStorageService.deleteFile(fileKey);
+        } catch (RuntimeException ex) {
+            log.warn("Could not delete report file {}: {}", fileKey, ex.getMessage());
+        }
+    }
+
+    private static void deleteSpool(Path spool) {
+        if (spool == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException ex) {
+            log.debug("Could not delete report spool file {}: {}", spool, ex.getMessage());
+        }
+    }
+
+    private record RunningJob(String tenantId, AtomicLong rowsWritten) {
+    }
+
+    private ReportJob getJobEntity(UUID id) {
+        return reportJobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("ReportJob", "id", id));
+    }
+
+    private ReportJobDto mapJob(ReportJob job) {
+        ReportJobDto dto = new ReportJobDto();
+        dto.setId(job.getId());
+        dto.setReportType(job.getReportType());
+        dto.setOutputFormat(job.getOutputFormat());
+        dto.setDataset(job.getDataset());
+        dto.setStatus(job.getStatus());
+        dto.setRequestedAt(job.getRequestedAt());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setCompletedAt(job.getCompletedAt());
+        dto.setExpiresAt(job.getExpiresAt());
+        dto.setRowsWritten(job.getRowsWritten());
+        dto.setFileName(job.getFileName());
+        dto.setContentType(job.getContentType());
+        dto.setFileSize(job.getFileSize());
+        dto.setErrorMessage(job.getErrorMessage());
+        dto.setCreatedBy(job.getCreatedBy());
+        return dto;
+    }
+}
@@ -0,0 +1,36 @@
+package com.inventory.system.service;
+
+import com.inventory.system.config.scaling.RabbitConfig;
+import com.inventory.system.config.tenant.TenantContext;
+import com.inventory.system.payload.ReportJobMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Consumes claimed report jobs so exports run on whichever backend worker is free rather
+ * than on the instance that accepted the request. Tenant context is set from the message
+ * before any DB work, as for HTTP requests.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.scaling.enabled", havingValue = "true")
+public class ReportJobWorker {
+
+    private final ReportJobService reportJobService;
+
+    @RabbitListener(queues = RabbitConfig.REPORT_QUEUE)
+    public void onReportJob(ReportJobMessage message) {
+        if (message == null || message.getTenantId() == null || message.getJobId() == null) {
+            log.warn("Discarding malformed report job message: {}", message);
+            return;
+        }
+        TenantContext.runWithTenant(message.getTenantId(),
+                () -> reportJobService.runJob(UUID.fromString(message.getJobId())));
+    }
+}
@@ -1,67 +1,131 @@
 package com.inventory.system.service;
 
 import com.inventory.system.common.entity.ReportConfiguration;
-import com.inventory.system.common.entity.ReportExecutionHistory;
 import com.inventory.system.common.entity.ReportOutputFormat;
 import com.inventory.system.common.entity.WebhookEventType;
+import com.inventory.system.config.scaling.DistributedLockService;
+import com.inventory.system.config.tenant.TenantContext;
 import com.inventory.system.payload.GenerateReportRequest;
+import com.inventory.system.payload.ReportJobDto;
 import com.inventory.system.repository.ReportConfigurationRepository;
-import com.inventory.system.repository.ReportExecutionHistoryRepository;
-import lombok.RequiredArgsConstructor;
+import com.inventory.system.repository.projection.DueReportSchedule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.scheduling.support.CronExpression;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.UUID;
 
+/**
+ * Runs scheduled report configurations. Each configuration stores its next run time, so a
+ * poll reads only the schedules that are due: at most
+ * {@code app.reporting.schedules.max-per-tenant} (default 5) per tenant and
+ * {@code app.reporting.schedules.batch-size} (default 100) in total, interleaved by tenant.
+ * A schedule is claimed by advancing its next run time with a conditional update, which only
+ * one instance can win, and is then submitted as a background report job for its tenant; the
+ * report job queue bounds how many reports run at once, per tenant and overall.
+ *
+ * <p>Runs missed while no instance was polling are caught up with a single run.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class ReportSchedulingServiceImpl implements ReportSchedulingService {
 
+    private static final String LOCK_KEY = "reporting:schedules";
+
     private final ReportConfigurationRepository reportConfigurationRepository;
-    private final ReportExecutionHistoryRepository reportExecutionHistoryRepository;
-    private final ReportingService reportingService;
+    private final ReportJobService reportJobService;
     private final WebhookService webhookService;
+    private final DistributedLockService lockService;
+    private final int maxPerTenant;
+    private final int batchSize;
+    private final String owner = UUID.randomUUID().toString();
+
+    public ReportSchedulingServiceImpl(ReportConfigurationRepository reportConfigurationRepository,
+                                       ReportJobService reportJobService,
+                                       WebhookService webhookService,
+                                       DistributedLockService lockService,
+                                       @Value("${app.reporting.schedules.max-per-tenant:5}") int maxPerTenant,
+                                       @Value("${app.reporting.schedules.batch-size:100}") int batchSize) {
+        this.reportConfigurationRepository = reportConfigurationRepository;
+        this.reportJobService = reportJobService;
+        this.webhookService = webhookService;
+        this.lockService = lockService;
+        this.maxPerTenant = maxPerTenant;
+        this.batchSize = batchSize;
+    }
 
     @Override
-    @Scheduled(fixedDelay = 60000)
+    @Scheduled(fixedDelayString = "${app.reporting.schedules.poll-interval-ms:60000}")
     public void processScheduledReports() {
-        LocalDateTime now = LocalDateTime.now().withSecond(0).withNano(0);
-        for (ReportConfiguration configuration : reportConfigurationRepository.findByActiveTrueAndScheduleCronIsNotNull()) {
-            if (configuration.getScheduleCron() == null || configuration.getScheduleCron().isBlank()) {
-                continue;
+        if (!lockService.tryAcquire(LOCK_KEY, owner, Duration.ofMinutes(5))) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            for (DueReportSchedule schedule : reportConfigurationRepository.findUnscheduled()) {
+                reportConfigurationRepository.initializeNextRun(schedule.getId(), nextRun(schedule, now));
             }
-
-            CronExpression cronExpression;
-            try {
-                cronExpression = CronExpression.parse(configuration.getScheduleCron());
-            } catch (IllegalArgumentException exception) {
-                continue;
+            for (DueReportSchedule schedule : reportConfigurationRepository.findDueSchedules(now, maxPerTenant, batchSize)) {
+                CronExpression cron = parse(schedule);
+                LocalDateTime nextRunAt = nextRun(schedule, now);
+                if (reportConfigurationRepository.claimDueSchedule(schedule.getId(), now, nextRunAt) == 0 || cron == null) {
+                    continue;
+                }
+                try {
+                    TenantContext.runWithTenant(schedule.getTenantId(), () -> dispatch(schedule.getId(), now));
+                } catch (RuntimeException ex) {
+                    log.warn("Scheduled report {} of tenant {} was not submitted: {}",
+                            schedule.getId(), schedule.getTenantId(), ex.getMessage());
+                }
             }
+        } finally {
+            lockService.release(LOCK_KEY, owner);
+        }
+    }
 
-            LocalDateTime expectedRunTime = cronExpression.next(now.minusMinutes(1));
-            if (expectedRunTime == null || expectedRunTime.isAfter(now)) {
-                continue;
-            }
+    private void dispatch(UUID configurationId, LocalDateTime scheduledAt) {
+        ReportConfiguration configuration = reportConfigurationRepository.findById(configurationId).orElse(null);
+        if (configuration == null) {
+            return;
+        }
+        GenerateReportRequest request = new GenerateReportRequest();
+        request.setConfigurationId(configuration.getId());
+        request.setFormat(resolveFormat(configuration));
+        ReportJobDto job = reportJobService.submitReport(request);
+        webhookService.publishEvent(WebhookEventType.REPORT_SCHEDULED, Map.of(
+                "reportConfigurationId", configuration.getId(),
+                "reportCode", configuration.getCode(),
+                "reportType", configuration.getReportType().name(),
+                "reportJobId", job.getId(),
+                "scheduledAt", scheduledAt.withSecond(0).withNano(0).toString()));
+    }
 
-            ReportExecutionHistory lastExecution = reportExecutionHistoryRepository
-                    .findTopByReportConfigurationIdOrderByRequestedAtDesc(configuration.getId())
-                    .orElse(null);
-            if (lastExecution != null && !lastExecution.getRequestedAt().isBefore(now.minusMinutes(1))) {
-                continue;
-            }
+    /**
+     * The first cron time after {@code now}. A schedule whose expression cannot be parsed or
+     * never fires again is looked at again a day later rather than on every poll.
+     */
+    private LocalDateTime nextRun(DueReportSchedule schedule, LocalDateTime now) {
+        CronExpression cron = parse(schedule);
+        LocalDateTime next = cron != null ? cron.next(now) : null;
+        if (next == null) {
+            log.warn("Report configuration {} of tenant {} has an unusable schedule '{}'",
+                    schedule.getId(), schedule.getTenantId(), schedule.getScheduleCron());
+            return now.plusDays(1);
+        }
+        return next;
+    }
 
-            GenerateReportRequest request = new GenerateReportRequest();
-            request.setConfigurationId(configuration.getId());
-            request.setFormat(resolveFormat(configuration));
-            reportingService.exportReportFile(request);
-            webhookService.publishEvent(WebhookEventType.REPORT_SCHEDULED, Map.of(
-                    "reportConfigurationId", configuration.getId(),
-                    "reportCode", configuration.getCode(),
-                    "reportType", configuration.getReportType().name(),
-                    "scheduledAt", now.toString()));
+    private CronExpression parse(DueReportSchedule schedule) {
+        try {
+            return CronExpression.parse(schedule.getScheduleCron());
+        } catch (IllegalArgumentException exception) {
+            return null;
         }
     }
 
@@ -81,4 +145,4 @@ public class ReportSchedulingServiceImpl implements ReportSchedulingService {
             return ReportOutputFormat.CSV;
         }
     }
-}
\ No newline at end of file
+}
@@ -5,6 +5,8 @@ import com.inventory.system.common.entity.SalesOrderStatus;
 import com.inventory.system.common.entity.PurchaseOrderStatus;
 import com.inventory.system.payload.AgingAnalysisReportDto;
 import com.inventory.system.payload.CurrentStockReportDto;
+import com.inventory.system.payload.CursorPageDto;
+import com.inventory.system.payload.DailyMovementSummaryDto;
 import com.inventory.system.payload.DashboardSummaryDto;
 import com.inventory.system.payload.DashboardWidgetDto;
 import com.inventory.system.payload.DataExchangeDataset;
@@ -19,10 +21,16 @@ import com.inventory.system.payload.SalesOrderReportDto;
 import com.inventory.system.payload.StockAlertDto;
 import com.inventory.system.payload.StockMovementReportDto;
 import com.inventory.system.payload.SupplierPerformanceReportDto;
+import com.inventory.system.service.reporting.export.ReportExport;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 public interface ReportingService {
     List<ReportConfigurationDto> getConfigurations(ReportCategory category, Boolean active);
@@ -39,16 +47,45 @@ public interface ReportingService {
 
     List<CurrentStockReportDto> getCurrentStockReport(UUID warehouseId, UUID productVariantId);
 
+    /**
+     * Streams the current stock report to {@code consumer} from one grouped query that joins
+     * on-hand quantity per variant, warehouse and stock status to available-to-promise and the
+     * current cost. Rows arrive in SKU order.
+     */
+    void streamCurrentStockReport(UUID warehouseId, UUID productVariantId, Consumer<CurrentStockReportDto> consumer);
+
+    /**
+     * One keyset page of the current stock report in SKU order, at most {@code size} rows
+     * (capped at 1000). Pass the {@code nextCursor} of the previous page to continue.
+     */
+    CursorPageDto<CurrentStockReportDto> getCurrentStockReportByCursor(UUID warehouseId, UUID productVariantId,
+                                                                     String cursor, int size);
+
     List<StockMovementReportDto> getStockMovementReport(UUID warehouseId, UUID productVariantId, LocalDate fromDate, LocalDate toDate);
 
+    /**
+     * Movement totals per day and movement type, read from the daily rollup instead of the
+     * movement ledger. Dates default like the stock movement report (last 30 days).
+     */
+    List<DailyMovementSummaryDto> getDailyMovementSummary(UUID warehouseId, UUID productVariantId, LocalDate fromDate, LocalDate toDate);
+
     List<AgingAnalysisReportDto> getAgingAnalysisReport(UUID warehouseId, Integer slowMovingThresholdDays);
 
+    /**
+     * Streams the aging report to {@code consumer} from one grouped query that joins on-hand
+     * quantity to each position's last movement and 30-day outbound quantity. Rows arrive
+     * never-moved first, then by idle time descending.
+     */
+    void streamAgingAnalysisReport(UUID warehouseId, Integer slowMovingThresholdDays, Consumer<AgingAnalysisReportDto> consumer);
+
     List<PurchaseOrderReportDto> getPurchaseOrderReport(UUID supplierId, PurchaseOrderStatus status, LocalDate fromDate, LocalDate toDate);
 
     List<SalesOrderReportDto> getSalesOrderReport(UUID customerId, UUID warehouseId, SalesOrderStatus status, LocalDate fromDate, LocalDate toDate);
 
     List<SupplierPerformanceReportDto> getSupplierPerformanceReport(LocalDate fromDate, LocalDate toDate);
 
+    Page<SupplierPerformanceReportDto> getSupplierPerformanceReport(LocalDate fromDate, LocalDate toDate, Pageable pageable);
+
     DashboardSummaryDto getDashboardSummary(UUID warehouseId, LocalDate fromDate, LocalDate toDate);
 
     List<DashboardWidgetDto> getDashboardWidgets(UUID warehouseId, LocalDate fromDate, LocalDate toDate);
@@ -61,7 +98,36 @@ public interface ReportingService {
 
     ReportFileDto exportReportFile(GenerateReportRequest request);
 
+    /**
+     * Resolves a builder request for export and names the file, without reading report data,
+     * so a caller can send response headers before {@link #writeReportExport} streams the rows.
+     */
+    ReportExport prepareReportExport(GenerateReportRequest request);
+
+    /**
+     * Writes the export to {@code output} row by row. Stock movement, aging and valuation
+     * reports are read from a database cursor, so CSV, XLSX and PDF exports run in flat memory
+     * unless the request sorts without a limit. JSON is written from the materialised report.
+     *
+     * @return the number of rows written
+     */
+    int writeReportExport(ReportExport export, OutputStream output);
+
+    /**
+     * As {@link #writeReportExport(ReportExport, OutputStream)}, reporting the running row
+     * count to {@code progress} periodically while rows are written.
+     */
+    int writeReportExport(ReportExport export, OutputStream output, IntConsumer progress);
+
     DataExchangeTemplateDto getImportTemplate(DataExchangeDataset dataset);
 
     String exportDataset(DataExchangeDataset dataset);
+
+    /**
+     * Writes a data-exchange dataset to {@code output} as CSV row by row, reporting the running
+     * row count to {@code progress} periodically.
+     *
+     * @return the number of rows written
+     */
+    int writeDatasetExport(DataExchangeDataset dataset, OutputStream output, IntConsumer progress);
 }
\ No newline at end of file
@@ -1,10 +1,11 @@
 package com.inventory.system.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
 import com.inventory.system.common.entity.DashboardWidgetType;
-import com.inventory.system.common.entity.GoodsReceiptNote;
 import com.inventory.system.common.entity.PurchaseOrder;
 import com.inventory.system.common.entity.PurchaseOrderItem;
 import com.inventory.system.common.entity.PurchaseOrderStatus;
@@ -17,17 +18,19 @@ import com.inventory.system.common.entity.ReportType;
 import com.inventory.system.common.entity.SalesOrder;
 import com.inventory.system.common.entity.SalesOrderItem;
 import com.inventory.system.common.entity.SalesOrderStatus;
-import com.inventory.system.common.entity.Stock;
 import com.inventory.system.common.entity.StockAlertStatus;
 import com.inventory.system.common.entity.StockMovement;
 import com.inventory.system.common.entity.StockStatus;
-import com.inventory.system.common.entity.Supplier;
+import com.inventory.system.common.entity.ValuationMethod;
 import com.inventory.system.common.entity.Warehouse;
 import com.inventory.system.common.entity.WebhookEventType;
 import com.inventory.system.common.exception.BadRequestException;
 import com.inventory.system.common.exception.ResourceNotFoundException;
+import com.inventory.system.config.tenant.TenantContext;
 import com.inventory.system.payload.AgingAnalysisReportDto;
 import com.inventory.system.payload.CurrentStockReportDto;
+import com.inventory.system.payload.CursorPageDto;
+import com.inventory.system.payload.DailyMovementSummaryDto;
 import com.inventory.system.payload.DashboardSummaryDto;
 import com.inventory.system.payload.DashboardWidgetDto;
 import com.inventory.system.payload.DataExchangeDataset;
@@ -44,29 +47,45 @@ import com.inventory.system.payload.StockAlertDto;
 import com.inventory.system.payload.StockMovementReportDto;
 import com.inventory.system.payload.SupplierPerformanceReportDto;
 import com.inventory.system.repository.GoodsReceiptNoteRepository;
+import com.inventory.system.repository.ProductVariantRepository;
 import com.inventory.system.repository.PurchaseOrderRepository;
 import com.inventory.system.repository.ReportConfigurationRepository;
 import com.inventory.system.repository.ReportExecutionHistoryRepository;
 import com.inventory.system.repository.SalesOrderRepository;
+import com.inventory.system.repository.StockAlertRepository;
+import com.inventory.system.repository.StockMovementDailyTotalRepository;
 import com.inventory.system.repository.StockMovementRepository;
 import com.inventory.system.repository.StockRepository;
-import com.inventory.system.repository.SupplierRepository;
 import com.inventory.system.repository.WarehouseRepository;
+import com.inventory.system.repository.projection.CurrentStockPosition;
+import com.inventory.system.repository.projection.ProductVariantExportRow;
+import com.inventory.system.repository.projection.StockMovementView;
+import com.inventory.system.repository.projection.SupplierOrderedQuantity;
+import com.inventory.system.repository.projection.SupplierReceiptStats;
+import com.inventory.system.repository.projection.SupplierSpend;
+import com.inventory.system.repository.projection.VariantWarehouseAging;
+import com.inventory.system.service.inventory.AvailableToPromiseProjection;
+import com.inventory.system.service.reporting.DashboardCache;
+import com.inventory.system.service.reporting.export.ReportExport;
+import com.inventory.system.service.reporting.export.ReportRowSink;
+import com.inventory.system.service.reporting.export.ReportRowWriter;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.support.CronExpression;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.nio.charset.StandardCharsets;
@@ -74,6 +93,7 @@ import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
@@ -82,7 +102,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -90,23 +114,30 @@ public class ReportingServiceImpl implements ReportingService {
 
     private static final BigDecimal ZERO = BigDecimal.ZERO;
     private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+    private static final int SUPPLIER_PERFORMANCE_PAGE_SIZE = 500;
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
     private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+    private static final List<StockMovement.StockMovementType> OUTBOUND_TYPES =
+            List.of(StockMovement.StockMovementType.OUT, StockMovement.StockMovementType.TRANSFER_OUT);
 
     private final ReportConfigurationRepository reportConfigurationRepository;
     private final ReportExecutionHistoryRepository reportExecutionHistoryRepository;
     private final StockRepository stockRepository;
     private final StockMovementRepository stockMovementRepository;
+    private final StockMovementDailyTotalRepository stockMovementDailyTotalRepository;
     private final PurchaseOrderRepository purchaseOrderRepository;
     private final SalesOrderRepository salesOrderRepository;
     private final GoodsReceiptNoteRepository goodsReceiptNoteRepository;
-    private final SupplierRepository supplierRepository;
     private final WarehouseRepository warehouseRepository;
     private final InventoryValuationService inventoryValuationService;
     private final ReplenishmentService replenishmentService;
-    private final StockReservationService stockReservationService;
-    private final ProductService productService;
+    private final StockAlertRepository stockAlertRepository;
     private final ObjectMapper objectMapper;
     private final WebhookService webhookService;
+    private final DashboardCache dashboardCache;
+    private final ObjectProvider<ReportingServiceImpl> self;
+    private final ProductVariantRepository productVariantRepository;
+    private final EntityManager entityManager;
 
     @Override
     @Transactional(readOnly = true)
@@ -167,123 +198,151 @@ public class ReportingServiceImpl implements ReportingService {
     @Override
     @Transactional(readOnly = true)
     public List<CurrentStockReportDto> getCurrentStockReport(UUID warehouseId, UUID productVariantId) {
-        Map<String, List<Stock>> groupedStocks = findStocks(warehouseId, productVariantId).stream()
-            .collect(Collectors.groupingBy(stock -> stock.getWarehouse().getId() + ":" + stock.getProductVariant().getId() + ":" + stock.getStatus()));
-
         List<CurrentStockReportDto> results = new ArrayList<>();
-        for (List<Stock> grouped : groupedStocks.values()) {
-            if (grouped.isEmpty()) {
-                continue;
-            }
-            Stock representative = grouped.get(0);
-            BigDecimal onHand = grouped.stream()
-                    .map(Stock::getQuantity)
-                    .reduce(ZERO, BigDecimal::add);
-            if (onHand.compareTo(ZERO) == 0) {
-                continue;
-            }
+        streamCurrentStockReport(warehouseId, productVariantId, results::add);
+        return results;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamCurrentStockReport(UUID warehouseId, UUID productVariantId, Consumer<CurrentStockReportDto> consumer) {
+        boolean layered = inventoryValuationService.getValuationMethod() != ValuationMethod.WEIGHTED_AVERAGE;
+        String currency = inventoryValuationService.getValuationCurrency();
+        try (Stream<CurrentStockPosition> rows = stockRepository.streamCurrentStock(warehouseId, productVariantId,
+                AvailableToPromiseProjection.WAREHOUSE_TOTAL)) {
+            rows.forEach(row -> consumer.accept(mapCurrentStock(row, layered, currency)));
+        }
+    }
 
-            CurrentStockReportDto dto = new CurrentStockReportDto();
-            dto.setProductVariantId(representative.getProductVariant().getId());
-            dto.setProductName(representative.getProductVariant().getTemplate().getName());
-            dto.setSku(representative.getProductVariant().getSku());
-            dto.setWarehouseId(representative.getWarehouse().getId());
-            dto.setWarehouseName(representative.getWarehouse().getName());
-                dto.setStockStatus(representative.getStatus());
-            dto.setOnHandQuantity(onHand);
-                dto.setAvailableQuantity(representative.getStatus() == StockStatus.AVAILABLE
-                    ? stockReservationService.getAvailableToPromise(representative.getProductVariant().getId(), representative.getWarehouse().getId())
-                    : ZERO);
-
-            BigDecimal unitCost = inventoryValuationService.getCurrentValuation(
-                    representative.getProductVariant().getId(),
-                    representative.getWarehouse().getId());
-            dto.setUnitCost(unitCost);
-            dto.setTotalValue(onHand.multiply(unitCost));
-            dto.setCurrency(resolveCurrency(representative.getWarehouse().getId()));
-            results.add(dto);
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<CurrentStockReportDto> getCurrentStockReportByCursor(UUID warehouseId, UUID productVariantId,
+                                                                            String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        // One extra row tells whether another page follows
+        Pageable fetch = PageRequest.of(0, limit + 1);
+        List<CurrentStockPosition> rows;
+        if (StringUtils.hasText(cursor)) {
+            StockPositionCursor position = StockPositionCursor.decode(cursor);
+            rows = stockRepository.findCurrentStockPageAfter(warehouseId, productVariantId,
+                    AvailableToPromiseProjection.WAREHOUSE_TOTAL, position.sku(), position.productVariantId(),
+                    position.warehouseId(), position.status(), fetch);
+        } else {
+            rows = stockRepository.findCurrentStockFirstPage(warehouseId, productVariantId,
+                    AvailableToPromiseProjection.WAREHOUSE_TOTAL, fetch);
         }
 
-        results.sort(Comparator.comparing(CurrentStockReportDto::getWarehouseName, String.CASE_INSENSITIVE_ORDER)
-                .thenComparing(CurrentStockReportDto::getSku, String.CASE_INSENSITIVE_ORDER));
-        return results;
+        boolean hasMore = rows.size() > limit;
+        List<CurrentStockPosition> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            CurrentStockPosition last = page.get(page.size() - 1);
+            nextCursor = new StockPositionCursor(last.getProductVariantSku(), last.getProductVariantId(),
+                    last.getWarehouseId(), last.getStockStatus()).encode();
+        }
+        boolean layered = inventoryValuationService.getValuationMethod() != ValuationMethod.WEIGHTED_AVERAGE;
+        String currency = inventoryValuationService.getValuationCurrency();
+        List<CurrentStockReportDto> items = page.stream()
+                .map(row -> mapCurrentStock(row, layered, currency))
+                .toList();
+        return new CursorPageDto<>(items, nextCursor, hasMore);
+    }
+
+    private CurrentStockReportDto mapCurrentStock(CurrentStockPosition row, boolean layered, String currency) {
+        BigDecimal unitCost = layered
+                ? nullSafe(row.getLayerUnitCost()).setScale(6, RoundingMode.HALF_UP)
+                : nullSafe(row.getAverageCost());
+
+        CurrentStockReportDto dto = new CurrentStockReportDto();
+        dto.setProductVariantId(row.getProductVariantId());
+        dto.setProductName(row.getProductName());
+        dto.setSku(row.getProductVariantSku());
+        dto.setWarehouseId(row.getWarehouseId());
+        dto.setWarehouseName(row.getWarehouseName());
+        dto.setStockStatus(row.getStockStatus());
+        dto.setOnHandQuantity(row.getQuantity());
+        dto.setAvailableQuantity(row.getStockStatus() == StockStatus.AVAILABLE ? nullSafe(row.getAvailableToPromise()) : ZERO);
+        dto.setUnitCost(unitCost);
+        dto.setTotalValue(row.getQuantity().multiply(unitCost));
+        dto.setCurrency(currency);
+        return dto;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<StockMovementReportDto> getStockMovementReport(UUID warehouseId, UUID productVariantId, LocalDate fromDate, LocalDate toDate) {
-        return stockMovementRepository.findAll((root, query, cb) -> {
-                    List<Predicate> predicates = new ArrayList<>();
-                    if (warehouseId != null) {
-                        predicates.add(cb.equal(root.get("warehouse").get("id"), warehouseId));
-                    }
-                    if (productVariantId != null) {
-                        predicates.add(cb.equal(root.get("productVariant").get("id"), productVariantId));
-                    }
-                    predicates.add(cb.between(root.get("createdAt"), resolveFromDateTime(fromDate), resolveToDateTime(toDate)));
-                    query.orderBy(cb.desc(root.get("createdAt")));
-                    return cb.and(predicates.toArray(new Predicate[0]));
-                }).stream()
-                .map(this::mapStockMovement)
+        List<StockMovementReportDto> results = new ArrayList<>();
+        streamStockMovementReport(warehouseId, productVariantId, fromDate, toDate, results::add);
+        return results;
+    }
+
+    private void streamStockMovementReport(UUID warehouseId, UUID productVariantId, LocalDate fromDate, LocalDate toDate,
+                                           Consumer<StockMovementReportDto> consumer) {
+        try (Stream<StockMovementView> rows = stockMovementRepository.streamViews(warehouseId, productVariantId,
+                resolveFromDateTime(fromDate), resolveToDateTime(toDate).toLocalDate().plusDays(1).atStartOfDay())) {
+            rows.forEach(row -> consumer.accept(mapStockMovement(row)));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DailyMovementSummaryDto> getDailyMovementSummary(UUID warehouseId, UUID productVariantId, LocalDate fromDate, LocalDate toDate) {
+        return stockMovementDailyTotalRepository.findDailyTotals(productVariantId, warehouseId,
+                        resolveFromDateTime(fromDate).toLocalDate(), resolveToDateTime(toDate).toLocalDate()).stream()
+                .map(total -> {
+                    DailyMovementSummaryDto dto = new DailyMovementSummaryDto();
+                    dto.setMovementDate(total.getMovementDate());
+                    dto.setType(total.getMovementType());
+                    dto.setQuantity(nullSafe(total.getQuantity()));
+                    dto.setTotalCost(nullSafe(total.getTotalCost()));
+                    dto.setMovementCount(total.getMovementCount() != null ? total.getMovementCount() : 0L);
+                    return dto;
+                })
                 .toList();
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<AgingAnalysisReportDto> getAgingAnalysisReport(UUID warehouseId, Integer slowMovingThresholdDays) {
-        int threshold = slowMovingThresholdDays == null || slowMovingThresholdDays <= 0 ? 30 : slowMovingThresholdDays;
-        List<CurrentStockReportDto> currentStock = getCurrentStockReport(warehouseId, null);
-        List<StockMovement> movements = stockMovementRepository.findAll((root, query, cb) -> {
-            List<Predicate> predicates = new ArrayList<>();
-            if (warehouseId != null) {
-                predicates.add(cb.equal(root.get("warehouse").get("id"), warehouseId));
-            }
-            return predicates.isEmpty() ? cb.conjunction() : cb.and(predicates.toArray(new Predicate[0]));
-        });
-
         List<AgingAnalysisReportDto> results = new ArrayList<>();
-        LocalDateTime last30Days = LocalDateTime.now().minusDays(30);
-
-        for (CurrentStockReportDto stock : currentStock) {
-            List<StockMovement> relevantMovements = movements.stream()
-                    .filter(movement -> movement.getProductVariant().getId().equals(stock.getProductVariantId()))
-                    .filter(movement -> movement.getWarehouse().getId().equals(stock.getWarehouseId()))
-                    .toList();
+        streamAgingAnalysisReport(warehouseId, slowMovingThresholdDays, results::add);
+        return results;
+    }
 
-            LocalDateTime lastMovementAt = relevantMovements.stream()
-                    .map(StockMovement::getCreatedAt)
-                    .filter(Objects::nonNull)
-                    .max(LocalDateTime::compareTo)
-                    .orElse(null);
-
-            BigDecimal outboundLast30Days = relevantMovements.stream()
-                    .filter(movement -> movement.getCreatedAt() != null && !movement.getCreatedAt().isBefore(last30Days))
-                    .filter(movement -> movement.getType() == StockMovement.StockMovementType.OUT
-                            || movement.getType() == StockMovement.StockMovementType.TRANSFER_OUT)
-                    .map(StockMovement::getQuantity)
-                    .reduce(ZERO, BigDecimal::add);
-
-            long daysSinceLastMovement = lastMovementAt == null
-                    ? threshold + 1L
-                    : Duration.between(lastMovementAt, LocalDateTime.now()).toDays();
-
-            AgingAnalysisReportDto dto = new AgingAnalysisReportDto();
-            dto.setProductVariantId(stock.getProductVariantId());
-            dto.setProductName(stock.getProductName());
-            dto.setSku(stock.getSku());
-            dto.setWarehouseId(stock.getWarehouseId());
-            dto.setWarehouseName(stock.getWarehouseName());
-            dto.setOnHandQuantity(stock.getOnHandQuantity());
-            dto.setOutboundQuantityLast30Days(outboundLast30Days);
-            dto.setLastMovementAt(lastMovementAt);
-            dto.setDaysSinceLastMovement(daysSinceLastMovement);
-            dto.setMovementClass(daysSinceLastMovement > threshold ? "SLOW_MOVING" : "FAST_MOVING");
-            dto.setTotalValue(stock.getTotalValue());
-            results.add(dto);
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAgingAnalysisReport(UUID warehouseId, Integer slowMovingThresholdDays,
+                                          Consumer<AgingAnalysisReportDto> consumer) {
+        int threshold = slowMovingThresholdDays == null || slowMovingThresholdDays <= 0 ? 30 : slowMovingThresholdDays;
+        boolean layered = inventoryValuationService.getValuationMethod() != ValuationMethod.WEIGHTED_AVERAGE;
+        LocalDateTime now = LocalDateTime.now();
+        try (Stream<VariantWarehouseAging> rows = stockRepository.streamAging(TenantContext.requireTenantId(),
+                warehouseId, now.toLocalDate().minusDays(29), OUTBOUND_TYPES)) {
+            rows.forEach(row -> consumer.accept(mapAging(row, threshold, layered, now)));
         }
+    }
 
-        results.sort(Comparator.comparingLong(AgingAnalysisReportDto::getDaysSinceLastMovement).reversed());
-        return results;
+    private AgingAnalysisReportDto mapAging(VariantWarehouseAging row, int threshold, boolean layered, LocalDateTime now) {
+        LocalDateTime lastMovementAt = row.getLastMovementAt();
+        long daysSinceLastMovement = lastMovementAt == null
+                ? threshold + 1L
+                : Duration.between(lastMovementAt, now).toDays();
+
+        AgingAnalysisReportDto dto = new AgingAnalysisReportDto();
+        dto.setProductVariantId(row.getProductVariantId());
+        dto.setProductName(row.getProductName());
+        dto.setSku(row.getProductVariantSku());
+        dto.setWarehouseId(row.getWarehouseId());
+        dto.setWarehouseName(row.getWarehouseName());
+        dto.setOnHandQuantity(row.getQuantity());
+        dto.setOutboundQuantityLast30Days(nullSafe(row.getOutboundQuantity()));
+        dto.setLastMovementAt(lastMovementAt);
+        dto.setDaysSinceLastMovement(daysSinceLastMovement);
+        dto.setMovementClass(daysSinceLastMovement > threshold ? "SLOW_MOVING" : "FAST_MOVING");
+        dto.setTotalValue(layered
+                ? nullSafe(row.getLayerValue())
+                : row.getQuantity().multiply(nullSafe(row.getAverageCost())));
+        return dto;
     }
 
     @Override
@@ -327,109 +386,133 @@ public class ReportingServiceImpl implements ReportingService {
                 .toList();
     }
 
+    /**
+     * Builds the whole supplier performance report into one list; prefer the paged variant
+     * for suppliers lists of unknown size.
+     */
     @Override
     @Transactional(readOnly = true)
     public List<SupplierPerformanceReportDto> getSupplierPerformanceReport(LocalDate fromDate, LocalDate toDate) {
-        List<PurchaseOrder> orders = purchaseOrderRepository.findAll((root, query, cb) -> cb.between(
-                root.get("orderDate"), resolveFromDateTime(fromDate), resolveToDateTime(toDate)));
-        List<GoodsReceiptNote> receipts = goodsReceiptNoteRepository.findAll((root, query, cb) -> cb.between(
-                root.get("receivedDate"), resolveFromDateTime(fromDate), resolveToDateTime(toDate)));
-
-        Map<UUID, SupplierPerformanceReportDto> report = new LinkedHashMap<>();
-
-        for (PurchaseOrder order : orders) {
-            Supplier supplier = order.getSupplier();
-            SupplierPerformanceReportDto dto = report.computeIfAbsent(supplier.getId(), ignored -> {
-                SupplierPerformanceReportDto created = new SupplierPerformanceReportDto();
-                created.setSupplierId(supplier.getId());
-                created.setSupplierName(supplier.getName());
-                created.setSupplierRating(supplier.getRating());
-                created.setTotalSpend(ZERO);
-                created.setFulfillmentRate(ZERO);
-                created.setOnTimeDeliveryRate(ZERO);
-                created.setAverageLeadTimeDays(ZERO);
-                return created;
-            });
+        List<SupplierPerformanceReportDto> report = new ArrayList<>();
+        forEachSupplierPerformance(fromDate, toDate, report::add);
+        return report;
+    }
 
-            dto.setPurchaseOrderCount(dto.getPurchaseOrderCount() + 1);
-            if (order.getStatus() == PurchaseOrderStatus.COMPLETED || order.getStatus() == PurchaseOrderStatus.CLOSED) {
-                dto.setCompletedOrderCount(dto.getCompletedOrderCount() + 1);
-            }
-            dto.setTotalSpend(dto.getTotalSpend().add(nullSafe(order.getTotalAmount())));
+    /**
+     * One page of suppliers, highest spend in the range first. Spend and order counts are
+     * grouped over all suppliers in the database; quantities and delivery statistics are
+     * grouped only for the suppliers on the page, so memory does not grow with the number
+     * of suppliers or orders. The order is fixed, so a requested sort is rejected rather
+     * than ignored.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<SupplierPerformanceReportDto> getSupplierPerformanceReport(LocalDate fromDate, LocalDate toDate, Pageable pageable) {
+        if (pageable.getSort().isSorted()) {
+            throw new BadRequestException("Supplier performance is ordered by total spend and cannot be sorted");
         }
-
-        for (Map.Entry<UUID, SupplierPerformanceReportDto> entry : report.entrySet()) {
-            UUID supplierId = entry.getKey();
-            SupplierPerformanceReportDto dto = entry.getValue();
-
-            List<PurchaseOrder> supplierOrders = orders.stream()
-                    .filter(order -> order.getSupplier().getId().equals(supplierId))
-                    .toList();
-            List<GoodsReceiptNote> supplierReceipts = receipts.stream()
-                    .filter(receipt -> receipt.getSupplier().getId().equals(supplierId))
-                    .toList();
-
-            BigDecimal orderedQty = supplierOrders.stream()
-                    .flatMap(order -> order.getItems().stream())
-                    .map(PurchaseOrderItem::getQuantity)
-                    .map(BigDecimal::valueOf)
-                    .reduce(ZERO, BigDecimal::add);
-            BigDecimal receivedQty = supplierOrders.stream()
-                    .flatMap(order -> order.getItems().stream())
-                    .map(PurchaseOrderItem::getReceivedQuantity)
-                    .map(BigDecimal::valueOf)
-                    .reduce(ZERO, BigDecimal::add);
-
-            long onTimeDeliveries = supplierReceipts.stream()
-                    .filter(receipt -> receipt.getPurchaseOrder().getExpectedDeliveryDate() != null)
-                    .filter(receipt -> !receipt.getReceivedDate().toLocalDate().isAfter(receipt.getPurchaseOrder().getExpectedDeliveryDate()))
-                    .count();
-
-            BigDecimal averageLeadTime = average(supplierReceipts.stream()
-                    .map(receipt -> BigDecimal.valueOf(Duration.between(
-                            receipt.getPurchaseOrder().getOrderDate(),
-                            receipt.getReceivedDate()).toDays()))
-                    .toList());
-
-            dto.setFulfillmentRate(ratePercentage(receivedQty, orderedQty));
-            dto.setOnTimeDeliveryRate(ratePercentage(BigDecimal.valueOf(onTimeDeliveries), BigDecimal.valueOf(Math.max(supplierReceipts.size(), 1))));
-            dto.setAverageLeadTimeDays(scale(averageLeadTime, 2));
+        LocalDateTime from = resolveFromDateTime(fromDate);
+        LocalDateTime to = resolveToDateTime(toDate);
+        Page<SupplierSpend> spend = purchaseOrderRepository.findSupplierSpend(from, to,
+                PurchaseOrderStatus.COMPLETED, PurchaseOrderStatus.CLOSED, pageable);
+        if (spend.isEmpty()) {
+            return spend.map(row -> new SupplierPerformanceReportDto());
         }
+        return new PageImpl<>(mapSupplierPerformance(spend.getContent(), from, to), pageable, spend.getTotalElements());
+    }
 
-        for (Supplier supplier : supplierRepository.findAll()) {
-            report.computeIfAbsent(supplier.getId(), ignored -> {
-                SupplierPerformanceReportDto dto = new SupplierPerformanceReportDto();
-                dto.setSupplierId(supplier.getId());
-                dto.setSupplierName(supplier.getName());
-                dto.setSupplierRating(supplier.getRating());
-                dto.setTotalSpend(ZERO);
-                dto.setFulfillmentRate(ZERO);
-                dto.setOnTimeDeliveryRate(ZERO);
-                dto.setAverageLeadTimeDays(ZERO);
-                return dto;
+    /**
+     * Feeds every supplier's performance to {@code consumer} in report order. Spend is
+     * aggregated once over a database cursor; quantities and delivery statistics are grouped
+     * for {@value #SUPPLIER_PERFORMANCE_PAGE_SIZE} suppliers at a time.
+     */
+    private void forEachSupplierPerformance(LocalDate fromDate, LocalDate toDate, Consumer<SupplierPerformanceReportDto> consumer) {
+        LocalDateTime from = resolveFromDateTime(fromDate);
+        LocalDateTime to = resolveToDateTime(toDate);
+        List<SupplierSpend> chunk = new ArrayList<>(SUPPLIER_PERFORMANCE_PAGE_SIZE);
+        try (Stream<SupplierSpend> rows = purchaseOrderRepository.streamSupplierSpend(from, to,
+                PurchaseOrderStatus.COMPLETED, PurchaseOrderStatus.CLOSED)) {
+            rows.forEach(row -> {
+                chunk.add(row);
+                if (chunk.size() == SUPPLIER_PERFORMANCE_PAGE_SIZE) {
+                    mapSupplierPerformance(chunk, from, to).forEach(consumer);
+                    chunk.clear();
+                }
             });
         }
+        if (!chunk.isEmpty()) {
+            mapSupplierPerformance(chunk, from, to).forEach(consumer);
+        }
+    }
 
-        return report.values().stream()
-                .sorted(Comparator.comparing(SupplierPerformanceReportDto::getTotalSpend).reversed())
+    private List<SupplierPerformanceReportDto> mapSupplierPerformance(List<SupplierSpend> spend,
+                                                                      LocalDateTime from, LocalDateTime to) {
+        List<UUID> supplierIds = spend.stream().map(SupplierSpend::getSupplierId).toList();
+        Map<UUID, SupplierOrderedQuantity> quantities = purchaseOrderRepository
+                .sumOrderedQuantityBySupplier(supplierIds, from, to).stream()
+                .collect(Collectors.toMap(SupplierOrderedQuantity::getSupplierId, Function.identity()));
+        Map<UUID, SupplierReceiptStats> receipts = goodsReceiptNoteRepository
+                .summarizeBySupplier(supplierIds, from, to).stream()
+                .collect(Collectors.toMap(SupplierReceiptStats::getSupplierId, Function.identity()));
+        return spend.stream()
+                .map(row -> mapSupplierPerformance(row, quantities.get(row.getSupplierId()), receipts.get(row.getSupplierId())))
                 .toList();
     }
 
+    private SupplierPerformanceReportDto mapSupplierPerformance(SupplierSpend spend, SupplierOrderedQuantity quantities,
+                                                                SupplierReceiptStats receipts) {
+        SupplierPerformanceReportDto dto = new SupplierPerformanceReportDto();
+        dto.setSupplierId(spend.getSupplierId());
+        dto.setSupplierName(spend.getSupplierName());
+        dto.setSupplierRating(spend.getSupplierRating());
+        dto.setPurchaseOrderCount(spend.getPurchaseOrderCount() != null ? spend.getPurchaseOrderCount() : 0L);
+        dto.setCompletedOrderCount(spend.getCompletedOrderCount() != null ? spend.getCompletedOrderCount() : 0L);
+        dto.setTotalSpend(nullSafe(spend.getTotalSpend()));
+        dto.setFulfillmentRate(quantities == null ? ZERO : ratePercentage(
+                BigDecimal.valueOf(nullSafeLong(quantities.getReceivedQuantity())),
+                BigDecimal.valueOf(nullSafeLong(quantities.getOrderedQuantity()))));
+        if (receipts == null) {
+            dto.setOnTimeDeliveryRate(ZERO);
+            dto.setAverageLeadTimeDays(ZERO);
+        } else {
+            dto.setOnTimeDeliveryRate(ratePercentage(BigDecimal.valueOf(nullSafeLong(receipts.getOnTimeCount())),
+                    BigDecimal.valueOf(Math.max(nullSafeLong(receipts.getReceiptCount()), 1))));
+            dto.setAverageLeadTimeDays(receipts.getAverageLeadTimeDays() == null ? ZERO
+                    : scale(BigDecimal.valueOf(receipts.getAverageLeadTimeDays()), 2));
+        }
+        return dto;
+    }
+
     @Override
-    @Transactional(readOnly = true)
     public DashboardSummaryDto getDashboardSummary(UUID warehouseId, LocalDate fromDate, LocalDate toDate) {
-        List<CurrentStockReportDto> currentStock = getCurrentStockReport(warehouseId, null);
-        List<InventoryValuationReportDto> valuation = inventoryValuationService.getValuationReport(warehouseId);
+        return dashboardCache.get(DashboardCache.View.SUMMARY, warehouseId, fromDate, toDate,
+                () -> self.getObject().computeDashboardSummary(warehouseId, fromDate, toDate));
+    }
+
+    /**
+     * Computes the dashboard summary without the cache. Called through the proxy by
+     * {@link #getDashboardSummary} so the computation gets its own read-only transaction
+     * while concurrent callers wait on the cache without holding a connection.
+     */
+    @Transactional(readOnly = true)
+    public DashboardSummaryDto computeDashboardSummary(UUID warehouseId, LocalDate fromDate, LocalDate toDate) {
+        BigDecimal[] stockTotals = {ZERO, ZERO};
+        streamCurrentStockReport(warehouseId, null, row -> {
+            stockTotals[0] = stockTotals[0].add(row.getOnHandQuantity());
+            stockTotals[1] = stockTotals[1].add(row.getAvailableQuantity());
+        });
+        BigDecimal[] totalInventoryValue = {ZERO};
+        inventoryValuationService.streamValuationReport(warehouseId,
+                row -> totalInventoryValue[0] = totalInventoryValue[0].add(row.getTotalValue()));
         List<PurchaseOrderReportDto> purchaseOrders = getPurchaseOrderReport(null, null, fromDate, toDate);
         List<SalesOrderReportDto> salesOrders = getSalesOrderReport(null, warehouseId, null, fromDate, toDate);
-        List<StockAlertDto> alerts = getStockAlerts(warehouseId);
 
         DashboardSummaryDto summary = new DashboardSummaryDto();
         summary.setWarehouseId(warehouseId);
         summary.setGeneratedAt(LocalDateTime.now());
-        summary.setTotalOnHandQuantity(currentStock.stream().map(CurrentStockReportDto::getOnHandQuantity).reduce(ZERO, BigDecimal::add));
-        summary.setTotalAvailableQuantity(currentStock.stream().map(CurrentStockReportDto::getAvailableQuantity).reduce(ZERO, BigDecimal::add));
-        summary.setTotalInventoryValue(valuation.stream().map(InventoryValuationReportDto::getTotalValue).reduce(ZERO, BigDecimal::add));
+        summary.setTotalOnHandQuantity(stockTotals[0]);
+        summary.setTotalAvailableQuantity(stockTotals[1]);
+        summary.setTotalInventoryValue(totalInventoryValue[0]);
         summary.setInventoryTurnover(calculateInventoryTurnover(warehouseId, fromDate, toDate, summary.getTotalOnHandQuantity()));
         summary.setOpenPurchaseOrders(purchaseOrders.stream().filter(dto -> isOpenPurchaseOrder(dto.getStatus())).count());
         summary.setOpenSalesOrders(salesOrders.stream().filter(dto -> isOpenSalesOrder(dto.getStatus())).count());
@@ -437,15 +520,24 @@ public class ReportingServiceImpl implements ReportingService {
         BigDecimal orderedQty = salesOrders.stream().map(SalesOrderReportDto::getOrderedQuantity).reduce(ZERO, BigDecimal::add);
         BigDecimal shippedQty = salesOrders.stream().map(SalesOrderReportDto::getShippedQuantity).reduce(ZERO, BigDecimal::add);
         summary.setOrderFulfillmentRate(ratePercentage(shippedQty, orderedQty));
-        summary.setStockOutIncidents(alerts.stream().filter(alert -> alert.getStatus() == StockAlertStatus.BELOW_MIN).count());
-        summary.setActiveStockAlerts((long) alerts.size());
+        long belowMin = countStockAlerts(warehouseId, StockAlertStatus.BELOW_MIN);
+        summary.setStockOutIncidents(belowMin);
+        summary.setActiveStockAlerts(belowMin + countStockAlerts(warehouseId, StockAlertStatus.ABOVE_MAX));
         summary.setAverageWarehouseUtilization(calculateWarehouseUtilization(warehouseId));
         return summary;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<DashboardWidgetDto> getDashboardWidgets(UUID warehouseId, LocalDate fromDate, LocalDate toDate) {
+        return dashboardCache.get(DashboardCache.View.WIDGETS, warehouseId, fromDate, toDate,
+                () -> self.getObject().computeDashboardWidgets(warehouseId, fromDate, toDate));
+    }
+
+    /**
+     * Computes the dashboard widgets without the cache; see {@link #computeDashboardSummary}.
+     */
+    @Transactional(readOnly = true)
+    public List<DashboardWidgetDto> computeDashboardWidgets(UUID warehouseId, LocalDate fromDate, LocalDate toDate) {
         List<ReportConfiguration> configs = reportConfigurationRepository.findAll((root, query, cb) -> cb.and(
                 cb.equal(root.get("category"), ReportCategory.DASHBOARD),
                 cb.equal(root.get("active"), true)));
@@ -459,7 +551,7 @@ public class ReportingServiceImpl implements ReportingService {
             widgets.add(buildDefaultWidget("Critical Stock Alerts", ReportType.STOCK_ALERTS, DashboardWidgetType.ALERT_FEED,
                     Map.of("rows", getStockAlerts(warehouseId).stream().limit(10).map(this::toMap).toList()), index++));
             widgets.add(buildDefaultWidget("Top Suppliers", ReportType.SUPPLIER_PERFORMANCE, DashboardWidgetType.TABLE,
-                    Map.of("rows", getSupplierPerformanceReport(fromDate, toDate).stream().limit(5).map(this::toMap).toList()), index++));
+                    Map.of("rows", getSupplierPerformanceReport(fromDate, toDate, PageRequest.of(0, 5)).stream().map(this::toMap).toList()), index++));
             widgets.add(buildDefaultWidget("Recent Sales Orders", ReportType.SALES_ORDER, DashboardWidgetType.TABLE,
                     Map.of("rows", getSalesOrderReport(null, warehouseId, null, fromDate, toDate).stream().limit(5).map(this::toMap).toList()), index));
             return widgets;
@@ -481,17 +573,7 @@ public class ReportingServiceImpl implements ReportingService {
     @Override
     @Transactional(readOnly = true)
     public List<StockAlertDto> getStockAlerts(UUID warehouseId) {
-        if (warehouseId != null) {
-            return replenishmentService.getStockAlerts(warehouseId);
-        }
-
-        List<StockAlertDto> alerts = new ArrayList<>();
-        for (Warehouse warehouse : warehouseRepository.findAll()) {
-            alerts.addAll(replenishmentService.getStockAlerts(warehouse.getId()));
-        }
-        alerts.sort(Comparator.comparing(StockAlertDto::getWarehouseName, String.CASE_INSENSITIVE_ORDER)
-                .thenComparing(StockAlertDto::getSku, String.CASE_INSENSITIVE_ORDER));
-        return alerts;
+        return replenishmentService.getStockAlerts(warehouseId);
     }
 
     @Override
@@ -503,7 +585,8 @@ public class ReportingServiceImpl implements ReportingService {
         try {
             GeneratedReportDto report = buildReport(preparedRequest);
             recordExecution(configuration, report.getReportName(), preparedRequest, report.getRows().size(), null, startedAt, ReportExecutionStatus.SUCCESS);
-            publishReportEvent(WebhookEventType.REPORT_GENERATED, report, preparedRequest);
+            publishReportEvent(WebhookEventType.REPORT_GENERATED, report.getReportName(), report.getGeneratedAt(),
+                    report.getRows().size(), preparedRequest);
             return report;
         } catch (RuntimeException exception) {
             recordExecution(configuration, reportName(preparedRequest.getReportType()), preparedRequest, 0, exception.getMessage(), startedAt, ReportExecutionStatus.FAILED);
@@ -524,17 +607,65 @@ public class ReportingServiceImpl implements ReportingService {
     @Override
     @Transactional(readOnly = true)
     public ReportFileDto exportReportFile(GenerateReportRequest request) {
+        ReportExport export = prepareReportExport(request);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        writeReportExport(export, output);
+        ReportFileDto file = new ReportFileDto();
+        file.setFileName(export.fileName());
+        file.setContentType(export.contentType());
+        file.setContent(output.toByteArray());
+        return file;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReportExport prepareReportExport(GenerateReportRequest request) {
         GenerateReportRequest preparedRequest = prepareRequest(request);
+        if (preparedRequest.getReportType() == ReportType.DATA_EXPORT) {
+            throw new BadRequestException("Use data exchange endpoints for bulk data export");
+        }
+        String baseName = slugify(reportName(preparedRequest.getReportType()));
+        return switch (preparedRequest.getFormat()) {
+            case CSV -> new ReportExport(baseName + ".csv", "text/csv", preparedRequest);
+            case JSON -> new ReportExport(baseName + ".json", "application/json", preparedRequest);
+            case PDF -> new ReportExport(baseName + ".pdf", "application/pdf", preparedRequest);
+            case XLSX -> new ReportExport(baseName + ".xlsx",
+                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", preparedRequest);
+        };
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int writeReportExport(ReportExport export, OutputStream output) {
+        return writeReportExport(export, output, count -> { });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int writeReportExport(ReportExport export, OutputStream output, IntConsumer progress) {
+        GenerateReportRequest preparedRequest = export.request();
         ReportConfiguration configuration = resolveConfiguration(preparedRequest);
+        String reportName = reportName(preparedRequest.getReportType());
         LocalDateTime startedAt = LocalDateTime.now();
         try {
-            GeneratedReportDto report = buildReport(preparedRequest);
-            ReportFileDto file = buildExportFile(report, preparedRequest.getFormat());
-            recordExecution(configuration, report.getReportName(), preparedRequest, report.getRows().size(), null, startedAt, ReportExecutionStatus.SUCCESS);
-            publishReportEvent(WebhookEventType.REPORT_GENERATED, report, preparedRequest);
-            return file;
+            int rowCount;
+            if (preparedRequest.getFormat() == ReportOutputFormat.JSON) {
+                GeneratedReportDto report = buildReport(preparedRequest);
+                objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(output, report);
+                rowCount = report.getRows().size();
+            } else {
+                try (ReportRowWriter writer = ReportRowWriter.open(preparedRequest.getFormat(), reportName, output)) {
+                    rowCount = writeReportRows(preparedRequest, writer, progress);
+                }
+            }
+            recordExecution(configuration, reportName, preparedRequest, rowCount, null, startedAt, ReportExecutionStatus.SUCCESS);
+            publishReportEvent(WebhookEventType.REPORT_GENERATED, reportName, startedAt, rowCount, preparedRequest);
+            return rowCount;
+        } catch (IOException exception) {
+            recordExecution(configuration, reportName, preparedRequest, 0, exception.getMessage(), startedAt, ReportExecutionStatus.FAILED);
+            throw new BadRequestException("Failed to export report file", exception);
         } catch (RuntimeException exception) {
-            recordExecution(configuration, reportName(preparedRequest.getReportType()), preparedRequest, 0, exception.getMessage(), startedAt, ReportExecutionStatus.FAILED);
+            recordExecution(configuration, reportName, preparedRequest, 0, exception.getMessage(), startedAt, ReportExecutionStatus.FAILED);
             throw exception;
         }
     }
@@ -559,36 +690,33 @@ public class ReportingServiceImpl implements ReportingService {
     @Override
     @Transactional(readOnly = true)
     public String exportDataset(DataExchangeDataset dataset) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        writeDatasetExport(dataset, output, count -> { });
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int writeDatasetExport(DataExchangeDataset dataset, OutputStream output, IntConsumer progress) {
         LocalDateTime startedAt = LocalDateTime.now();
+        String exportName = dataset.name() + " Export";
         try {
-            String output = switch (dataset) {
-                case PRODUCTS -> productService.exportProductsToCsv();
-                case STOCKS -> toCsv(buildStockReportForExport());
-                case PURCHASE_ORDERS -> toCsv(buildPurchaseOrderReportForExport());
-                case SALES_ORDERS -> toCsv(buildSalesOrderReportForExport());
-                case SUPPLIERS -> toCsv(buildSupplierPerformanceReportForExport());
-            };
-            recordExecution(null, dataset.name() + " Export", exportRequest(dataset), countRows(output), null, startedAt, ReportExecutionStatus.SUCCESS);
-            return output;
+            int rowCount;
+            try (ReportRowWriter writer = ReportRowWriter.open(ReportOutputFormat.CSV, exportName, output)) {
+                ReportRowSink sink = new ReportRowSink(new GenerateReportRequest(), writer, datasetHeaders(dataset), progress);
+                rowCount = writeRows(sink, consumer -> forEachDatasetRow(dataset, consumer));
+            }
+            recordExecution(null, exportName, exportRequest(dataset), rowCount, null, startedAt, ReportExecutionStatus.SUCCESS);
+            return rowCount;
+        } catch (IOException exception) {
+            recordExecution(null, exportName, exportRequest(dataset), 0, exception.getMessage(), startedAt, ReportExecutionStatus.FAILED);
+            throw new BadRequestException("Failed to export " + dataset.name().toLowerCase() + " dataset", exception);
         } catch (RuntimeException exception) {
-            recordExecution(null, dataset.name() + " Export", exportRequest(dataset), 0, exception.getMessage(), startedAt, ReportExecutionStatus.FAILED);
+            recordExecution(null, exportName, exportRequest(dataset), 0, exception.getMessage(), startedAt, ReportExecutionStatus.FAILED);
             throw exception;
         }
     }
 
-    private List<Stock> findStocks(UUID warehouseId, UUID productVariantId) {
-        return stockRepository.findAll((root, query, cb) -> {
-            List<Predicate> predicates = new ArrayList<>();
-            if (warehouseId != null) {
-                predicates.add(cb.equal(root.get("warehouse").get("id"), warehouseId));
-            }
-            if (productVariantId != null) {
-                predicates.add(cb.equal(root.get("productVariant").get("id"), productVariantId));
-            }
-            return predicates.isEmpty() ? cb.conjunction() : cb.and(predicates.toArray(new Predicate[0]));
-        });
-    }
-
     private ReportConfiguration getConfigurationEntity(UUID id) {
         return reportConfigurationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("ReportConfiguration", "id", id));
@@ -611,6 +739,10 @@ public class ReportingServiceImpl implements ReportingService {
         if (codeChanged && reportConfigurationRepository.existsByCode(request.getCode())) {
             throw new BadRequestException("Report configuration code already exists");
         }
+        if (request.getScheduleCron() != null && !request.getScheduleCron().isBlank()
+                && !CronExpression.isValidExpression(request.getScheduleCron())) {
+            throw new BadRequestException("Invalid schedule cron expression: " + request.getScheduleCron());
+        }
     }
 
     private void applyConfiguration(ReportConfiguration configuration, ReportConfigurationDto request) {
@@ -623,10 +755,20 @@ public class ReportingServiceImpl implements ReportingService {
         configuration.setConfigurationJson(request.getConfigurationJson());
         configuration.setFilterPresetJson(request.getFilterPresetJson());
         configuration.setColumnsJson(request.getColumnsJson());
-        configuration.setScheduleCron(request.getScheduleCron());
+        String scheduleCron = request.getScheduleCron() == null || request.getScheduleCron().isBlank()
+                ? null : request.getScheduleCron().trim();
+        Boolean active = request.getActive() == null ? Boolean.TRUE : request.getActive();
+        boolean scheduleChanged = !Objects.equals(scheduleCron, configuration.getScheduleCron())
+                || !active.equals(configuration.getActive()) || configuration.getNextRunAt() == null;
+        configuration.setScheduleCron(scheduleCron);
         configuration.setSharedWith(request.getSharedWith());
         configuration.setExportFormats(request.getExportFormats());
-        configuration.setActive(request.getActive() == null ? Boolean.TRUE : request.getActive());
+        configuration.setActive(active);
+        if (scheduleChanged) {
+            configuration.setNextRunAt(scheduleCron != null && active
+                    ? CronExpression.parse(scheduleCron).next(LocalDateTime.now())
+                    : null);
+        }
     }
 
     private ReportConfigurationDto mapConfiguration(ReportConfiguration configuration) {
@@ -667,15 +809,15 @@ public class ReportingServiceImpl implements ReportingService {
         return dto;
     }
 
-    private StockMovementReportDto mapStockMovement(StockMovement movement) {
+    private StockMovementReportDto mapStockMovement(StockMovementView movement) {
         StockMovementReportDto dto = new StockMovementReportDto();
         dto.setMovementId(movement.getId());
         dto.setMovementDate(movement.getCreatedAt());
-        dto.setProductVariantId(movement.getProductVariant().getId());
-        dto.setProductName(movement.getProductVariant().getTemplate().getName());
-        dto.setSku(movement.getProductVariant().getSku());
-        dto.setWarehouseId(movement.getWarehouse().getId());
-        dto.setWarehouseName(movement.getWarehouse().getName());
+        dto.setProductVariantId(movement.getProductVariantId());
+        dto.setProductName(movement.getProductName());
+        dto.setSku(movement.getProductVariantSku());
+        dto.setWarehouseId(movement.getWarehouseId());
+        dto.setWarehouseName(movement.getWarehouseName());
         dto.setQuantity(movement.getQuantity());
         dto.setUnitCost(movement.getUnitCost());
         dto.setTotalCost(movement.getTotalCost());
@@ -753,14 +895,14 @@ public class ReportingServiceImpl implements ReportingService {
     private Map<String, Object> buildWidgetData(ReportType reportType, UUID warehouseId, LocalDate fromDate, LocalDate toDate) {
         return switch (reportType) {
             case DASHBOARD_SUMMARY -> toMap(getDashboardSummary(warehouseId, fromDate, toDate));
-            case CURRENT_STOCK -> Map.of("rows", getCurrentStockReport(warehouseId, null).stream().limit(10).map(this::toMap).toList());
+            case CURRENT_STOCK -> Map.of("rows", getCurrentStockReportByCursor(warehouseId, null, null, 10).getItems().stream().map(this::toMap).toList());
             case STOCK_ALERTS -> Map.of("rows", getStockAlerts(warehouseId).stream().limit(10).map(this::toMap).toList());
             case PURCHASE_ORDER -> Map.of("rows", getPurchaseOrderReport(null, null, fromDate, toDate).stream().limit(10).map(this::toMap).toList());
             case SALES_ORDER -> Map.of("rows", getSalesOrderReport(null, warehouseId, null, fromDate, toDate).stream().limit(10).map(this::toMap).toList());
-            case SUPPLIER_PERFORMANCE -> Map.of("rows", getSupplierPerformanceReport(fromDate, toDate).stream().limit(10).map(this::toMap).toList());
+            case SUPPLIER_PERFORMANCE -> Map.of("rows", getSupplierPerformanceReport(fromDate, toDate, PageRequest.of(0, 10)).stream().map(this::toMap).toList());
             case AGING_ANALYSIS -> Map.of("rows", getAgingAnalysisReport(warehouseId, 30).stream().limit(10).map(this::toMap).toList());
             case STOCK_MOVEMENT -> Map.of("rows", getStockMovementReport(warehouseId, null, fromDate, toDate).stream().limit(10).map(this::toMap).toList());
-            case STOCK_VALUATION -> Map.of("rows", inventoryValuationService.getValuationReport(warehouseId).stream().limit(10).map(this::toMap).toList());
+            case STOCK_VALUATION -> Map.of("rows", inventoryValuationService.getValuationReport(warehouseId, PageRequest.of(0, 10)).stream().map(this::toMap).toList());
             case DATA_EXPORT -> Map.of("supportedDatasets", DataExchangeDataset.values());
         };
     }
@@ -860,38 +1002,100 @@ public class ReportingServiceImpl implements ReportingService {
     }
 
     private GeneratedReportDto buildReport(GenerateReportRequest request) {
+        return buildGeneratedReport(reportName(request.getReportType()), request.getReportType(), request, reportItems(request));
+    }
+
+    private List<?> reportItems(GenerateReportRequest request) {
         return switch (request.getReportType()) {
-            case CURRENT_STOCK -> buildGeneratedReport(reportName(request.getReportType()), request.getReportType(),
-                request,
-                    getCurrentStockReport(request.getWarehouseId(), request.getProductVariantId()));
-            case STOCK_MOVEMENT -> buildGeneratedReport(reportName(request.getReportType()), request.getReportType(),
-                request,
-                    getStockMovementReport(request.getWarehouseId(), request.getProductVariantId(), request.getFromDate(), request.getToDate()));
-            case AGING_ANALYSIS -> buildGeneratedReport(reportName(request.getReportType()), request.getReportType(),
-                request,
-                    getAgingAnalysisReport(request.getWarehouseId(), request.getSlowMovingThresholdDays()));
-            case STOCK_VALUATION -> buildGeneratedReport(reportName(request.getReportType()), request.getReportType(),
-                request,
-                    inventoryValuationService.getValuationReport(request.getWarehouseId()));
-            case PURCHASE_ORDER -> buildGeneratedReport(reportName(request.getReportType()), request.getReportType(),
-                request,
-                    getPurchaseOrderReport(request.getSupplierId(), request.getPurchaseOrderStatus(), request.getFromDate(), request.getToDate()));
-            case SALES_ORDER -> buildGeneratedReport(reportName(request.getReportType()), request.getReportType(),
-                request,
-                    getSalesOrderReport(request.getCustomerId(), request.getWarehouseId(), request.getSalesOrderStatus(), request.getFromDate(), request.getToDate()));
-            case SUPPLIER_PERFORMANCE -> buildGeneratedReport(reportName(request.getReportType()), request.getReportType(),
-                request,
-                    getSupplierPerformanceReport(request.getFromDate(), request.getToDate()));
-            case DASHBOARD_SUMMARY -> buildGeneratedReport(reportName(request.getReportType()), request.getReportType(),
-                request,
-                    Collections.singletonList(getDashboardSummary(request.getWarehouseId(), request.getFromDate(), request.getToDate())));
-            case STOCK_ALERTS -> buildGeneratedReport(reportName(request.getReportType()), request.getReportType(),
-                request,
-                    getStockAlerts(request.getWarehouseId()));
+            case CURRENT_STOCK -> getCurrentStockReport(request.getWarehouseId(), request.getProductVariantId());
+            case STOCK_MOVEMENT -> getStockMovementReport(request.getWarehouseId(), request.getProductVariantId(),
+                    request.getFromDate(), request.getToDate());
+            case AGING_ANALYSIS -> getAgingAnalysisReport(request.getWarehouseId(), request.getSlowMovingThresholdDays());
+            case STOCK_VALUATION -> inventoryValuationService.getValuationReport(request.getWarehouseId());
+            case PURCHASE_ORDER -> getPurchaseOrderReport(request.getSupplierId(), request.getPurchaseOrderStatus(),
+                    request.getFromDate(), request.getToDate());
+            case SALES_ORDER -> getSalesOrderReport(request.getCustomerId(), request.getWarehouseId(), request.getSalesOrderStatus(),
+                    request.getFromDate(), request.getToDate());
+            case SUPPLIER_PERFORMANCE -> getSupplierPerformanceReport(request.getFromDate(), request.getToDate());
+            case DASHBOARD_SUMMARY -> Collections.singletonList(
+                    getDashboardSummary(request.getWarehouseId(), request.getFromDate(), request.getToDate()));
+            case STOCK_ALERTS -> getStockAlerts(request.getWarehouseId());
             case DATA_EXPORT -> throw new BadRequestException("Use data exchange endpoints for bulk data export");
         };
     }
 
+    /**
+     * Feeds the report's rows to {@code consumer}. The ledger-sized reports are read from a
+     * database cursor; the others are small enough to be built as a list first.
+     */
+    private void forEachReportItem(GenerateReportRequest request, Consumer<Object> consumer) {
+        switch (request.getReportType()) {
+            case CURRENT_STOCK -> streamCurrentStockReport(request.getWarehouseId(), request.getProductVariantId(), consumer::accept);
+            case STOCK_MOVEMENT -> streamStockMovementReport(request.getWarehouseId(), request.getProductVariantId(),
+                    request.getFromDate(), request.getToDate(), consumer::accept);
+            case AGING_ANALYSIS -> streamAgingAnalysisReport(request.getWarehouseId(), request.getSlowMovingThresholdDays(),
+                    consumer::accept);
+            case STOCK_VALUATION -> inventoryValuationService.streamValuationReport(request.getWarehouseId(), consumer::accept);
+            case SUPPLIER_PERFORMANCE -> forEachSupplierPerformance(request.getFromDate(), request.getToDate(), consumer::accept);
+            default -> reportItems(request).forEach(consumer);
+        }
+    }
+
+    /**
+     * The columns of a report type's rows, in the order they are serialised.
+     */
+    private List<String> declaredHeaders(ReportType reportType) {
+        Class<?> rowType = switch (reportType) {
+            case CURRENT_STOCK -> CurrentStockReportDto.class;
+            case STOCK_MOVEMENT -> StockMovementReportDto.class;
+            case AGING_ANALYSIS -> AgingAnalysisReportDto.class;
+            case STOCK_VALUATION -> InventoryValuationReportDto.class;
+            case PURCHASE_ORDER -> PurchaseOrderReportDto.class;
+            case SALES_ORDER -> SalesOrderReportDto.class;
+            case SUPPLIER_PERFORMANCE -> SupplierPerformanceReportDto.class;
+            case DASHBOARD_SUMMARY -> DashboardSummaryDto.class;
+            case STOCK_ALERTS -> StockAlertDto.class;
+            case DATA_EXPORT -> null;
+        };
+        if (rowType == null) {
+            return List.of();
+        }
+        return objectMapper.getSerializationConfig().introspect(objectMapper.constructType(rowType))
+                .findProperties().stream()
+                .filter(BeanPropertyDefinition::couldSerialize)
+                .map(BeanPropertyDefinition::getName)
+                .toList();
+    }
+
+    private int writeReportRows(GenerateReportRequest request, ReportRowWriter writer, IntConsumer progress) throws IOException {
+        ReportRowSink sink = new ReportRowSink(request, writer, declaredHeaders(request.getReportType()), progress);
+        return writeRows(sink, consumer -> forEachReportItem(request, consumer));
+    }
+
+    /**
+     * Feeds every item of {@code source} to the sink until it is full and completes the
+     * document.
+     */
+    private int writeRows(ReportRowSink sink, Consumer<Consumer<Object>> source) throws IOException {
+        try {
+            source.accept(item -> {
+                try {
+                    sink.accept(toMap(item));
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+                if (sink.isFull()) {
+                    throw ExportLimitReached.INSTANCE;
+                }
+            });
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        } catch (ExportLimitReached ignored) {
+            // the source cursor is closed by its try-with-resources; the remaining rows are not read
+        }
+        return sink.finish();
+    }
+
         private GeneratedReportDto buildGeneratedReport(String reportName, ReportType reportType, GenerateReportRequest request, List<?> items) {
         List<Map<String, Object>> rows = items.stream().map(this::toMap).toList();
         LinkedHashSet<String> headers = new LinkedHashSet<>();
@@ -914,34 +1118,10 @@ public class ReportingServiceImpl implements ReportingService {
 
         List<Map<String, Object>> rows = new ArrayList<>(report.getRows());
 
-        if (request.getSearch() != null && !request.getSearch().isBlank()) {
-            String needle = request.getSearch().toLowerCase();
-            rows = rows.stream()
-                    .filter(row -> row.values().stream()
-                            .filter(Objects::nonNull)
-                            .map(String::valueOf)
-                            .map(String::toLowerCase)
-                            .anyMatch(value -> value.contains(needle)))
-                    .toList();
-        }
+        rows = rows.stream().filter(row -> ReportRowSink.matches(request, row)).toList();
 
-        if (request.getFieldFilters() != null && !request.getFieldFilters().isEmpty()) {
-            rows = rows.stream()
-                    .filter(row -> request.getFieldFilters().entrySet().stream()
-                            .allMatch(entry -> {
-                                Object value = row.get(entry.getKey());
-                                return value != null && String.valueOf(value).equalsIgnoreCase(entry.getValue());
-                            }))
-                    .toList();
-        }
-
-        if (request.getSortBy() != null && !request.getSortBy().isBlank()) {
-            Comparator<Map<String, Object>> comparator = Comparator.comparing(
-                    row -> String.valueOf(row.get(request.getSortBy())),
-                    Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
-            if ("desc".equalsIgnoreCase(request.getSortDirection())) {
-                comparator = comparator.reversed();
-            }
+        Comparator<Map<String, Object>> comparator = ReportRowSink.comparator(request);
+        if (comparator != null) {
             rows = rows.stream().sorted(comparator).toList();
         }
 
@@ -1007,103 +1187,13 @@ public class ReportingServiceImpl implements ReportingService {
         }
     }
 
-    private ReportFileDto buildExportFile(GeneratedReportDto report, ReportOutputFormat format) {
-        ReportOutputFormat outputFormat = format == null ? ReportOutputFormat.CSV : format;
-        ReportFileDto file = new ReportFileDto();
-        String baseName = slugify(report.getReportName());
-        try {
-            switch (outputFormat) {
-                case CSV -> {
-                    file.setFileName(baseName + ".csv");
-                    file.setContentType("text/csv");
-                    file.setContent(toCsv(report).getBytes(StandardCharsets.UTF_8));
-                }
-                case JSON -> {
-                    file.setFileName(baseName + ".json");
-                    file.setContentType("application/json");
-                    file.setContent(objectMapper.writeValueAsBytes(report));
-                }
-                case PDF -> {
-                    file.setFileName(baseName + ".pdf");
-                    file.setContentType("application/pdf");
-                    file.setContent(toPdf(report));
-                }
-                case XLSX -> {
-                    file.setFileName(baseName + ".xlsx");
-                    file.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
-                    file.setContent(toXlsx(report));
-                }
-            }
-            return file;
-        } catch (IOException exception) {
-            throw new BadRequestException("Failed to export report file", exception);
-        }
-    }
-
-    private byte[] toPdf(GeneratedReportDto report) throws IOException {
-        try (PDDocument document = new PDDocument(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
-            PDPage page = new PDPage();
-            document.addPage(page);
-
-            try (PDPageContentStream stream = new PDPageContentStream(document, page)) {
-                stream.beginText();
-                stream.setFont(PDType1Font.HELVETICA_BOLD, 14);
-                stream.newLineAtOffset(50, 760);
-                stream.showText(report.getReportName());
-                stream.newLineAtOffset(0, -20);
-                stream.setFont(PDType1Font.HELVETICA, 10);
-                stream.showText("Generated: " + report.getGeneratedAt());
-
-                int lineIndex = 0;
-                for (Map<String, Object> row : report.getRows()) {
-                    if (lineIndex >= 28) {
-                        break;
-                    }
-                    String line = report.getHeaders().stream()
-                            .map(header -> header + "=" + truncate(String.valueOf(row.get(header)), 24))
-                            .collect(Collectors.joining(" | "));
-                    stream.newLineAtOffset(0, -18);
-                    stream.showText(truncate(line, 140));
-                    lineIndex++;
-                }
-                stream.endText();
-            }
-
-            document.save(output);
-            return output.toByteArray();
-        }
-    }
-
-    private byte[] toXlsx(GeneratedReportDto report) throws IOException {
-        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
-            XSSFSheet sheet = workbook.createSheet("Report");
-            Row headerRow = sheet.createRow(0);
-            for (int index = 0; index < report.getHeaders().size(); index++) {
-                Cell cell = headerRow.createCell(index);
-                cell.setCellValue(report.getHeaders().get(index));
-            }
-            int rowIndex = 1;
-            for (Map<String, Object> row : report.getRows()) {
-                Row sheetRow = sheet.createRow(rowIndex++);
-                for (int columnIndex = 0; columnIndex < report.getHeaders().size(); columnIndex++) {
-                    Object value = row.get(report.getHeaders().get(columnIndex));
-                    sheetRow.createCell(columnIndex).setCellValue(value == null ? "" : String.valueOf(value));
-                }
-            }
-            for (int index = 0; index < report.getHeaders().size(); index++) {
-                sheet.autoSizeColumn(index);
-            }
-            workbook.write(output);
-            return output.toByteArray();
-        }
-    }
-
-    private void publishReportEvent(WebhookEventType eventType, GeneratedReportDto report, GenerateReportRequest request) {
+    private void publishReportEvent(WebhookEventType eventType, String reportName, LocalDateTime generatedAt, int rowCount,
+                                    GenerateReportRequest request) {
         webhookService.publishEvent(eventType, Map.of(
-                "reportName", report.getReportName(),
-                "reportType", report.getReportType().name(),
-                "generatedAt", report.getGeneratedAt().toString(),
-                "rowCount", report.getRows().size(),
+                "reportName", reportName,
+                "reportType", request.getReportType().name(),
+                "generatedAt", generatedAt.toString(),
+                "rowCount", rowCount,
                 "format", request.getFormat().name()));
     }
 
@@ -1111,12 +1201,6 @@ public class ReportingServiceImpl implements ReportingService {
         return value.toLowerCase().replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
     }
 
-    private String truncate(String value, int maxLength) {
-        if (value == null) {
-            return "";
-        }
-        return value.length() <= maxLength ? value : value.substring(0, maxLength - 3) + "...";
-    }
 
     private Map<String, Object> buildSummary(ReportType reportType, List<?> items) {
         Map<String, Object> summary = new LinkedHashMap<>();
@@ -1183,23 +1267,50 @@ public class ReportingServiceImpl implements ReportingService {
         reportExecutionHistoryRepository.save(history);
     }
 
-    private GeneratedReportDto buildStockReportForExport() {
-        return buildGeneratedReport("Current Stock Export", ReportType.CURRENT_STOCK, new GenerateReportRequest(), getCurrentStockReport(null, null));
-    }
-
-    private GeneratedReportDto buildPurchaseOrderReportForExport() {
-        return buildGeneratedReport("Purchase Order Export", ReportType.PURCHASE_ORDER, new GenerateReportRequest(),
-                getPurchaseOrderReport(null, null, LocalDate.now().minusYears(1), LocalDate.now()));
-    }
-
-    private GeneratedReportDto buildSalesOrderReportForExport() {
-        return buildGeneratedReport("Sales Order Export", ReportType.SALES_ORDER, new GenerateReportRequest(),
-                getSalesOrderReport(null, null, null, LocalDate.now().minusYears(1), LocalDate.now()));
+    /**
+     * Feeds a data-exchange dataset's rows to {@code consumer}. Orders are read from a
+     * database cursor and detached once mapped, so the persistence context does not grow
+     * with the export.
+     */
+    private void forEachDatasetRow(DataExchangeDataset dataset, Consumer<Object> consumer) {
+        LocalDateTime from = resolveFromDateTime(LocalDate.now().minusYears(1));
+        LocalDateTime to = resolveToDateTime(LocalDate.now());
+        switch (dataset) {
+            case PRODUCTS -> {
+                try (Stream<ProductVariantExportRow> rows = productVariantRepository.streamExportRows()) {
+                    rows.forEach(row -> consumer.accept(new ProductExportRow(row.getSku(), row.getBarcode(),
+                            row.getPrice(), row.getTemplateId())));
+                }
+            }
+            case STOCKS -> streamCurrentStockReport(null, null, consumer::accept);
+            case PURCHASE_ORDERS -> {
+                try (Stream<PurchaseOrder> orders = purchaseOrderRepository.streamByOrderDateBetween(from, to)) {
+                    orders.forEach(order -> {
+                        consumer.accept(mapPurchaseOrder(order));
+                        entityManager.detach(order);
+                    });
+                }
+            }
+            case SALES_ORDERS -> {
+                try (Stream<SalesOrder> orders = salesOrderRepository.streamByOrderDateBetween(from, to)) {
+                    orders.forEach(order -> {
+                        consumer.accept(mapSalesOrder(order));
+                        entityManager.detach(order);
+                    });
+                }
+            }
+            case SUPPLIERS -> forEachSupplierPerformance(from.toLocalDate(), to.toLocalDate(), consumer::accept);
+        }
     }
 
-    private GeneratedReportDto buildSupplierPerformanceReportForExport() {
-        return buildGeneratedReport("Supplier Performance Export", ReportType.SUPPLIER_PERFORMANCE, new GenerateReportRequest(),
-                getSupplierPerformanceReport(LocalDate.now().minusYears(1), LocalDate.now()));
+    private List<String> datasetHeaders(DataExchangeDataset dataset) {
+        return switch (dataset) {
+            case PRODUCTS -> List.of("sku", "barcode", "price", "templateId");
+            case STOCKS -> declaredHeaders(ReportType.CURRENT_STOCK);
+            case PURCHASE_ORDERS -> declaredHeaders(ReportType.PURCHASE_ORDER);
+            case SALES_ORDERS -> declaredHeaders(ReportType.SALES_ORDER);
+            case SUPPLIERS -> declaredHeaders(ReportType.SUPPLIER_PERFORMANCE);
+        };
     }
 
     private GenerateReportRequest exportRequest(DataExchangeDataset dataset) {
@@ -1219,37 +1330,6 @@ public class ReportingServiceImpl implements ReportingService {
         return request;
     }
 
-    private int countRows(String csv) {
-        if (csv == null || csv.isBlank()) {
-            return 0;
-        }
-        return Math.max(csv.split("\\R").length - 1, 0);
-    }
-
-    private String toCsv(GeneratedReportDto report) {
-        StringBuilder builder = new StringBuilder();
-        builder.append(String.join(",", report.getHeaders())).append("\n");
-        for (Map<String, Object> row : report.getRows()) {
-            List<String> values = new ArrayList<>();
-            for (String header : report.getHeaders()) {
-                values.add(csvValue(row.get(header)));
-            }
-            builder.append(String.join(",", values)).append("\n");
-        }
-        return builder.toString();
-    }
-
-    private String csvValue(Object value) {
-        if (value == null) {
-            return "";
-        }
-        String text = String.valueOf(value);
-        if (text.contains(",") || text.contains("\"") || text.contains("\n")) {
-            return "\"" + text.replace("\"", "\"\"") + "\"";
-        }
-        return text;
-    }
-
     private Map<String, Object> toMap(Object value) {
         return objectMapper.convertValue(value, MAP_TYPE);
     }
@@ -1271,17 +1351,15 @@ public class ReportingServiceImpl implements ReportingService {
         return date.atTime(23, 59, 59);
     }
 
+    private long countStockAlerts(UUID warehouseId, StockAlertStatus status) {
+        return warehouseId != null
+                ? stockAlertRepository.countByWarehouseIdAndStatus(warehouseId, status)
+                : stockAlertRepository.countByStatus(status);
+    }
+
     private BigDecimal calculateInventoryTurnover(UUID warehouseId, LocalDate fromDate, LocalDate toDate, BigDecimal currentOnHand) {
-        LocalDateTime from = resolveFromDateTime(fromDate);
-        LocalDateTime to = resolveToDateTime(toDate);
-        BigDecimal outbound = stockMovementRepository.findAll((root, query, cb) -> cb.and(
-                        warehouseId != null ? cb.equal(root.get("warehouse").get("id"), warehouseId) : cb.conjunction(),
-                        cb.or(cb.equal(root.get("type"), StockMovement.StockMovementType.OUT),
-                                cb.equal(root.get("type"), StockMovement.StockMovementType.TRANSFER_OUT)),
-                        cb.between(root.get("createdAt"), from, to)))
-                .stream()
-                .map(StockMovement::getQuantity)
-                .reduce(ZERO, BigDecimal::add);
+        BigDecimal outbound = nullSafe(stockMovementDailyTotalRepository.sumQuantity(null, warehouseId,
+                resolveFromDateTime(fromDate).toLocalDate(), resolveToDateTime(toDate).toLocalDate(), OUTBOUND_TYPES));
         return currentOnHand.compareTo(ZERO) <= 0 ? ZERO : scale(outbound.divide(currentOnHand, 4, RoundingMode.HALF_UP), 4);
     }
 
@@ -1334,6 +1412,10 @@ public class ReportingServiceImpl implements ReportingService {
         return scale(numerator.multiply(ONE_HUNDRED).divide(denominator, 4, RoundingMode.HALF_UP), 2);
     }
 
+    private long nullSafeLong(Long value) {
+        return value == null ? 0L : value;
+    }
+
     private BigDecimal nullSafe(BigDecimal value) {
         return value == null ? ZERO : value;
     }
@@ -1357,8 +1439,40 @@ public class ReportingServiceImpl implements ReportingService {
         };
     }
 
-    private String resolveCurrency(UUID warehouseId) {
-        List<InventoryValuationReportDto> valuation = inventoryValuationService.getValuationReport(warehouseId);
-        return valuation.isEmpty() ? "USD" : valuation.get(0).getCurrency();
+    /**
+     * Position of the last row of a current-stock keyset page, encoded as an opaque URL-safe
+     * token. The SKU goes last because it may contain the separator.
+     */
+    private record StockPositionCursor(String sku, UUID productVariantId, UUID warehouseId, StockStatus status) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((productVariantId + "|" + warehouseId + "|" + status + "|" + sku)
+                            .getBytes(StandardCharsets.UTF_8));
+        }
+
+        static StockPositionCursor decode(String token) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 4);
+                return new StockPositionCursor(parts[3], UUID.fromString(parts[0]), UUID.fromString(parts[1]),
+                        StockStatus.valueOf(parts[2]));
+            } catch (RuntimeException ex) {
+                throw new BadRequestException("Invalid current stock cursor");
+            }
+        }
+    }
+
+    /**
+     * A row of the product dataset export, serialised in column order.
+     */
+    private record ProductExportRow(String sku, String barcode, BigDecimal price, UUID templateId) {
+    }
+
+    private static final class ExportLimitReached extends RuntimeException {
+        private static final ExportLimitReached INSTANCE = new ExportLimitReached();
+
+        private ExportLimitReached() {
+            super(null, null, false, false);
+        }
     }
-}
\ No newline at end of file
+}
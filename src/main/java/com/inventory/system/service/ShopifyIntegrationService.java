@@ -33,11 +33,13 @@ import com.inventory.system.repository.StockRepository;
 import com.inventory.system.repository.TenantSettingRepository;
 import com.inventory.system.repository.WarehouseRepository;
 import com.inventory.system.service.ingestion.ExternalOrderIngestionService;
+import com.inventory.system.service.storefront.events.StorefrontCatalogChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -113,6 +115,7 @@ public class ShopifyIntegrationService {
     private final StockService stockService;
     private final DistributedLockService lockService;
     private final ObjectProvider<RabbitTemplate> rabbitTemplateProvider;
+    private final ApplicationEventPublisher eventPublisher;
     // Self-reference so internal calls to @Transactional methods go through the Spring
     // proxy (transaction + TenantFilterAspect fire) instead of being self-invoked.
     private final ObjectProvider<ShopifyIntegrationService> selfProvider;
@@ -972,6 +975,7 @@ public class ShopifyIntegrationService {
         replaceImagesGql(template, product.path("images"), result);
         Map<String, ProductAttribute> attributeMap = ensureAttributes(template, product.path("options"));
         importVariantsGql(template, product.path("variants"), result, gid, attributeMap);
+        eventPublisher.publishEvent(new StorefrontCatalogChangedEvent(template.getId(), Instant.now()));
     }
 
     /**
@@ -6,6 +6,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 public interface StockReservationService {
@@ -15,6 +17,12 @@ public interface StockReservationService {
     void fulfillReservationsByReference(String referenceId);
     BigDecimal getAvailableToPromise(UUID productVariantId, UUID warehouseId);
     BigDecimal getAvailableToPromise(UUID productVariantId);
+
+    /**
+     * ATP of many variants in one lookup; a null warehouse pools every warehouse. Variants
+     * without stock map to zero.
+     */
+    Map<UUID, BigDecimal> getAvailableToPromise(Collection<UUID> productVariantIds, UUID warehouseId);
     void cleanupExpiredReservations();
     Page<StockReservationDto> getReservations(UUID warehouseId, UUID productVariantId, Pageable pageable);
 }
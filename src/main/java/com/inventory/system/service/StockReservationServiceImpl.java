@@ -11,25 +11,34 @@ import com.inventory.system.payload.StockReservationDto;
 import com.inventory.system.payload.StockReservationRequest;
 import com.inventory.system.repository.BatchRepository;
 import com.inventory.system.repository.ProductVariantRepository;
-import com.inventory.system.repository.StockRepository;
+import com.inventory.system.repository.StockAvailabilityRepository;
 import com.inventory.system.repository.StockReservationRepository;
 import com.inventory.system.repository.StorageLocationRepository;
 import com.inventory.system.repository.WarehouseRepository;
+import com.inventory.system.repository.projection.VariantQuantity;
+import com.inventory.system.service.inventory.AvailableToPromiseProjection;
+import com.inventory.system.service.inventory.ReservationExpirySweeper;
+import com.inventory.system.service.inventory.events.AvailableToPromiseChangedEvent;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -37,12 +46,18 @@ import java.util.UUID;
 @Slf4j
 public class StockReservationServiceImpl implements StockReservationService {
 
+    private static final Set<StockReservationStatus> OPEN_STATUSES =
+            EnumSet.of(StockReservationStatus.ACTIVE, StockReservationStatus.PENDING);
+
     private final StockReservationRepository stockReservationRepository;
-    private final StockRepository stockRepository;
     private final ProductVariantRepository productVariantRepository;
     private final WarehouseRepository warehouseRepository;
     private final StorageLocationRepository storageLocationRepository;
     private final BatchRepository batchRepository;
+    private final StockAvailabilityRepository stockAvailabilityRepository;
+    private final AvailableToPromiseProjection availableToPromise;
+    private final ReservationExpirySweeper reservationExpirySweeper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -74,13 +89,12 @@ public class StockReservationServiceImpl implements StockReservationService {
             throw new IllegalArgumentException("Reservation expiry must be in the future");
         }
 
-        BigDecimal atp = getAvailableToPromise(
-                variant.getId(),
-                warehouse.getId(),
-                request.getStorageLocationId(),
-                request.getBatchId()
-        );
-        if (atp.compareTo(request.getQuantity()) < 0) {
+        // Conditional decrement of the ATP projection: two concurrent checkouts cannot both
+        // take the last unit, the loser sees zero rows updated.
+        if (!availableToPromise.reserve(variant.getId(), warehouse.getId(),
+                request.getStorageLocationId(), request.getBatchId(), request.getQuantity())) {
+            BigDecimal atp = getAvailableToPromise(variant.getId(), warehouse.getId(),
+                    request.getStorageLocationId(), request.getBatchId());
             throw new IllegalArgumentException("Insufficient stock available to promise. ATP: " + atp);
         }
 
@@ -98,6 +112,7 @@ public class StockReservationServiceImpl implements StockReservationService {
         reservation.setNotes(request.getNotes());
 
         reservation = stockReservationRepository.save(reservation);
+        eventPublisher.publishEvent(new AvailableToPromiseChangedEvent(variant.getId(), warehouse.getId(), Instant.now()));
         return mapToDto(reservation);
     }
 
@@ -110,9 +125,10 @@ public class StockReservationServiceImpl implements StockReservationService {
         if (!isReservableStatus(reservation.getStatus())) {
             throw new IllegalStateException("Reservation is not in a releasable state: " + reservation.getStatus());
         }
-
-        reservation.setStatus(StockReservationStatus.RELEASED);
-        stockReservationRepository.save(reservation);
+        if (!transition(reservation, StockReservationStatus.RELEASED)) {
+            throw new IllegalStateException("Reservation is no longer in a releasable state");
+        }
+        releaseAvailableToPromise(reservation);
     }
 
     @Override
@@ -130,73 +146,47 @@ public class StockReservationServiceImpl implements StockReservationService {
     @Override
     @Transactional(readOnly = true)
     public BigDecimal getAvailableToPromise(UUID productVariantId, UUID warehouseId) {
-        BigDecimal totalStock = stockRepository.countTotalQuantityByProductVariantAndWarehouse(productVariantId, warehouseId);
-        if (totalStock == null) {
-            totalStock = BigDecimal.ZERO;
-        }
-
-        BigDecimal reservedStock = stockReservationRepository.countTotalReservedQuantity(productVariantId, warehouseId);
-        if (reservedStock == null) {
-            reservedStock = BigDecimal.ZERO;
-        }
-
-        return totalStock.subtract(reservedStock);
+        return getAvailableToPromise(productVariantId, warehouseId, null, null);
     }
 
     @Override
     @Transactional(readOnly = true)
     public BigDecimal getAvailableToPromise(UUID productVariantId) {
-        BigDecimal totalStock = stockRepository.sumAvailableQuantityByProductVariant(productVariantId);
-        if (totalStock == null) {
-            totalStock = BigDecimal.ZERO;
-        }
+        return stockAvailabilityRepository.sumAvailableToPromiseByProductVariant(
+                productVariantId, AvailableToPromiseProjection.WAREHOUSE_TOTAL);
+    }
 
-        BigDecimal reservedStock = stockReservationRepository.countTotalReservedQuantityByProductVariant(productVariantId);
-        if (reservedStock == null) {
-            reservedStock = BigDecimal.ZERO;
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, BigDecimal> getAvailableToPromise(Collection<UUID> productVariantIds, UUID warehouseId) {
+        Map<UUID, BigDecimal> result = new HashMap<>();
+        if (productVariantIds.isEmpty()) {
+            return result;
         }
-
-        return totalStock.subtract(reservedStock);
+        productVariantIds.forEach(id -> result.put(id, BigDecimal.ZERO));
+        List<VariantQuantity> rows = warehouseId != null
+                ? stockAvailabilityRepository.findAvailableToPromiseByWarehouse(
+                        productVariantIds, warehouseId, AvailableToPromiseProjection.WAREHOUSE_TOTAL)
+                : stockAvailabilityRepository.sumAvailableToPromiseByProductVariants(
+                        productVariantIds, AvailableToPromiseProjection.WAREHOUSE_TOTAL);
+        rows.forEach(row -> result.put(row.getProductVariantId(), row.getQuantity()));
+        return result;
     }
 
     private BigDecimal getAvailableToPromise(UUID productVariantId, UUID warehouseId, UUID storageLocationId, UUID batchId) {
-        if (storageLocationId == null && batchId == null) {
-            return getAvailableToPromise(productVariantId, warehouseId);
-        }
-
-        BigDecimal totalStock = stockRepository.countTotalQuantityByInventoryPosition(
+        BigDecimal atp = stockAvailabilityRepository.findAvailableToPromise(
                 productVariantId,
                 warehouseId,
-                storageLocationId,
-                batchId
+                storageLocationId != null ? storageLocationId : AvailableToPromiseProjection.WAREHOUSE_TOTAL,
+                batchId != null ? batchId : AvailableToPromiseProjection.WAREHOUSE_TOTAL
         );
-        if (totalStock == null) {
-            totalStock = BigDecimal.ZERO;
-        }
-
-        BigDecimal reservedStock = stockReservationRepository.countTotalReservedQuantityByInventoryPosition(
-                productVariantId,
-                warehouseId,
-                storageLocationId,
-                batchId
-        );
-        if (reservedStock == null) {
-            reservedStock = BigDecimal.ZERO;
-        }
-
-        return totalStock.subtract(reservedStock);
+        return atp != null ? atp : BigDecimal.ZERO;
     }
 
     @Override
-    @Transactional
-    @Scheduled(fixedRate = 300000) // Run every 5 minutes
     public void cleanupExpiredReservations() {
-        List<StockReservation> expiredReservations = stockReservationRepository.findByStatusAndExpiresAtBefore(StockReservationStatus.ACTIVE, LocalDateTime.now());
-        for (StockReservation reservation : expiredReservations) {
-            reservation.setStatus(StockReservationStatus.EXPIRED);
-            log.info("Expiring reservation {}", reservation.getId());
-        }
-        stockReservationRepository.saveAll(expiredReservations);
+        // Chunked, SKIP LOCKED sweep; also runs on its own schedule
+        reservationExpirySweeper.sweep();
     }
 
     @Override
@@ -251,16 +241,39 @@ public class StockReservationServiceImpl implements StockReservationService {
         }
 
         List<StockReservation> reservations = stockReservationRepository.findByReferenceIdAndStatusIn(
-                referenceId,
-                EnumSet.of(StockReservationStatus.ACTIVE, StockReservationStatus.PENDING)
-        );
+                referenceId, OPEN_STATUSES);
 
-        if (reservations.isEmpty()) {
-            return;
+        // A reservation expired or released concurrently since it was read is skipped; whoever
+        // moved it out of ACTIVE/PENDING has already returned its quantity.
+        for (StockReservation reservation : reservations) {
+            if (transition(reservation, targetStatus)) {
+                releaseAvailableToPromise(reservation);
+            }
         }
+    }
+
+    /**
+     * Moves the reservation to {@code targetStatus} with a conditional update instead of writing
+     * the entity read earlier, so two callers (or a caller and the expiry sweep) cannot both
+     * release the same reservation.
+     */
+    private boolean transition(StockReservation reservation, StockReservationStatus targetStatus) {
+        if (stockReservationRepository.transitionStatus(reservation.getId(), OPEN_STATUSES, targetStatus) == 0) {
+            return false;
+        }
+        reservation.setStatus(targetStatus);
+        return true;
+    }
 
-        reservations.forEach(reservation -> reservation.setStatus(targetStatus));
-        stockReservationRepository.saveAll(reservations);
+    private void releaseAvailableToPromise(StockReservation reservation) {
+        availableToPromise.release(
+                reservation.getProductVariant().getId(),
+                reservation.getWarehouse().getId(),
+                reservation.getStorageLocation() != null ? reservation.getStorageLocation().getId() : null,
+                reservation.getBatch() != null ? reservation.getBatch().getId() : null,
+                reservation.getQuantity());
+        eventPublisher.publishEvent(new AvailableToPromiseChangedEvent(
+                reservation.getProductVariant().getId(), reservation.getWarehouse().getId(), Instant.now()));
     }
 
     private boolean isReservableStatus(StockReservationStatus status) {
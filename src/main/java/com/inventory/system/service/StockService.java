@@ -1,11 +1,14 @@
 package com.inventory.system.service;
 
+import com.inventory.system.payload.CursorPageDto;
 import com.inventory.system.payload.StockAdjustmentDto;
+import com.inventory.system.payload.StockBatchAdjustmentResultDto;
 import com.inventory.system.payload.StockDto;
 import com.inventory.system.payload.StockMovementDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,7 +17,25 @@ public interface StockService {
     Page<StockDto> searchStocks(String query, Pageable pageable);
     StockDto getStock(UUID id);
     StockMovementDto adjustStock(StockAdjustmentDto adjustmentDto);
+
+    /**
+     * Applies many adjustments in one transaction. Every line's references, quantity and reason
+     * are checked before anything is written and all invalid lines are reported together; stock
+     * is then changed once per position by the net delta of its lines. Stock sufficiency is
+     * checked by those writes, and serial numbers only after the movements are saved; a failure
+     * there rolls the transaction back, so either every line is applied or none is.
+     */
+    StockBatchAdjustmentResultDto adjustStockBatch(List<StockAdjustmentDto> adjustments);
     Page<StockMovementDto> getStockMovements(UUID warehouseId, UUID productVariantId, Pageable pageable);
+
+    /**
+     * Keyset-paginated movement listing, newest first, optionally bounded to
+     * {@code [from, to)}. Pass the {@code nextCursor} of the previous page to continue; the
+     * cost of a page does not grow with its depth.
+     */
+    CursorPageDto<StockMovementDto> getStockMovementsByCursor(UUID warehouseId, UUID productVariantId,
+                                                             LocalDateTime from, LocalDateTime to,
+                                                             String cursor, int size);
     List<StockMovementDto> getBatchHistory(UUID batchId);
     List<StockMovementDto> getSerialNumberHistory(String serialNumber);
 }
@@ -12,7 +12,9 @@ import com.inventory.system.common.entity.StorageLocation;
 import com.inventory.system.common.entity.Warehouse;
 import com.inventory.system.common.exception.BadRequestException;
 import com.inventory.system.common.exception.ResourceNotFoundException;
+import com.inventory.system.payload.CursorPageDto;
 import com.inventory.system.payload.StockAdjustmentDto;
+import com.inventory.system.payload.StockBatchAdjustmentResultDto;
 import com.inventory.system.payload.StockDto;
 import com.inventory.system.payload.StockMovementDto;
 import com.inventory.system.repository.BatchRepository;
@@ -23,20 +25,41 @@ import com.inventory.system.repository.StockMovementSerialNumberRepository;
 import com.inventory.system.repository.StockRepository;
 import com.inventory.system.repository.StorageLocationRepository;
 import com.inventory.system.repository.WarehouseRepository;
+import com.inventory.system.repository.projection.StockMovementView;
+import com.inventory.system.service.inventory.StockMovementRollup;
+import com.inventory.system.service.inventory.StockMutationEngine;
+import com.inventory.system.service.inventory.StockPosition;
+import com.inventory.system.service.inventory.WarehouseCapacityTracker;
+import com.inventory.system.service.inventory.events.InventoryChangedEvent;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -53,10 +76,18 @@ public class StockServiceImpl implements StockService {
     private final SerialNumberRepository serialNumberRepository;
     private final StockMovementSerialNumberRepository stockMovementSerialNumberRepository;
     private final TenantSettingService tenantSettingService;
-    private final org.springframework.context.ApplicationEventPublisher eventPublisher;
+    private final StockMutationEngine stockMutationEngine;
+    private final WarehouseCapacityTracker warehouseCapacityTracker;
+    private final StockMovementRollup stockMovementRollup;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final String ALLOW_NEGATIVE_STOCK_KEY = "inventory.stock.allowNegativeStock";
     private static final String REQUIRE_MOVEMENT_REASON_KEY = "inventory.movements.requireReason";
+    private static final int ID_CHUNK_SIZE = 1000;
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+    private static final LocalDateTime EARLIEST_MOVEMENT = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST_MOVEMENT = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final int MAX_REPORTED_ERRORS = 20;
 
     @Override
     @Transactional(readOnly = true)
@@ -92,10 +123,8 @@ public class StockServiceImpl implements StockService {
     @Override
     @Transactional
     public StockMovementDto adjustStock(StockAdjustmentDto dto) {
-        if (requiresMovementReason()
-                && !StringUtils.hasText(dto.getReason())
-                && !StringUtils.hasText(dto.getReferenceId())) {
-            throw new BadRequestException("A movement reason or reference is required by inventory policy");
+        if (requiresMovementReason()) {
+            requireReasonOrReference(dto);
         }
 
         ProductVariant variant = productVariantRepository.findById(dto.getProductVariantId())
@@ -107,9 +136,6 @@ public class StockServiceImpl implements StockService {
         if (dto.getStorageLocationId() != null) {
             location = storageLocationRepository.findById(dto.getStorageLocationId())
                     .orElseThrow(() -> new ResourceNotFoundException("StorageLocation", "id", dto.getStorageLocationId()));
-            if (!location.getWarehouse().getId().equals(warehouse.getId())) {
-                throw new IllegalArgumentException("Storage location does not belong to the specified warehouse");
-            }
         }
 
         Batch batch = null;
@@ -118,6 +144,224 @@ public class StockServiceImpl implements StockService {
                     .orElseThrow(() -> new ResourceNotFoundException("Batch", "id", dto.getBatchId()));
         }
 
+        validateAdjustment(dto, variant, warehouse, location, batch);
+
+        StockStatus stockStatus = dto.getStockStatus() != null ? dto.getStockStatus() : StockStatus.AVAILABLE;
+        BigDecimal quantityChange = dto.getQuantity();
+        BigDecimal delta = signedDelta(dto);
+
+        // Single conditional write: the oversell guard is evaluated on the locked row, so
+        // concurrent sales on the same position can neither lose updates nor go negative.
+        StockPosition position = new StockPosition(variant.getId(), warehouse.getId(),
+                location != null ? location.getId() : null, batch != null ? batch.getId() : null, stockStatus);
+        BigDecimal resultingQuantity = stockMutationEngine.applyDelta(position, delta, allowsNegativeStock())
+                .orElseThrow(() -> new IllegalArgumentException(dto.getType() == StockMovement.StockMovementType.ADJUSTMENT
+                        ? "Stock quantity cannot be negative"
+                        : "Insufficient stock"));
+
+        // Used capacity is maintained incrementally (flushed in the background) so sales do
+        // not serialise on the warehouse row.
+        warehouseCapacityTracker.record(warehouse.getId(), delta);
+
+        StockMovement movement = newMovement(dto, variant, warehouse, location, batch);
+
+        // Handle Valuation: route on the signed delta, OUT/TRANSFER_OUT carry a positive quantity
+        if (delta.compareTo(BigDecimal.ZERO) >= 0) {
+            // IN, TRANSFER_IN, positive ADJUSTMENT
+            valuationService.processInbound(movement, dto.getUnitCost());
+        } else {
+            // OUT, TRANSFER_OUT, negative ADJUSTMENT
+             if (dto.getType() == StockMovement.StockMovementType.ADJUSTMENT) {
+                 movement.setQuantity(quantityChange.abs());
+                 valuationService.processOutbound(movement);
+                 movement.setQuantity(quantityChange); // Restore
+             } else {
+                 valuationService.processOutbound(movement);
+             }
+        }
+
+        stockMovementRepository.save(movement);
+        stockMovementRollup.record(List.of(movement));
+
+        // Process Serial Numbers
+        if (Boolean.TRUE.equals(variant.getTemplate().getIsSerialTracked())) {
+            processSerialNumbers(List.of(new SerialLine(dto, variant, warehouse, location, batch, movement, stockStatus)));
+        }
+
+        // Single inventory chokepoint: announce the change so it can propagate to
+        // other channels (e.g. Shopify). referenceId carries origin for echo-suppression.
+        eventPublisher.publishEvent(new InventoryChangedEvent(
+                variant.getId(), warehouse.getId(), dto.getReferenceId(), Instant.now()));
+        StockMovementDto result = mapToDto(movement);
+        result.setResultingQuantity(resultingQuantity);
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public StockBatchAdjustmentResultDto adjustStockBatch(List<StockAdjustmentDto> lines) {
+        if (lines == null || lines.isEmpty()) {
+            throw new BadRequestException("At least one adjustment line is required");
+        }
+        boolean requireReason = requiresMovementReason();
+
+        // Resolve every referenced row up front with IN queries instead of 4 lookups per line
+        Map<UUID, ProductVariant> variants = loadById(collectIds(lines, StockAdjustmentDto::getProductVariantId),
+                productVariantRepository::findAllWithTemplateByIdIn, ProductVariant::getId);
+        Map<UUID, Warehouse> warehouses = loadById(collectIds(lines, StockAdjustmentDto::getWarehouseId),
+                warehouseRepository::findAllById, Warehouse::getId);
+        Map<UUID, StorageLocation> locations = loadById(collectIds(lines, StockAdjustmentDto::getStorageLocationId),
+                storageLocationRepository::findAllById, StorageLocation::getId);
+        Map<UUID, Batch> batches = loadById(collectIds(lines, StockAdjustmentDto::getBatchId),
+                batchRepository::findAllById, Batch::getId);
+
+        List<ResolvedAdjustment> resolved = new ArrayList<>(lines.size());
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            StockAdjustmentDto dto = lines.get(i);
+            try {
+                resolved.add(resolveAdjustment(dto, requireReason, variants, warehouses, locations, batches));
+            } catch (BadRequestException | ResourceNotFoundException | IllegalArgumentException ex) {
+                errors.add("Line " + (i + 1) + ": " + ex.getMessage());
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new BadRequestException(summarizeErrors(errors));
+        }
+
+        // Net deltas per position: one conditional write per touched row, guarded on the net
+        Map<StockPosition, BigDecimal> netDeltas = new LinkedHashMap<>();
+        Map<UUID, BigDecimal> warehouseDeltas = new LinkedHashMap<>();
+        for (ResolvedAdjustment line : resolved) {
+            netDeltas.merge(line.position(), line.delta(), BigDecimal::add);
+            warehouseDeltas.merge(line.warehouse().getId(), line.delta(), BigDecimal::add);
+        }
+        List<StockPosition> rejected = stockMutationEngine.applyDeltas(netDeltas, allowsNegativeStock());
+        if (!rejected.isEmpty()) {
+            throw new IllegalArgumentException("Insufficient stock for " + rejected.size() + " position(s): "
+                    + rejected.stream().limit(MAX_REPORTED_ERRORS)
+                        .map(position -> variants.get(position.productVariantId()).getSku()
+                                + " in " + warehouses.get(position.warehouseId()).getName())
+                        .collect(Collectors.joining(", ")));
+        }
+        warehouseDeltas.forEach(warehouseCapacityTracker::record);
+
+        List<StockMovement> movements = new ArrayList<>(resolved.size());
+        List<InventoryValuationService.BatchLine> valuationLines = new ArrayList<>(resolved.size());
+        for (ResolvedAdjustment line : resolved) {
+            StockMovement movement = newMovement(line.dto(), line.variant(), line.warehouse(), line.location(), line.batch());
+            movements.add(movement);
+            valuationLines.add(new InventoryValuationService.BatchLine(
+                    movement,
+                    line.delta().abs(),
+                    line.dto().getUnitCost(),
+                    line.delta().compareTo(BigDecimal.ZERO) >= 0,
+                    line.position().status() == StockStatus.AVAILABLE ? line.delta() : BigDecimal.ZERO));
+        }
+        valuationService.processBatch(valuationLines);
+        stockMovementRepository.saveAll(movements);
+        stockMovementRollup.record(movements);
+
+        List<SerialLine> serialLines = new ArrayList<>();
+        for (int i = 0; i < resolved.size(); i++) {
+            ResolvedAdjustment line = resolved.get(i);
+            if (Boolean.TRUE.equals(line.variant().getTemplate().getIsSerialTracked())) {
+                serialLines.add(new SerialLine(line.dto(), line.variant(), line.warehouse(), line.location(), line.batch(),
+                        movements.get(i), line.position().status()));
+            }
+        }
+        processSerialNumbers(serialLines);
+
+        // One event per variant/warehouse instead of one per line; the reference is only kept
+        // when every line of the group shares it, so echo-suppression stays correct.
+        Map<List<UUID>, String> changed = new LinkedHashMap<>();
+        Set<List<UUID>> mixedReferences = new HashSet<>();
+        for (ResolvedAdjustment line : resolved) {
+            List<UUID> key = List.of(line.variant().getId(), line.warehouse().getId());
+            String referenceId = line.dto().getReferenceId();
+            if (changed.containsKey(key) && !Objects.equals(changed.get(key), referenceId)) {
+                mixedReferences.add(key);
+            }
+            changed.putIfAbsent(key, referenceId);
+        }
+        Instant now = Instant.now();
+        changed.forEach((key, referenceId) -> eventPublisher.publishEvent(new InventoryChangedEvent(
+                key.get(0), key.get(1), mixedReferences.contains(key) ? null : referenceId, now)));
+
+        StockBatchAdjustmentResultDto result = new StockBatchAdjustmentResultDto();
+        result.setTotalLines(lines.size());
+        result.setMovementsCreated(movements.size());
+        result.setPositionsUpdated((int) netDeltas.values().stream().filter(delta -> delta.signum() != 0).count());
+        return result;
+    }
+
+    private ResolvedAdjustment resolveAdjustment(StockAdjustmentDto dto, boolean requireReason,
+                                                 Map<UUID, ProductVariant> variants,
+                                                 Map<UUID, Warehouse> warehouses,
+                                                 Map<UUID, StorageLocation> locations,
+                                                 Map<UUID, Batch> batches) {
+        if (dto.getProductVariantId() == null || dto.getWarehouseId() == null
+                || dto.getQuantity() == null || dto.getType() == null) {
+            throw new BadRequestException("Product variant, warehouse, quantity and type are required");
+        }
+        if (requireReason) {
+            requireReasonOrReference(dto);
+        }
+        ProductVariant variant = resolve(variants, dto.getProductVariantId(), "ProductVariant");
+        Warehouse warehouse = resolve(warehouses, dto.getWarehouseId(), "Warehouse");
+        StorageLocation location = dto.getStorageLocationId() != null
+                ? resolve(locations, dto.getStorageLocationId(), "StorageLocation") : null;
+        Batch batch = dto.getBatchId() != null ? resolve(batches, dto.getBatchId(), "Batch") : null;
+
+        validateAdjustment(dto, variant, warehouse, location, batch);
+
+        StockStatus stockStatus = dto.getStockStatus() != null ? dto.getStockStatus() : StockStatus.AVAILABLE;
+        StockPosition position = new StockPosition(variant.getId(), warehouse.getId(),
+                location != null ? location.getId() : null, batch != null ? batch.getId() : null, stockStatus);
+        return new ResolvedAdjustment(dto, variant, warehouse, location, batch, position, signedDelta(dto));
+    }
+
+    private static <T> T resolve(Map<UUID, T> loaded, UUID id, String resourceName) {
+        T value = loaded.get(id);
+        if (value == null) {
+            throw new ResourceNotFoundException(resourceName, "id", id);
+        }
+        return value;
+    }
+
+    private static Set<UUID> collectIds(List<StockAdjustmentDto> lines, Function<StockAdjustmentDto, UUID> idOf) {
+        return lines.stream().map(idOf).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private static <T> Map<UUID, T> loadById(Set<UUID> ids, Function<Collection<UUID>, List<T>> loader, Function<T, UUID> idOf) {
+        Map<UUID, T> loaded = new HashMap<>();
+        List<UUID> remaining = new ArrayList<>(ids);
+        for (int from = 0; from < remaining.size(); from += ID_CHUNK_SIZE) {
+            List<UUID> chunk = remaining.subList(from, Math.min(from + ID_CHUNK_SIZE, remaining.size()));
+            loader.apply(chunk).forEach(entity -> loaded.put(idOf.apply(entity), entity));
+        }
+        return loaded;
+    }
+
+    private static String summarizeErrors(List<String> errors) {
+        String listed = errors.stream().limit(MAX_REPORTED_ERRORS).collect(Collectors.joining("; "));
+        return errors.size() > MAX_REPORTED_ERRORS
+                ? listed + "; ... and " + (errors.size() - MAX_REPORTED_ERRORS) + " more"
+                : listed;
+    }
+
+    private void requireReasonOrReference(StockAdjustmentDto dto) {
+        if (!StringUtils.hasText(dto.getReason()) && !StringUtils.hasText(dto.getReferenceId())) {
+            throw new BadRequestException("A movement reason or reference is required by inventory policy");
+        }
+    }
+
+    private void validateAdjustment(StockAdjustmentDto dto, ProductVariant variant, Warehouse warehouse,
+                                    StorageLocation location, Batch batch) {
+        if (location != null && !location.getWarehouse().getId().equals(warehouse.getId())) {
+            throw new IllegalArgumentException("Storage location does not belong to the specified warehouse");
+        }
+
         if (Boolean.TRUE.equals(variant.getTemplate().getIsBatchTracked()) && batch == null) {
             throw new BadRequestException("Batch ID is required for this product");
         }
@@ -137,207 +381,256 @@ public class StockServiceImpl implements StockService {
                 throw new BadRequestException("Number of serial numbers must match the quantity");
             }
         }
+    }
 
-        StockStatus stockStatus = dto.getStockStatus() != null ? dto.getStockStatus() : StockStatus.AVAILABLE;
-        Stock stock = resolveStock(variant, warehouse, location, batch, stockStatus);
-
+    private BigDecimal signedDelta(StockAdjustmentDto dto) {
         BigDecimal quantityChange = dto.getQuantity();
-        BigDecimal currentQuantity = stock.getQuantity();
-
         switch (dto.getType()) {
             case IN:
             case TRANSFER_IN:
                 if (quantityChange.compareTo(BigDecimal.ZERO) < 0) {
                     throw new IllegalArgumentException("Quantity must be positive for IN/TRANSFER_IN");
                 }
-                stock.setQuantity(currentQuantity.add(quantityChange));
-                break;
+                return quantityChange;
             case OUT:
             case TRANSFER_OUT:
                 if (quantityChange.compareTo(BigDecimal.ZERO) < 0) {
                     throw new IllegalArgumentException("Quantity must be positive for OUT/TRANSFER_OUT");
                 }
-                if (!allowsNegativeStock() && currentQuantity.compareTo(quantityChange) < 0) {
-                    throw new IllegalArgumentException("Insufficient stock");
-                }
-                stock.setQuantity(currentQuantity.subtract(quantityChange));
-                break;
+                return quantityChange.negate();
             case ADJUSTMENT:
-                stock.setQuantity(currentQuantity.add(quantityChange));
-                break;
-        }
-
-        if (!allowsNegativeStock() && stock.getQuantity().compareTo(BigDecimal.ZERO) < 0) {
-            throw new IllegalArgumentException("Stock quantity cannot be negative");
+            default:
+                return quantityChange;
         }
+    }
 
-        stock = stockRepository.save(stock);
-
-        // Auto-update warehouse used capacity
-        BigDecimal totalWarehouseStock = stockRepository.sumTotalQuantityByWarehouse(warehouse.getId());
-        warehouse.setUsedCapacity(totalWarehouseStock);
-        warehouseRepository.save(warehouse);
-
+    private StockMovement newMovement(StockAdjustmentDto dto, ProductVariant variant, Warehouse warehouse,
+                                      StorageLocation location, Batch batch) {
         StockMovement movement = new StockMovement();
         movement.setProductVariant(variant);
         movement.setWarehouse(warehouse);
         movement.setStorageLocation(location);
         movement.setBatch(batch);
-        movement.setQuantity(quantityChange);
+        movement.setQuantity(dto.getQuantity());
         movement.setType(dto.getType());
         movement.setReason(dto.getReason());
         movement.setReferenceId(dto.getReferenceId());
-
-        // Handle Valuation
-        if (quantityChange.compareTo(BigDecimal.ZERO) >= 0) {
-            // IN, TRANSFER_IN, positive ADJUSTMENT
-            valuationService.processInbound(movement, dto.getUnitCost());
-        } else {
-            // OUT, TRANSFER_OUT, negative ADJUSTMENT
-             if (dto.getType() == StockMovement.StockMovementType.ADJUSTMENT) {
-                 movement.setQuantity(quantityChange.abs());
-                 valuationService.processOutbound(movement);
-                 movement.setQuantity(quantityChange); // Restore
-             } else {
-                 valuationService.processOutbound(movement);
-             }
-        }
-
-        stockMovementRepository.save(movement);
-
-        // Process Serial Numbers
-        if (Boolean.TRUE.equals(variant.getTemplate().getIsSerialTracked())) {
-            if (dto.getSerialNumbers() == null || dto.getSerialNumbers().isEmpty()) {
-                throw new BadRequestException("Serial numbers are required for this product");
-            }
-            processSerialNumbers(dto, variant, warehouse, location, batch, movement, stockStatus);
-        }
-
-        // Single inventory chokepoint: announce the change so it can propagate to
-        // other channels (e.g. Shopify). referenceId carries origin for echo-suppression.
-        eventPublisher.publishEvent(new com.inventory.system.service.inventory.events.InventoryChangedEvent(
-                variant.getId(), warehouse.getId(), dto.getReferenceId(), java.time.Instant.now()));
-        return mapToDto(movement);
+        return movement;
     }
 
-    private void processSerialNumbers(StockAdjustmentDto dto, ProductVariant variant, Warehouse warehouse, StorageLocation location, Batch batch, StockMovement movement, StockStatus stockStatus) {
-        boolean isInbound = dto.getType() == StockMovement.StockMovementType.IN ||
-                            dto.getType() == StockMovement.StockMovementType.TRANSFER_IN ||
-                            (dto.getType() == StockMovement.StockMovementType.ADJUSTMENT && dto.getQuantity().compareTo(BigDecimal.ZERO) > 0);
+    private record ResolvedAdjustment(StockAdjustmentDto dto,
+                                      ProductVariant variant,
+                                      Warehouse warehouse,
+                                      StorageLocation location,
+                                      Batch batch,
+                                      StockPosition position,
+                                      BigDecimal delta) {
+    }
 
-        for (String sn : dto.getSerialNumbers()) {
-            SerialNumber serial = serialNumberRepository.findBySerialNumberAndProductVariantId(sn, variant.getId())
-                    .orElse(null);
+    private record SerialLine(StockAdjustmentDto dto,
+                              ProductVariant variant,
+                              Warehouse warehouse,
+                              StorageLocation location,
+                              Batch batch,
+                              StockMovement movement,
+                              StockStatus stockStatus) {
+    }
 
-            if (isInbound) {
-                if (serial == null) {
-                    serial = new SerialNumber();
-                    serial.setSerialNumber(sn);
-                    serial.setProductVariant(variant);
-                }
-                serial.setWarehouse(warehouse);
-                serial.setStorageLocation(location);
-                serial.setBatch(batch);
-                serial.setStatus(stockStatus == StockStatus.QUARANTINE ? SerialNumberStatus.QUARANTINED : SerialNumberStatus.AVAILABLE);
-            } else {
-                // Outbound
-                if (serial == null) {
-                    throw new IllegalArgumentException("Serial number not found: " + sn);
-                }
-                if (serial.getStatus() != SerialNumberStatus.AVAILABLE && serial.getStatus() != SerialNumberStatus.QUARANTINED) {
-                    throw new IllegalArgumentException("Serial number not available: " + sn);
-                }
-                if (!serial.getWarehouse().getId().equals(warehouse.getId())) {
-                    throw new IllegalArgumentException("Serial number in different warehouse: " + sn);
+    /**
+     * Applies the serial numbers of serial-tracked lines in line order. Existing serials are
+     * resolved with chunked IN queries per variant and validated in memory; every invalid
+     * serial is reported in one exception before anything is written. Serial and movement
+     * link rows are then saved together and flushed as JDBC batches
+     * (hibernate.jdbc.batch_size) instead of three round-trips per serial.
+     */
+    private void processSerialNumbers(List<SerialLine> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        Map<UUID, Map<String, SerialNumber>> known = loadSerialNumbers(lines);
+
+        List<String> errors = new ArrayList<>();
+        Set<SerialNumber> touched = new LinkedHashSet<>();
+        List<StockMovementSerialNumber> links = new ArrayList<>();
+        for (SerialLine line : lines) {
+            StockAdjustmentDto dto = line.dto();
+            Map<String, SerialNumber> serials = known.computeIfAbsent(line.variant().getId(), id -> new HashMap<>());
+            boolean isInbound = dto.getType() == StockMovement.StockMovementType.IN ||
+                                dto.getType() == StockMovement.StockMovementType.TRANSFER_IN ||
+                                (dto.getType() == StockMovement.StockMovementType.ADJUSTMENT && dto.getQuantity().compareTo(BigDecimal.ZERO) > 0);
+
+            Set<String> seen = new HashSet<>();
+            for (String sn : dto.getSerialNumbers()) {
+                if (!seen.add(sn)) {
+                    errors.add("Duplicate serial number: " + sn);
+                    continue;
                 }
-                // Update status based on type
-                switch (dto.getType()) {
-                    case OUT:
-                        serial.setStatus(SerialNumberStatus.SOLD);
-                        break;
-                    case TRANSFER_OUT:
-                        serial.setStatus(SerialNumberStatus.TRANSIT);
-                        break;
-                    case ADJUSTMENT:
-                        serial.setStatus(SerialNumberStatus.CONSUMED);
-                        break;
-                    default:
-                        serial.setStatus(SerialNumberStatus.SOLD);
+                SerialNumber serial = serials.get(sn);
+
+                if (isInbound) {
+                    if (serial == null) {
+                        serial = new SerialNumber();
+                        serial.setSerialNumber(sn);
+                        serial.setProductVariant(line.variant());
+                        serials.put(sn, serial);
+                    }
+                    serial.setWarehouse(line.warehouse());
+                    serial.setStorageLocation(line.location());
+                    serial.setBatch(line.batch());
+                    serial.setStatus(line.stockStatus() == StockStatus.QUARANTINE ? SerialNumberStatus.QUARANTINED : SerialNumberStatus.AVAILABLE);
+                } else {
+                    // Outbound
+                    if (serial == null) {
+                        errors.add("Serial number not found: " + sn);
+                        continue;
+                    }
+                    if (serial.getStatus() != SerialNumberStatus.AVAILABLE && serial.getStatus() != SerialNumberStatus.QUARANTINED) {
+                        errors.add("Serial number not available: " + sn);
+                        continue;
+                    }
+                    if (serial.getWarehouse() == null || !serial.getWarehouse().getId().equals(line.warehouse().getId())) {
+                        errors.add("Serial number in different warehouse: " + sn);
+                        continue;
+                    }
+                    // Update status based on type
+                    switch (dto.getType()) {
+                        case OUT:
+                            serial.setStatus(SerialNumberStatus.SOLD);
+                            break;
+                        case TRANSFER_OUT:
+                            serial.setStatus(SerialNumberStatus.TRANSIT);
+                            break;
+                        case ADJUSTMENT:
+                            serial.setStatus(SerialNumberStatus.CONSUMED);
+                            break;
+                        default:
+                            serial.setStatus(SerialNumberStatus.SOLD);
+                    }
+                    serial.setWarehouse(null);
+                    serial.setStorageLocation(null);
                 }
-                serial.setWarehouse(null);
-                serial.setStorageLocation(null);
+                touched.add(serial);
+
+                StockMovementSerialNumber smsn = new StockMovementSerialNumber();
+                smsn.setStockMovement(line.movement());
+                smsn.setSerialNumber(serial);
+                links.add(smsn);
             }
-            serial = serialNumberRepository.save(serial);
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException("Invalid serial numbers (" + errors.size() + "): " + summarizeErrors(errors));
+        }
 
-            StockMovementSerialNumber smsn = new StockMovementSerialNumber();
-            smsn.setStockMovement(movement);
-            smsn.setSerialNumber(serial);
-            stockMovementSerialNumberRepository.save(smsn);
+        serialNumberRepository.saveAll(touched);
+        stockMovementSerialNumberRepository.saveAll(links);
+    }
+
+    private Map<UUID, Map<String, SerialNumber>> loadSerialNumbers(List<SerialLine> lines) {
+        Map<UUID, Set<String>> requested = new LinkedHashMap<>();
+        for (SerialLine line : lines) {
+            requested.computeIfAbsent(line.variant().getId(), id -> new LinkedHashSet<>()).addAll(line.dto().getSerialNumbers());
         }
+        Map<UUID, Map<String, SerialNumber>> known = new HashMap<>();
+        requested.forEach((variantId, serialNumbers) -> {
+            Map<String, SerialNumber> byNumber = new HashMap<>();
+            List<String> remaining = new ArrayList<>(serialNumbers);
+            for (int from = 0; from < remaining.size(); from += ID_CHUNK_SIZE) {
+                List<String> chunk = remaining.subList(from, Math.min(from + ID_CHUNK_SIZE, remaining.size()));
+                serialNumberRepository.findByProductVariantIdAndSerialNumberIn(variantId, chunk)
+                        .forEach(serial -> byNumber.put(serial.getSerialNumber(), serial));
+            }
+            known.put(variantId, byNumber);
+        });
+        return known;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<StockMovementDto> getStockMovements(UUID warehouseId, UUID productVariantId, Pageable pageable) {
-        Specification<StockMovement> spec = (root, query, cb) -> {
-            List<Predicate> predicates = new ArrayList<>();
-            if (warehouseId != null) {
-                predicates.add(cb.equal(root.get("warehouse").get("id"), warehouseId));
-            }
-            if (productVariantId != null) {
-                predicates.add(cb.equal(root.get("productVariant").get("id"), productVariantId));
-            }
-            return cb.and(predicates.toArray(new Predicate[0]));
-        };
-        return stockMovementRepository.findAll(spec, pageable).map(this::mapToDto);
+        Page<StockMovementView> page = stockMovementRepository.findViews(warehouseId, productVariantId, pageable);
+        return new PageImpl<>(mapToDtos(page.getContent()), pageable, page.getTotalElements());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<StockMovementDto> getBatchHistory(UUID batchId) {
-        batchRepository.findById(batchId)
-                .orElseThrow(() -> new ResourceNotFoundException("Batch", "id", batchId));
-
-        Specification<StockMovement> spec = (root, query, cb) -> cb.equal(root.get("batch").get("id"), batchId);
+    public CursorPageDto<StockMovementDto> getStockMovementsByCursor(UUID warehouseId, UUID productVariantId,
+                                                                    LocalDateTime from, LocalDateTime to,
+                                                                    String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        LocalDateTime lowerBound = from != null ? from : EARLIEST_MOVEMENT;
+        // One extra row tells whether another page follows
+        Pageable fetch = PageRequest.of(0, limit + 1);
+        List<StockMovementView> views;
+        if (StringUtils.hasText(cursor)) {
+            MovementCursor position = MovementCursor.decode(cursor);
+            views = stockMovementRepository.findViewsPageBefore(warehouseId, productVariantId, lowerBound,
+                    position.createdAt(), position.id(), fetch);
+        } else {
+            views = stockMovementRepository.findViewsFirstPage(warehouseId, productVariantId, lowerBound,
+                    to != null ? to : LATEST_MOVEMENT, fetch);
+        }
 
-        return stockMovementRepository.findAll(spec, Sort.by(Sort.Direction.DESC, "createdAt")).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        boolean hasMore = views.size() > limit;
+        List<StockMovementView> page = hasMore ? views.subList(0, limit) : views;
+        String nextCursor = null;
+        if (hasMore) {
+            StockMovementView last = page.get(page.size() - 1);
+            nextCursor = new MovementCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPageDto<>(mapToDtos(page), nextCursor, hasMore);
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public List<StockMovementDto> getSerialNumberHistory(String serialNumber) {
-        List<SerialNumber> serials = serialNumberRepository.findAllBySerialNumber(serialNumber);
+    /**
+     * Position of the last row of a keyset page, encoded as an opaque URL-safe token.
+     */
+    private record MovementCursor(LocalDateTime createdAt, UUID id) {
 
-        List<StockMovementDto> history = new ArrayList<>();
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
 
-        for (SerialNumber sn : serials) {
-            List<StockMovementSerialNumber> smsns = stockMovementSerialNumberRepository.findBySerialNumber(sn);
-            for (StockMovementSerialNumber smsn : smsns) {
-                history.add(mapToDto(smsn.getStockMovement()));
+        static MovementCursor decode(String token) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 2);
+                return new MovementCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+            } catch (RuntimeException ex) {
+                throw new BadRequestException("Invalid movement cursor");
             }
         }
+    }
 
-        // Sort by creation date desc
-        history.sort((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()));
-
-        return history;
+    @Override
+    @Transactional(readOnly = true)
+    public List<StockMovementDto> getBatchHistory(UUID batchId) {
+        if (!batchRepository.existsById(batchId)) {
+            throw new ResourceNotFoundException("Batch", "id", batchId);
+        }
+        return mapToDtos(stockMovementRepository.findViewsByBatchId(batchId));
     }
 
-    private Stock createStock(ProductVariant v, Warehouse w, StorageLocation l, Batch b) {
-        return createStock(v, w, l, b, StockStatus.AVAILABLE);
+    @Override
+    @Transactional(readOnly = true)
+    public List<StockMovementDto> getSerialNumberHistory(String serialNumber) {
+        return mapToDtos(stockMovementRepository.findViewsBySerialNumber(serialNumber));
     }
 
-    private Stock createStock(ProductVariant v, Warehouse w, StorageLocation l, Batch b, StockStatus status) {
-        Stock s = new Stock();
-        s.setProductVariant(v);
-        s.setWarehouse(w);
-        s.setStorageLocation(l);
-        s.setBatch(b);
-        s.setStatus(status);
-        s.setQuantity(BigDecimal.ZERO);
-        return s;
+    /**
+     * Maps joined movement rows to DTOs, loading the serial numbers of all of them with one IN
+     * query (per {@value #ID_CHUNK_SIZE} movements) instead of one query per movement.
+     */
+    private List<StockMovementDto> mapToDtos(List<StockMovementView> views) {
+        Map<UUID, List<String>> serialNumbers = new HashMap<>();
+        List<UUID> ids = views.stream().map(StockMovementView::getId).toList();
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            stockMovementSerialNumberRepository.findSerialNumbersByStockMovementIds(
+                            ids.subList(from, Math.min(from + ID_CHUNK_SIZE, ids.size())))
+                    .forEach(serial -> serialNumbers.computeIfAbsent(serial.getStockMovementId(), id -> new ArrayList<>())
+                            .add(serial.getSerialNumber()));
+        }
+        return views.stream()
+                .map(view -> mapToDto(view, serialNumbers.get(view.getId())))
+                .collect(Collectors.toList());
     }
 
     private boolean allowsNegativeStock() {
@@ -352,29 +645,6 @@ public class StockServiceImpl implements StockService {
                 .orElse(true);
     }
 
-    private Stock resolveStock(ProductVariant variant, Warehouse warehouse, StorageLocation location, Batch batch, StockStatus stockStatus) {
-        if (location != null) {
-            if (batch != null) {
-                return stockRepository.findByProductVariantIdAndWarehouseIdAndStorageLocationIdAndBatchIdAndStatus(
-                                variant.getId(), warehouse.getId(), location.getId(), batch.getId(), stockStatus)
-                        .orElse(createStock(variant, warehouse, location, batch, stockStatus));
-            }
-            return stockRepository.findByProductVariantIdAndWarehouseIdAndStorageLocationIdAndBatchIdIsNullAndStatus(
-                            variant.getId(), warehouse.getId(), location.getId(), stockStatus)
-                    .orElse(createStock(variant, warehouse, location, null, stockStatus));
-        }
-
-        if (batch != null) {
-            return stockRepository.findByProductVariantIdAndWarehouseIdAndStorageLocationIdIsNullAndBatchIdAndStatus(
-                            variant.getId(), warehouse.getId(), batch.getId(), stockStatus)
-                    .orElse(createStock(variant, warehouse, null, batch, stockStatus));
-        }
-
-        return stockRepository.findByProductVariantIdAndWarehouseIdAndStorageLocationIdIsNullAndBatchIdIsNullAndStatus(
-                        variant.getId(), warehouse.getId(), stockStatus)
-                .orElse(createStock(variant, warehouse, null, null, stockStatus));
-    }
-
     private StockDto mapToDto(Stock stock) {
         StockDto dto = new StockDto();
         dto.setId(stock.getId());
@@ -431,4 +701,27 @@ public class StockServiceImpl implements StockService {
 
         return dto;
     }
+
+    private StockMovementDto mapToDto(StockMovementView view, List<String> serialNumbers) {
+        StockMovementDto dto = new StockMovementDto();
+        dto.setId(view.getId());
+        dto.setProductVariantId(view.getProductVariantId());
+        dto.setProductVariantSku(view.getProductVariantSku());
+        dto.setWarehouseId(view.getWarehouseId());
+        dto.setWarehouseName(view.getWarehouseName());
+        dto.setStorageLocationId(view.getStorageLocationId());
+        dto.setStorageLocationName(view.getStorageLocationName());
+        dto.setBatchId(view.getBatchId());
+        dto.setBatchNumber(view.getBatchNumber());
+        dto.setQuantity(view.getQuantity());
+        dto.setUnitCost(view.getUnitCost());
+        dto.setTotalCost(view.getTotalCost());
+        dto.setType(view.getType());
+        dto.setReason(view.getReason());
+        dto.setReferenceId(view.getReferenceId());
+        dto.setCreatedAt(view.getCreatedAt());
+        dto.setCreatedBy(view.getCreatedBy());
+        dto.setSerialNumbers(serialNumbers);
+        return dto;
+    }
 }
@@ -4,6 +4,7 @@ import com.inventory.system.payload.StorefrontDomainContextDto;
 import com.inventory.system.payload.StorefrontDomainDto;
 import com.inventory.system.payload.StorefrontDomainRequest;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,4 +19,11 @@ public interface StorefrontDomainService {
     boolean isDomainAllowedForCaddy(String host);
     boolean isLocalDevelopmentHost(String host);
     Optional<String> getPrimaryStorefrontUrlForCurrentTenant();
+
+    /**
+     * Announces that the platform hosts ({@code <subdomain>.<platform base domain>}) of the given
+     * subdomains changed owner or state, e.g. on a subdomain rename or tenant (de)activation, so
+     * cached host resolutions of those hosts are dropped once the change commits.
+     */
+    void platformSubdomainsChanged(UUID tenantId, List<String> subdomains);
 }
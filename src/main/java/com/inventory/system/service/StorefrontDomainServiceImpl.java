@@ -10,8 +10,10 @@ import com.inventory.system.payload.StorefrontDomainDto;
 import com.inventory.system.payload.StorefrontDomainRequest;
 import com.inventory.system.repository.StorefrontDomainRepository;
 import com.inventory.system.repository.TenantRepository;
+import com.inventory.system.service.storefront.events.StorefrontDomainsChangedEvent;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +23,7 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
@@ -39,6 +42,7 @@ public class StorefrontDomainServiceImpl implements StorefrontDomainService {
 
     private final StorefrontDomainRepository storefrontDomainRepository;
     private final TenantRepository tenantRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.storefront.domains.platform-base-domain:localhost}")
     private String platformBaseDomain;
@@ -107,7 +111,9 @@ public class StorefrontDomainServiceImpl implements StorefrontDomainService {
         domain.setTlsStatus(StorefrontDomain.TlsStatus.PENDING);
         domain.setLastError(null);
 
-        return toDto(storefrontDomainRepository.save(domain));
+        StorefrontDomainDto saved = toDto(storefrontDomainRepository.save(domain));
+        domainsChanged(tenant, List.of(hostname));
+        return saved;
     }
 
     @Override
@@ -115,6 +121,7 @@ public class StorefrontDomainServiceImpl implements StorefrontDomainService {
     public StorefrontDomainDto verifyDomain(UUID domainId) {
         StorefrontDomain domain = getTenantDomain(domainId);
         domain.setVerificationCheckedAt(LocalDateTime.now());
+        domainsChanged(domain.getTenant(), List.of(domain.getHostname()));
 
         try {
             if (!resolvesToVerificationTarget(domain.getHostname())) {
@@ -160,7 +167,9 @@ public class StorefrontDomainServiceImpl implements StorefrontDomainService {
         }
 
         storefrontDomainRepository.saveAll(domains);
-        return toDto(storefrontDomainRepository.save(domain));
+        StorefrontDomainDto saved = toDto(storefrontDomainRepository.save(domain));
+        domainsChanged(domain.getTenant(), domains.stream().map(StorefrontDomain::getHostname).toList());
+        return saved;
     }
 
     @Override
@@ -168,6 +177,7 @@ public class StorefrontDomainServiceImpl implements StorefrontDomainService {
     public void removeDomain(UUID domainId) {
         StorefrontDomain domain = getTenantDomain(domainId);
         storefrontDomainRepository.delete(domain);
+        domainsChanged(domain.getTenant(), List.of(domain.getHostname()));
     }
 
     @Override
@@ -244,6 +254,26 @@ public class StorefrontDomainServiceImpl implements StorefrontDomainService {
         }
     }
 
+    @Override
+    public void platformSubdomainsChanged(UUID tenantId, List<String> subdomains) {
+        String baseDomain = normalizedPlatformBaseDomain();
+        if (baseDomain == null) {
+            return;
+        }
+        List<String> hostnames = subdomains.stream()
+                .filter(subdomain -> subdomain != null && !subdomain.isBlank())
+                .map(subdomain -> subdomain.trim().toLowerCase(Locale.ROOT) + "." + baseDomain)
+                .distinct()
+                .toList();
+        if (!hostnames.isEmpty()) {
+            eventPublisher.publishEvent(new StorefrontDomainsChangedEvent(tenantId.toString(), hostnames, Instant.now()));
+        }
+    }
+
+    private void domainsChanged(Tenant tenant, List<String> hostnames) {
+        eventPublisher.publishEvent(new StorefrontDomainsChangedEvent(tenant.getId().toString(), hostnames, Instant.now()));
+    }
+
     private StorefrontDomain getTenantDomain(UUID domainId) {
         StorefrontDomain domain = storefrontDomainRepository.findById(domainId)
                 .orElseThrow(() -> new ResourceNotFoundException("Storefront domain", "id", domainId));
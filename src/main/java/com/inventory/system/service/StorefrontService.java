@@ -30,6 +30,7 @@ import com.inventory.system.payload.StorefrontThemeDocumentDto;
 import com.inventory.system.payload.StorefrontThemeEditorDto;
 import com.inventory.system.payload.StorefrontThemeManifestDto;
 import com.inventory.system.payload.UpdateStorefrontConfigRequest;
+import com.inventory.system.service.storefront.StorefrontPublishedConfig;
 
 import java.util.List;
 import java.util.UUID;
@@ -39,6 +40,7 @@ public interface StorefrontService {
     StorefrontConfigDto getAdminConfig();
     StorefrontConfigDto updateConfig(UpdateStorefrontConfigRequest request);
     StorefrontConfigDto getPublicConfig();
+    StorefrontPublishedConfig getPublishedConfig();
     List<StorefrontCollectionDto> getPublicCollections();
     StorefrontProductPageDto getPublicProducts(String query, String collectionSlug, String sort, Integer page, Integer size);
     StorefrontProductDto getPublicProduct(String slug);
@@ -18,12 +18,14 @@ import com.inventory.system.common.entity.StorefrontPage;
 import com.inventory.system.common.entity.StorefrontAccount;
 import com.inventory.system.common.entity.StorefrontAccountSession;
 import com.inventory.system.common.entity.StorefrontLoginChallenge;
+import com.inventory.system.common.entity.StorefrontProductSlug;
 import com.inventory.system.common.entity.StorefrontPublishVersion;
 import com.inventory.system.common.entity.Warehouse;
 import com.inventory.system.common.exception.BadRequestException;
 import com.inventory.system.common.exception.ResourceNotFoundException;
 import com.inventory.system.common.exception.StorefrontModuleDisabledException;
 import com.inventory.system.common.exception.StorefrontModuleUnavailableException;
+import com.inventory.system.common.exception.StorefrontProductMovedException;
 import com.inventory.system.config.tenant.TenantContext;
 import com.inventory.system.payload.StorefrontAssetUploadDto;
 import com.inventory.system.payload.StorefrontAccountAuthDto;
@@ -85,10 +87,21 @@ import com.inventory.system.repository.StorefrontAccountRepository;
 import com.inventory.system.repository.StorefrontAccountSessionRepository;
 import com.inventory.system.repository.StorefrontLoginChallengeRepository;
 import com.inventory.system.repository.StorefrontPageRepository;
+import com.inventory.system.repository.StorefrontProductSlugRepository;
 import com.inventory.system.repository.StorefrontPublishVersionRepository;
 import com.inventory.system.repository.TenantSettingRepository;
 import com.inventory.system.repository.WarehouseRepository;
+import com.inventory.system.repository.projection.SalesTotals;
+import com.inventory.system.service.storefront.StorefrontCatalogEntry;
+import com.inventory.system.service.storefront.StorefrontCatalogIndex;
+import com.inventory.system.service.storefront.StorefrontCatalogSnapshot;
+import com.inventory.system.service.storefront.StorefrontCmsVersionRecorder;
+import com.inventory.system.service.storefront.StorefrontProductSlugs;
+import com.inventory.system.service.storefront.StorefrontPublishedConfig;
+import com.inventory.system.service.storefront.StorefrontPublishedConfigCache;
+import com.inventory.system.service.storefront.events.StorefrontConfigPublishedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -99,22 +112,23 @@ import org.springframework.web.multipart.MultipartFile;
 import java.math.BigDecimal;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.zip.CRC32;
 
 @Service
 @RequiredArgsConstructor
@@ -138,7 +152,6 @@ public class StorefrontServiceImpl implements StorefrontService {
     private static final String SECTION_GROUP_HEADER = "header";
     private static final String SECTION_GROUP_BODY = "body";
     private static final String SECTION_GROUP_FOOTER = "footer";
-    private static final Pattern SLUG_NON_ALNUM = Pattern.compile("[^a-z0-9]+");
 
     private final TenantSettingService tenantSettingService;
     private final ProductVariantRepository productVariantRepository;
@@ -164,6 +177,10 @@ public class StorefrontServiceImpl implements StorefrontService {
     private final StorefrontPageRepository storefrontPageRepository;
     private final StorefrontThemeRegistry storefrontThemeRegistry;
     private final org.springframework.transaction.PlatformTransactionManager platformTransactionManager;
+    private final StorefrontCatalogIndex storefrontCatalogIndex;
+    private final StorefrontProductSlugRepository storefrontProductSlugRepository;
+    private final StorefrontPublishedConfigCache storefrontPublishedConfigCache;
+    private final StorefrontCmsVersionRecorder storefrontCmsVersionRecorder;
 
     @Override
     @Transactional(readOnly = true)
@@ -423,58 +440,38 @@ public class StorefrontServiceImpl implements StorefrontService {
         LocalDateTime fromDt = from != null ? from.atStartOfDay() : LocalDate.now().minusDays(30).atStartOfDay();
         LocalDateTime toDt = to != null ? to.plusDays(1).atStartOfDay() : LocalDateTime.now();
 
-        List<SalesOrder> allOrders = salesOrderRepository.findAll().stream()
-                .filter(o -> o.getSalesChannel() == SalesChannel.WEB_ORDER)
-                .filter(o -> o.getOrderDate() != null && !o.getOrderDate().isBefore(fromDt) && o.getOrderDate().isBefore(toDt))
-                .toList();
-
-        long totalOrders = allOrders.size();
-        BigDecimal totalRevenue = allOrders.stream().map(SalesOrder::getTotalAmount).filter(Objects::nonNull).reduce(BigDecimal.ZERO, BigDecimal::add);
+        SalesTotals totals = salesOrderRepository.sumByChannel(SalesChannel.WEB_ORDER, fromDt, toDt);
+        long totalOrders = totals.getOrderCount() != null ? totals.getOrderCount() : 0L;
+        BigDecimal totalRevenue = totals.getRevenue() != null ? totals.getRevenue() : BigDecimal.ZERO;
         BigDecimal averageOrderValue = totalOrders > 0 ? totalRevenue.divide(BigDecimal.valueOf(totalOrders), 2, java.math.RoundingMode.HALF_UP) : BigDecimal.ZERO;
 
-        long newCustomers = storefrontAccountRepository.findAll().stream()
-                .filter(a -> a.getCreatedAt() != null && !a.getCreatedAt().isBefore(fromDt) && a.getCreatedAt().isBefore(toDt))
-                .count();
-
-        List<StorefrontAnalyticsDto.StatusBreakdown> ordersByStatus = allOrders.stream()
-                .collect(Collectors.groupingBy(o -> o.getStatus().name(), Collectors.counting()))
-                .entrySet().stream()
-                .map(e -> new StorefrontAnalyticsDto.StatusBreakdown(e.getKey(), e.getValue()))
-                .sorted((a, b) -> Long.compare(b.getCount(), a.getCount()))
+        long newCustomers = storefrontAccountRepository.countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(fromDt, toDt);
+        long convertedCustomers = newCustomers > 0
+                ? storefrontAccountRepository.countCreatedWithOrder(SalesChannel.WEB_ORDER, fromDt, toDt)
+                : 0L;
+        BigDecimal conversionRate = newCustomers > 0
+                ? BigDecimal.valueOf(convertedCustomers * 100L).divide(BigDecimal.valueOf(newCustomers), 2, java.math.RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+
+        List<StorefrontAnalyticsDto.StatusBreakdown> ordersByStatus = salesOrderRepository
+                .countByChannelGroupByStatus(SalesChannel.WEB_ORDER, fromDt, toDt).stream()
+                .map(row -> new StorefrontAnalyticsDto.StatusBreakdown(row.getStatus().name(), row.getOrderCount()))
                 .collect(Collectors.toList());
 
-        List<StorefrontAnalyticsDto.TopProduct> topProducts = allOrders.stream()
-                .flatMap(o -> o.getItems().stream())
-                .collect(Collectors.groupingBy(
-                        item -> item.getProductVariant().getSku(),
-                        Collectors.toList()
-                ))
-                .entrySet().stream()
-                .map(e -> {
-                    String sku = e.getKey();
-                    String productName = e.getValue().stream()
-                            .map(item -> item.getProductVariant().getTemplate() != null ? item.getProductVariant().getTemplate().getName() : sku)
-                            .findFirst().orElse(sku);
-                    BigDecimal qty = e.getValue().stream().map(SalesOrderItem::getQuantity).filter(Objects::nonNull).reduce(BigDecimal.ZERO, BigDecimal::add);
-                    BigDecimal rev = e.getValue().stream().map(SalesOrderItem::getTotalPrice).filter(Objects::nonNull).reduce(BigDecimal.ZERO, BigDecimal::add);
-                    return new StorefrontAnalyticsDto.TopProduct(productName, sku, qty, rev);
-                })
-                .sorted((a, b) -> b.getTotalQuantity().compareTo(a.getTotalQuantity()))
-                .limit(5)
+        List<StorefrontAnalyticsDto.TopProduct> topProducts = salesOrderRepository
+                .findTopProductsByChannel(SalesChannel.WEB_ORDER, fromDt, toDt, PageRequest.of(0, 5)).stream()
+                .map(row -> new StorefrontAnalyticsDto.TopProduct(
+                        row.getProductName() != null ? row.getProductName() : row.getSku(),
+                        row.getSku(), row.getQuantity(), row.getRevenue()))
                 .collect(Collectors.toList());
 
-        List<StorefrontAnalyticsDto.DailyRevenue> dailyRevenue = allOrders.stream()
-                .collect(Collectors.groupingBy(o -> o.getOrderDate().toLocalDate()))
-                .entrySet().stream()
-                .map(e -> new StorefrontAnalyticsDto.DailyRevenue(
-                        e.getKey().toString(),
-                        e.getValue().stream().map(SalesOrder::getTotalAmount).filter(Objects::nonNull).reduce(BigDecimal.ZERO, BigDecimal::add),
-                        e.getValue().size()
-                ))
-                .sorted(Comparator.comparing(StorefrontAnalyticsDto.DailyRevenue::getDate))
+        List<StorefrontAnalyticsDto.DailyRevenue> dailyRevenue = salesOrderRepository
+                .sumByChannelGroupByDay(SalesChannel.WEB_ORDER, fromDt, toDt).stream()
+                .map(row -> new StorefrontAnalyticsDto.DailyRevenue(row.getOrderDay().toString(), row.getRevenue(), row.getOrderCount()))
                 .collect(Collectors.toList());
 
-        return new StorefrontAnalyticsDto(totalOrders, totalRevenue, averageOrderValue, newCustomers, ordersByStatus, topProducts, dailyRevenue);
+        return new StorefrontAnalyticsDto(totalOrders, totalRevenue, averageOrderValue, newCustomers, convertedCustomers,
+                conversionRate, ordersByStatus, topProducts, dailyRevenue);
     }
 
     // ── CMS Pages ────────────────────────────────────────────────
@@ -504,7 +501,9 @@ public class StorefrontServiceImpl implements StorefrontService {
         page.setSlug(slug);
         page.setBody(request.getBody());
         page.setPublished(request.isPublished());
-        return mapCmsPage(storefrontPageRepository.save(page));
+        StorefrontCmsPageDto created = mapCmsPage(storefrontPageRepository.save(page));
+        storefrontCmsVersionRecorder.record();
+        return created;
     }
 
     @Override
@@ -522,7 +521,9 @@ public class StorefrontServiceImpl implements StorefrontService {
         page.setSlug(slug);
         page.setBody(request.getBody());
         page.setPublished(request.isPublished());
-        return mapCmsPage(storefrontPageRepository.save(page));
+        StorefrontCmsPageDto updated = mapCmsPage(storefrontPageRepository.save(page));
+        storefrontCmsVersionRecorder.record();
+        return updated;
     }
 
     @Override
@@ -531,6 +532,7 @@ public class StorefrontServiceImpl implements StorefrontService {
         StorefrontPage page = storefrontPageRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("StorefrontPage", "id", id));
         storefrontPageRepository.delete(page);
+        storefrontCmsVersionRecorder.record();
     }
 
     @Override
@@ -704,17 +706,53 @@ public class StorefrontServiceImpl implements StorefrontService {
     @Override
     @Transactional(readOnly = true, propagation = Propagation.NOT_SUPPORTED)
     public StorefrontConfigDto getPublicConfig() {
+        return getPublishedConfig().config();
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.NOT_SUPPORTED)
+    public StorefrontPublishedConfig getPublishedConfig() {
+        String tenantId = TenantContext.getTenantId();
+        StorefrontPublishedConfig cached = tenantId != null ? storefrontPublishedConfigCache.getIfPresent(tenantId) : null;
+        if (cached != null) {
+            return cached;
+        }
         requirePublicStorefrontAccess();
         try {
-            return storefrontPublishVersionRepository
-                    .findTopByTenantIdOrderByVersionNumberDesc(TenantContext.requireTenantId())
-                    .map(this::readThemeSnapshot)
-                    .map(StorefrontThemeSnapshotDto::getConfig)
-                    .map(this::enrichWithDomains)
-                    .orElseGet(() -> enrichWithDomains(deriveLegacyConfig(loadDraftThemeDocument())));
+            StorefrontPublishedConfig published = storefrontPublishedConfigCache.load(tenantId, () ->
+                    storefrontPublishVersionRepository.findTopByTenantIdOrderByVersionNumberDesc(tenantId)
+                            .map(this::loadPublishedConfig)
+                            .orElse(null));
+            if (published != null) {
+                return published;
+            }
         } catch (RuntimeException ignored) {
-            return enrichWithDomains(deriveLegacyConfig(loadDraftThemeDocument()));
+            // Fall back to the draft, as for a tenant that has not published.
+        }
+        return StorefrontPublishedConfig.unpublished(enrichWithDomains(deriveLegacyConfig(loadDraftThemeDocument())));
+    }
+
+    private StorefrontPublishedConfig loadPublishedConfig(StorefrontPublishVersion version) {
+        StorefrontConfigDto config = enrichWithDomains(readThemeSnapshot(version).getConfig());
+        if (config == null) {
+            return null;
+        }
+        int versionNumber = version.getVersionNumber() != null ? version.getVersionNumber() : 0;
+        return new StorefrontPublishedConfig(versionNumber, publishedConfigETag(versionNumber, config), config);
+    }
+
+    /**
+     * A strong entity tag for a published config: the publish version plus a checksum of the
+     * serialized config, which also covers the domains merged in after publishing.
+     */
+    private String publishedConfigETag(int versionNumber, StorefrontConfigDto config) {
+        CRC32 checksum = new CRC32();
+        try {
+            checksum.update(objectMapper.writeValueAsBytes(config));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Unable to serialize storefront config", exception);
         }
+        return "\"" + versionNumber + "-" + Long.toHexString(checksum.getValue()) + "\"";
     }
 
     @Override
@@ -741,31 +779,19 @@ public class StorefrontServiceImpl implements StorefrontService {
         requirePublicStorefrontAccess();
         int pageNumber = page != null && page >= 0 ? page : 0;
         int pageSize = size != null && size > 0 ? Math.min(size, 48) : 24;
-        List<ProductVariant> publicVariants = loadPublishedStorefrontVariants();
-        Map<UUID, List<ProductVariant>> siblingsByTemplate = buildSiblingsByTemplate(publicVariants);
-        Warehouse storefrontWarehouse = resolveStorefrontWarehouse();
-        List<StorefrontProductDto> products = siblingsByTemplate.values().stream()
-                .map(this::resolvePrimaryVariant)
-                .filter(Objects::nonNull)
-                .map(variant -> mapProduct(variant, siblingsByTemplate, storefrontWarehouse, true))
-                .toList();
-
-        List<StorefrontProductDto> filteredProducts = products.stream()
-                .filter(product -> matchesQuery(product, query))
-                .filter(product -> matchesCollection(product, collectionSlug))
-                .sorted(productComparator(sort))
+        StorefrontCatalogSnapshot.Page matches = storefrontCatalogIndex.current(new PublishedCatalogLoader())
+                .search(query, collectionSlug, sort, (int) Math.min((long) pageNumber * pageSize, Integer.MAX_VALUE), pageSize);
+        Map<UUID, BigDecimal> availableToPromise = resolveAvailableToPromise(matches.items());
+        List<StorefrontProductDto> items = matches.items().stream()
+                .map(entry -> withAvailability(entry.product(), null, availableToPromise))
                 .toList();
-
-        int fromIndex = Math.min(pageNumber * pageSize, filteredProducts.size());
-        int toIndex = Math.min(fromIndex + pageSize, filteredProducts.size());
-        List<StorefrontProductDto> items = filteredProducts.subList(fromIndex, toIndex);
-        int totalPages = filteredProducts.isEmpty() ? 0 : (int) Math.ceil((double) filteredProducts.size() / pageSize);
+        int totalPages = matches.totalItems() == 0 ? 0 : (int) Math.ceil((double) matches.totalItems() / pageSize);
 
         return new StorefrontProductPageDto(
                 items,
                 pageNumber,
                 pageSize,
-                filteredProducts.size(),
+                matches.totalItems(),
                 totalPages,
                 pageNumber + 1 < totalPages,
                 pageNumber > 0 && totalPages > 0
@@ -776,20 +802,30 @@ public class StorefrontServiceImpl implements StorefrontService {
     @Transactional(readOnly = true)
     public StorefrontProductDto getPublicProduct(String slug) {
         requirePublicStorefrontAccess();
-        List<ProductVariant> publicVariants = loadPublishedStorefrontVariants();
-        Map<UUID, List<ProductVariant>> siblingsByTemplate = buildSiblingsByTemplate(publicVariants);
-        Warehouse storefrontWarehouse = resolveStorefrontWarehouse();
-
-        return publicVariants.stream()
-                .filter(variant -> {
-                    List<ProductVariant> siblings = siblingsByTemplate.getOrDefault(variant.getTemplate().getId(), List.of());
-                    String templateSlug = buildTemplateProductSlug(variant);
-                    String variantSlug = buildProductSlug(variant, siblings);
-                    return templateSlug.equalsIgnoreCase(slug) || variantSlug.equalsIgnoreCase(slug);
-                })
-                .findFirst()
-                .map(variant -> mapProduct(variant, siblingsByTemplate, storefrontWarehouse, false))
+        StorefrontProductSlug indexed = storefrontProductSlugRepository
+                .findByTenantIdAndSlug(TenantContext.requireTenantId(), slug.toLowerCase())
                 .orElseThrow(() -> new ResourceNotFoundException("Storefront product", "slug", slug));
+        StorefrontCatalogEntry entry = storefrontCatalogIndex.current(new PublishedCatalogLoader())
+                .entry(indexed.getProductTemplateId());
+        if (entry == null) {
+            throw new ResourceNotFoundException("Storefront product", "slug", slug);
+        }
+        List<StorefrontVariantOptionDto> options = entry.product().getVariants();
+        StorefrontVariantOptionDto variant = indexed.getProductVariantId() == null
+                ? options.get(0)
+                : options.stream()
+                        .filter(option -> option.getProductVariantId().equals(indexed.getProductVariantId().toString()))
+                        .findFirst()
+                        .orElse(null);
+        if (!Boolean.TRUE.equals(indexed.getIsCurrent())) {
+            throw new StorefrontProductMovedException(indexed.getProductVariantId() != null && variant != null
+                    ? variant.getSlug()
+                    : entry.product().getProductSlug());
+        }
+        if (variant == null) {
+            throw new ResourceNotFoundException("Storefront product", "slug", slug);
+        }
+        return withAvailability(entry.product(), variant, resolveAvailableToPromise(List.of(entry)));
     }
 
     @Override
@@ -1016,6 +1052,8 @@ public class StorefrontServiceImpl implements StorefrontService {
 
         StorefrontPublishVersion saved = storefrontPublishVersionRepository.save(version);
         writeStringSetting(ACTIVE_REVISION_ID_KEY, saved.getId().toString());
+        salesEventPublisher.publishEvent(new StorefrontConfigPublishedEvent(
+                TenantContext.requireTenantId(), saved.getVersionNumber(), Instant.now()));
         return mapPublishVersion(saved);
     }
 
@@ -1055,6 +1093,8 @@ public class StorefrontServiceImpl implements StorefrontService {
 
         StorefrontPublishVersion saved = storefrontPublishVersionRepository.save(rollbackVersion);
         writeStringSetting(ACTIVE_REVISION_ID_KEY, saved.getId().toString());
+        salesEventPublisher.publishEvent(new StorefrontConfigPublishedEvent(
+                TenantContext.requireTenantId(), saved.getVersionNumber(), Instant.now()));
         return mapPublishVersion(saved);
     }
 
@@ -1927,9 +1967,11 @@ public class StorefrontServiceImpl implements StorefrontService {
         return Map.of("value", value, "label", label);
     }
 
+    /**
+     * Maps a product without availability; see {@link #withAvailability}.
+     */
     private StorefrontProductDto mapProduct(ProductVariant variant,
                                             Map<UUID, List<ProductVariant>> siblingsByTemplate,
-                                            Warehouse storefrontWarehouse,
                                             boolean useTemplateSlugAsPrimarySlug) {
         List<ProductVariant> siblingVariants = siblingsByTemplate.getOrDefault(variant.getTemplate().getId(), List.of(variant));
         String name = variant.getTemplate().getStorefrontTitle() != null && !variant.getTemplate().getStorefrontTitle().isBlank()
@@ -1951,9 +1993,6 @@ public class StorefrontServiceImpl implements StorefrontService {
                 .filter(url -> url != null && !url.isBlank())
                 .distinct()
                 .toList();
-        BigDecimal availableToPromise = resolveAvailableToPromise(variant, storefrontWarehouse);
-        String availabilityLabel = toAvailabilityLabel(availableToPromise);
-
         StorefrontProductDto dto = new StorefrontProductDto();
         dto.setProductTemplateId(variant.getTemplate().getId().toString());
         dto.setProductSlug(templateSlug);
@@ -1989,9 +2028,49 @@ public class StorefrontServiceImpl implements StorefrontService {
         dto.setUomName(variant.getTemplate().getUom() != null ? variant.getTemplate().getUom().getName() : null);
         dto.setBadge(variant.getStorefrontBadge());
         dto.setFeatured(Boolean.TRUE.equals(variant.getStorefrontFeatured()));
-        dto.setAvailableToPromise(availableToPromise);
-        dto.setAvailabilityLabel(availabilityLabel);
-        dto.setVariants(mapVariantOptions(siblingVariants, siblingsByTemplate, storefrontWarehouse));
+        dto.setVariants(mapVariantOptions(siblingVariants, siblingsByTemplate));
+        return dto;
+    }
+
+    /**
+     * A copy of an indexed product with the available-to-promise of its variants, shown as
+     * {@code variant} when given and as the indexed primary variant otherwise.
+     */
+    private StorefrontProductDto withAvailability(StorefrontProductDto product,
+                                                  StorefrontVariantOptionDto variant,
+                                                  Map<UUID, BigDecimal> availableToPromise) {
+        StorefrontProductDto dto = new StorefrontProductDto();
+        BeanUtils.copyProperties(product, dto);
+        if (variant != null) {
+            dto.setProductVariantId(variant.getProductVariantId());
+            dto.setSlug(variant.getSlug());
+            dto.setSku(variant.getSku());
+            dto.setVariantLabel(variant.getLabel());
+            dto.setPrice(variant.getPrice());
+            dto.setCompareAtPrice(variant.getCompareAtPrice());
+            dto.setBadge(variant.getBadge());
+            dto.setFeatured(variant.getFeatured());
+        }
+        BigDecimal productAvailable = availableToPromise.getOrDefault(UUID.fromString(dto.getProductVariantId()), BigDecimal.ZERO);
+        dto.setAvailableToPromise(productAvailable);
+        dto.setAvailabilityLabel(toAvailabilityLabel(productAvailable));
+        dto.setVariants(product.getVariants().stream()
+                .map(option -> {
+                    BigDecimal optionAvailable = availableToPromise.getOrDefault(UUID.fromString(option.getProductVariantId()), BigDecimal.ZERO);
+                    return new StorefrontVariantOptionDto(
+                            option.getProductVariantId(),
+                            option.getSlug(),
+                            option.getSku(),
+                            option.getLabel(),
+                            option.getPrice(),
+                            option.getCompareAtPrice(),
+                            optionAvailable,
+                            toAvailabilityLabel(optionAvailable),
+                            option.getFeatured(),
+                            option.getBadge()
+                    );
+                })
+                .toList());
         return dto;
     }
 
@@ -2009,49 +2088,7 @@ public class StorefrontServiceImpl implements StorefrontService {
                 .orElse(siblingVariants.get(0));
     }
 
-    private boolean matchesQuery(StorefrontProductDto product, String query) {
-        if (query == null || query.isBlank()) {
-            return true;
-        }
-        String needle = query.trim().toLowerCase();
-        return String.join(" ",
-                        product.getName() != null ? product.getName() : "",
-                        product.getSummary() != null ? product.getSummary() : "",
-                        product.getCategory() != null ? product.getCategory() : "",
-                        product.getCollectionTitle() != null ? product.getCollectionTitle() : "",
-                        product.getSku() != null ? product.getSku() : "")
-                .toLowerCase()
-                .contains(needle);
-    }
-
-    private boolean matchesCollection(StorefrontProductDto product, String collectionSlug) {
-        if (collectionSlug == null || collectionSlug.isBlank()) {
-            return true;
-        }
-        String normalizedCollectionSlug = collectionSlug.trim();
-        if (normalizedCollectionSlug.equalsIgnoreCase(product.getCollectionSlug())) {
-            return true;
-        }
-        if (normalizedCollectionSlug.equalsIgnoreCase(product.getParentCollectionSlug())) {
-            return true;
-        }
-        return product.getCollectionTrailSlugs() != null
-                && product.getCollectionTrailSlugs().stream().anyMatch(normalizedCollectionSlug::equalsIgnoreCase);
-    }
-
-    private Comparator<StorefrontProductDto> productComparator(String sort) {
-        String sortKey = sort == null ? "featured" : sort.trim().toLowerCase();
-        return switch (sortKey) {
-            case "name" -> Comparator.comparing(StorefrontProductDto::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
-            case "price-asc" -> Comparator.comparing(StorefrontProductDto::getPrice, Comparator.nullsLast(BigDecimal::compareTo));
-            case "price-desc" -> Comparator.comparing(StorefrontProductDto::getPrice, Comparator.nullsLast(BigDecimal::compareTo)).reversed();
-            default -> Comparator
-                    .comparing(StorefrontProductDto::getFeatured, Comparator.nullsLast(Boolean::compareTo)).reversed()
-                    .thenComparing(StorefrontProductDto::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
-        };
-    }
-
-        private StorefrontCartDto toCartDto(Warehouse warehouse, PricingEvaluation pricingEvaluation, String currency) {
+    private StorefrontCartDto toCartDto(Warehouse warehouse, PricingEvaluation pricingEvaluation, String currency) {
         List<StorefrontCartLineDto> lines = pricingEvaluation.getLines().stream()
                 .map(line -> mapCartLine(warehouse, line))
                 .toList();
@@ -2241,8 +2278,26 @@ public class StorefrontServiceImpl implements StorefrontService {
         }
     }
 
-    private List<ProductVariant> loadPublishedStorefrontVariants() {
-        return productVariantRepository.findByTemplatePublishedToStorefrontTrueAndTemplateIsActiveTrue().stream()
+    /**
+     * Builds catalog index entries from published variants: one per template, listed as its
+     * primary variant with every published variant as an option.
+     */
+    private List<StorefrontCatalogEntry> buildCatalogEntries(List<ProductVariant> publishedVariants) {
+        Map<UUID, List<ProductVariant>> siblingsByTemplate = buildSiblingsByTemplate(sortPublishedStorefrontVariants(publishedVariants));
+        return siblingsByTemplate.values().stream()
+                .map(siblings -> {
+                    ProductVariant primary = resolvePrimaryVariant(siblings);
+                    return StorefrontCatalogEntry.of(
+                            primary.getTemplate().getId(),
+                            mapProduct(primary, siblingsByTemplate, true),
+                            primary.getTemplate().getStorefrontSortOrder(),
+                            siblings.get(0).getCreatedAt());
+                })
+                .toList();
+    }
+
+    private List<ProductVariant> sortPublishedStorefrontVariants(List<ProductVariant> publishedVariants) {
+        return publishedVariants.stream()
                 .sorted((left, right) -> {
                     Integer leftSort = left.getTemplate().getStorefrontSortOrder() != null ? left.getTemplate().getStorefrontSortOrder() : Integer.MAX_VALUE;
                     Integer rightSort = right.getTemplate().getStorefrontSortOrder() != null ? right.getTemplate().getStorefrontSortOrder() : Integer.MAX_VALUE;
@@ -2264,19 +2319,11 @@ public class StorefrontServiceImpl implements StorefrontService {
     }
 
     private String buildTemplateProductSlug(ProductVariant variant) {
-        return variant.getTemplate().getStorefrontSlug() != null && !variant.getTemplate().getStorefrontSlug().isBlank()
-                ? variant.getTemplate().getStorefrontSlug()
-                : slugify((variant.getTemplate().getStorefrontTitle() != null && !variant.getTemplate().getStorefrontTitle().isBlank()
-                ? variant.getTemplate().getStorefrontTitle()
-                : variant.getTemplate().getName()));
+        return StorefrontProductSlugs.templateSlug(variant.getTemplate());
     }
 
     private String buildProductSlug(ProductVariant variant, List<ProductVariant> siblings) {
-        String templateSlug = buildTemplateProductSlug(variant);
-        if (siblings.size() <= 1) {
-            return templateSlug;
-        }
-        return slugify(templateSlug + "-" + variant.getSku());
+        return StorefrontProductSlugs.variantSlug(variant, siblings.size());
     }
 
     private String buildVariantLabel(ProductVariant variant) {
@@ -2298,36 +2345,56 @@ public class StorefrontServiceImpl implements StorefrontService {
     }
 
     private List<StorefrontVariantOptionDto> mapVariantOptions(List<ProductVariant> siblingVariants,
-                                                               Map<UUID, List<ProductVariant>> siblingsByTemplate,
-                                                               Warehouse storefrontWarehouse) {
+                                                               Map<UUID, List<ProductVariant>> siblingsByTemplate) {
         return siblingVariants.stream()
-                .map(sibling -> {
-                    BigDecimal availableToPromise = resolveAvailableToPromise(sibling, storefrontWarehouse);
-                    return new StorefrontVariantOptionDto(
-                            sibling.getId().toString(),
-                            buildProductSlug(sibling, siblingsByTemplate.getOrDefault(sibling.getTemplate().getId(), List.of(sibling))),
-                            sibling.getSku(),
-                            buildVariantLabel(sibling),
-                            sibling.getPrice(),
-                            sibling.getCompareAtPrice(),
-                            availableToPromise,
-                            toAvailabilityLabel(availableToPromise),
-                            Boolean.TRUE.equals(sibling.getStorefrontFeatured()),
-                            sibling.getStorefrontBadge()
-                    );
-                })
+                .map(sibling -> new StorefrontVariantOptionDto(
+                        sibling.getId().toString(),
+                        buildProductSlug(sibling, siblingsByTemplate.getOrDefault(sibling.getTemplate().getId(), List.of(sibling))),
+                        sibling.getSku(),
+                        buildVariantLabel(sibling),
+                        sibling.getPrice(),
+                        sibling.getCompareAtPrice(),
+                        null,
+                        null,
+                        Boolean.TRUE.equals(sibling.getStorefrontFeatured()),
+                        sibling.getStorefrontBadge()
+                ))
                 .toList();
     }
 
-    private BigDecimal resolveAvailableToPromise(ProductVariant variant, Warehouse storefrontWarehouse) {
-        if (storefrontWarehouse == null) {
-            // No single storefront warehouse configured: pool sellable inventory across
-            // every warehouse (Shopify-style multi-location availability), so a product
-            // stocked in any location shows as available — not just the one a single
-            // heuristic happened to pick.
-            return stockReservationService.getAvailableToPromise(variant.getId());
+    /**
+     * Available-to-promise of every variant of the given entries, read in one lookup.
+     */
+    private Map<UUID, BigDecimal> resolveAvailableToPromise(List<StorefrontCatalogEntry> entries) {
+        List<UUID> variantIds = entries.stream()
+                .flatMap(entry -> entry.variantIds().stream())
+                .toList();
+        Warehouse storefrontWarehouse = resolveStorefrontWarehouse();
+        // No single storefront warehouse configured: pool sellable inventory across
+        // every warehouse (Shopify-style multi-location availability), so a product
+        // stocked in any location shows as available — not just the one a single
+        // heuristic happened to pick.
+        return stockReservationService.getAvailableToPromise(variantIds,
+                storefrontWarehouse != null ? storefrontWarehouse.getId() : null);
+    }
+
+    /**
+     * Loads the current tenant's published catalog for the storefront catalog index.
+     */
+    private class PublishedCatalogLoader implements StorefrontCatalogIndex.Loader {
+
+        @Override
+        public List<StorefrontCatalogEntry> loadAll() {
+            return buildCatalogEntries(productVariantRepository
+                    .findByTenantIdAndTemplatePublishedToStorefrontTrueAndTemplateIsActiveTrue(TenantContext.requireTenantId()));
+        }
+
+        @Override
+        public List<StorefrontCatalogEntry> loadTemplates(Collection<UUID> productTemplateIds) {
+            return buildCatalogEntries(productVariantRepository
+                    .findByTenantIdAndTemplateIdInAndTemplatePublishedToStorefrontTrueAndTemplateIsActiveTrue(
+                            TenantContext.requireTenantId(), productTemplateIds));
         }
-        return stockReservationService.getAvailableToPromise(variant.getId(), storefrontWarehouse.getId());
     }
 
     private String toAvailabilityLabel(BigDecimal availableToPromise) {
@@ -2551,9 +2618,7 @@ public class StorefrontServiceImpl implements StorefrontService {
     }
 
     private String slugify(String value) {
-        String normalized = value == null ? "" : value.trim().toLowerCase();
-        String slug = SLUG_NON_ALNUM.matcher(normalized).replaceAll("-");
-        return slug.replaceAll("(^-|-$)", "");
+        return StorefrontProductSlugs.slugify(value);
     }
 
     private StorefrontSiteDto defaultSite() {
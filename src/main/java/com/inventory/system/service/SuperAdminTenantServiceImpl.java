@@ -14,6 +14,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,6 +29,7 @@ public class SuperAdminTenantServiceImpl implements SuperAdminTenantService {
     private final TenantService tenantService;
     private final TenantSettingService tenantSettingService;
     private final TenantSettingRepository tenantSettingRepository;
+    private final StorefrontDomainService storefrontDomainService;
 
     @Override
     @Transactional(readOnly = true)
@@ -61,10 +63,16 @@ public class SuperAdminTenantServiceImpl implements SuperAdminTenantService {
                     throw new BadRequestException("Subdomain already exists");
                 });
 
+        String previousSubdomain = tenant.getSubdomain();
+        Tenant.TenantStatus previousStatus = tenant.getStatus();
         tenant.setName(request.getName().trim());
         tenant.setSubdomain(request.getSubdomain().trim().toLowerCase());
         tenant.setSubscriptionPlan(request.getPlan());
         tenant.setStatus(request.getStatus());
+        if (!tenant.getSubdomain().equals(previousSubdomain) || tenant.getStatus() != previousStatus) {
+            storefrontDomainService.platformSubdomainsChanged(tenant.getId(),
+                    Arrays.asList(previousSubdomain, tenant.getSubdomain()));
+        }
         tenantSettingService.updateSettingForTenant(
             tenant.getId().toString(),
             STOREFRONT_MODULE_ENABLED_KEY,
@@ -80,6 +88,7 @@ public class SuperAdminTenantServiceImpl implements SuperAdminTenantService {
     public TenantResponse activateTenant(UUID tenantId) {
         Tenant tenant = getTenant(tenantId);
         tenant.setStatus(Tenant.TenantStatus.ACTIVE);
+        storefrontDomainService.platformSubdomainsChanged(tenant.getId(), List.of(tenant.getSubdomain()));
         return mapToResponse(tenantRepository.save(tenant));
     }
 
@@ -88,6 +97,7 @@ public class SuperAdminTenantServiceImpl implements SuperAdminTenantService {
     public TenantResponse deactivateTenant(UUID tenantId) {
         Tenant tenant = getTenant(tenantId);
         tenant.setStatus(Tenant.TenantStatus.INACTIVE);
+        storefrontDomainService.platformSubdomainsChanged(tenant.getId(), List.of(tenant.getSubdomain()));
         return mapToResponse(tenantRepository.save(tenant));
     }
 
@@ -96,6 +106,7 @@ public class SuperAdminTenantServiceImpl implements SuperAdminTenantService {
     public void deleteTenant(UUID tenantId) {
         Tenant tenant = getTenant(tenantId);
         tenantRepository.delete(tenant);
+        storefrontDomainService.platformSubdomainsChanged(tenant.getId(), List.of(tenant.getSubdomain()));
     }
 
     private Tenant getTenant(UUID tenantId) {
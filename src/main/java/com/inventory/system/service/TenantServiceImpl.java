@@ -19,6 +19,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -34,6 +35,7 @@ public class TenantServiceImpl implements TenantService {
     private final PasswordEncoder passwordEncoder;
     private final TenantSettingService tenantSettingService;
     private final EntityManager entityManager;
+    private final StorefrontDomainService storefrontDomainService;
 
     @Override
     @Transactional
@@ -51,6 +53,8 @@ public class TenantServiceImpl implements TenantService {
         tenant.setStatus(Tenant.TenantStatus.ACTIVE);
         tenant.setSubscriptionPlan(request.getPlan());
         tenant = tenantRepository.save(tenant);
+        // The new platform host may be cached as unknown from requests made before signup
+        storefrontDomainService.platformSubdomainsChanged(tenant.getId(), List.of(tenant.getSubdomain()));
 
         // Set Tenant Context for User and Role creation
         String tenantId = tenant.getId().toString();
@@ -0,0 +1,9 @@
+package com.inventory.system.service;
+
+import java.time.Instant;
+
+/**
+ * Raised when a tenant setting is created or updated.
+ */
+public record TenantSettingChangedEvent(String tenantId, String key, Instant occurredAt) {
+}
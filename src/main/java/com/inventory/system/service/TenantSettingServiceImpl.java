@@ -8,9 +8,11 @@ import com.inventory.system.repository.TenantSettingRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,6 +21,7 @@ import java.util.stream.Collectors;
 public class TenantSettingServiceImpl implements TenantSettingService {
 
     private final TenantSettingRepository tenantSettingRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -95,6 +98,7 @@ public class TenantSettingServiceImpl implements TenantSettingService {
         }
 
         TenantSetting savedSetting = tenantSettingRepository.save(setting);
+        eventPublisher.publishEvent(new TenantSettingChangedEvent(tenantId, key, Instant.now()));
         return mapToDto(savedSetting);
     }
 
@@ -0,0 +1,211 @@
+package com.inventory.system.service.inventory;
+
+import com.inventory.system.common.entity.StockStatus;
+import com.inventory.system.config.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Writes the {@code stock_availability} projection. Stock deltas add to {@code on_hand} and
+ * reservations move quantity in and out of {@code reserved}, always on the caller's
+ * transaction so the projection commits or rolls back together with the change it mirrors.
+ *
+ * <p>Every change touches the warehouse total row and, when a storage location or batch is
+ * involved, the row of that position as well. Rows are always written total-first so stock
+ * movements and reservations lock them in the same order.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailableToPromiseProjection {
+
+    /** Location/batch key of the warehouse total row. */
+    public static final UUID WAREHOUSE_TOTAL = StockMutationEngine.NO_KEY;
+
+    private static final String ADD_ON_HAND = """
+            INSERT INTO stock_availability (id, tenant_id, product_variant_id, warehouse_id, location_key, batch_key,
+                                            on_hand, reserved, created_at, updated_at, created_by, updated_by)
+            VALUES (:id, :tenantId, :variantId, :warehouseId, :locationKey, :batchKey,
+                    :quantity, 0, :now, :now, :auditor, :auditor)
+            ON CONFLICT (tenant_id, product_variant_id, warehouse_id, location_key, batch_key)
+            DO UPDATE SET on_hand = stock_availability.on_hand + EXCLUDED.on_hand,
+                          updated_at = EXCLUDED.updated_at,
+                          updated_by = EXCLUDED.updated_by
+            """;
+
+    private static final String RESERVE = """
+            UPDATE stock_availability
+            SET reserved = reserved + :quantity, updated_at = :now, updated_by = :auditor
+            WHERE tenant_id = :tenantId
+              AND product_variant_id = :variantId
+              AND warehouse_id = :warehouseId
+              AND location_key = :locationKey
+              AND batch_key = :batchKey
+              AND on_hand - reserved >= :quantity
+            """;
+
+    private static final String RELEASE = """
+            UPDATE stock_availability
+            SET reserved = reserved - :quantity, updated_at = :now, updated_by = :auditor
+            WHERE tenant_id = :tenantId
+              AND product_variant_id = :variantId
+              AND warehouse_id = :warehouseId
+              AND location_key = :locationKey
+              AND batch_key = :batchKey
+              AND reserved >= :quantity
+            """;
+
+    private static final Comparator<Key> LOCK_ORDER = Comparator
+            .comparing(Key::productVariantId)
+            .thenComparing(Key::warehouseId)
+            .thenComparing(key -> !key.isWarehouseTotal())
+            .thenComparing(Key::locationKey)
+            .thenComparing(Key::batchKey);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final AuditorAware<String> auditorProvider;
+
+    /**
+     * Adds stock deltas to {@code on_hand}. Only AVAILABLE positions count towards ATP; deltas
+     * of other statuses are ignored.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyStockDeltas(Map<StockPosition, BigDecimal> deltas) {
+        Map<Key, BigDecimal> onHand = new TreeMap<>(LOCK_ORDER);
+        deltas.forEach((position, delta) -> {
+            if (position.status() == StockStatus.AVAILABLE && delta.signum() != 0) {
+                keysOf(position.productVariantId(), position.warehouseId(), position.storageLocationId(), position.batchId())
+                        .forEach(key -> onHand.merge(key, delta, BigDecimal::add));
+            }
+        });
+        onHand.values().removeIf(delta -> delta.signum() == 0);
+        if (onHand.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String auditor = currentAuditor();
+        jdbcTemplate.batchUpdate(ADD_ON_HAND, onHand.entrySet().stream()
+                .map(entry -> parameters(entry.getKey(), entry.getValue(), now, auditor))
+                .toArray(SqlParameterSource[]::new));
+    }
+
+    /**
+     * Moves {@code quantity} from available to reserved if, and only if, enough is available
+     * both in the warehouse and, when given, at the location/batch.
+     *
+     * @return false when the reservation would oversell. Rows already updated by this call are
+     * left for the caller's rollback, so the caller must fail the transaction on false.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean reserve(UUID productVariantId, UUID warehouseId, UUID storageLocationId, UUID batchId, BigDecimal quantity) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String auditor = currentAuditor();
+        for (Key key : keysOf(productVariantId, warehouseId, storageLocationId, batchId)) {
+            if (jdbcTemplate.update(RESERVE, parameters(key, quantity, now, auditor)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns reserved quantity to available, for a reservation leaving ACTIVE/PENDING. The
+     * caller must have made that transition itself, so each reservation is released once.
+     * {@code reserved} never goes negative: a row holding less than {@code quantity} is left
+     * unchanged and logged, as it means the projection has drifted from the reservations.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(UUID productVariantId, UUID warehouseId, UUID storageLocationId, UUID batchId, BigDecimal quantity) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String auditor = currentAuditor();
+        for (Key key : keysOf(productVariantId, warehouseId, storageLocationId, batchId)) {
+            if (jdbcTemplate.update(RELEASE, parameters(key, quantity, now, auditor)) == 0) {
+                logUnmatchedRelease(key, quantity);
+            }
+        }
+    }
+
+    /**
+     * Batched {@link #release} for many reservations, e.g. an expiry sweep, with the same
+     * guard against releasing more than is reserved. Quantities are keyed by reservation
+     * position; the position status is not used.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void releaseAll(Map<StockPosition, BigDecimal> quantities) {
+        Map<Key, BigDecimal> reserved = new TreeMap<>(LOCK_ORDER);
+        quantities.forEach((position, quantity) ->
+                keysOf(position.productVariantId(), position.warehouseId(), position.storageLocationId(), position.batchId())
+                        .forEach(key -> reserved.merge(key, quantity, BigDecimal::add)));
+        if (reserved.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String auditor = currentAuditor();
+        List<Map.Entry<Key, BigDecimal>> entries = new ArrayList<>(reserved.entrySet());
+        int[] updated = jdbcTemplate.batchUpdate(RELEASE, entries.stream()
+                .map(entry -> parameters(entry.getKey(), entry.getValue(), now, auditor))
+                .toArray(SqlParameterSource[]::new));
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                logUnmatchedRelease(entries.get(i).getKey(), entries.get(i).getValue());
+            }
+        }
+    }
+
+    private void logUnmatchedRelease(Key key, BigDecimal quantity) {
+        log.warn("ATP release of {} matched no stock_availability row holding that much reserved "
+                        + "(variant {}, warehouse {}, location {}, batch {}); left unchanged",
+                quantity, key.productVariantId(), key.warehouseId(), key.locationKey(), key.batchKey());
+    }
+
+    private static List<Key> keysOf(UUID productVariantId, UUID warehouseId, UUID storageLocationId, UUID batchId) {
+        List<Key> keys = new ArrayList<>(2);
+        keys.add(new Key(productVariantId, warehouseId, WAREHOUSE_TOTAL, WAREHOUSE_TOTAL));
+        if (storageLocationId != null || batchId != null) {
+            keys.add(new Key(productVariantId, warehouseId,
+                    storageLocationId != null ? storageLocationId : WAREHOUSE_TOTAL,
+                    batchId != null ? batchId : WAREHOUSE_TOTAL));
+        }
+        return keys;
+    }
+
+    private String currentAuditor() {
+        return auditorProvider.getCurrentAuditor().orElse(null);
+    }
+
+    private MapSqlParameterSource parameters(Key key, BigDecimal quantity, Timestamp now, String auditor) {
+        return new MapSqlParameterSource()
+                .addValue("id", UUID.randomUUID())
+                .addValue("tenantId", TenantContext.requireTenantId())
+                .addValue("variantId", key.productVariantId())
+                .addValue("warehouseId", key.warehouseId())
+                .addValue("locationKey", key.locationKey())
+                .addValue("batchKey", key.batchKey())
+                .addValue("quantity", quantity)
+                .addValue("now", now)
+                .addValue("auditor", auditor);
+    }
+
+    private record Key(UUID productVariantId, UUID warehouseId, UUID locationKey, UUID batchKey) {
+        boolean isWarehouseTotal() {
+            return WAREHOUSE_TOTAL.equals(locationKey) && WAREHOUSE_TOTAL.equals(batchKey);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.inventory.system.service.inventory;
+
+import com.inventory.system.common.entity.StockStatus;
+import com.inventory.system.common.entity.Tenant;
+import com.inventory.system.config.tenant.TenantContext;
+import com.inventory.system.repository.TenantRepository;
+import com.inventory.system.service.inventory.events.AvailableToPromiseChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Expires ACTIVE reservations past their {@code expires_at} in bounded chunks. Each chunk is
+ * its own short transaction: one {@code UPDATE ... WHERE id IN (SELECT ... FOR UPDATE SKIP
+ * LOCKED LIMIT n)} that returns the released quantities, which are then handed back to the
+ * ATP projection in one batch. {@code SKIP LOCKED} lets several nodes sweep concurrently
+ * without blocking on, or double-expiring, each other's rows, so no cluster lock is needed.
+ *
+ * <p>Manual releases and fulfilments leave ACTIVE through the same kind of conditional update
+ * ({@code StockReservationRepository.transitionStatus}), so whichever side changes the row
+ * first owns its quantity: a row a release is holding is skipped here, and a release blocked
+ * behind a chunk matches nothing once the chunk commits. The {@code RETURNING} set is
+ * therefore exactly the quantity this sweep may hand back.
+ *
+ * <p>Exports {@code inventory.reservations.expiry.backlog} (overdue reservations found at the
+ * start of the last sweep), {@code inventory.reservations.expiry.sweep} (sweep latency) and
+ * {@code inventory.reservations.expired} (reservations expired).
+ */
+@Slf4j
+@Component
+public class ReservationExpirySweeper {
+
+    private static final String EXPIRE_CHUNK = """
+            WITH expired AS (
+                UPDATE stock_reservations
+                SET status = 'EXPIRED', updated_at = :now
+                WHERE id IN (
+                    SELECT id
+                    FROM stock_reservations
+                    WHERE tenant_id = :tenantId
+                      AND status = 'ACTIVE'
+                      AND expires_at < :now
+                    ORDER BY expires_at
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED)
+                  AND status = 'ACTIVE'
+                RETURNING product_variant_id, warehouse_id, storage_location_id, batch_id, quantity
+            )
+            SELECT product_variant_id, warehouse_id, storage_location_id, batch_id,
+                   SUM(quantity) AS quantity, COUNT(*) AS reservations
+            FROM expired
+            GROUP BY product_variant_id, warehouse_id, storage_location_id, batch_id
+            """;
+
+    private static final String COUNT_OVERDUE = """
+            SELECT COUNT(*)
+            FROM stock_reservations
+            WHERE tenant_id = :tenantId
+              AND status = 'ACTIVE'
+              AND expires_at < :now
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final AvailableToPromiseProjection availableToPromise;
+    private final TenantRepository tenantRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<ReservationExpirySweeper> self;
+    private final int chunkSize;
+    private final int maxChunksPerTenant;
+    private final AtomicLong backlog = new AtomicLong();
+    private final Timer sweepTimer;
+    private final Counter expiredCounter;
+
+    public ReservationExpirySweeper(NamedParameterJdbcTemplate jdbcTemplate,
+                                    AvailableToPromiseProjection availableToPromise,
+                                    TenantRepository tenantRepository,
+                                    ApplicationEventPublisher eventPublisher,
+                                    ObjectProvider<ReservationExpirySweeper> self,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.inventory.reservations.expiry-chunk-size:500}") int chunkSize,
+                                    @Value("${app.inventory.reservations.expiry-max-chunks:200}") int maxChunksPerTenant) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.availableToPromise = availableToPromise;
+        this.tenantRepository = tenantRepository;
+        this.eventPublisher = eventPublisher;
+        this.self = self;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerTenant = maxChunksPerTenant;
+        Gauge.builder("inventory.reservations.expiry.backlog", backlog, AtomicLong::get)
+                .description("Overdue ACTIVE reservations found at the start of the last sweep")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("inventory.reservations.expiry.sweep")
+                .description("Duration of a reservation expiry sweep across all tenants")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("inventory.reservations.expired")
+                .description("Reservations expired by the sweeper")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.reservations.expiry-sweep-ms:60000}")
+    public void sweep() {
+        sweepTimer.record(() -> {
+            long overdue = 0;
+            for (Tenant tenant : tenantRepository.findAll()) {
+                if (tenant.getStatus() != Tenant.TenantStatus.ACTIVE) {
+                    continue;
+                }
+                String tenantId = tenant.getId().toString();
+                try {
+                    overdue += TenantContext.callWithTenant(tenantId, () -> sweepTenant(tenantId));
+                } catch (RuntimeException ex) {
+                    log.warn("Reservation expiry sweep failed for tenant {}: {}", tenantId, ex.getMessage());
+                }
+            }
+            backlog.set(overdue);
+        });
+    }
+
+    /**
+     * Expires the tenant's overdue reservations chunk by chunk, stopping at the first short
+     * chunk or after {@code maxChunksPerTenant} so one tenant cannot starve the others.
+     *
+     * @return the overdue reservations found before sweeping
+     */
+    long sweepTenant(String tenantId) {
+        ReservationExpirySweeper proxy = self.getObject();
+        long overdue = proxy.countOverdue(tenantId);
+        if (overdue == 0) {
+            return 0;
+        }
+        int expired = 0;
+        for (int chunk = 0; chunk < maxChunksPerTenant; chunk++) {
+            int count = proxy.expireChunk(tenantId, chunkSize);
+            expired += count;
+            if (count < chunkSize) {
+                break;
+            }
+        }
+        expiredCounter.increment(expired);
+        log.info("Expired {} of {} overdue reservations for tenant {}", expired, overdue, tenantId);
+        return overdue;
+    }
+
+    @Transactional(readOnly = true)
+    public long countOverdue(String tenantId) {
+        Long count = jdbcTemplate.queryForObject(COUNT_OVERDUE, new MapSqlParameterSource()
+                .addValue("tenantId", tenantId)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now())), Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Expires up to {@code limit} overdue reservations and releases their quantity from the
+     * ATP projection in the same transaction.
+     *
+     * @return the number of reservations expired
+     */
+    @Transactional
+    public int expireChunk(String tenantId, int limit) {
+        List<ExpiredHold> holds = jdbcTemplate.query(EXPIRE_CHUNK, new MapSqlParameterSource()
+                        .addValue("tenantId", tenantId)
+                        .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                        .addValue("limit", limit),
+                (rs, rowNum) -> new ExpiredHold(
+                        new StockPosition(
+                                rs.getObject("product_variant_id", UUID.class),
+                                rs.getObject("warehouse_id", UUID.class),
+                                rs.getObject("storage_location_id", UUID.class),
+                                rs.getObject("batch_id", UUID.class),
+                                StockStatus.AVAILABLE),
+                        rs.getBigDecimal("quantity"),
+                        rs.getInt("reservations")));
+        if (holds.isEmpty()) {
+            return 0;
+        }
+
+        Map<StockPosition, BigDecimal> released = new HashMap<>();
+        Set<List<UUID>> changed = new LinkedHashSet<>();
+        int expired = 0;
+        for (ExpiredHold hold : holds) {
+            released.merge(hold.position(), hold.quantity(), BigDecimal::add);
+            changed.add(List.of(hold.position().productVariantId(), hold.position().warehouseId()));
+            expired += hold.reservations();
+        }
+        availableToPromise.releaseAll(released);
+
+        Instant now = Instant.now();
+        changed.forEach(key -> eventPublisher.publishEvent(new AvailableToPromiseChangedEvent(key.get(0), key.get(1), now)));
+        return expired;
+    }
+
+    private record ExpiredHold(StockPosition position, BigDecimal quantity, int reservations) {
+    }
+}
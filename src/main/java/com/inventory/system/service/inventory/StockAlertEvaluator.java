@@ -0,0 +1,141 @@
+package com.inventory.system.service.inventory;
+
+import com.inventory.system.config.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Maintains the {@code stock_alerts} table. A refresh re-evaluates every enabled
+ * replenishment rule in its scope against the warehouse total of {@code stock_availability}
+ * with one joined statement and replaces the scope's alerts with the rules that are breached.
+ * The rules in scope are locked first, so concurrent refreshes of the same rules run one
+ * after the other instead of writing duplicate alerts.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockAlertEvaluator {
+
+    private static final String LOCK_RULES = """
+            SELECT r.id FROM replenishment_rules r
+            WHERE r.tenant_id = :tenantId%s
+            ORDER BY r.id
+            FOR UPDATE
+            """;
+
+    private static final String DELETE_ALERTS = """
+            DELETE FROM stock_alerts r
+            WHERE r.tenant_id = :tenantId%s
+            """;
+
+    private static final String INSERT_ALERTS = """
+            INSERT INTO stock_alerts (id, tenant_id, replenishment_rule_id, product_variant_id, warehouse_id, status,
+                                      current_stock, min_stock, max_stock, suggested_quantity, evaluated_at,
+                                      created_at, updated_at, created_by, updated_by)
+            SELECT gen_random_uuid(), tenant_id, rule_id, product_variant_id, warehouse_id,
+                   CASE WHEN available <= min_stock THEN 'BELOW_MIN' ELSE 'ABOVE_MAX' END,
+                   available, min_stock, max_stock, GREATEST(max_stock - available, 0), :now,
+                   :now, :now, :auditor, :auditor
+            FROM (SELECT r.tenant_id, r.id AS rule_id, r.product_variant_id, r.warehouse_id, r.min_stock, r.max_stock,
+                         COALESCE(a.on_hand - a.reserved, 0) AS available
+                  FROM replenishment_rules r
+                  LEFT JOIN stock_availability a
+                         ON a.tenant_id = r.tenant_id AND a.product_variant_id = r.product_variant_id
+                        AND a.warehouse_id = r.warehouse_id
+                        AND a.location_key = :totalKey AND a.batch_key = :totalKey
+                  WHERE r.tenant_id = :tenantId AND r.is_enabled = TRUE%s) evaluated
+            WHERE available <= min_stock OR available > max_stock
+            """;
+
+    static final int MAX_SCOPES_PER_STATEMENT = 500;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final AuditorAware<String> auditorProvider;
+
+    /**
+     * Re-evaluates the current tenant's rules for one variant at one warehouse.
+     *
+     * @return the number of alerts now open for them
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int refresh(UUID productVariantId, UUID warehouseId) {
+        return evaluate(" AND r.product_variant_id = :productVariantId AND r.warehouse_id = :warehouseId",
+                " AND r.product_variant_id = :productVariantId AND r.warehouse_id = :warehouseId",
+                parameters()
+                        .addValue("productVariantId", productVariantId)
+                        .addValue("warehouseId", warehouseId));
+    }
+
+    /**
+     * Re-evaluates the current tenant's rules for every variant/warehouse pair in
+     * {@code scopes} with one set-based statement per {@value #MAX_SCOPES_PER_STATEMENT} pairs.
+     *
+     * @return the number of alerts now open for them
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int refresh(Collection<Scope> scopes) {
+        List<Scope> pending = new ArrayList<>(new LinkedHashSet<>(scopes));
+        int alerts = 0;
+        for (int from = 0; from < pending.size(); from += MAX_SCOPES_PER_STATEMENT) {
+            List<Object[]> pairs = pending.subList(from, Math.min(from + MAX_SCOPES_PER_STATEMENT, pending.size()))
+                    .stream()
+                    .map(scope -> new Object[]{scope.productVariantId(), scope.warehouseId()})
+                    .toList();
+            alerts += evaluate(" AND (r.product_variant_id, r.warehouse_id) IN (:scopes)",
+                    " AND (r.product_variant_id, r.warehouse_id) IN (:scopes)",
+                    parameters().addValue("scopes", pairs));
+        }
+        return alerts;
+    }
+
+    /**
+     * Re-evaluates one rule of the current tenant, dropping its alert when the rule was
+     * disabled or deleted. Pending changes to the rule must be flushed first.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int refreshRule(UUID ruleId) {
+        return evaluate(" AND r.id = :ruleId", " AND r.replenishment_rule_id = :ruleId",
+                parameters().addValue("ruleId", ruleId));
+    }
+
+    /**
+     * Re-evaluates every rule of the current tenant.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int refreshAll() {
+        return evaluate("", "", parameters());
+    }
+
+    private int evaluate(String ruleScope, String alertScope, MapSqlParameterSource parameters) {
+        jdbcTemplate.query(LOCK_RULES.formatted(ruleScope), parameters, (RowCallbackHandler) row -> { });
+        jdbcTemplate.update(DELETE_ALERTS.formatted(alertScope), parameters);
+        return jdbcTemplate.update(INSERT_ALERTS.formatted(ruleScope), parameters);
+    }
+
+    /**
+     * A variant at a warehouse whose rules are re-evaluated together.
+     */
+    public record Scope(UUID productVariantId, UUID warehouseId) {
+    }
+
+    private MapSqlParameterSource parameters() {
+        return new MapSqlParameterSource()
+                .addValue("tenantId", TenantContext.requireTenantId())
+                .addValue("totalKey", AvailableToPromiseProjection.WAREHOUSE_TOTAL)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                .addValue("auditor", auditorProvider.getCurrentAuditor().orElse(null));
+    }
+}
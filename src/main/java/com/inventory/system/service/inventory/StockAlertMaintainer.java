@@ -0,0 +1,74 @@
+package com.inventory.system.service.inventory;
+
+import com.inventory.system.common.entity.Tenant;
+import com.inventory.system.config.scaling.DistributedLockService;
+import com.inventory.system.config.tenant.TenantContext;
+import com.inventory.system.repository.TenantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Re-evaluates every replenishment rule of each active tenant under a cluster lock, so
+ * alerts stay correct when an event-driven refresh failed or stock was changed without an
+ * inventory event. Runs hourly by default ({@code app.inventory.stock-alerts.refresh-cron}).
+ */
+@Slf4j
+@Component
+public class StockAlertMaintainer {
+
+    private static final String LOCK_KEY = "inventory:stock-alerts:refresh";
+
+    private final StockAlertEvaluator stockAlertEvaluator;
+    private final TenantRepository tenantRepository;
+    private final DistributedLockService lockService;
+    private final ObjectProvider<StockAlertMaintainer> self;
+    private final String owner = UUID.randomUUID().toString();
+
+    public StockAlertMaintainer(StockAlertEvaluator stockAlertEvaluator,
+                                TenantRepository tenantRepository,
+                                DistributedLockService lockService,
+                                ObjectProvider<StockAlertMaintainer> self) {
+        this.stockAlertEvaluator = stockAlertEvaluator;
+        this.tenantRepository = tenantRepository;
+        this.lockService = lockService;
+        this.self = self;
+    }
+
+    @Scheduled(cron = "${app.inventory.stock-alerts.refresh-cron:0 20 * * * *}")
+    public void maintain() {
+        if (!lockService.tryAcquire(LOCK_KEY, owner, Duration.ofMinutes(30))) {
+            return;
+        }
+        try {
+            for (Tenant tenant : tenantRepository.findAll()) {
+                if (tenant.getStatus() != Tenant.TenantStatus.ACTIVE) {
+                    continue;
+                }
+                String tenantId = tenant.getId().toString();
+                try {
+                    TenantContext.runWithTenant(tenantId, () -> self.getObject().refreshAll());
+                } catch (RuntimeException ex) {
+                    log.warn("Stock alert refresh failed for tenant {}: {}", tenantId, ex.getMessage());
+                }
+            }
+        } finally {
+            lockService.release(LOCK_KEY, owner);
+        }
+    }
+
+    /**
+     * Re-evaluates every rule of the current tenant.
+     */
+    @Transactional
+    public int refreshAll() {
+        int alerts = stockAlertEvaluator.refreshAll();
+        log.debug("Re-evaluated stock alerts for tenant {}: {} open", TenantContext.getTenantId(), alerts);
+        return alerts;
+    }
+}
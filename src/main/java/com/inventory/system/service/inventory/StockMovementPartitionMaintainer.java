@@ -0,0 +1,125 @@
+package com.inventory.system.service.inventory;
+
+import com.inventory.system.common.entity.Tenant;
+import com.inventory.system.config.scaling.DistributedLockService;
+import com.inventory.system.config.tenant.TenantContext;
+import com.inventory.system.config.tenant.routing.TenantCatalogService;
+import com.inventory.system.repository.TenantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps the monthly partitions of {@code stock_movements} ahead of the clock and archives
+ * partitions older than the configured retention (see V87). Partitioning is per physical
+ * database, so the job runs once per routed database rather than once per tenant: tenants
+ * are grouped by routing key and the first active tenant of each group provides the
+ * connection. A cluster lock keeps concurrent instances from issuing the same DDL.
+ *
+ * <p>{@code app.inventory.movements.partition-months-ahead} (default 3) controls how far
+ * ahead partitions are prepared; {@code app.inventory.movements.retention-months} (default
+ * 0, keep everything) moves older partitions to the {@code stock_movement_archive} schema.
+ */
+@Slf4j
+@Component
+public class StockMovementPartitionMaintainer {
+
+    private static final String LOCK_KEY = "inventory:stock-movements:partitions";
+    private static final String SHARED_ROUTING_KEY = "__shared__";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TenantRepository tenantRepository;
+    private final DistributedLockService lockService;
+    private final ObjectProvider<TenantCatalogService> tenantCatalog;
+    private final ObjectProvider<StockMovementPartitionMaintainer> self;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final String owner = UUID.randomUUID().toString();
+
+    public StockMovementPartitionMaintainer(NamedParameterJdbcTemplate jdbcTemplate,
+                                            TenantRepository tenantRepository,
+                                            DistributedLockService lockService,
+                                            ObjectProvider<TenantCatalogService> tenantCatalog,
+                                            ObjectProvider<StockMovementPartitionMaintainer> self,
+                                            @Value("${app.inventory.movements.partition-months-ahead:3}") int monthsAhead,
+                                            @Value("${app.inventory.movements.retention-months:0}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tenantRepository = tenantRepository;
+        this.lockService = lockService;
+        this.tenantCatalog = tenantCatalog;
+        this.self = self;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @Scheduled(cron = "${app.inventory.movements.partition-cron:0 15 3 * * *}")
+    public void maintain() {
+        if (!lockService.tryAcquire(LOCK_KEY, owner, Duration.ofMinutes(30))) {
+            return; // another instance is maintaining partitions
+        }
+        try {
+            routedDatabases().forEach((routingKey, tenantId) -> {
+                try {
+                    TenantContext.runWithTenant(tenantId, () -> self.getObject().maintainCurrentDatabase());
+                } catch (RuntimeException ex) {
+                    log.warn("Stock movement partition maintenance failed for database {}: {}", routingKey, ex.getMessage());
+                }
+            });
+        } finally {
+            lockService.release(LOCK_KEY, owner);
+        }
+    }
+
+    /**
+     * Creates missing partitions and archives expired ones on the database the current
+     * tenant is routed to.
+     */
+    @Transactional
+    public void maintainCurrentDatabase() {
+        Integer created = jdbcTemplate.queryForObject("SELECT ensure_stock_movement_partitions(:monthsAhead)",
+                new MapSqlParameterSource("monthsAhead", monthsAhead), Integer.class);
+        if (created != null && created > 0) {
+            log.info("Created {} stock movement partitions for tenant database of {}", created, TenantContext.getTenantId());
+        }
+        if (retentionMonths > 0) {
+            Integer archived = jdbcTemplate.queryForObject("SELECT archive_stock_movement_partitions(:retentionMonths)",
+                    new MapSqlParameterSource("retentionMonths", retentionMonths), Integer.class);
+            if (archived != null && archived > 0) {
+                log.info("Archived {} stock movement partitions older than {} months for tenant database of {}",
+                        archived, retentionMonths, TenantContext.getTenantId());
+            }
+        }
+    }
+
+    /**
+     * One active tenant per routed database, keyed by routing key. Without tenant routing
+     * every tenant lives in the shared database.
+     */
+    Map<String, String> routedDatabases() {
+        TenantCatalogService catalog = tenantCatalog.getIfAvailable();
+        Map<String, String> databases = new LinkedHashMap<>();
+        for (Tenant tenant : tenantRepository.findAll()) {
+            if (tenant.getStatus() != Tenant.TenantStatus.ACTIVE) {
+                continue;
+            }
+            String tenantId = tenant.getId().toString();
+            try {
+                String routingKey = catalog != null ? catalog.resolve(tenantId).routingKey() : SHARED_ROUTING_KEY;
+                databases.putIfAbsent(routingKey, tenantId);
+            } catch (RuntimeException ex) {
+                log.warn("Skipping stock movement partition maintenance for tenant {}: {}", tenantId, ex.getMessage());
+            }
+        }
+        return databases;
+    }
+}
@@ -0,0 +1,156 @@
+package com.inventory.system.service.inventory;
+
+import com.inventory.system.common.entity.StockMovement;
+import com.inventory.system.config.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Writes the {@code stock_movement_daily_totals} rollup. New movements are added to the row
+ * of their variant, warehouse, day and type on the caller's transaction, so the rollup
+ * commits or rolls back together with the ledger. {@link #reaggregate} rebuilds a closed
+ * range of days from {@code stock_movements} to pick up corrections made to the ledger
+ * directly.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockMovementRollup {
+
+    private static final String ADD_MOVEMENTS = """
+            INSERT INTO stock_movement_daily_totals (id, tenant_id, product_variant_id, warehouse_id, movement_date,
+                                                     movement_type, quantity, total_cost, movement_count,
+                                                     created_at, updated_at, created_by, updated_by)
+            VALUES (:id, :tenantId, :variantId, :warehouseId, :movementDate,
+                    :movementType, :quantity, :totalCost, :movementCount, :now, :now, :auditor, :auditor)
+            ON CONFLICT (tenant_id, product_variant_id, warehouse_id, movement_date, movement_type)
+            DO UPDATE SET quantity = stock_movement_daily_totals.quantity + EXCLUDED.quantity,
+                          total_cost = stock_movement_daily_totals.total_cost + EXCLUDED.total_cost,
+                          movement_count = stock_movement_daily_totals.movement_count + EXCLUDED.movement_count,
+                          updated_at = EXCLUDED.updated_at,
+                          updated_by = EXCLUDED.updated_by
+            """;
+
+    private static final String DELETE_RANGE = """
+            DELETE FROM stock_movement_daily_totals
+            WHERE tenant_id = :tenantId AND movement_date BETWEEN :fromDate AND :toDate
+            """;
+
+    // The created_at bounds let the planner prune stock_movements to the partitions in range
+    private static final String AGGREGATE_RANGE = """
+            INSERT INTO stock_movement_daily_totals (id, tenant_id, product_variant_id, warehouse_id, movement_date,
+                                                     movement_type, quantity, total_cost, movement_count,
+                                                     created_at, updated_at, created_by, updated_by)
+            SELECT gen_random_uuid(), tenant_id, product_variant_id, warehouse_id, CAST(created_at AS DATE),
+                   type, SUM(quantity), COALESCE(SUM(total_cost), 0), COUNT(*), :now, :now, :auditor, :auditor
+            FROM stock_movements
+            WHERE tenant_id = :tenantId AND created_at >= :fromTime AND created_at < :toTime
+            GROUP BY tenant_id, product_variant_id, warehouse_id, CAST(created_at AS DATE), type
+            """;
+
+    private static final Comparator<Key> LOCK_ORDER = Comparator
+            .comparing(Key::productVariantId)
+            .thenComparing(Key::warehouseId)
+            .thenComparing(Key::movementDate)
+            .thenComparing(Key::type);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final AuditorAware<String> auditorProvider;
+
+    /**
+     * Adds persisted movements to their daily rows, one upsert per touched row. Rows are
+     * written in a fixed order so concurrent writers lock them in the same order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Collection<StockMovement> movements) {
+        Map<Key, Totals> totals = new TreeMap<>(LOCK_ORDER);
+        LocalDate today = LocalDate.now();
+        for (StockMovement movement : movements) {
+            LocalDate day = movement.getCreatedAt() != null ? movement.getCreatedAt().toLocalDate() : today;
+            Key key = new Key(movement.getProductVariant().getId(), movement.getWarehouse().getId(), day, movement.getType());
+            totals.computeIfAbsent(key, ignored -> new Totals()).add(movement);
+        }
+        if (totals.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String auditor = currentAuditor();
+        String tenantId = TenantContext.requireTenantId();
+        jdbcTemplate.batchUpdate(ADD_MOVEMENTS, totals.entrySet().stream()
+                .map(entry -> parameters(tenantId, entry.getKey(), entry.getValue(), now, auditor))
+                .toArray(SqlParameterSource[]::new));
+    }
+
+    /**
+     * Replaces the current tenant's rows for {@code fromDate} through {@code toDate} with a
+     * fresh aggregate of the ledger. Callers should only re-aggregate closed days: movements
+     * committed while the range is rebuilt would otherwise be counted twice or not at all.
+     *
+     * @return the number of daily rows written
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int reaggregate(LocalDate fromDate, LocalDate toDate) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("tenantId", TenantContext.requireTenantId())
+                .addValue("fromDate", Date.valueOf(fromDate))
+                .addValue("toDate", Date.valueOf(toDate))
+                .addValue("fromTime", Timestamp.valueOf(fromDate.atStartOfDay()))
+                .addValue("toTime", Timestamp.valueOf(toDate.plusDays(1).atStartOfDay()))
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                .addValue("auditor", currentAuditor());
+        jdbcTemplate.update(DELETE_RANGE, parameters);
+        return jdbcTemplate.update(AGGREGATE_RANGE, parameters);
+    }
+
+    private String currentAuditor() {
+        return auditorProvider.getCurrentAuditor().orElse(null);
+    }
+
+    private MapSqlParameterSource parameters(String tenantId, Key key, Totals totals, Timestamp now, String auditor) {
+        return new MapSqlParameterSource()
+                .addValue("id", UUID.randomUUID())
+                .addValue("tenantId", tenantId)
+                .addValue("variantId", key.productVariantId())
+                .addValue("warehouseId", key.warehouseId())
+                .addValue("movementDate", Date.valueOf(key.movementDate()))
+                .addValue("movementType", key.type().name())
+                .addValue("quantity", totals.quantity)
+                .addValue("totalCost", totals.totalCost)
+                .addValue("movementCount", totals.count)
+                .addValue("now", now)
+                .addValue("auditor", auditor);
+    }
+
+    private record Key(UUID productVariantId, UUID warehouseId, LocalDate movementDate, StockMovement.StockMovementType type) {
+    }
+
+    private static final class Totals {
+        private BigDecimal quantity = BigDecimal.ZERO;
+        private BigDecimal totalCost = BigDecimal.ZERO;
+        private long count;
+
+        void add(StockMovement movement) {
+            quantity = quantity.add(movement.getQuantity());
+            if (movement.getTotalCost() != null) {
+                totalCost = totalCost.add(movement.getTotalCost());
+            }
+            count++;
+        }
+    }
+}
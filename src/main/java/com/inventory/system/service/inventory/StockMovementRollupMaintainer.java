@@ -0,0 +1,86 @@
+package com.inventory.system.service.inventory;
+
+import com.inventory.system.common.entity.Tenant;
+import com.inventory.system.config.scaling.DistributedLockService;
+import com.inventory.system.config.tenant.TenantContext;
+import com.inventory.system.repository.TenantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Re-aggregates recent closed days of the daily movement rollup from the ledger so
+ * corrections written to {@code stock_movements} outside the stock service still reach the
+ * reports. Runs nightly per active tenant under a cluster lock.
+ *
+ * <p>{@code app.inventory.movements.rollup-reaggregate-days} (default 3) is the number of
+ * days before today that are rebuilt; today is left to the incremental writes.
+ * {@link #reaggregate} can also be called directly to backfill a longer range.
+ */
+@Slf4j
+@Component
+public class StockMovementRollupMaintainer {
+
+    private static final String LOCK_KEY = "inventory:stock-movements:rollup";
+
+    private final StockMovementRollup rollup;
+    private final TenantRepository tenantRepository;
+    private final DistributedLockService lockService;
+    private final ObjectProvider<StockMovementRollupMaintainer> self;
+    private final int reaggregateDays;
+    private final String owner = UUID.randomUUID().toString();
+
+    public StockMovementRollupMaintainer(StockMovementRollup rollup,
+                                         TenantRepository tenantRepository,
+                                         DistributedLockService lockService,
+                                         ObjectProvider<StockMovementRollupMaintainer> self,
+                                         @Value("${app.inventory.movements.rollup-reaggregate-days:3}") int reaggregateDays) {
+        this.rollup = rollup;
+        this.tenantRepository = tenantRepository;
+        this.lockService = lockService;
+        this.self = self;
+        this.reaggregateDays = reaggregateDays;
+    }
+
+    @Scheduled(cron = "${app.inventory.movements.rollup-cron:0 45 3 * * *}")
+    public void maintain() {
+        if (reaggregateDays <= 0 || !lockService.tryAcquire(LOCK_KEY, owner, Duration.ofMinutes(30))) {
+            return;
+        }
+        LocalDate toDate = LocalDate.now().minusDays(1);
+        LocalDate fromDate = toDate.minusDays(reaggregateDays - 1L);
+        try {
+            for (Tenant tenant : tenantRepository.findAll()) {
+                if (tenant.getStatus() != Tenant.TenantStatus.ACTIVE) {
+                    continue;
+                }
+                String tenantId = tenant.getId().toString();
+                try {
+                    TenantContext.runWithTenant(tenantId, () -> self.getObject().reaggregate(fromDate, toDate));
+                } catch (RuntimeException ex) {
+                    log.warn("Stock movement rollup re-aggregation failed for tenant {}: {}", tenantId, ex.getMessage());
+                }
+            }
+        } finally {
+            lockService.release(LOCK_KEY, owner);
+        }
+    }
+
+    /**
+     * Rebuilds the current tenant's daily rows for {@code fromDate} through {@code toDate}.
+     */
+    @Transactional
+    public int reaggregate(LocalDate fromDate, LocalDate toDate) {
+        int rows = rollup.reaggregate(fromDate, toDate);
+        log.debug("Re-aggregated {} daily movement rows from {} to {} for tenant {}",
+                rows, fromDate, toDate, TenantContext.getTenantId());
+        return rows;
+    }
+}
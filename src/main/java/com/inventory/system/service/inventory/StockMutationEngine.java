@@ -0,0 +1,187 @@
+package com.inventory.system.service.inventory;
+
+import com.inventory.system.config.tenant.TenantContext;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Applies quantity deltas to {@code stocks} atomically in the database instead of the
+ * read-modify-write that used to lose updates under concurrent sales.
+ *
+ * <p>A single delta is one statement: a guarded {@code UPDATE ... SET quantity = quantity + :delta}
+ * for outbound deltas when negative stock is disallowed, otherwise an
+ * {@code INSERT ... ON CONFLICT DO UPDATE} upsert against {@code ux_stocks_position}. Bulk loads
+ * go through {@link #applyDeltas}, which batches the same statements. The row
+ * lock taken by the statement serialises concurrent writers on a hot position without
+ * retries, and the oversell guard is evaluated on the locked row so it cannot race.
+ *
+ * <p>Runs on the caller's JPA transaction connection (and therefore the tenant's routed
+ * database). Native SQL bypasses the Hibernate tenant filter, so every statement is scoped
+ * by {@code tenant_id} explicitly, and the persistence context is flushed first so rows the
+ * caller created in the same transaction (a new variant, batch or location) are visible to
+ * the foreign keys. Applied deltas are mirrored into the {@link AvailableToPromiseProjection}
+ * in the same transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockMutationEngine {
+
+    static final UUID NO_KEY = new UUID(0L, 0L);
+
+    private static final String GUARDED_UPDATE = """
+            UPDATE stocks
+            SET quantity = quantity + :delta, updated_at = :now, updated_by = :auditor
+            WHERE tenant_id = :tenantId
+              AND product_variant_id = :variantId
+              AND warehouse_id = :warehouseId
+              AND COALESCE(storage_location_id, :noKey) = :locationKey
+              AND COALESCE(batch_id, :noKey) = :batchKey
+              AND status = :status
+              AND (:allowNegative OR quantity + :delta >= 0)
+            """;
+
+    private static final String UPSERT = """
+            INSERT INTO stocks (id, tenant_id, product_variant_id, warehouse_id, storage_location_id, batch_id,
+                                status, quantity, created_at, updated_at, created_by, updated_by)
+            VALUES (:id, :tenantId, :variantId, :warehouseId, :locationId, :batchId,
+                    :status, :delta, :now, :now, :auditor, :auditor)
+            ON CONFLICT (tenant_id, product_variant_id, warehouse_id,
+                         (COALESCE(storage_location_id, '00000000-0000-0000-0000-000000000000'::uuid)),
+                         (COALESCE(batch_id, '00000000-0000-0000-0000-000000000000'::uuid)),
+                         status)
+            DO UPDATE SET quantity = stocks.quantity + EXCLUDED.quantity,
+                          updated_at = EXCLUDED.updated_at,
+                          updated_by = EXCLUDED.updated_by
+            """;
+
+    private static final String RETURNING_QUANTITY = " RETURNING quantity";
+
+    private static final Comparator<StockPosition> LOCK_ORDER = Comparator
+            .comparing(StockPosition::productVariantId)
+            .thenComparing(StockPosition::warehouseId)
+            .thenComparing(position -> keyOf(position.storageLocationId()))
+            .thenComparing(position -> keyOf(position.batchId()))
+            .thenComparing(StockPosition::status);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final AuditorAware<String> auditorProvider;
+    private final AvailableToPromiseProjection availableToPromise;
+
+    /**
+     * Adds {@code delta} to the position, creating it when missing.
+     *
+     * @return the resulting on-hand quantity, or empty when the delta was rejected because it
+     * would take the position below zero (or the position does not exist) and negative stock
+     * is not allowed. A rejected call writes nothing.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<BigDecimal> applyDelta(StockPosition position, BigDecimal delta, boolean allowNegative) {
+        entityManager.flush();
+        MapSqlParameterSource params = parameters(position, delta, false, Timestamp.valueOf(LocalDateTime.now()), currentAuditor());
+        boolean guarded = !allowNegative && delta.signum() < 0;
+        String sql = (guarded ? GUARDED_UPDATE : UPSERT) + RETURNING_QUANTITY;
+        List<BigDecimal> result = jdbcTemplate.queryForList(sql, params, BigDecimal.class);
+        if (result.isEmpty()) {
+            return Optional.empty();
+        }
+        availableToPromise.applyStockDeltas(Map.of(position, delta));
+        return Optional.ofNullable(result.get(0));
+    }
+
+    /**
+     * Applies net deltas for many positions with two JDBC batches: a guarded update of every
+     * existing position, then an upsert of the positions that did not exist yet. Positions are
+     * written in a fixed order so concurrent batches lock rows in the same sequence.
+     *
+     * @return positions whose delta was rejected (oversell or missing position with a negative
+     * delta while negative stock is not allowed); empty when every delta was applied. The caller
+     * is expected to roll back when anything was rejected.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<StockPosition> applyDeltas(Map<StockPosition, BigDecimal> deltas, boolean allowNegative) {
+        entityManager.flush();
+        List<StockPosition> ordered = deltas.entrySet().stream()
+                .filter(entry -> entry.getValue().signum() != 0)
+                .map(Map.Entry::getKey)
+                .sorted(LOCK_ORDER)
+                .toList();
+        if (ordered.isEmpty()) {
+            return List.of();
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String auditor = currentAuditor();
+
+        int[] updated = jdbcTemplate.batchUpdate(GUARDED_UPDATE, ordered.stream()
+                .map(position -> parameters(position, deltas.get(position), allowNegative, now, auditor))
+                .toArray(SqlParameterSource[]::new));
+
+        List<StockPosition> rejected = new ArrayList<>();
+        List<StockPosition> missing = new ArrayList<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            if (updated[i] != 0) {
+                continue;
+            }
+            StockPosition position = ordered.get(i);
+            if (!allowNegative && deltas.get(position).signum() < 0) {
+                rejected.add(position);
+            } else {
+                missing.add(position);
+            }
+        }
+        if (!rejected.isEmpty()) {
+            return rejected;
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT, missing.stream()
+                    .map(position -> parameters(position, deltas.get(position), allowNegative, now, auditor))
+                    .toArray(SqlParameterSource[]::new));
+        }
+        availableToPromise.applyStockDeltas(deltas);
+        return rejected;
+    }
+
+    private String currentAuditor() {
+        return auditorProvider.getCurrentAuditor().orElse(null);
+    }
+
+    private static UUID keyOf(UUID id) {
+        return id != null ? id : NO_KEY;
+    }
+
+    private MapSqlParameterSource parameters(StockPosition position, BigDecimal delta, boolean allowNegative,
+                                             Timestamp now, String auditor) {
+        return new MapSqlParameterSource()
+                .addValue("id", UUID.randomUUID())
+                .addValue("tenantId", TenantContext.requireTenantId())
+                .addValue("variantId", position.productVariantId())
+                .addValue("warehouseId", position.warehouseId())
+                .addValue("locationId", position.storageLocationId())
+                .addValue("batchId", position.batchId())
+                .addValue("locationKey", keyOf(position.storageLocationId()))
+                .addValue("batchKey", keyOf(position.batchId()))
+                .addValue("noKey", NO_KEY)
+                .addValue("status", position.status().name())
+                .addValue("delta", delta)
+                .addValue("allowNegative", allowNegative)
+                .addValue("now", now)
+                .addValue("auditor", auditor);
+    }
+}
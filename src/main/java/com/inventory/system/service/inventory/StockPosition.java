@@ -0,0 +1,17 @@
+package com.inventory.system.service.inventory;
+
+import com.inventory.system.common.entity.StockStatus;
+
+import java.util.UUID;
+
+/**
+ * Identity of one {@code stocks} row: variant at a warehouse, optionally narrowed to a
+ * storage location and batch, in a given status. Matches the {@code ux_stocks_position}
+ * unique index, so at most one row exists per position and tenant.
+ */
+public record StockPosition(UUID productVariantId,
+                            UUID warehouseId,
+                            UUID storageLocationId,
+                            UUID batchId,
+                            StockStatus status) {
+}
@@ -0,0 +1,192 @@
+package com.inventory.system.service.inventory;
+
+import com.inventory.system.common.entity.Tenant;
+import com.inventory.system.config.scaling.DistributedLockService;
+import com.inventory.system.config.tenant.TenantContext;
+import com.inventory.system.repository.TenantRepository;
+import com.inventory.system.repository.WarehouseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains {@code warehouses.used_capacity} incrementally instead of re-summing every
+ * stock row of the warehouse and rewriting the warehouse on each adjustment.
+ *
+ * <p>Deltas are coalesced per transaction and handed to a shared per-(tenant, warehouse)
+ * counter only after commit, so rolled-back movements never count. The counter is a
+ * {@link ConcurrentHashMap} (bin-striped, so concurrent sales on different warehouses do not
+ * contend) drained by a background flush that applies one relative update per warehouse.
+ * A nightly reconciliation re-derives the value from {@code SUM(stocks.quantity)} to correct
+ * drift such as deltas lost with a crashed instance.
+ *
+ * <p>A delta that is committed but still buffered, on this or any other instance, is already
+ * in that sum and is added again when its flush runs; a counter reset while one is in flight
+ * would stay wrong until the next night. The reconcile therefore only touches settled
+ * warehouses: none of their stock rows changed within the settle window (far longer than a
+ * flush interval, so every other instance has flushed them since) and this instance holds no
+ * buffered delta for them. Busy warehouses keep their counter and are compared again on a
+ * later run.
+ */
+@Slf4j
+@Component
+public class WarehouseCapacityTracker {
+
+    private static final String RECONCILE_LOCK_KEY = "inventory:warehouse-capacity:reconcile";
+
+    private final ConcurrentHashMap<CapacityKey, BigDecimal> pending = new ConcurrentHashMap<>();
+    private final WarehouseRepository warehouseRepository;
+    private final TenantRepository tenantRepository;
+    private final DistributedLockService lockService;
+    private final ObjectProvider<WarehouseCapacityTracker> self;
+    private final Duration settleWindow;
+    private final String owner = UUID.randomUUID().toString();
+
+    public WarehouseCapacityTracker(WarehouseRepository warehouseRepository,
+                                    TenantRepository tenantRepository,
+                                    DistributedLockService lockService,
+                                    ObjectProvider<WarehouseCapacityTracker> self,
+                                    @Value("${app.inventory.capacity.reconcile-settle-ms:600000}") long settleMs) {
+        this.warehouseRepository = warehouseRepository;
+        this.tenantRepository = tenantRepository;
+        this.lockService = lockService;
+        this.self = self;
+        this.settleWindow = Duration.ofMillis(settleMs);
+    }
+
+    /**
+     * Records a change of on-hand quantity in a warehouse of the current tenant. Inside a
+     * transaction the delta is published on commit; outside one it is published immediately.
+     */
+    public void record(UUID warehouseId, BigDecimal delta) {
+        if (warehouseId == null || delta == null || delta.signum() == 0) {
+            return;
+        }
+        CapacityKey key = new CapacityKey(TenantContext.requireTenantId(), warehouseId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accumulate(key, delta);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<CapacityKey, BigDecimal> txDeltas = (Map<CapacityKey, BigDecimal>) TransactionSynchronizationManager.getResource(this);
+        if (txDeltas == null) {
+            Map<CapacityKey, BigDecimal> deltas = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, deltas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deltas.forEach(WarehouseCapacityTracker.this::accumulate);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(WarehouseCapacityTracker.this);
+                }
+            });
+            txDeltas = deltas;
+        }
+        txDeltas.merge(key, delta, BigDecimal::add);
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.capacity.flush-ms:5000}")
+    public void flush() {
+        Map<String, Map<UUID, BigDecimal>> byTenant = new HashMap<>();
+        for (CapacityKey key : pending.keySet()) {
+            BigDecimal delta = pending.remove(key);
+            if (delta != null && delta.signum() != 0) {
+                byTenant.computeIfAbsent(key.tenantId(), t -> new HashMap<>()).put(key.warehouseId(), delta);
+            }
+        }
+        byTenant.forEach((tenantId, deltas) -> {
+            try {
+                // Tenant context must be set BEFORE the proxied @Transactional call so the
+                // update runs on the tenant's routed connection.
+                TenantContext.runWithTenant(tenantId, () -> self.getObject().applyDeltas(deltas));
+            } catch (RuntimeException ex) {
+                log.warn("Warehouse capacity flush failed for tenant {}: {} — retrying next cycle", tenantId, ex.getMessage());
+                deltas.forEach((warehouseId, delta) -> accumulate(new CapacityKey(tenantId, warehouseId), delta));
+            }
+        });
+    }
+
+    @Transactional
+    public void applyDeltas(Map<UUID, BigDecimal> deltas) {
+        deltas.forEach(warehouseRepository::incrementUsedCapacity);
+    }
+
+    @Scheduled(cron = "${app.inventory.capacity.reconcile-cron:0 45 2 * * *}")
+    public void reconcile() {
+        if (!lockService.tryAcquire(RECONCILE_LOCK_KEY, owner, Duration.ofMinutes(15))) {
+            return; // another instance is reconciling
+        }
+        try {
+            flush();
+            tenantRepository.findAll().stream()
+                    .filter(tenant -> tenant.getStatus() == Tenant.TenantStatus.ACTIVE)
+                    .forEach(tenant -> {
+                        String tenantId = tenant.getId().toString();
+                        try {
+                            LocalDateTime settledBefore = LocalDateTime.now().minus(settleWindow);
+                            Set<UUID> busy = bufferedWarehouses(tenantId);
+                            int corrected = TenantContext.callWithTenant(tenantId,
+                                    () -> self.getObject().reconcileTenant(tenantId, settledBefore, busy));
+                            if (corrected > 0) {
+                                log.info("Corrected used capacity drift on {} warehouses for tenant {}", corrected, tenantId);
+                            }
+                        } catch (RuntimeException ex) {
+                            log.warn("Warehouse capacity reconcile failed for tenant {}: {}", tenantId, ex.getMessage());
+                        }
+                    });
+        } finally {
+            lockService.release(RECONCILE_LOCK_KEY, owner);
+        }
+    }
+
+    @Transactional
+    public int reconcileTenant(String tenantId, LocalDateTime settledBefore, Set<UUID> busyWarehouseIds) {
+        return warehouseRepository.reconcileUsedCapacity(tenantId, settledBefore,
+                !busyWarehouseIds.isEmpty(), busyWarehouseIds);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Warehouses of the tenant with a delta still buffered here, e.g. one whose flush failed
+     * and waits for its retry.
+     */
+    private Set<UUID> bufferedWarehouses(String tenantId) {
+        Set<UUID> warehouseIds = new HashSet<>();
+        pending.forEach((key, delta) -> {
+            if (key.tenantId().equals(tenantId) && delta.signum() != 0) {
+                warehouseIds.add(key.warehouseId());
+            }
+        });
+        return warehouseIds;
+    }
+
+    private void accumulate(CapacityKey key, BigDecimal delta) {
+        pending.merge(key, delta, BigDecimal::add);
+    }
+
+    private record CapacityKey(String tenantId, UUID warehouseId) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.inventory.system.service.inventory.events;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Raised when available-to-promise of a variant at a warehouse changes without an on-hand
+ * change, i.e. when reservations are taken, released, fulfilled or expire. On-hand changes
+ * are announced by {@link InventoryChangedEvent}.
+ */
+public record AvailableToPromiseChangedEvent(UUID productVariantId, UUID warehouseId, Instant occurredAt) {
+}
@@ -0,0 +1,103 @@
+package com.inventory.system.service.inventory.listeners;
+
+import com.inventory.system.config.tenant.TenantContext;
+import com.inventory.system.service.inventory.StockAlertEvaluator;
+import com.inventory.system.service.inventory.events.AvailableToPromiseChangedEvent;
+import com.inventory.system.service.inventory.events.InventoryChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Re-evaluates the stock alerts of the variants and warehouses whose on-hand or reserved
+ * quantity changed. The changes of a transaction are collected and re-evaluated together
+ * once it has committed, in one new transaction per tenant, so a batch adjustment or import
+ * touching thousands of positions refreshes them with a few set-based statements instead of
+ * one transaction each. Outside a transaction the change is refreshed immediately.
+ *
+ * <p>A failed refresh is logged and left to the periodic re-evaluation in
+ * {@code StockAlertMaintainer}; it never fails the change that caused it.
+ */
+@Slf4j
+@Component
+public class StockAlertRefreshListener {
+
+    private final StockAlertEvaluator stockAlertEvaluator;
+    private final ObjectProvider<StockAlertRefreshListener> self;
+
+    public StockAlertRefreshListener(StockAlertEvaluator stockAlertEvaluator,
+                                     ObjectProvider<StockAlertRefreshListener> self) {
+        this.stockAlertEvaluator = stockAlertEvaluator;
+        this.self = self;
+    }
+
+    @EventListener
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        record(event.productVariantId(), event.warehouseId());
+    }
+
+    @EventListener
+    public void onAvailableToPromiseChanged(AvailableToPromiseChangedEvent event) {
+        record(event.productVariantId(), event.warehouseId());
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void refresh(Collection<StockAlertEvaluator.Scope> scopes) {
+        stockAlertEvaluator.refresh(scopes);
+    }
+
+    private void record(UUID productVariantId, UUID warehouseId) {
+        String tenantId = TenantContext.getTenantId();
+        if (productVariantId == null || warehouseId == null || tenantId == null) {
+            return;
+        }
+        StockAlertEvaluator.Scope scope = new StockAlertEvaluator.Scope(productVariantId, warehouseId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refreshQuietly(tenantId, Set.of(scope));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Set<StockAlertEvaluator.Scope>> txScopes =
+                (Map<String, Set<StockAlertEvaluator.Scope>>) TransactionSynchronizationManager.getResource(this);
+        if (txScopes == null) {
+            Map<String, Set<StockAlertEvaluator.Scope>> scopes = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, scopes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    scopes.forEach(StockAlertRefreshListener.this::refreshQuietly);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(StockAlertRefreshListener.this);
+                }
+            });
+            txScopes = scopes;
+        }
+        txScopes.computeIfAbsent(tenantId, t -> new LinkedHashSet<>()).add(scope);
+    }
+
+    private void refreshQuietly(String tenantId, Set<StockAlertEvaluator.Scope> scopes) {
+        try {
+            // Tenant context must be set BEFORE the proxied @Transactional call so the
+            // refresh runs on the tenant's routed connection.
+            TenantContext.runWithTenant(tenantId, () -> self.getObject().refresh(scopes));
+        } catch (RuntimeException ex) {
+            log.warn("Stock alert refresh failed for {} variant/warehouse pair(s) of tenant {}: {}",
+                    scopes.size(), tenantId, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.inventory.system.service.reporting;
+
+import com.inventory.system.config.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache of computed dashboards, keyed by tenant, warehouse (null for all
+ * warehouses), date range and view. Entries live at most {@code app.reporting.dashboard-cache-ttl-seconds}
+ * (default 30) and are dropped earlier when an inventory, sales order or purchase order
+ * change is committed for the tenant (see {@code DashboardCacheInvalidator}).
+ *
+ * <p>Loads are single-flight: the first caller for a missing or stale key computes the
+ * value and every concurrent caller for the same key waits for that computation instead of
+ * starting its own. A failed computation is not cached; its waiters see the same failure.
+ *
+ * <p>The cache holds at most {@code app.reporting.dashboard-cache-max-entries} (default 1000)
+ * dashboards, since the date range is chosen by the client. When a load would exceed that,
+ * expired dashboards are dropped first and then the ones closest to expiry.
+ *
+ * <p>The cache is per instance and invalidation events are local, so another instance can
+ * serve a dashboard that is at most one TTL old.
+ */
+@Component
+public class DashboardCache {
+
+    public enum View { SUMMARY, WIDGETS }
+
+    private record Key(String tenantId, UUID warehouseId, LocalDate fromDate, LocalDate toDate, View view) {}
+
+    private record Entry(CompletableFuture<Object> value, long expiresAtMillis) {
+        boolean isFresh(long now) {
+            return expiresAtMillis > now && !value.isCompletedExceptionally();
+        }
+    }
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public DashboardCache(MeterRegistry meterRegistry,
+                          @Value("${app.reporting.dashboard-cache-ttl-seconds:30}") long ttlSeconds,
+                          @Value("${app.reporting.dashboard-cache-max-entries:1000}") int maxEntries) {
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder("reporting.dashboard.cache.hits")
+                .description("Dashboard loads served from the cache or an in-flight computation")
+                .register(meterRegistry);
+        this.misses = Counter.builder("reporting.dashboard.cache.misses")
+                .description("Dashboard loads that computed the dashboard")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached value for the current tenant, computing it with {@code loader} on
+     * the calling thread when it is missing or older than the TTL.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(View view, UUID warehouseId, LocalDate fromDate, LocalDate toDate, Supplier<T> loader) {
+        if (ttlMillis <= 0) {
+            return loader.get();
+        }
+        Key key = new Key(TenantContext.requireTenantId(), warehouseId, fromDate, toDate, view);
+        long now = System.currentTimeMillis();
+        Entry cached = entries.get(key);
+        if (cached == null || !cached.isFresh(now)) {
+            Entry loading = new Entry(new CompletableFuture<>(), now + ttlMillis);
+            cached = entries.compute(key, (ignored, current) -> current != null && current.isFresh(now) ? current : loading);
+            if (cached == loading) {
+                misses.increment();
+                evictOverflow(now);
+                load(key, loading, loader);
+                return (T) join(loading.value());
+            }
+        }
+        hits.increment();
+        return (T) join(cached.value());
+    }
+
+    /**
+     * Drops the tenant's dashboards that include {@code warehouseId}: the ones for that
+     * warehouse and the all-warehouse ones. A null warehouse drops every dashboard of the tenant.
+     */
+    public void invalidate(String tenantId, UUID warehouseId) {
+        if (tenantId == null) {
+            entries.clear();
+            return;
+        }
+        entries.keySet().removeIf(key -> key.tenantId().equals(tenantId)
+                && (warehouseId == null || key.warehouseId() == null || key.warehouseId().equals(warehouseId)));
+    }
+
+    /**
+     * Keeps the cache within its bound: drops expired or failed dashboards, then, when still
+     * over, the ones closest to expiry down to nine tenths of the bound so the next few loads
+     * do not have to evict again.
+     */
+    private void evictOverflow(long now) {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        entries.values().removeIf(entry -> !entry.isFresh(now));
+        int excess = entries.size() - maxEntries * 9 / 10;
+        if (excess <= 0 || entries.size() <= maxEntries) {
+            return;
+        }
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().expiresAtMillis()))
+                .limit(excess)
+                .toList()
+                .forEach(entry -> entries.remove(entry.getKey(), entry.getValue()));
+    }
+
+    private void load(Key key, Entry loading, Supplier<?> loader) {
+        try {
+            loading.value().complete(loader.get());
+        } catch (RuntimeException | Error ex) {
+            entries.remove(key, loading);
+            loading.value().completeExceptionally(ex);
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> value) {
+        try {
+            return value.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,60 @@
+package com.inventory.system.service.reporting.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * RFC 4180 style CSV, UTF-8, one buffered line per row.
+ */
+public class CsvReportRowWriter implements ReportRowWriter {
+
+    private final Writer writer;
+
+    public CsvReportRowWriter(OutputStream output) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void start(List<String> headers) throws IOException {
+        writeLine(List.copyOf(headers));
+    }
+
+    @Override
+    public void row(List<Object> values) throws IOException {
+        writeLine(values);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Quotes a value when it contains a separator, quote or line break.
+     */
+    public static String value(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = String.valueOf(value);
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    private void writeLine(List<?> values) throws IOException {
+        for (int index = 0; index < values.size(); index++) {
+            if (index > 0) {
+                writer.write(',');
+            }
+            writer.write(value(values.get(index)));
+        }
+        writer.write('\n');
+    }
+}
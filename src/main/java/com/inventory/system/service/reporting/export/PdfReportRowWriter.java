@@ -0,0 +1,115 @@
+package com.inventory.system.service.reporting.export;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Plain-text PDF table written page by page: each page's content stream is closed as soon as
+ * the page is full and the document buffers stream data in a temporary file rather than on
+ * the heap. The column headers are repeated at the top of every page.
+ */
+public class PdfReportRowWriter implements ReportRowWriter {
+
+    private static final float MARGIN = 40;
+    private static final float LEADING = 11;
+    private static final int MAX_LINE_LENGTH = 150;
+
+    private final String title;
+    private final OutputStream output;
+    private final PDDocument document;
+    private String headerLine = "";
+    private PDPageContentStream page;
+    private float y;
+
+    public PdfReportRowWriter(String title, OutputStream output) {
+        this.title = title;
+        this.output = output;
+        this.document = new PDDocument(MemoryUsageSetting.setupTempFileOnly());
+    }
+
+    @Override
+    public void start(List<String> headers) throws IOException {
+        headerLine = line(List.copyOf(headers));
+        newPage();
+    }
+
+    @Override
+    public void row(List<Object> values) throws IOException {
+        if (y - LEADING < MARGIN) {
+            newPage();
+        }
+        showLine(PDType1Font.HELVETICA, 8, line(values));
+    }
+
+    @Override
+    public void finish() throws IOException {
+        closePage();
+        document.save(output);
+        output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            closePage();
+        } finally {
+            document.close();
+        }
+    }
+
+    private void newPage() throws IOException {
+        closePage();
+        PDPage pdPage = new PDPage(PDRectangle.LETTER);
+        document.addPage(pdPage);
+        page = new PDPageContentStream(document, pdPage);
+        y = pdPage.getMediaBox().getHeight() - MARGIN;
+        if (document.getNumberOfPages() == 1) {
+            showLine(PDType1Font.HELVETICA_BOLD, 14, title);
+            showLine(PDType1Font.HELVETICA, 10, "Generated: " + LocalDateTime.now());
+            y -= LEADING;
+        }
+        showLine(PDType1Font.HELVETICA_BOLD, 8, headerLine);
+    }
+
+    private void closePage() throws IOException {
+        if (page != null) {
+            page.close();
+            page = null;
+        }
+    }
+
+    private void showLine(PDType1Font font, float size, String text) throws IOException {
+        page.beginText();
+        page.setFont(font, size);
+        page.newLineAtOffset(MARGIN, y);
+        page.showText(text);
+        page.endText();
+        y -= size > 8 ? size + 6 : LEADING;
+    }
+
+    private static String line(List<?> values) {
+        String line = values.stream()
+                .map(value -> value == null ? "" : String.valueOf(value))
+                .collect(Collectors.joining(" | "));
+        return printable(line.length() <= MAX_LINE_LENGTH ? line : line.substring(0, MAX_LINE_LENGTH - 3) + "...");
+    }
+
+    // The standard 14 fonts only encode WinAnsi; anything else would fail the whole export
+    private static String printable(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for (char character : text.toCharArray()) {
+            builder.append(character >= 0x20 && character < 0x7F || character >= 0xA0 && character <= 0xFF ? character : '?');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,10 @@
+package com.inventory.system.service.reporting.export;
+
+import com.inventory.system.payload.GenerateReportRequest;
+
+/**
+ * A report export that has been validated and resolved against its configuration but not
+ * yet read: the response headers can be sent before any row is produced.
+ */
+public record ReportExport(String fileName, String contentType, GenerateReportRequest request) {
+}
@@ -0,0 +1,155 @@
+package com.inventory.system.service.reporting.export;
+
+import com.inventory.system.payload.GenerateReportRequest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.IntConsumer;
+
+/**
+ * Applies a builder request's search, field filters, sort, limit and column selection to
+ * report rows as they arrive and hands the survivors to a {@link ReportRowWriter}. Unsorted
+ * rows are written straight through; sorted rows have to be held until the source is
+ * exhausted, so a sorted export keeps at most {@code limit} rows when a limit is set and
+ * every matching row otherwise. The optional progress listener gets the running row count
+ * every {@value #PROGRESS_INTERVAL} rows written. An export without rows still gets a header
+ * row, taken from the report's declared columns.
+ */
+public class ReportRowSink {
+
+    static final int PROGRESS_INTERVAL = 1000;
+
+    private final GenerateReportRequest request;
+    private final ReportRowWriter writer;
+    private final int limit;
+    private final Comparator<Map<String, Object>> order;
+    private final PriorityQueue<Map<String, Object>> held;
+    private final IntConsumer progress;
+    private final List<String> declaredHeaders;
+    private List<String> headers;
+    private int count;
+
+    public ReportRowSink(GenerateReportRequest request, ReportRowWriter writer) {
+        this(request, writer, List.of(), count -> { });
+    }
+
+    /**
+     * @param declaredHeaders the columns of the report's rows, written as the header row when
+     *                        no row matches
+     */
+    public ReportRowSink(GenerateReportRequest request, ReportRowWriter writer, List<String> declaredHeaders,
+                         IntConsumer progress) {
+        this.request = request;
+        this.declaredHeaders = declaredHeaders;
+        this.progress = progress;
+        this.writer = writer;
+        this.limit = request.getLimit() != null && request.getLimit() > 0 ? request.getLimit() : 0;
+        this.order = comparator(request);
+        this.held = order != null ? new PriorityQueue<>(order.reversed()) : null;
+    }
+
+    public void accept(Map<String, Object> row) throws IOException {
+        if (!matches(request, row)) {
+            return;
+        }
+        if (held == null) {
+            write(row);
+            return;
+        }
+        held.add(row);
+        if (limit > 0 && held.size() > limit) {
+            held.poll();
+        }
+    }
+
+    /**
+     * True once an unsorted export has written {@code limit} rows; the source can stop.
+     */
+    public boolean isFull() {
+        return held == null && limit > 0 && count >= limit;
+    }
+
+    /**
+     * Writes any held rows, completes the document and returns the number of rows written.
+     */
+    public int finish() throws IOException {
+        if (held != null) {
+            List<Map<String, Object>> rows = new ArrayList<>(held);
+            rows.sort(order);
+            for (Map<String, Object> row : rows) {
+                write(row);
+            }
+        }
+        if (headers == null) {
+            writer.start(request.getColumns() == null || request.getColumns().isEmpty()
+                    ? declaredHeaders
+                    : request.getColumns().stream().filter(declaredHeaders::contains).toList());
+        }
+        writer.finish();
+        return count;
+    }
+
+    /**
+     * Whether the row contains the search text in any value and equals every field filter,
+     * both case-insensitively.
+     */
+    public static boolean matches(GenerateReportRequest request, Map<String, Object> row) {
+        if (request.getSearch() != null && !request.getSearch().isBlank()) {
+            String needle = request.getSearch().toLowerCase();
+            boolean found = row.values().stream()
+                    .filter(Objects::nonNull)
+                    .anyMatch(value -> String.valueOf(value).toLowerCase().contains(needle));
+            if (!found) {
+                return false;
+            }
+        }
+        if (request.getFieldFilters() != null) {
+            for (Map.Entry<String, String> filter : request.getFieldFilters().entrySet()) {
+                Object value = row.get(filter.getKey());
+                if (value == null || !String.valueOf(value).equalsIgnoreCase(filter.getValue())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The requested row order, or null when the request does not sort.
+     */
+    public static Comparator<Map<String, Object>> comparator(GenerateReportRequest request) {
+        if (request.getSortBy() == null || request.getSortBy().isBlank()) {
+            return null;
+        }
+        Comparator<Map<String, Object>> comparator = Comparator.comparing(
+                row -> String.valueOf(row.get(request.getSortBy())),
+                Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+        return "desc".equalsIgnoreCase(request.getSortDirection()) ? comparator.reversed() : comparator;
+    }
+
+    private void write(Map<String, Object> row) throws IOException {
+        if (limit > 0 && count >= limit) {
+            return;
+        }
+        if (headers == null) {
+            headers = request.getColumns() == null || request.getColumns().isEmpty()
+                    ? List.copyOf(row.keySet())
+                    : request.getColumns().stream().filter(row::containsKey).toList();
+            writer.start(headers);
+        }
+        List<Object> values = new ArrayList<>(headers.size());
+        for (String header : headers) {
+            values.add(row.get(header));
+        }
+        writer.row(values);
+        count++;
+        if (count % PROGRESS_INTERVAL == 0) {
+            progress.accept(count);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.inventory.system.service.reporting.export;
+
+import com.inventory.system.common.entity.ReportOutputFormat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Writes a tabular report to an output stream one row at a time, so exports keep a flat
+ * memory profile whatever their row count. {@link #start} is called exactly once before the
+ * first row, {@link #finish} once after the last; {@link #close} releases temporary
+ * resources and must be called even when writing fails.
+ */
+public interface ReportRowWriter extends Closeable {
+
+    void start(List<String> headers) throws IOException;
+
+    void row(List<Object> values) throws IOException;
+
+    void finish() throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+
+    /**
+     * Opens a writer for a streamable format (CSV, XLSX or PDF).
+     *
+     * @throws IllegalArgumentException for formats that are not written row by row
+     */
+    static ReportRowWriter open(ReportOutputFormat format, String title, OutputStream output) {
+        return switch (format) {
+            case CSV -> new CsvReportRowWriter(output);
+            case XLSX -> new XlsxReportRowWriter(output);
+            case PDF -> new PdfReportRowWriter(title, output);
+            case JSON -> throw new IllegalArgumentException("JSON reports are not written row by row");
+        };
+    }
+}
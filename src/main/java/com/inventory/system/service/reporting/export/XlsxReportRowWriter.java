@@ -0,0 +1,70 @@
+package com.inventory.system.service.reporting.export;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * XLSX through POI's streaming workbook: only the last {@value #ROW_WINDOW} rows stay in
+ * memory, older rows are flushed to a compressed temporary file that is copied to the
+ * output on {@link #finish} and deleted on {@link #close}. Columns get a fixed width since
+ * auto-sizing would need every row in memory.
+ */
+public class XlsxReportRowWriter implements ReportRowWriter {
+
+    private static final int ROW_WINDOW = 100;
+    private static final int COLUMN_WIDTH = 20 * 256;
+
+    private final OutputStream output;
+    private final SXSSFWorkbook workbook;
+    private final Sheet sheet;
+    private int rowIndex;
+
+    public XlsxReportRowWriter(OutputStream output) {
+        this.output = output;
+        this.workbook = new SXSSFWorkbook(ROW_WINDOW);
+        this.workbook.setCompressTempFiles(true);
+        this.sheet = workbook.createSheet("Report");
+    }
+
+    @Override
+    public void start(List<String> headers) {
+        Row headerRow = sheet.createRow(rowIndex++);
+        for (int index = 0; index < headers.size(); index++) {
+            headerRow.createCell(index).setCellValue(headers.get(index));
+            sheet.setColumnWidth(index, COLUMN_WIDTH);
+        }
+    }
+
+    @Override
+    public void row(List<Object> values) {
+        Row sheetRow = sheet.createRow(rowIndex++);
+        for (int index = 0; index < values.size(); index++) {
+            Object value = values.get(index);
+            if (value instanceof Number number) {
+                sheetRow.createCell(index).setCellValue(number.doubleValue());
+            } else {
+                sheetRow.createCell(index).setCellValue(value == null ? "" : String.valueOf(value));
+            }
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        workbook.write(output);
+        output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            workbook.dispose();
+        } finally {
+            workbook.close();
+        }
+    }
+}
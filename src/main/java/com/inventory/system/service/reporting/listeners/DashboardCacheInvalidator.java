@@ -0,0 +1,44 @@
+package com.inventory.system.service.reporting.listeners;
+
+import com.inventory.system.config.tenant.TenantContext;
+import com.inventory.system.service.PurchaseOrderChangedEvent;
+import com.inventory.system.service.inventory.events.InventoryChangedEvent;
+import com.inventory.system.service.order.events.OrderStatusChangedEvent;
+import com.inventory.system.service.order.events.SalesOrderCreatedEvent;
+import com.inventory.system.service.reporting.DashboardCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops cached dashboards once a change that feeds them has committed. Inventory changes
+ * only drop the dashboards that include the changed warehouse; order events carry no
+ * warehouse and drop all of the tenant's dashboards.
+ */
+@Component
+@RequiredArgsConstructor
+public class DashboardCacheInvalidator {
+
+    private final DashboardCache dashboardCache;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        dashboardCache.invalidate(TenantContext.getTenantId(), event.warehouseId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSalesOrderCreated(SalesOrderCreatedEvent event) {
+        dashboardCache.invalidate(TenantContext.getTenantId(), null);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        dashboardCache.invalidate(TenantContext.getTenantId(), null);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPurchaseOrderChanged(PurchaseOrderChangedEvent event) {
+        dashboardCache.invalidate(TenantContext.getTenantId(), null);
+    }
+}
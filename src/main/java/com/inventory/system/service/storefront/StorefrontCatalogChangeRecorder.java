@@ -0,0 +1,87 @@
+package com.inventory.system.service.storefront;
+
+import com.inventory.system.config.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Writes the {@code storefront_catalog_versions} counter and the
+ * {@code storefront_catalog_changes} log on the caller's transaction. Incrementing the
+ * counter locks the tenant's row until commit, so concurrent catalog writers commit their
+ * versions in order and a reader never sees version n without every version before it.
+ */
+@Component
+@RequiredArgsConstructor
+public class StorefrontCatalogChangeRecorder {
+
+    /**
+     * Versions kept in the change log. An index further behind than this rebuilds the whole
+     * catalog instead of replaying changes.
+     */
+    public static final int RETAINED_VERSIONS = 500;
+
+    private static final String CREATE_VERSION = """
+            INSERT INTO storefront_catalog_versions (id, tenant_id, version, created_at, updated_at, created_by, updated_by)
+            VALUES (:id, :tenantId, 0, :now, :now, :auditor, :auditor)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String INCREMENT_VERSION = """
+            UPDATE storefront_catalog_versions
+            SET version = version + 1, updated_at = :now, updated_by = :auditor
+            WHERE tenant_id = :tenantId
+            """;
+
+    private static final String CURRENT_VERSION = """
+            SELECT version FROM storefront_catalog_versions WHERE tenant_id = :tenantId
+            """;
+
+    private static final String INSERT_CHANGE = """
+            INSERT INTO storefront_catalog_changes (id, tenant_id, version, product_template_id,
+                                                    created_at, updated_at, created_by, updated_by)
+            VALUES (:id, :tenantId, :version, :productTemplateId, :now, :now, :auditor, :auditor)
+            """;
+
+    private static final String PRUNE_CHANGES = """
+            DELETE FROM storefront_catalog_changes
+            WHERE tenant_id = :tenantId AND version <= :oldestDropped
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final AuditorAware<String> auditorProvider;
+
+    /**
+     * Records one catalog change for the current tenant.
+     *
+     * @param productTemplateId the changed template, or null for a catalog-wide change
+     * @return the new catalog version
+     */
+    @Transactional
+    public long record(UUID productTemplateId) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("tenantId", TenantContext.requireTenantId())
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                .addValue("auditor", auditorProvider.getCurrentAuditor().orElse(null));
+        if (jdbcTemplate.update(INCREMENT_VERSION, parameters) == 0) {
+            jdbcTemplate.update(CREATE_VERSION, parameters.addValue("id", UUID.randomUUID()));
+            jdbcTemplate.update(INCREMENT_VERSION, parameters);
+        }
+        Long version = jdbcTemplate.queryForObject(CURRENT_VERSION, parameters, Long.class);
+        jdbcTemplate.update(INSERT_CHANGE, parameters
+                .addValue("id", UUID.randomUUID())
+                .addValue("version", version)
+                .addValue("productTemplateId", productTemplateId));
+        if (version % RETAINED_VERSIONS == 0) {
+            jdbcTemplate.update(PRUNE_CHANGES, parameters.addValue("oldestDropped", version - RETAINED_VERSIONS));
+        }
+        return version;
+    }
+}
@@ -0,0 +1,63 @@
+package com.inventory.system.service.storefront;
+
+import com.inventory.system.payload.StorefrontProductDto;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * One published product template in a storefront catalog index: its listing product without
+ * availability, which must never be modified, and the keys the index filters and orders it by.
+ *
+ * @param sortOrder              the template's storefront sort order, {@link Integer#MAX_VALUE} when unset
+ * @param newestVariantCreatedAt creation time of the template's newest published variant
+ * @param collectionSlugs        lower-case collection, parent collection and trail slugs
+ * @param searchText             lower-case name, summary, category, collection title and SKU
+ */
+public record StorefrontCatalogEntry(UUID productTemplateId,
+                                     StorefrontProductDto product,
+                                     int sortOrder,
+                                     LocalDateTime newestVariantCreatedAt,
+                                     Set<String> collectionSlugs,
+                                     String searchText) {
+
+    public static StorefrontCatalogEntry of(UUID productTemplateId,
+                                            StorefrontProductDto product,
+                                            Integer sortOrder,
+                                            LocalDateTime newestVariantCreatedAt) {
+        Set<String> collectionSlugs = new LinkedHashSet<>();
+        addSlug(collectionSlugs, product.getCollectionSlug());
+        addSlug(collectionSlugs, product.getParentCollectionSlug());
+        if (product.getCollectionTrailSlugs() != null) {
+            product.getCollectionTrailSlugs().forEach(slug -> addSlug(collectionSlugs, slug));
+        }
+        String searchText = String.join(" ",
+                        product.getName() != null ? product.getName() : "",
+                        product.getSummary() != null ? product.getSummary() : "",
+                        product.getCategory() != null ? product.getCategory() : "",
+                        product.getCollectionTitle() != null ? product.getCollectionTitle() : "",
+                        product.getSku() != null ? product.getSku() : "")
+                .toLowerCase();
+        return new StorefrontCatalogEntry(productTemplateId, product,
+                sortOrder != null ? sortOrder : Integer.MAX_VALUE, newestVariantCreatedAt,
+                Set.copyOf(collectionSlugs), searchText);
+    }
+
+    /**
+     * Variant IDs of the template's published variants, in listing order.
+     */
+    public List<UUID> variantIds() {
+        return product.getVariants().stream()
+                .map(option -> UUID.fromString(option.getProductVariantId()))
+                .toList();
+    }
+
+    private static void addSlug(Set<String> slugs, String slug) {
+        if (slug != null && !slug.isBlank()) {
+            slugs.add(slug.trim().toLowerCase());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.inventory.system.service.storefront;
+
+import com.inventory.system.common.entity.StorefrontCatalogChange;
+import com.inventory.system.config.tenant.TenantContext;
+import com.inventory.system.repository.StorefrontCatalogChangeRepository;
+import com.inventory.system.repository.StorefrontCatalogVersionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process index of every tenant's published storefront catalog, so a storefront listing
+ * filters, sorts and pages precomputed entries instead of loading and mapping the whole
+ * catalog on every request.
+ *
+ * <p>Each request reads the tenant's catalog version (one indexed lookup). When the index is
+ * behind, the versions it has not seen are replayed from the change log and only the changed
+ * templates are reloaded; a catalog-wide change, a gap in the log or a large backlog reloads
+ * the whole catalog. Reloads are single-flight per tenant. Because the version is committed
+ * together with the change, every instance sees a change on its first request after the
+ * commit without any cross-instance messaging.
+ */
+@Component
+public class StorefrontCatalogIndex {
+
+    /**
+     * Builds index entries for the current tenant's published catalog.
+     */
+    public interface Loader {
+
+        List<StorefrontCatalogEntry> loadAll();
+
+        /**
+         * Entries of those of {@code productTemplateIds} that are still published.
+         */
+        List<StorefrontCatalogEntry> loadTemplates(Collection<UUID> productTemplateIds);
+    }
+
+    /**
+     * Changed templates above which a full reload is cheaper than reloading them one set at a time.
+     */
+    static final int MAX_INCREMENTAL_TEMPLATES = 200;
+
+    private final StorefrontCatalogVersionRepository versionRepository;
+    private final StorefrontCatalogChangeRepository changeRepository;
+    private final ConcurrentHashMap<String, StorefrontCatalogSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Object> reloadLocks = new ConcurrentHashMap<>();
+    private final Counter fullReloads;
+    private final Counter incrementalReloads;
+
+    public StorefrontCatalogIndex(StorefrontCatalogVersionRepository versionRepository,
+                                  StorefrontCatalogChangeRepository changeRepository,
+                                  MeterRegistry meterRegistry) {
+        this.versionRepository = versionRepository;
+        this.changeRepository = changeRepository;
+        this.fullReloads = Counter.builder("storefront.catalog.index.reloads")
+                .tag("type", "full")
+                .description("Storefront catalog index reloads of a whole tenant catalog")
+                .register(meterRegistry);
+        this.incrementalReloads = Counter.builder("storefront.catalog.index.reloads")
+                .tag("type", "incremental")
+                .description("Storefront catalog index reloads of changed product templates only")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The current tenant's catalog at its latest committed version, brought up to date with
+     * {@code loader} when needed. Must run inside a transaction that {@code loader} can read in.
+     * A reader that saw an older version than the cached one gets the newer snapshot; a
+     * snapshot is never replaced by one built at a lower version.
+     */
+    public StorefrontCatalogSnapshot current(Loader loader) {
+        String tenantId = TenantContext.requireTenantId();
+        long version = versionRepository.findVersionByTenantId(tenantId).orElse(0L);
+        StorefrontCatalogSnapshot snapshot = snapshots.get(tenantId);
+        if (snapshot != null && snapshot.version() >= version) {
+            return snapshot;
+        }
+        synchronized (reloadLocks.computeIfAbsent(tenantId, ignored -> new Object())) {
+            snapshot = snapshots.get(tenantId);
+            if (snapshot != null && snapshot.version() >= version) {
+                return snapshot;
+            }
+            StorefrontCatalogSnapshot reloaded = reload(tenantId, snapshot, version, loader);
+            snapshots.put(tenantId, reloaded);
+            return reloaded;
+        }
+    }
+
+    private StorefrontCatalogSnapshot reload(String tenantId, StorefrontCatalogSnapshot previous, long version, Loader loader) {
+        Set<UUID> changedTemplateIds = previous != null ? changedTemplates(tenantId, previous.version(), version) : null;
+        if (changedTemplateIds == null) {
+            fullReloads.increment();
+            return StorefrontCatalogSnapshot.of(version, loader.loadAll());
+        }
+        incrementalReloads.increment();
+        return previous.withTemplates(version, changedTemplateIds, loader.loadTemplates(changedTemplateIds));
+    }
+
+    /**
+     * Templates changed after {@code fromVersion} up to {@code toVersion}, or null when they
+     * cannot be replayed and the whole catalog has to be reloaded.
+     */
+    private Set<UUID> changedTemplates(String tenantId, long fromVersion, long toVersion) {
+        if (toVersion <= fromVersion || toVersion - fromVersion > StorefrontCatalogChangeRecorder.RETAINED_VERSIONS) {
+            return null;
+        }
+        List<StorefrontCatalogChange> changes =
+                changeRepository.findByTenantIdAndVersionBetweenOrderByVersionAsc(tenantId, fromVersion + 1, toVersion);
+        if (changes.size() != toVersion - fromVersion) {
+            return null;
+        }
+        Set<UUID> templateIds = new LinkedHashSet<>();
+        for (StorefrontCatalogChange change : changes) {
+            if (change.getProductTemplateId() == null) {
+                return null;
+            }
+            templateIds.add(change.getProductTemplateId());
+        }
+        return templateIds.size() <= MAX_INCREMENTAL_TEMPLATES ? templateIds : null;
+    }
+}
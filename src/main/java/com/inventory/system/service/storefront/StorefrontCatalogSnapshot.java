@@ -0,0 +1,183 @@
+package com.inventory.system.service.storefront;
+
+import com.inventory.system.payload.StorefrontProductDto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * An immutable index of a tenant's published storefront catalog at one catalog version.
+ * Entries are kept in the storefront's base order (sort order, then newest variant first)
+ * and presorted once for every listing sort; collection slugs and search tokens map to the
+ * entries that carry them, so a listing only visits the entries that can match.
+ */
+public final class StorefrontCatalogSnapshot {
+
+    /**
+     * A page of entries and the number of entries that matched in total.
+     */
+    public record Page(List<StorefrontCatalogEntry> items, int totalItems) {}
+
+    private enum Sort { FEATURED, NAME, PRICE_ASC, PRICE_DESC }
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<StorefrontCatalogEntry> BASE_ORDER = Comparator
+            .comparingInt(StorefrontCatalogEntry::sortOrder)
+            .thenComparing(StorefrontCatalogEntry::newestVariantCreatedAt,
+                    Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+            .thenComparing(StorefrontCatalogEntry::productTemplateId);
+
+    private static final Comparator<StorefrontProductDto> BY_NAME =
+            Comparator.comparing(StorefrontProductDto::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+
+    private final long version;
+    private final List<StorefrontCatalogEntry> entries;
+    private final Map<UUID, StorefrontCatalogEntry> entriesByTemplate;
+    private final Map<Sort, int[]> orders = new HashMap<>();
+    private final Map<String, BitSet> entriesByCollection = new HashMap<>();
+    private final Map<String, BitSet> entriesByToken = new HashMap<>();
+
+    private StorefrontCatalogSnapshot(long version, Collection<StorefrontCatalogEntry> entries) {
+        this.version = version;
+        this.entries = entries.stream().sorted(BASE_ORDER).toList();
+        this.entriesByTemplate = new LinkedHashMap<>();
+        for (int position = 0; position < this.entries.size(); position++) {
+            StorefrontCatalogEntry entry = this.entries.get(position);
+            entriesByTemplate.put(entry.productTemplateId(), entry);
+            for (String slug : entry.collectionSlugs()) {
+                entriesByCollection.computeIfAbsent(slug, ignored -> new BitSet()).set(position);
+            }
+            for (String token : tokenize(entry.searchText())) {
+                entriesByToken.computeIfAbsent(token, ignored -> new BitSet()).set(position);
+            }
+        }
+        orders.put(Sort.FEATURED, order(Comparator
+                .comparing(StorefrontProductDto::getFeatured, Comparator.nullsLast(Boolean::compareTo)).reversed()
+                .thenComparing(BY_NAME)));
+        orders.put(Sort.NAME, order(BY_NAME));
+        orders.put(Sort.PRICE_ASC, order(
+                Comparator.comparing(StorefrontProductDto::getPrice, Comparator.nullsLast(BigDecimal::compareTo))));
+        orders.put(Sort.PRICE_DESC, order(
+                Comparator.comparing(StorefrontProductDto::getPrice, Comparator.nullsLast(BigDecimal::compareTo)).reversed()));
+    }
+
+    public static StorefrontCatalogSnapshot of(long version, Collection<StorefrontCatalogEntry> entries) {
+        return new StorefrontCatalogSnapshot(version, entries);
+    }
+
+    /**
+     * A snapshot at {@code newVersion} in which the given templates are replaced by
+     * {@code reloaded}; changed templates missing from {@code reloaded} are no longer published.
+     */
+    public StorefrontCatalogSnapshot withTemplates(long newVersion,
+                                                   Collection<UUID> changedTemplateIds,
+                                                   Collection<StorefrontCatalogEntry> reloaded) {
+        Map<UUID, StorefrontCatalogEntry> updated = new LinkedHashMap<>(entriesByTemplate);
+        changedTemplateIds.forEach(updated::remove);
+        reloaded.forEach(entry -> updated.put(entry.productTemplateId(), entry));
+        return new StorefrontCatalogSnapshot(newVersion, updated.values());
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Every entry, in base order.
+     */
+    public List<StorefrontCatalogEntry> entries() {
+        return entries;
+    }
+
+    /**
+     * The entry of a published template, or null.
+     */
+    public StorefrontCatalogEntry entry(UUID productTemplateId) {
+        return entriesByTemplate.get(productTemplateId);
+    }
+
+    /**
+     * Lists the entries whose search text contains {@code query} and that belong to
+     * {@code collectionSlug}, both ignoring case and optional, in the order named by
+     * {@code sort} ({@code name}, {@code price-asc}, {@code price-desc}, otherwise featured
+     * first and then by name), skipping {@code offset} matches.
+     */
+    public Page search(String query, String collectionSlug, String sort, int offset, int limit) {
+        BitSet candidates = null;
+        if (collectionSlug != null && !collectionSlug.isBlank()) {
+            candidates = copy(entriesByCollection.get(collectionSlug.trim().toLowerCase()));
+        }
+        String needle = query != null && !query.isBlank() ? query.trim().toLowerCase() : null;
+        if (needle != null) {
+            for (String token : tokenize(needle)) {
+                BitSet containing = new BitSet();
+                entriesByToken.forEach((indexed, positions) -> {
+                    if (indexed.contains(token)) {
+                        containing.or(positions);
+                    }
+                });
+                if (candidates == null) {
+                    candidates = containing;
+                } else {
+                    candidates.and(containing);
+                }
+            }
+        }
+
+        List<StorefrontCatalogEntry> items = new ArrayList<>();
+        int totalItems = 0;
+        for (int position : orders.get(parseSort(sort))) {
+            if (candidates != null && !candidates.get(position)) {
+                continue;
+            }
+            StorefrontCatalogEntry entry = entries.get(position);
+            if (needle != null && !entry.searchText().contains(needle)) {
+                continue;
+            }
+            if (totalItems >= offset && items.size() < limit) {
+                items.add(entry);
+            }
+            totalItems++;
+        }
+        return new Page(items, totalItems);
+    }
+
+    private int[] order(Comparator<StorefrontProductDto> comparator) {
+        List<Integer> positions = new ArrayList<>(entries.size());
+        for (int position = 0; position < entries.size(); position++) {
+            positions.add(position);
+        }
+        // List.sort is stable, so ties keep the base order.
+        positions.sort((left, right) -> comparator.compare(entries.get(left).product(), entries.get(right).product()));
+        return positions.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static Sort parseSort(String sort) {
+        String sortKey = sort == null ? "featured" : sort.trim().toLowerCase();
+        return switch (sortKey) {
+            case "name" -> Sort.NAME;
+            case "price-asc" -> Sort.PRICE_ASC;
+            case "price-desc" -> Sort.PRICE_DESC;
+            default -> Sort.FEATURED;
+        };
+    }
+
+    private static List<String> tokenize(String text) {
+        return TOKEN_SEPARATOR.splitAsStream(text).filter(token -> !token.isEmpty()).distinct().toList();
+    }
+
+    private static BitSet copy(BitSet positions) {
+        return positions != null ? (BitSet) positions.clone() : new BitSet();
+    }
+}
@@ -0,0 +1,52 @@
+package com.inventory.system.service.storefront;
+
+import com.inventory.system.config.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Increments the {@code storefront_cms_versions} counter on the caller's transaction, so the
+ * new version becomes visible together with the page change and is rolled back with it.
+ */
+@Component
+@RequiredArgsConstructor
+public class StorefrontCmsVersionRecorder {
+
+    private static final String CREATE_VERSION = """
+            INSERT INTO storefront_cms_versions (id, tenant_id, version, created_at, updated_at, created_by, updated_by)
+            VALUES (:id, :tenantId, 0, :now, :now, :auditor, :auditor)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String INCREMENT_VERSION = """
+            UPDATE storefront_cms_versions
+            SET version = version + 1, updated_at = :now, updated_by = :auditor
+            WHERE tenant_id = :tenantId
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final AuditorAware<String> auditorProvider;
+
+    /**
+     * Records one CMS page change for the current tenant.
+     */
+    @Transactional
+    public void record() {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("tenantId", TenantContext.requireTenantId())
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                .addValue("auditor", auditorProvider.getCurrentAuditor().orElse(null));
+        if (jdbcTemplate.update(INCREMENT_VERSION, parameters) == 0) {
+            jdbcTemplate.update(CREATE_VERSION, parameters.addValue("id", UUID.randomUUID()));
+            jdbcTemplate.update(INCREMENT_VERSION, parameters);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.inventory.system.service.storefront;
+
+import com.inventory.system.common.entity.ProductVariant;
+import com.inventory.system.common.entity.StorefrontProductSlug;
+import com.inventory.system.config.tenant.TenantContext;
+import com.inventory.system.repository.ProductVariantRepository;
+import com.inventory.system.repository.StorefrontProductSlugRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Keeps {@code storefront_product_slugs} in step with the published catalog. A reindex
+ * computes a template's slugs from its published variants, claims the ones no other
+ * product currently uses and retires the slugs it no longer uses, keeping them so old
+ * links can be redirected. A slug already used by another product stays with it.
+ */
+@Component
+@RequiredArgsConstructor
+public class StorefrontProductSlugIndexer {
+
+    private final ProductVariantRepository productVariantRepository;
+    private final StorefrontProductSlugRepository slugRepository;
+
+    /**
+     * Rewrites the slugs of one template of the current tenant. Reads pending changes to
+     * the template and its variants, so it can run just before they commit.
+     */
+    @Transactional
+    public void reindex(UUID productTemplateId) {
+        String tenantId = TenantContext.requireTenantId();
+        Map<String, UUID> slugs = publishedSlugs(productVariantRepository
+                .findByTenantIdAndTemplateIdInAndTemplatePublishedToStorefrontTrueAndTemplateIsActiveTrue(
+                        tenantId, List.of(productTemplateId)));
+
+        Map<String, StorefrontProductSlug> rows = new HashMap<>();
+        slugRepository.findByTenantIdAndProductTemplateId(tenantId, productTemplateId)
+                .forEach(row -> rows.put(row.getSlug(), row));
+        if (!slugs.isEmpty()) {
+            slugRepository.findByTenantIdAndSlugIn(tenantId, slugs.keySet())
+                    .forEach(row -> rows.putIfAbsent(row.getSlug(), row));
+        }
+
+        List<StorefrontProductSlug> changed = new ArrayList<>();
+        for (StorefrontProductSlug row : rows.values()) {
+            boolean ours = productTemplateId.equals(row.getProductTemplateId());
+            if (ours && !slugs.containsKey(row.getSlug()) && Boolean.TRUE.equals(row.getIsCurrent())) {
+                row.setIsCurrent(false);
+                changed.add(row);
+            }
+        }
+        slugs.forEach((slug, variantId) -> {
+            StorefrontProductSlug row = rows.get(slug);
+            if (row == null) {
+                row = new StorefrontProductSlug();
+                row.setSlug(slug);
+            } else if (!productTemplateId.equals(row.getProductTemplateId()) && Boolean.TRUE.equals(row.getIsCurrent())) {
+                return;
+            } else if (productTemplateId.equals(row.getProductTemplateId())
+                    && Objects.equals(variantId, row.getProductVariantId()) && Boolean.TRUE.equals(row.getIsCurrent())) {
+                return;
+            }
+            row.setProductTemplateId(productTemplateId);
+            row.setProductVariantId(variantId);
+            row.setIsCurrent(true);
+            changed.add(row);
+        });
+        slugRepository.saveAll(changed);
+    }
+
+    /**
+     * Lower-case slugs of a template's published variants: the template slug, mapped to no
+     * variant, and with several variants each variant's slug.
+     */
+    private static Map<String, UUID> publishedSlugs(List<ProductVariant> variants) {
+        Map<String, UUID> slugs = new LinkedHashMap<>();
+        if (variants.isEmpty()) {
+            return slugs;
+        }
+        putSlug(slugs, StorefrontProductSlugs.templateSlug(variants.get(0).getTemplate()), null);
+        if (variants.size() > 1) {
+            variants.stream()
+                    .sorted(Comparator.comparing(ProductVariant::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())))
+                    .forEach(variant -> putSlug(slugs, StorefrontProductSlugs.variantSlug(variant, variants.size()), variant.getId()));
+        }
+        return slugs;
+    }
+
+    private static void putSlug(Map<String, UUID> slugs, String slug, UUID variantId) {
+        if (slug != null && !slug.isBlank()) {
+            slugs.putIfAbsent(slug.toLowerCase(), variantId);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.inventory.system.service.storefront;
+
+import com.inventory.system.common.entity.ProductTemplate;
+import com.inventory.system.common.entity.ProductVariant;
+
+import java.util.regex.Pattern;
+
+/**
+ * The storefront's product slug rules, shared by product rendering and the slug index.
+ */
+public final class StorefrontProductSlugs {
+
+    private static final Pattern SLUG_NON_ALNUM = Pattern.compile("[^a-z0-9]+");
+
+    private StorefrontProductSlugs() {
+    }
+
+    public static String slugify(String value) {
+        String normalized = value == null ? "" : value.trim().toLowerCase();
+        String slug = SLUG_NON_ALNUM.matcher(normalized).replaceAll("-");
+        return slug.replaceAll("(^-|-$)", "");
+    }
+
+    /**
+     * The template's storefront slug, else its slugified storefront title or name.
+     */
+    public static String templateSlug(ProductTemplate template) {
+        return template.getStorefrontSlug() != null && !template.getStorefrontSlug().isBlank()
+                ? template.getStorefrontSlug()
+                : slugify(template.getStorefrontTitle() != null && !template.getStorefrontTitle().isBlank()
+                ? template.getStorefrontTitle()
+                : template.getName());
+    }
+
+    /**
+     * The variant's slug: the template slug when it is the template's only published
+     * variant, otherwise the template slug and SKU slugified together.
+     */
+    public static String variantSlug(ProductVariant variant, int publishedSiblings) {
+        String templateSlug = templateSlug(variant.getTemplate());
+        if (publishedSiblings <= 1) {
+            return templateSlug;
+        }
+        return slugify(templateSlug + "-" + variant.getSku());
+    }
+}
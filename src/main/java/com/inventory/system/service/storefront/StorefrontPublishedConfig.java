@@ -0,0 +1,18 @@
+package com.inventory.system.service.storefront;
+
+import com.inventory.system.payload.StorefrontConfigDto;
+
+/**
+ * The public storefront config of a tenant as served, parsed from publish version
+ * {@code versionNumber} and enriched with the tenant's domains. {@code eTag} is a strong entity
+ * tag that changes whenever the publish version or the domains do; it is null for a tenant
+ * that has not published yet, whose config is derived from the draft on every request.
+ *
+ * <p>Instances are shared between requests and must not be modified.
+ */
+public record StorefrontPublishedConfig(int versionNumber, String eTag, StorefrontConfigDto config) {
+
+    public static StorefrontPublishedConfig unpublished(StorefrontConfigDto config) {
+        return new StorefrontPublishedConfig(0, null, config);
+    }
+}
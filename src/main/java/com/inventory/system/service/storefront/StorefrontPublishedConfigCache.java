@@ -0,0 +1,99 @@
+package com.inventory.system.service.storefront;
+
+import com.inventory.system.config.scaling.CacheInvalidationBus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache of each tenant's published storefront config, so public config requests
+ * do not re-read and re-parse the publish snapshot or query the domain tables. An entry is
+ * dropped on every instance through the {@link CacheInvalidationBus} when the tenant
+ * publishes, rolls back, changes its domains or toggles the storefront module (see
+ * {@code StorefrontPublishedConfigInvalidator}), and lives at most
+ * {@code app.storefront.config-cache-ttl-seconds} (default 300) in case a broadcast is lost.
+ *
+ * <p>A load that overlaps an invalidation is returned to its caller but not kept, so an
+ * entry read before a publish committed cannot outlive the invalidation.
+ */
+@Component
+public class StorefrontPublishedConfigCache {
+
+    public static final String CACHE = "storefront.published-config";
+
+    private record Holder(StorefrontPublishedConfig value, long expiresAtMillis) {}
+
+    private final ConcurrentHashMap<String, Holder> entries = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final CacheInvalidationBus invalidationBus;
+    private final long ttlMillis;
+    private final Counter hits;
+    private final Counter misses;
+
+    public StorefrontPublishedConfigCache(CacheInvalidationBus invalidationBus,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${app.storefront.config-cache-ttl-seconds:300}") long ttlSeconds) {
+        this.invalidationBus = invalidationBus;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.hits = Counter.builder("storefront.config.cache.hits")
+                .description("Public storefront config requests served from the cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("storefront.config.cache.misses")
+                .description("Public storefront config requests that loaded the published config")
+                .register(meterRegistry);
+        invalidationBus.register(CACHE, this::evict);
+    }
+
+    /**
+     * Returns the cached config of {@code tenantId}, or null when none is cached or it expired.
+     */
+    public StorefrontPublishedConfig getIfPresent(String tenantId) {
+        Holder holder = entries.get(tenantId);
+        if (holder == null || holder.expiresAtMillis() <= System.currentTimeMillis()) {
+            return null;
+        }
+        hits.increment();
+        return holder.value();
+    }
+
+    /**
+     * Loads the config of {@code tenantId} with {@code loader} and caches it. A null result,
+     * for a tenant that has not published, is not cached.
+     */
+    public StorefrontPublishedConfig load(String tenantId, Supplier<StorefrontPublishedConfig> loader) {
+        misses.increment();
+        long generation = invalidations.get();
+        StorefrontPublishedConfig loaded = loader.get();
+        if (loaded != null && ttlMillis > 0) {
+            Holder holder = new Holder(loaded, System.currentTimeMillis() + ttlMillis);
+            entries.put(tenantId, holder);
+            if (invalidations.get() != generation) {
+                entries.remove(tenantId, holder);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the config of {@code tenantId} on every instance.
+     */
+    public void invalidate(String tenantId) {
+        invalidationBus.invalidate(CACHE, tenantId);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict(String tenantId) {
+        invalidations.incrementAndGet();
+        if (tenantId != null) {
+            entries.remove(tenantId);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.inventory.system.service.storefront;
+
+import com.inventory.system.config.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP validators and caching headers for the public storefront GET endpoints, computed
+ * from the tenant's version counters before the response is built: the catalog version for
+ * collections and products, the CMS version for pages and the publish version for the
+ * config. The counters and the storefront module flag are read with one query, so a
+ * request whose {@code If-None-Match} or {@code If-Modified-Since} still matches is
+ * answered with 304 without building the response.
+ *
+ * <p>Product responses include available-to-promise, which changes without a catalog
+ * change, so their validators also roll over every
+ * {@code app.storefront.http-cache.availability-window-seconds} (default 60) and shared
+ * caches keep them no longer than that. Everything else may be kept by shared caches for
+ * {@code app.storefront.http-cache.shared-max-age-seconds} (default 60) and served stale
+ * for {@code app.storefront.http-cache.stale-while-revalidate-seconds} (default 300) while
+ * they revalidate; browsers always revalidate.
+ *
+ * <p>Tenants without the storefront module get no validators, so their requests reach the
+ * service and its 404.
+ */
+@Component
+public class StorefrontResponseValidators {
+
+    private static final String STOREFRONT_MODULE_ENABLED_KEY = "tenant.modules.storefront.enabled";
+
+    private static final String VERSIONS = """
+            SELECT s.setting_value AS storefront_enabled,
+                   c.version AS catalog_version, COALESCE(c.updated_at, c.created_at) AS catalog_updated_at,
+                   m.version AS cms_version, COALESCE(m.updated_at, m.created_at) AS cms_updated_at
+            FROM (SELECT CAST(:tenantId AS VARCHAR(255)) AS tenant_id) t
+            LEFT JOIN tenant_settings s ON s.tenant_id = t.tenant_id AND s.setting_key = :moduleKey
+            LEFT JOIN storefront_catalog_versions c ON c.tenant_id = t.tenant_id
+            LEFT JOIN storefront_cms_versions m ON m.tenant_id = t.tenant_id
+            """;
+
+    /**
+     * The validators and caching headers of one response.
+     */
+    public record Validators(String eTag, Instant lastModified, CacheControl cacheControl, List<String> surrogateKeys) {
+
+        /**
+         * Whether the request's conditional headers match, so it can be answered with 304.
+         * {@code If-None-Match} takes precedence over {@code If-Modified-Since}.
+         */
+        public boolean notModified(WebRequest request) {
+            String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+            if (ifNoneMatch != null) {
+                for (String candidate : ifNoneMatch.split(",")) {
+                    String tag = candidate.trim();
+                    tag = tag.startsWith("W/") ? tag.substring(2) : tag;
+                    if (tag.equals("*") || tag.equals(eTag)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            String ifModifiedSince = request.getHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            if (ifModifiedSince == null || lastModified == null) {
+                return false;
+            }
+            try {
+                Instant since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                return lastModified.getEpochSecond() <= since.getEpochSecond();
+            } catch (DateTimeParseException ignored) {
+                return false;
+            }
+        }
+
+        public Validators withSurrogateKey(String key) {
+            List<String> keys = new ArrayList<>(surrogateKeys);
+            keys.add(key);
+            return new Validators(eTag, lastModified, cacheControl, List.copyOf(keys));
+        }
+
+        public HttpHeaders headers() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setETag(eTag);
+            if (lastModified != null) {
+                headers.setLastModified(lastModified);
+            }
+            headers.setCacheControl(cacheControl);
+            headers.set(StorefrontSurrogateKeys.HEADER, String.join(" ", surrogateKeys));
+            return headers;
+        }
+    }
+
+    private record Versions(long catalogVersion, Instant catalogUpdatedAt, long cmsVersion, Instant cmsUpdatedAt) {}
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final long sharedMaxAgeSeconds;
+    private final long staleWhileRevalidateSeconds;
+    private final long availabilityWindowSeconds;
+
+    public StorefrontResponseValidators(NamedParameterJdbcTemplate jdbcTemplate,
+                                        @Value("${app.storefront.http-cache.shared-max-age-seconds:60}") long sharedMaxAgeSeconds,
+                                        @Value("${app.storefront.http-cache.stale-while-revalidate-seconds:300}") long staleWhileRevalidateSeconds,
+                                        @Value("${app.storefront.http-cache.availability-window-seconds:60}") long availabilityWindowSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sharedMaxAgeSeconds = sharedMaxAgeSeconds;
+        this.staleWhileRevalidateSeconds = staleWhileRevalidateSeconds;
+        this.availabilityWindowSeconds = Math.max(1, availabilityWindowSeconds);
+    }
+
+    public Optional<Validators> collections() {
+        String tenantId = TenantContext.getTenantId();
+        return versions(tenantId).map(versions -> new Validators(
+                "\"c" + versions.catalogVersion() + "\"",
+                versions.catalogUpdatedAt(),
+                cacheControl(sharedMaxAgeSeconds),
+                List.of(StorefrontSurrogateKeys.tenant(tenantId), StorefrontSurrogateKeys.catalog(tenantId))));
+    }
+
+    /**
+     * Validators for product listings and product pages, which include availability.
+     */
+    public Optional<Validators> products() {
+        String tenantId = TenantContext.getTenantId();
+        long now = System.currentTimeMillis() / 1000L;
+        long window = now / availabilityWindowSeconds;
+        Instant windowStart = Instant.ofEpochSecond(window * availabilityWindowSeconds);
+        return versions(tenantId).map(versions -> new Validators(
+                "\"c" + versions.catalogVersion() + "-a" + window + "\"",
+                versions.catalogUpdatedAt() != null && versions.catalogUpdatedAt().isAfter(windowStart)
+                        ? versions.catalogUpdatedAt()
+                        : windowStart,
+                cacheControl(Math.min(sharedMaxAgeSeconds, availabilityWindowSeconds)),
+                List.of(StorefrontSurrogateKeys.tenant(tenantId), StorefrontSurrogateKeys.catalog(tenantId))));
+    }
+
+    public Optional<Validators> page(String slug) {
+        String tenantId = TenantContext.getTenantId();
+        return versions(tenantId).map(versions -> new Validators(
+                "\"m" + versions.cmsVersion() + "\"",
+                versions.cmsUpdatedAt(),
+                cacheControl(sharedMaxAgeSeconds),
+                List.of(StorefrontSurrogateKeys.tenant(tenantId), StorefrontSurrogateKeys.cms(tenantId),
+                        StorefrontSurrogateKeys.page(tenantId, slug))));
+    }
+
+    /**
+     * Validators for the public config, from its cached publish version. A config that is
+     * not published yet has no validators.
+     */
+    public Optional<Validators> config(StorefrontPublishedConfig published) {
+        String tenantId = TenantContext.getTenantId();
+        if (published.eTag() == null || tenantId == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new Validators(
+                published.eTag(),
+                null,
+                cacheControl(sharedMaxAgeSeconds),
+                List.of(StorefrontSurrogateKeys.tenant(tenantId), StorefrontSurrogateKeys.config(tenantId))));
+    }
+
+    private CacheControl cacheControl(long sharedMaxAge) {
+        return CacheControl.maxAge(0, TimeUnit.SECONDS)
+                .sMaxAge(sharedMaxAge, TimeUnit.SECONDS)
+                .staleWhileRevalidate(staleWhileRevalidateSeconds, TimeUnit.SECONDS)
+                .cachePublic();
+    }
+
+    private Optional<Versions> versions(String tenantId) {
+        if (tenantId == null || tenantId.isBlank()) {
+            return Optional.empty();
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("tenantId", tenantId)
+                .addValue("moduleKey", STOREFRONT_MODULE_ENABLED_KEY);
+        return jdbcTemplate.query(VERSIONS, parameters, rows -> {
+            if (!rows.next() || !Boolean.parseBoolean(trim(rows.getString("storefront_enabled")))) {
+                return Optional.empty();
+            }
+            return Optional.of(new Versions(
+                    rows.getLong("catalog_version"),
+                    toInstant(rows.getTimestamp("catalog_updated_at")),
+                    rows.getLong("cms_version"),
+                    toInstant(rows.getTimestamp("cms_updated_at"))));
+        });
+    }
+
+    private static String trim(String value) {
+        return value != null ? value.trim() : null;
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime().atZone(ZoneId.systemDefault()).toInstant() : null;
+    }
+}
@@ -0,0 +1,42 @@
+package com.inventory.system.service.storefront;
+
+/**
+ * Surrogate keys attached to cacheable public storefront responses, so a CDN purge can
+ * target everything of a tenant or only what one change affects. Every response carries
+ * {@link #tenant} plus the keys of the content it was built from.
+ */
+public final class StorefrontSurrogateKeys {
+
+    public static final String HEADER = "Surrogate-Key";
+
+    private StorefrontSurrogateKeys() {
+    }
+
+    public static String tenant(String tenantId) {
+        return "sf-" + tenantId;
+    }
+
+    /** The published theme and site config; purge after a publish, rollback or domain change. */
+    public static String config(String tenantId) {
+        return tenant(tenantId) + "-config";
+    }
+
+    /** Collections and product listings; purge after any catalog change. */
+    public static String catalog(String tenantId) {
+        return tenant(tenantId) + "-catalog";
+    }
+
+    /** One product page; purge after an edit of that product template. */
+    public static String product(String tenantId, String productTemplateId) {
+        return tenant(tenantId) + "-product-" + productTemplateId;
+    }
+
+    /** CMS pages; purge after a page is created, edited or deleted. */
+    public static String cms(String tenantId) {
+        return tenant(tenantId) + "-cms";
+    }
+
+    public static String page(String tenantId, String slug) {
+        return cms(tenantId) + "-" + slug;
+    }
+}
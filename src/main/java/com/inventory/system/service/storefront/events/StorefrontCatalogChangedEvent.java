@@ -0,0 +1,12 @@
+package com.inventory.system.service.storefront.events;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Raised when something shown in the storefront catalog changes: a product template, its
+ * variants, attributes or images. {@code productTemplateId} is null when the change can
+ * affect any product, such as a category edit.
+ */
+public record StorefrontCatalogChangedEvent(UUID productTemplateId, Instant occurredAt) {
+}
@@ -0,0 +1,10 @@
+package com.inventory.system.service.storefront.events;
+
+import java.time.Instant;
+
+/**
+ * Raised when a tenant publishes its storefront theme or rolls back to an earlier publish,
+ * which creates publish version {@code versionNumber}.
+ */
+public record StorefrontConfigPublishedEvent(String tenantId, int versionNumber, Instant occurredAt) {
+}
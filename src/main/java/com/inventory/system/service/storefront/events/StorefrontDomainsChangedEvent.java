@@ -0,0 +1,12 @@
+package com.inventory.system.service.storefront.events;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Raised when storefront domains of a tenant are added, verified, activated or removed, and
+ * when a tenant's platform subdomain is renamed or the tenant is activated, deactivated or deleted.
+ * {@code hostnames} lists every hostname whose state may have changed.
+ */
+public record StorefrontDomainsChangedEvent(String tenantId, List<String> hostnames, Instant occurredAt) {
+}
@@ -0,0 +1,30 @@
+package com.inventory.system.service.storefront.listeners;
+
+import com.inventory.system.service.storefront.StorefrontCatalogChangeRecorder;
+import com.inventory.system.service.storefront.StorefrontProductSlugIndexer;
+import com.inventory.system.service.storefront.events.StorefrontCatalogChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Records catalog changes just before the transaction that made them commits, so the new
+ * catalog version and the changed product's slugs become visible together with the change
+ * and are rolled back with it.
+ */
+@Component
+@RequiredArgsConstructor
+public class StorefrontCatalogChangeListener {
+
+    private final StorefrontCatalogChangeRecorder recorder;
+    private final StorefrontProductSlugIndexer slugIndexer;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(StorefrontCatalogChangedEvent event) {
+        recorder.record(event.productTemplateId());
+        if (event.productTemplateId() != null) {
+            slugIndexer.reindex(event.productTemplateId());
+        }
+    }
+}
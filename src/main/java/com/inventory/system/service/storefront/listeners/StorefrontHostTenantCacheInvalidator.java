@@ -0,0 +1,24 @@
+package com.inventory.system.service.storefront.listeners;
+
+import com.inventory.system.config.tenant.StorefrontHostTenantCache;
+import com.inventory.system.service.storefront.events.StorefrontDomainsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops cached host to tenant resolutions of the changed hostnames once a storefront domain
+ * change has committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class StorefrontHostTenantCacheInvalidator {
+
+    private final StorefrontHostTenantCache hostTenantCache;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDomainsChanged(StorefrontDomainsChangedEvent event) {
+        hostTenantCache.invalidate(event.hostnames());
+    }
+}
@@ -0,0 +1,40 @@
+package com.inventory.system.service.storefront.listeners;
+
+import com.inventory.system.service.TenantSettingChangedEvent;
+import com.inventory.system.service.storefront.StorefrontPublishedConfigCache;
+import com.inventory.system.service.storefront.events.StorefrontConfigPublishedEvent;
+import com.inventory.system.service.storefront.events.StorefrontDomainsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops a tenant's cached public storefront config once a publish, rollback, domain change
+ * or storefront module toggle has committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class StorefrontPublishedConfigInvalidator {
+
+    static final String STOREFRONT_MODULE_ENABLED_KEY = "tenant.modules.storefront.enabled";
+
+    private final StorefrontPublishedConfigCache publishedConfigCache;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onConfigPublished(StorefrontConfigPublishedEvent event) {
+        publishedConfigCache.invalidate(event.tenantId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDomainsChanged(StorefrontDomainsChangedEvent event) {
+        publishedConfigCache.invalidate(event.tenantId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTenantSettingChanged(TenantSettingChangedEvent event) {
+        if (STOREFRONT_MODULE_ENABLED_KEY.equals(event.key())) {
+            publishedConfigCache.invalidate(event.tenantId());
+        }
+    }
+}
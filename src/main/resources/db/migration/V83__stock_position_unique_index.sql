@@ -0,0 +1,48 @@
+-- V83: One row per inventory position so StockMutationEngine can apply deltas with a
+-- single conditional UPDATE / INSERT ... ON CONFLICT instead of read-modify-write.
+-- A position is (tenant, variant, warehouse, location, batch, status); NULL location /
+-- batch are folded to the nil UUID so they participate in uniqueness.
+
+-- 1. Merge any duplicate positions left behind by the old find-or-create path
+WITH grouped AS (
+    SELECT (array_agg(id ORDER BY created_at NULLS LAST, id))[1] AS keep_id,
+           SUM(quantity) AS total_quantity,
+           tenant_id,
+           product_variant_id,
+           warehouse_id,
+           COALESCE(storage_location_id, '00000000-0000-0000-0000-000000000000'::uuid) AS location_key,
+           COALESCE(batch_id, '00000000-0000-0000-0000-000000000000'::uuid) AS batch_key,
+           status
+    FROM stocks
+    GROUP BY tenant_id,
+             product_variant_id,
+             warehouse_id,
+             COALESCE(storage_location_id, '00000000-0000-0000-0000-000000000000'::uuid),
+             COALESCE(batch_id, '00000000-0000-0000-0000-000000000000'::uuid),
+             status
+    HAVING COUNT(*) > 1
+), merged AS (
+    UPDATE stocks s
+    SET quantity = g.total_quantity
+    FROM grouped g
+    WHERE s.id = g.keep_id
+    RETURNING s.id
+)
+DELETE FROM stocks s
+USING grouped g
+WHERE s.tenant_id = g.tenant_id
+  AND s.product_variant_id = g.product_variant_id
+  AND s.warehouse_id = g.warehouse_id
+  AND COALESCE(s.storage_location_id, '00000000-0000-0000-0000-000000000000'::uuid) = g.location_key
+  AND COALESCE(s.batch_id, '00000000-0000-0000-0000-000000000000'::uuid) = g.batch_key
+  AND s.status = g.status
+  AND s.id <> g.keep_id;
+
+-- 2. Conflict target for the position upsert
+CREATE UNIQUE INDEX IF NOT EXISTS ux_stocks_position
+    ON stocks (tenant_id,
+               product_variant_id,
+               warehouse_id,
+               (COALESCE(storage_location_id, '00000000-0000-0000-0000-000000000000'::uuid)),
+               (COALESCE(batch_id, '00000000-0000-0000-0000-000000000000'::uuid)),
+               status);
@@ -0,0 +1,63 @@
+-- V84: Materialized available-to-promise. One row per (tenant, variant, warehouse) with nil
+-- location/batch keys for the warehouse total, plus one row per position that has a storage
+-- location and/or batch. on_hand tracks AVAILABLE stock, reserved tracks ACTIVE/PENDING
+-- reservations; reservations decrement it with a conditional UPDATE so they cannot oversell.
+CREATE TABLE stock_availability (
+    id                 UUID PRIMARY KEY,
+    tenant_id          VARCHAR(255)   NOT NULL,
+    product_variant_id UUID           NOT NULL REFERENCES product_variants (id),
+    warehouse_id       UUID           NOT NULL REFERENCES warehouses (id),
+    location_key       UUID           NOT NULL,
+    batch_key          UUID           NOT NULL,
+    on_hand            NUMERIC(19, 6) NOT NULL DEFAULT 0,
+    reserved           NUMERIC(19, 6) NOT NULL DEFAULT 0,
+    created_at         TIMESTAMP      NOT NULL DEFAULT now(),
+    updated_at         TIMESTAMP,
+    created_by         VARCHAR(255),
+    updated_by         VARCHAR(255),
+    CONSTRAINT ux_stock_availability_key
+        UNIQUE (tenant_id, product_variant_id, warehouse_id, location_key, batch_key)
+);
+
+CREATE INDEX idx_stock_availability_variant ON stock_availability (tenant_id, product_variant_id);
+
+-- Backfill from current stock and open reservations
+WITH on_hand AS (
+    SELECT tenant_id, product_variant_id, warehouse_id,
+           '00000000-0000-0000-0000-000000000000'::uuid AS location_key,
+           '00000000-0000-0000-0000-000000000000'::uuid AS batch_key,
+           SUM(quantity) AS quantity
+    FROM stocks
+    WHERE status = 'AVAILABLE'
+    GROUP BY tenant_id, product_variant_id, warehouse_id
+    UNION ALL
+    SELECT tenant_id, product_variant_id, warehouse_id,
+           COALESCE(storage_location_id, '00000000-0000-0000-0000-000000000000'::uuid),
+           COALESCE(batch_id, '00000000-0000-0000-0000-000000000000'::uuid),
+           SUM(quantity)
+    FROM stocks
+    WHERE status = 'AVAILABLE' AND (storage_location_id IS NOT NULL OR batch_id IS NOT NULL)
+    GROUP BY tenant_id, product_variant_id, warehouse_id, storage_location_id, batch_id
+), reserved AS (
+    SELECT tenant_id, product_variant_id, warehouse_id,
+           '00000000-0000-0000-0000-000000000000'::uuid AS location_key,
+           '00000000-0000-0000-0000-000000000000'::uuid AS batch_key,
+           SUM(quantity) AS quantity
+    FROM stock_reservations
+    WHERE status IN ('ACTIVE', 'PENDING')
+    GROUP BY tenant_id, product_variant_id, warehouse_id
+    UNION ALL
+    SELECT tenant_id, product_variant_id, warehouse_id,
+           COALESCE(storage_location_id, '00000000-0000-0000-0000-000000000000'::uuid),
+           COALESCE(batch_id, '00000000-0000-0000-0000-000000000000'::uuid),
+           SUM(quantity)
+    FROM stock_reservations
+    WHERE status IN ('ACTIVE', 'PENDING') AND (storage_location_id IS NOT NULL OR batch_id IS NOT NULL)
+    GROUP BY tenant_id, product_variant_id, warehouse_id, storage_location_id, batch_id
+)
+INSERT INTO stock_availability (id, tenant_id, product_variant_id, warehouse_id, location_key, batch_key,
+                                on_hand, reserved, created_at, updated_at)
+SELECT gen_random_uuid(), tenant_id, product_variant_id, warehouse_id, location_key, batch_key,
+       COALESCE(o.quantity, 0), COALESCE(r.quantity, 0), now(), now()
+FROM on_hand o
+FULL OUTER JOIN reserved r USING (tenant_id, product_variant_id, warehouse_id, location_key, batch_key);
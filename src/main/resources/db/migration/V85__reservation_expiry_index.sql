@@ -0,0 +1,6 @@
+-- V85: Partial index for the reservation expiry sweeper. Only ACTIVE reservations with an
+-- expiry are candidates, so the index stays small no matter how many reservations have
+-- already been released, fulfilled or expired.
+CREATE INDEX IF NOT EXISTS idx_stock_reservations_active_expiry
+    ON stock_reservations (tenant_id, expires_at)
+    WHERE status = 'ACTIVE' AND expires_at IS NOT NULL;
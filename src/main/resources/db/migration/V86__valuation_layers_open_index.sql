@@ -0,0 +1,5 @@
+-- V86: Open-layer cursor for FIFO/LIFO costing. Fully consumed layers drop out of the index,
+-- so finding the next layers to draw from costs the same however long the receipt history is.
+CREATE INDEX IF NOT EXISTS idx_valuation_layers_open
+    ON inventory_valuation_layers (tenant_id, product_variant_id, warehouse_id, received_date, id)
+    WHERE quantity_remaining > 0;
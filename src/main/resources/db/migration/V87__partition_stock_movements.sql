@@ -0,0 +1,162 @@
+-- V87: Store the append-only movement ledger in monthly range partitions on created_at so
+-- date-bounded reads (keyset movement pages, movement reports, reorder-point history)
+-- only scan the months they ask for, and cold months can be detached and archived as a
+-- metadata-only operation. Partitions are named stock_movements_pYYYYMM and are created
+-- ahead of time by StockMovementPartitionMaintainer through ensure_stock_movement_partitions();
+-- a DEFAULT partition catches anything outside the prepared range so inserts never fail.
+
+-- 1. created_at is the partition key, so it must be set on every row
+UPDATE stock_movements SET created_at = COALESCE(updated_at, now()) WHERE created_at IS NULL;
+
+ALTER TABLE stock_movements RENAME TO stock_movements_legacy;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_constraint
+               WHERE conrelid = 'stock_movements_legacy'::regclass AND conname = 'stock_movements_pkey') THEN
+        ALTER TABLE stock_movements_legacy RENAME CONSTRAINT stock_movements_pkey TO stock_movements_legacy_pkey;
+    END IF;
+END $$;
+
+-- 2. Partitioned parent. The primary key must include the partition key; ids stay unique
+-- because they are random UUIDs. stock_movement_serial_numbers can no longer reference
+-- stock_movements (id) with a foreign key: links are written in the same transaction as
+-- their movement.
+ALTER TABLE stock_movement_serial_numbers DROP CONSTRAINT IF EXISTS fk_smsn_movement;
+
+CREATE TABLE stock_movements (
+    id UUID NOT NULL,
+    product_variant_id UUID NOT NULL,
+    warehouse_id UUID NOT NULL,
+    storage_location_id UUID,
+    batch_id UUID,
+    quantity NUMERIC(19, 6) NOT NULL,
+    unit_cost NUMERIC(19, 6),
+    total_cost NUMERIC(19, 6),
+    type VARCHAR(50) NOT NULL,
+    reason TEXT,
+    reference_id VARCHAR(255),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    tenant_id VARCHAR(255) NOT NULL,
+    CONSTRAINT stock_movements_pkey PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_movement_variant FOREIGN KEY (product_variant_id) REFERENCES product_variants (id),
+    CONSTRAINT fk_movement_warehouse FOREIGN KEY (warehouse_id) REFERENCES warehouses (id),
+    CONSTRAINT fk_movement_location FOREIGN KEY (storage_location_id) REFERENCES storage_locations (id),
+    CONSTRAINT fk_movement_batch FOREIGN KEY (batch_id) REFERENCES batches (id)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE stock_movements_default PARTITION OF stock_movements DEFAULT;
+
+-- 3. Indexes are declared on the parent and created on every partition
+CREATE INDEX idx_stock_movements_tenant_created
+    ON stock_movements (tenant_id, created_at DESC, id DESC);
+CREATE INDEX idx_stock_movements_warehouse_created
+    ON stock_movements (tenant_id, warehouse_id, created_at DESC, id DESC);
+CREATE INDEX idx_stock_movements_variant_created
+    ON stock_movements (tenant_id, product_variant_id, warehouse_id, created_at DESC);
+CREATE INDEX idx_stock_movements_batch ON stock_movements (batch_id) WHERE batch_id IS NOT NULL;
+CREATE INDEX idx_stock_movements_reference ON stock_movements (tenant_id, reference_id) WHERE reference_id IS NOT NULL;
+
+CREATE SCHEMA IF NOT EXISTS stock_movement_archive;
+
+-- 4. Creates the monthly partition holding month_start, moving any rows that already
+-- landed in the DEFAULT partition for that month. Returns true when a partition was created.
+CREATE OR REPLACE FUNCTION create_stock_movement_partition(month_start DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    lower_bound TIMESTAMP := date_trunc('month', month_start);
+    upper_bound TIMESTAMP := date_trunc('month', month_start) + INTERVAL '1 month';
+    partition_name TEXT := 'stock_movements_p' || to_char(month_start, 'YYYYMM');
+BEGIN
+    IF to_regclass('public.' || partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM stock_movements_default
+               WHERE created_at >= lower_bound AND created_at < upper_bound) THEN
+        EXECUTE format('CREATE TABLE %I (LIKE stock_movements INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+        EXECUTE format('WITH moved AS (DELETE FROM stock_movements_default '
+                       'WHERE created_at >= %L AND created_at < %L RETURNING *) '
+                       'INSERT INTO %I SELECT * FROM moved', lower_bound, upper_bound, partition_name);
+        EXECUTE format('ALTER TABLE stock_movements ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, lower_bound, upper_bound);
+    ELSE
+        EXECUTE format('CREATE TABLE %I PARTITION OF stock_movements FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, lower_bound, upper_bound);
+    END IF;
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 5. Ensures partitions exist from the current month through months_ahead months ahead.
+-- Returns the number of partitions created.
+CREATE OR REPLACE FUNCTION ensure_stock_movement_partitions(months_ahead INTEGER) RETURNS INTEGER AS $$
+DECLARE
+    created INTEGER := 0;
+    month_start DATE;
+BEGIN
+    FOR i IN 0..months_ahead LOOP
+        month_start := (date_trunc('month', now()) + make_interval(months => i))::date;
+        IF create_stock_movement_partition(month_start) THEN
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 6. Detaches monthly partitions that ended more than retention_months ago and moves them
+-- to the stock_movement_archive schema, where they can be dumped or dropped. Retention is
+-- database-wide: on the shared database it applies to every tenant stored there.
+-- Returns the number of partitions archived.
+CREATE OR REPLACE FUNCTION archive_stock_movement_partitions(retention_months INTEGER) RETURNS INTEGER AS $$
+DECLARE
+    archived INTEGER := 0;
+    cutoff DATE := (date_trunc('month', now()) - make_interval(months => retention_months))::date;
+    expired RECORD;
+BEGIN
+    FOR expired IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        JOIN pg_namespace n ON n.oid = c.relnamespace
+        WHERE i.inhparent = 'public.stock_movements'::regclass
+          AND n.nspname = 'public'
+          AND c.relname ~ '^stock_movements_p[0-9]{6}$'
+          AND to_date(substring(c.relname FROM 18), 'YYYYMM') + INTERVAL '1 month' <= cutoff
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE stock_movements DETACH PARTITION %I', expired.relname);
+        EXECUTE format('ALTER TABLE %I SET SCHEMA stock_movement_archive', expired.relname);
+        archived := archived + 1;
+    END LOOP;
+    RETURN archived;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 7. Partitions for the existing history and the next three months, then copy the ledger
+DO $$
+DECLARE
+    first_month DATE;
+    month_start DATE;
+BEGIN
+    SELECT date_trunc('month', MIN(created_at))::date INTO first_month FROM stock_movements_legacy;
+    month_start := COALESCE(first_month, date_trunc('month', now())::date);
+    WHILE month_start < date_trunc('month', now())::date LOOP
+        PERFORM create_stock_movement_partition(month_start);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+    PERFORM ensure_stock_movement_partitions(3);
+END $$;
+
+INSERT INTO stock_movements (id, product_variant_id, warehouse_id, storage_location_id, batch_id, quantity,
+                             unit_cost, total_cost, type, reason, reference_id, created_at, updated_at,
+                             created_by, updated_by, tenant_id)
+SELECT id, product_variant_id, warehouse_id, storage_location_id, batch_id, quantity,
+       unit_cost, total_cost, type, reason, reference_id, created_at, updated_at,
+       created_by, updated_by, tenant_id
+FROM stock_movements_legacy;
+
+DROP TABLE stock_movements_legacy;
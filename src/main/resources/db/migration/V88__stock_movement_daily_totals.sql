@@ -0,0 +1,35 @@
+-- V88: Daily movement rollup. One row per (tenant, variant, warehouse, day, movement type)
+-- with the summed quantity and cost of that day's movements, so date-range questions
+-- (turnover, average daily usage, outbound since a date) read one row per day instead of
+-- every movement. Rows are upserted in the same transaction as the movements they count
+-- and re-aggregated from stock_movements for recent days by StockMovementRollupMaintainer.
+CREATE TABLE stock_movement_daily_totals (
+    id                 UUID PRIMARY KEY,
+    tenant_id          VARCHAR(255)   NOT NULL,
+    product_variant_id UUID           NOT NULL REFERENCES product_variants (id),
+    warehouse_id       UUID           NOT NULL REFERENCES warehouses (id),
+    movement_date      DATE           NOT NULL,
+    movement_type      VARCHAR(50)    NOT NULL,
+    quantity           NUMERIC(19, 6) NOT NULL DEFAULT 0,
+    total_cost         NUMERIC(19, 6) NOT NULL DEFAULT 0,
+    movement_count     BIGINT         NOT NULL DEFAULT 0,
+    created_at         TIMESTAMP      NOT NULL DEFAULT now(),
+    updated_at         TIMESTAMP,
+    created_by         VARCHAR(255),
+    updated_by         VARCHAR(255),
+    CONSTRAINT ux_stock_movement_daily_totals_key
+        UNIQUE (tenant_id, product_variant_id, warehouse_id, movement_date, movement_type)
+);
+
+CREATE INDEX idx_stock_movement_daily_totals_warehouse
+    ON stock_movement_daily_totals (tenant_id, warehouse_id, movement_date);
+CREATE INDEX idx_stock_movement_daily_totals_date
+    ON stock_movement_daily_totals (tenant_id, movement_date);
+
+-- Backfill the whole ledger
+INSERT INTO stock_movement_daily_totals (id, tenant_id, product_variant_id, warehouse_id, movement_date,
+                                         movement_type, quantity, total_cost, movement_count, created_at, updated_at)
+SELECT gen_random_uuid(), tenant_id, product_variant_id, warehouse_id, created_at::date, type,
+       SUM(quantity), COALESCE(SUM(total_cost), 0), COUNT(*), now(), now()
+FROM stock_movements
+GROUP BY tenant_id, product_variant_id, warehouse_id, created_at::date, type;
@@ -0,0 +1,38 @@
+-- V89: Background report jobs. A job row tracks one report or dataset export from
+-- submission to its stored file; request_hash identifies identical requests so a second
+-- submission while the first is queued or running returns the same job.
+CREATE TABLE report_jobs (
+    id            UUID PRIMARY KEY,
+    tenant_id     VARCHAR(255) NOT NULL,
+    report_type   VARCHAR(50)  NOT NULL,
+    output_format VARCHAR(20)  NOT NULL,
+    dataset       VARCHAR(50),
+    status        VARCHAR(20)  NOT NULL,
+    request_json  TEXT,
+    request_hash  VARCHAR(64)  NOT NULL,
+    requested_at  TIMESTAMP    NOT NULL,
+    started_at    TIMESTAMP,
+    heartbeat_at  TIMESTAMP,
+    completed_at  TIMESTAMP,
+    expires_at    TIMESTAMP,
+    rows_written  BIGINT       NOT NULL DEFAULT 0,
+    file_name     VARCHAR(255) NOT NULL,
+    content_type  VARCHAR(255) NOT NULL,
+    file_key      VARCHAR(1024),
+    file_size     BIGINT,
+    error_message TEXT,
+    created_at    TIMESTAMP    NOT NULL DEFAULT now(),
+    updated_at    TIMESTAMP,
+    created_by    VARCHAR(255),
+    updated_by    VARCHAR(255)
+);
+
+-- At most one queued or running job per identical request
+CREATE UNIQUE INDEX ux_report_jobs_in_flight
+    ON report_jobs (tenant_id, request_hash)
+    WHERE status IN ('QUEUED', 'RUNNING');
+
+CREATE INDEX idx_report_jobs_status
+    ON report_jobs (tenant_id, status, requested_at);
+CREATE INDEX idx_report_jobs_created
+    ON report_jobs (tenant_id, created_at DESC);
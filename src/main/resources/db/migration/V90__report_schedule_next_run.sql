@@ -0,0 +1,9 @@
+-- V90: Precomputed next run time of each scheduled report configuration. The scheduler
+-- reads only rows whose next_run_at has passed and claims each one by advancing it, so
+-- several instances can poll without running a schedule twice. Existing schedules start
+-- with NULL and are given their first run time by the scheduler on its next poll.
+ALTER TABLE report_configurations ADD COLUMN IF NOT EXISTS next_run_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_report_configurations_next_run
+    ON report_configurations (next_run_at)
+    WHERE is_active = TRUE AND schedule_cron IS NOT NULL;
@@ -0,0 +1,50 @@
+-- V91: Materialized stock alerts. One row per enabled replenishment rule whose
+-- available-to-promise quantity (on hand minus reserved, from the stock_availability
+-- warehouse total) is at or below the rule's minimum or above its maximum. Rows are
+-- rewritten by StockAlertEvaluator with one joined statement when stock, reservations or
+-- rules change, so the alert feed and dashboards read them instead of evaluating rules.
+CREATE TABLE stock_alerts (
+    id                    UUID PRIMARY KEY,
+    tenant_id             VARCHAR(255)   NOT NULL,
+    replenishment_rule_id UUID           NOT NULL REFERENCES replenishment_rules (id) ON DELETE CASCADE,
+    product_variant_id    UUID           NOT NULL REFERENCES product_variants (id),
+    warehouse_id          UUID           NOT NULL REFERENCES warehouses (id),
+    status                VARCHAR(20)    NOT NULL,
+    current_stock         NUMERIC(19, 6) NOT NULL,
+    min_stock             NUMERIC(19, 6) NOT NULL,
+    max_stock             NUMERIC(19, 6) NOT NULL,
+    suggested_quantity    NUMERIC(19, 6) NOT NULL,
+    evaluated_at          TIMESTAMP      NOT NULL,
+    created_at            TIMESTAMP      NOT NULL DEFAULT now(),
+    updated_at            TIMESTAMP,
+    created_by            VARCHAR(255),
+    updated_by            VARCHAR(255),
+    CONSTRAINT ux_stock_alerts_rule UNIQUE (tenant_id, replenishment_rule_id)
+);
+
+CREATE INDEX idx_stock_alerts_variant_warehouse
+    ON stock_alerts (tenant_id, product_variant_id, warehouse_id);
+CREATE INDEX idx_stock_alerts_warehouse_status
+    ON stock_alerts (tenant_id, warehouse_id, status);
+
+-- Rules are re-evaluated per variant and warehouse on every stock change
+CREATE INDEX IF NOT EXISTS idx_replenishment_rules_variant_warehouse
+    ON replenishment_rules (tenant_id, product_variant_id, warehouse_id);
+
+-- Backfill from the current rules and availability
+INSERT INTO stock_alerts (id, tenant_id, replenishment_rule_id, product_variant_id, warehouse_id, status,
+                          current_stock, min_stock, max_stock, suggested_quantity, evaluated_at,
+                          created_at, updated_at)
+SELECT gen_random_uuid(), tenant_id, rule_id, product_variant_id, warehouse_id,
+       CASE WHEN available <= min_stock THEN 'BELOW_MIN' ELSE 'ABOVE_MAX' END,
+       available, min_stock, max_stock, GREATEST(max_stock - available, 0), now(), now(), now()
+FROM (SELECT r.tenant_id, r.id AS rule_id, r.product_variant_id, r.warehouse_id, r.min_stock, r.max_stock,
+             COALESCE(a.on_hand - a.reserved, 0) AS available
+      FROM replenishment_rules r
+      LEFT JOIN stock_availability a
+             ON a.tenant_id = r.tenant_id AND a.product_variant_id = r.product_variant_id
+            AND a.warehouse_id = r.warehouse_id
+            AND a.location_key = '00000000-0000-0000-0000-000000000000'
+            AND a.batch_key = '00000000-0000-0000-0000-000000000000'
+      WHERE r.is_enabled = TRUE) evaluated
+WHERE available <= min_stock OR available > max_stock;
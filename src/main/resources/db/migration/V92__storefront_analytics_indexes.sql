@@ -0,0 +1,14 @@
+-- V92: Indexes for the windowed storefront analytics queries, so their cost follows the
+-- number of orders and accounts in the requested date range rather than the whole history.
+CREATE INDEX IF NOT EXISTS idx_sales_orders_channel_order_date
+    ON sales_orders (tenant_id, sales_channel, order_date);
+
+-- Conversion: does a new account's customer have a storefront order in the range
+CREATE INDEX IF NOT EXISTS idx_sales_orders_customer_order_date
+    ON sales_orders (customer_id, order_date);
+
+CREATE INDEX IF NOT EXISTS idx_sales_order_items_sales_order
+    ON sales_order_items (sales_order_id);
+
+CREATE INDEX IF NOT EXISTS idx_storefront_accounts_created_at
+    ON storefront_accounts (tenant_id, created_at);
@@ -0,0 +1,29 @@
+-- V93: Storefront catalog versions. Every change to published products, images or
+-- categories increments the tenant's catalog version and logs the changed product template
+-- (NULL for catalog-wide changes) in the same transaction. Each instance keeps an in-memory
+-- catalog index and replays the logged versions it has not seen, reloading only the
+-- changed templates, instead of rebuilding the catalog on every storefront request.
+CREATE TABLE storefront_catalog_versions (
+    id         UUID PRIMARY KEY,
+    tenant_id  VARCHAR(255) NOT NULL,
+    version    BIGINT       NOT NULL,
+    created_at TIMESTAMP    NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    CONSTRAINT ux_storefront_catalog_versions_tenant UNIQUE (tenant_id)
+);
+
+CREATE TABLE storefront_catalog_changes (
+    id                  UUID PRIMARY KEY,
+    tenant_id           VARCHAR(255) NOT NULL,
+    version             BIGINT       NOT NULL,
+    product_template_id UUID,
+    created_at          TIMESTAMP    NOT NULL DEFAULT now(),
+    updated_at          TIMESTAMP,
+    created_by          VARCHAR(255),
+    updated_by          VARCHAR(255)
+);
+
+CREATE INDEX idx_storefront_catalog_changes_version
+    ON storefront_catalog_changes (tenant_id, version);
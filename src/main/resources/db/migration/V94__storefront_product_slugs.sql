@@ -0,0 +1,63 @@
+-- V94: Storefront product slug index. Product detail resolves a slug with one lookup on
+-- (tenant_id, slug) instead of building the slug of every published variant. Rows are
+-- rewritten in the transaction of every product change; slugs a product stops using stay
+-- behind with is_current = FALSE so old links redirect to the product's current slug.
+CREATE TABLE storefront_product_slugs (
+    id                  UUID PRIMARY KEY,
+    tenant_id           VARCHAR(255) NOT NULL,
+    slug                VARCHAR(255) NOT NULL,
+    product_template_id UUID         NOT NULL,
+    product_variant_id  UUID,
+    is_current          BOOLEAN      NOT NULL DEFAULT TRUE,
+    created_at          TIMESTAMP    NOT NULL DEFAULT now(),
+    updated_at          TIMESTAMP,
+    created_by          VARCHAR(255),
+    updated_by          VARCHAR(255),
+    CONSTRAINT ux_storefront_product_slugs_slug UNIQUE (tenant_id, slug)
+);
+
+CREATE INDEX idx_storefront_product_slugs_template
+    ON storefront_product_slugs (tenant_id, product_template_id);
+
+-- Backfill the published catalog with the storefront's slug rules: the template's own
+-- storefront slug, else its slugified storefront title or name; templates with several
+-- published variants also get "<template slug>-<sku>" slugified per variant. On a clash
+-- the product listed first keeps the slug.
+WITH published AS (
+    SELECT t.tenant_id,
+           t.id AS template_id,
+           v.id AS variant_id,
+           v.sku,
+           COUNT(*) OVER (PARTITION BY t.id) AS variant_count,
+           ROW_NUMBER() OVER (PARTITION BY t.id ORDER BY v.created_at DESC) AS variant_rank,
+           CASE
+               WHEN NULLIF(TRIM(t.storefront_slug), '') IS NOT NULL THEN t.storefront_slug
+               ELSE BTRIM(REGEXP_REPLACE(LOWER(TRIM(COALESCE(NULLIF(TRIM(t.storefront_title), ''), t.name))),
+                                         '[^a-z0-9]+', '-', 'g'), '-')
+           END AS template_slug,
+           COALESCE(t.storefront_sort_order, 2147483647) AS sort_order,
+           MAX(v.created_at) OVER (PARTITION BY t.id) AS newest_variant_at
+    FROM product_variants v
+    JOIN product_templates t ON t.id = v.template_id
+    WHERE t.published_to_storefront = TRUE AND t.is_active = TRUE
+),
+slugs AS (
+    SELECT tenant_id, template_id, NULL::UUID AS variant_id, LOWER(template_slug) AS slug, sort_order, newest_variant_at
+    FROM published
+    WHERE variant_rank = 1
+    UNION ALL
+    SELECT tenant_id, template_id, variant_id,
+           BTRIM(REGEXP_REPLACE(LOWER(TRIM(template_slug || '-' || sku)), '[^a-z0-9]+', '-', 'g'), '-'),
+           sort_order, newest_variant_at
+    FROM published
+    WHERE variant_count > 1
+),
+ranked AS (
+    SELECT DISTINCT ON (tenant_id, slug) tenant_id, template_id, variant_id, slug
+    FROM slugs
+    WHERE slug <> ''
+    ORDER BY tenant_id, slug, sort_order, newest_variant_at DESC, variant_id NULLS FIRST
+)
+INSERT INTO storefront_product_slugs (id, tenant_id, slug, product_template_id, product_variant_id, is_current)
+SELECT gen_random_uuid(), tenant_id, slug, template_id, variant_id, TRUE
+FROM ranked;
@@ -0,0 +1,14 @@
+-- V95: Storefront CMS versions. Every CMS page create, update or delete increments the
+-- tenant's CMS version in the same transaction. Together with the catalog version (V93)
+-- and the publish version number it lets public storefront responses carry ETag and
+-- Last-Modified validators that are read with one lookup instead of rebuilding the response.
+CREATE TABLE storefront_cms_versions (
+    id         UUID PRIMARY KEY,
+    tenant_id  VARCHAR(255) NOT NULL,
+    version    BIGINT       NOT NULL,
+    created_at TIMESTAMP    NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    CONSTRAINT ux_storefront_cms_versions_tenant UNIQUE (tenant_id)
+);
@@ -0,0 +1,65 @@
+package com.inventory.system.config.tenant;
+
+import com.inventory.system.config.scaling.CacheInvalidationBus;
+import com.inventory.system.service.StorefrontDomainService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StorefrontHostTenantCacheTest {
+
+    private StorefrontDomainService storefrontDomainService;
+    private StorefrontHostTenantCache cache;
+
+    @BeforeEach
+    void setUp() {
+        storefrontDomainService = mock(StorefrontDomainService.class);
+        when(storefrontDomainService.resolveTenantIdForHost("shop.example.com")).thenReturn(Optional.of("tenant-a"));
+        when(storefrontDomainService.resolveTenantIdForHost("unknown.example.com")).thenReturn(Optional.empty());
+        cache = new StorefrontHostTenantCache(storefrontDomainService, new CacheInvalidationBus(null, false),
+                new SimpleMeterRegistry(), 2, 300, 60);
+    }
+
+    @Test
+    void resolve_CachesKnownAndUnknownHosts() {
+        assertEquals(Optional.of("tenant-a"), cache.resolve("Shop.Example.com:443"));
+        assertEquals(Optional.of("tenant-a"), cache.resolve("shop.example.com"));
+        assertEquals(Optional.empty(), cache.resolve("unknown.example.com"));
+        assertEquals(Optional.empty(), cache.resolve("https://UNKNOWN.example.com/"));
+
+        verify(storefrontDomainService, times(1)).resolveTenantIdForHost("shop.example.com");
+        verify(storefrontDomainService, times(1)).resolveTenantIdForHost("unknown.example.com");
+    }
+
+    @Test
+    void invalidate_DropsOnlyTheChangedHosts() {
+        cache.resolve("shop.example.com");
+        cache.resolve("unknown.example.com");
+        when(storefrontDomainService.resolveTenantIdForHost("unknown.example.com")).thenReturn(Optional.of("tenant-b"));
+
+        cache.invalidate(List.of("Unknown.Example.com"));
+
+        assertEquals(1, cache.size());
+        assertEquals(Optional.of("tenant-b"), cache.resolve("unknown.example.com"));
+        cache.resolve("shop.example.com");
+        verify(storefrontDomainService, times(1)).resolveTenantIdForHost("shop.example.com");
+    }
+
+    @Test
+    void resolve_KeepsAtMostMaxEntriesHosts() {
+        for (int i = 0; i < 10; i++) {
+            cache.resolve("bot-" + i + ".example.com");
+        }
+
+        assertEquals(2, cache.size());
+    }
+}
@@ -37,6 +37,7 @@ class TenantContextFilterConcurrencyTest {
         TenantContextFilter filter = new TenantContextFilter(
                 entityManagerWithTenantFilter(),
                 mock(StorefrontDomainService.class),
+                mock(StorefrontHostTenantCache.class),
                 mock(JwtService.class));
         ExecutorService executor = Executors.newFixedThreadPool(2);
         CountDownLatch ready = new CountDownLatch(2);
@@ -1,9 +1,14 @@
 package com.inventory.system.controller;
 
+import com.inventory.system.common.entity.TenantSetting;
 import com.inventory.system.common.exception.StorefrontModuleDisabledException;
 import com.inventory.system.common.exception.StorefrontModuleUnavailableException;
+import com.inventory.system.config.tenant.TenantContext;
+import com.inventory.system.payload.StorefrontConfigDto;
+import com.inventory.system.repository.TenantSettingRepository;
 import com.inventory.system.service.StorefrontDomainService;
 import com.inventory.system.service.StorefrontService;
+import com.inventory.system.service.storefront.StorefrontPublishedConfig;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -14,10 +19,16 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -42,6 +53,9 @@ class StorefrontControllerFeatureGateTest {
     @MockBean
     private JavaMailSender javaMailSender;
 
+    @Autowired
+    private TenantSettingRepository tenantSettingRepository;
+
     @Test
     @WithMockUser(authorities = "MENU:ANALYTICS")
     void getAdminConfig_returnsForbiddenWhenStorefrontModuleDisabled() throws Exception {
@@ -57,7 +71,7 @@ class StorefrontControllerFeatureGateTest {
     void getPublicConfig_returnsNotFoundWhenStorefrontModuleDisabled() throws Exception {
         when(storefrontDomainService.isLocalDevelopmentHost("localhost")).thenReturn(true);
         when(storefrontDomainService.resolveTenantIdForHost("tenant-a.local")).thenReturn(Optional.of("tenant-a"));
-        when(storefrontService.getPublicConfig()).thenThrow(new StorefrontModuleUnavailableException());
+        when(storefrontService.getPublishedConfig()).thenThrow(new StorefrontModuleUnavailableException());
 
         mockMvc.perform(get("/api/v1/storefront/public/config")
                         .header("X-Storefront-Host", "tenant-a.local"))
@@ -65,6 +79,56 @@ class StorefrontControllerFeatureGateTest {
                 .andExpect(jsonPath("$.success").value(false));
     }
 
+    @Test
+    void getPublicConfig_returnsNotModifiedWhenETagMatches() throws Exception {
+        when(storefrontDomainService.isLocalDevelopmentHost("localhost")).thenReturn(true);
+        when(storefrontDomainService.resolveTenantIdForHost("tenant-a.local")).thenReturn(Optional.of("tenant-a"));
+        when(storefrontService.getPublishedConfig())
+                .thenReturn(new StorefrontPublishedConfig(3, "\"3-1a2b\"", new StorefrontConfigDto()));
+
+        mockMvc.perform(get("/api/v1/storefront/public/config")
+                        .header("X-Storefront-Host", "tenant-a.local"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3-1a2b\""))
+                .andExpect(header().string("Cache-Control", containsString("stale-while-revalidate=300")))
+                .andExpect(header().string("Surrogate-Key", "sf-tenant-a sf-tenant-a-config"));
+
+        mockMvc.perform(get("/api/v1/storefront/public/config")
+                        .header("X-Storefront-Host", "tenant-a.local")
+                        .header("If-None-Match", "\"3-1a2b\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getPublicCollections_returnsNotModifiedBeforeLoadingCollections() throws Exception {
+        String tenantId = "tenant-" + UUID.randomUUID();
+        TenantContext.runWithTenant(tenantId, () -> {
+            TenantSetting setting = new TenantSetting();
+            setting.setTenantId(tenantId);
+            setting.setSettingKey("tenant.modules.storefront.enabled");
+            setting.setSettingValue("true");
+            setting.setSettingType("BOOLEAN");
+            tenantSettingRepository.save(setting);
+        });
+        when(storefrontDomainService.isLocalDevelopmentHost("localhost")).thenReturn(true);
+        when(storefrontDomainService.resolveTenantIdForHost("tenant-b.local")).thenReturn(Optional.of(tenantId));
+        when(storefrontService.getPublicCollections()).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/v1/storefront/public/collections")
+                        .header("X-Storefront-Host", "tenant-b.local"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"c0\""))
+                .andExpect(header().string("Surrogate-Key", "sf-" + tenantId + " sf-" + tenantId + "-catalog"));
+
+        mockMvc.perform(get("/api/v1/storefront/public/collections")
+                        .header("X-Storefront-Host", "tenant-b.local")
+                        .header("If-None-Match", "\"c0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Cache-Control", containsString("s-maxage=60")));
+
+        verify(storefrontService, times(1)).getPublicCollections();
+    }
+
     @Test
     void getAssetFile_requiresAuthentication() throws Exception {
         mockMvc.perform(get("/api/v1/storefront/assets/file")
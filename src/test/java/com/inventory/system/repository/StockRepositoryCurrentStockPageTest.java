@@ -0,0 +1,157 @@
+package com.inventory.system.repository;
+
+import com.inventory.system.common.entity.InventoryValuationLayer;
+import com.inventory.system.common.entity.ProductTemplate;
+import com.inventory.system.common.entity.ProductVariant;
+import com.inventory.system.common.entity.Stock;
+import com.inventory.system.common.entity.StockStatus;
+import com.inventory.system.common.entity.Warehouse;
+import com.inventory.system.config.JpaAuditingConfiguration;
+import com.inventory.system.config.tenant.TenantContext;
+import com.inventory.system.repository.projection.CurrentStockPosition;
+import com.inventory.system.service.inventory.AvailableToPromiseProjection;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the grouped current-stock queries against H2: keyset pages must walk the same rows in
+ * the same order as the unpaged stream, including the runs of rows that share a SKU, and the
+ * layer unit cost must be the quantity-weighted average of the open layers.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaAuditingConfiguration.class)
+class StockRepositoryCurrentStockPageTest {
+
+    private static final UUID TOTAL = AvailableToPromiseProjection.WAREHOUSE_TOTAL;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private ProductTemplate template;
+
+    @BeforeEach
+    void setTenant() {
+        TenantContext.setTenantId("stock-page-tenant");
+        template = new ProductTemplate();
+        template.setName("Widget");
+        em.persist(template);
+    }
+
+    @AfterEach
+    void clearTenant() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void keysetPages_WalkEveryRowOnceAcrossRowsSharingASku() {
+        List<Warehouse> warehouses = List.of(warehouse("North"), warehouse("South"), warehouse("East"));
+        for (String sku : List.of("SKU-B", "SKU-A", "SKU-C")) {
+            ProductVariant variant = variant(sku);
+            for (Warehouse warehouse : warehouses) {
+                stock(variant, warehouse, StockStatus.AVAILABLE, BigDecimal.TEN);
+                stock(variant, warehouse, StockStatus.QUARANTINE, BigDecimal.ONE);
+            }
+        }
+        em.flush();
+        em.clear();
+
+        List<String> expected;
+        try (Stream<CurrentStockPosition> rows = stockRepository.streamCurrentStock(null, null, TOTAL)) {
+            expected = rows.map(this::key).toList();
+        }
+        assertThat(expected).hasSize(18);
+
+        // Pages of 4 split each SKU's six rows across two pages
+        List<String> walked = new ArrayList<>();
+        PageRequest four = PageRequest.of(0, 4);
+        List<CurrentStockPosition> page = stockRepository.findCurrentStockFirstPage(null, null, TOTAL, four);
+        while (!page.isEmpty()) {
+            page.forEach(row -> walked.add(key(row)));
+            CurrentStockPosition last = page.get(page.size() - 1);
+            page = stockRepository.findCurrentStockPageAfter(null, null, TOTAL,
+                    last.getProductVariantSku(), last.getProductVariantId(), last.getWarehouseId(), last.getStockStatus(),
+                    four);
+        }
+
+        assertThat(walked).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void layerUnitCost_IsTheQuantityWeightedAverageOfTheOpenLayers() {
+        Warehouse warehouse = warehouse("North");
+        ProductVariant variant = variant("SKU-FIFO");
+        stock(variant, warehouse, StockStatus.AVAILABLE, new BigDecimal("8"));
+        layer(variant, warehouse, new BigDecimal("2"), new BigDecimal("10"));
+        layer(variant, warehouse, new BigDecimal("6"), new BigDecimal("20"));
+        layer(variant, warehouse, BigDecimal.ZERO, new BigDecimal("99"));
+        em.flush();
+        em.clear();
+
+        List<CurrentStockPosition> rows = stockRepository.findCurrentStockFirstPage(null, variant.getId(), TOTAL,
+                PageRequest.of(0, 10));
+
+        assertThat(rows).hasSize(1);
+        // (2 * 10 + 6 * 20) / 8, not the 140 the layers are worth in total
+        assertThat(rows.get(0).getLayerUnitCost()).isEqualByComparingTo("17.5");
+    }
+
+    private String key(CurrentStockPosition row) {
+        return row.getProductVariantSku() + "/" + row.getWarehouseName() + "/" + row.getStockStatus();
+    }
+
+    private Warehouse warehouse(String name) {
+        Warehouse warehouse = new Warehouse();
+        warehouse.setName(name);
+        warehouse.setType("STANDARD");
+        em.persist(warehouse);
+        return warehouse;
+    }
+
+    private ProductVariant variant(String sku) {
+        ProductVariant variant = new ProductVariant();
+        variant.setSku(sku);
+        variant.setPrice(BigDecimal.ONE);
+        variant.setTemplate(template);
+        em.persist(variant);
+        return variant;
+    }
+
+    private void stock(ProductVariant variant, Warehouse warehouse, StockStatus status, BigDecimal quantity) {
+        Stock stock = new Stock();
+        stock.setProductVariant(variant);
+        stock.setWarehouse(warehouse);
+        stock.setStatus(status);
+        stock.setQuantity(quantity);
+        em.persist(stock);
+    }
+
+    private void layer(ProductVariant variant, Warehouse warehouse, BigDecimal quantity, BigDecimal unitCost) {
+        InventoryValuationLayer layer = new InventoryValuationLayer();
+        layer.setProductVariant(variant);
+        layer.setWarehouse(warehouse);
+        layer.setQuantityRemaining(quantity);
+        layer.setUnitCost(unitCost);
+        layer.setReceivedDate(LocalDateTime.now());
+        em.persist(layer);
+    }
+}
@@ -0,0 +1,121 @@
+package com.inventory.system.repository;
+
+import com.inventory.system.common.entity.ProductTemplate;
+import com.inventory.system.common.entity.ProductVariant;
+import com.inventory.system.common.entity.Stock;
+import com.inventory.system.common.entity.StockStatus;
+import com.inventory.system.common.entity.Warehouse;
+import com.inventory.system.config.JpaAuditingConfiguration;
+import com.inventory.system.config.tenant.TenantContext;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the used-capacity reconcile against H2: only warehouses whose stock has settled and
+ * that have no buffered delta may be reset to the stock sum.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaAuditingConfiguration.class)
+class WarehouseRepositoryReconcileTest {
+
+    private static final String TENANT = "capacity-reconcile-tenant";
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private ProductVariant variant;
+
+    @BeforeEach
+    void setTenant() {
+        TenantContext.setTenantId(TENANT);
+        ProductTemplate template = new ProductTemplate();
+        template.setName("Widget");
+        em.persist(template);
+        variant = new ProductVariant();
+        variant.setSku("CAP-" + UUID.randomUUID());
+        variant.setPrice(BigDecimal.ONE);
+        variant.setTemplate(template);
+        em.persist(variant);
+    }
+
+    @AfterEach
+    void clearTenant() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void reconcile_ResetsOnlySettledWarehouses() {
+        Warehouse settled = warehouse("Settled", new BigDecimal("3"));
+        Warehouse recentlyChanged = warehouse("Recent", new BigDecimal("3"));
+        stock(settled, new BigDecimal("8"));
+        stock(recentlyChanged, new BigDecimal("8"));
+        em.flush();
+        LocalDateTime changedAt = LocalDateTime.now();
+        em.createQuery("update Stock s set s.updatedAt = :at where s.warehouse.id = :warehouseId")
+                .setParameter("at", changedAt.minusHours(1))
+                .setParameter("warehouseId", settled.getId())
+                .executeUpdate();
+
+        int corrected = warehouseRepository.reconcileUsedCapacity(TENANT, changedAt.minusMinutes(10), false, Set.of());
+
+        assertThat(corrected).isEqualTo(1);
+        assertThat(usedCapacity(settled)).isEqualByComparingTo("8");
+        // Its delta may still be buffered on another instance
+        assertThat(usedCapacity(recentlyChanged)).isEqualByComparingTo("3");
+    }
+
+    @Test
+    void reconcile_LeavesBusyWarehousesAlone() {
+        Warehouse busy = warehouse("Busy", new BigDecimal("3"));
+        Warehouse idle = warehouse("Idle", new BigDecimal("3"));
+        stock(busy, new BigDecimal("8"));
+        stock(idle, new BigDecimal("8"));
+        em.flush();
+
+        int corrected = warehouseRepository.reconcileUsedCapacity(TENANT, LocalDateTime.now().plusMinutes(1),
+                true, Set.of(busy.getId()));
+
+        assertThat(corrected).isEqualTo(1);
+        assertThat(usedCapacity(busy)).isEqualByComparingTo("3");
+        assertThat(usedCapacity(idle)).isEqualByComparingTo("8");
+    }
+
+    private BigDecimal usedCapacity(Warehouse warehouse) {
+        return warehouseRepository.findById(warehouse.getId()).orElseThrow().getUsedCapacity();
+    }
+
+    private Warehouse warehouse(String name, BigDecimal usedCapacity) {
+        Warehouse warehouse = new Warehouse();
+        warehouse.setName(name);
+        warehouse.setType("STANDARD");
+        warehouse.setUsedCapacity(usedCapacity);
+        em.persist(warehouse);
+        return warehouse;
+    }
+
+    private void stock(Warehouse warehouse, BigDecimal quantity) {
+        Stock stock = new Stock();
+        stock.setProductVariant(variant);
+        stock.setWarehouse(warehouse);
+        stock.setStatus(StockStatus.AVAILABLE);
+        stock.setQuantity(quantity);
+        em.persist(stock);
+    }
+}
@@ -4,7 +4,6 @@ import com.inventory.system.common.entity.InventoryValuationLayer;
 import com.inventory.system.common.entity.ProductCost;
 import com.inventory.system.common.entity.ProductTemplate;
 import com.inventory.system.common.entity.ProductVariant;
-import com.inventory.system.common.entity.Stock;
 import com.inventory.system.common.entity.StockMovement;
 import com.inventory.system.common.entity.TenantSetting;
 import com.inventory.system.common.entity.ValuationMethod;
@@ -14,6 +13,7 @@ import com.inventory.system.payload.TenantSettingDto;
 import com.inventory.system.repository.InventoryValuationLayerRepository;
 import com.inventory.system.repository.ProductCostRepository;
 import com.inventory.system.repository.StockRepository;
+import com.inventory.system.repository.projection.VariantWarehouseValuation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,7 +22,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -31,10 +34,16 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -137,7 +146,7 @@ public class InventoryValuationServiceImplTest {
         layer2.setQuantityRemaining(new BigDecimal("10"));
         layer2.setUnitCost(new BigDecimal("60"));
 
-        when(layerRepository.findLayersForFifo(productVariant.getId(), warehouse.getId()))
+        when(layerRepository.findOpenLayersFifo(eq(productVariant.getId()), eq(warehouse.getId()), any(Pageable.class)))
                 .thenReturn(List.of(layer1, layer2));
 
         // Outbound: 8 units
@@ -151,23 +160,81 @@ public class InventoryValuationServiceImplTest {
         assertEquals(new BigDecimal("7"), layer2.getQuantityRemaining());
         assertEquals(new BigDecimal("430"), movement.getTotalCost());
         assertEquals(new BigDecimal("53.750000"), movement.getUnitCost());
-        verify(layerRepository).save(layer1);
-        verify(layerRepository).save(layer2);
+        verify(layerRepository).saveAll(argThat(layers -> {
+            List<InventoryValuationLayer> saved = new ArrayList<>();
+            layers.forEach(saved::add);
+            return saved.equals(List.of(layer1, layer2));
+        }));
     }
 
     @Test
-    void getValuationReport() {
+    void processOutbound_LIFO_StopsPagingOnceQuantityIsCovered() {
+        TenantSettingDto setting = TenantSettingDto.builder().value("LIFO").build();
+        when(tenantSettingService.findSetting("INVENTORY_VALUATION_METHOD")).thenReturn(Optional.of(setting));
+
+        // A full page of open layers, newest first: 1 @ 70, then 15 x 1 @ 40
+        List<InventoryValuationLayer> page = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            InventoryValuationLayer layer = new InventoryValuationLayer();
+            layer.setQuantityRemaining(BigDecimal.ONE);
+            layer.setUnitCost(i == 0 ? new BigDecimal("70") : new BigDecimal("40"));
+            page.add(layer);
+        }
+        when(layerRepository.findOpenLayersLifo(eq(productVariant.getId()), eq(warehouse.getId()), any(Pageable.class)))
+                .thenReturn(page);
+
+        // Outbound: 2 units = 70 + 40
+        movement.setQuantity(new BigDecimal("2"));
+
+        valuationService.processOutbound(movement);
+
+        assertEquals(new BigDecimal("110"), movement.getTotalCost());
+        verify(layerRepository, never()).findOpenLayersLifoBefore(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void processBatch_FIFO_ConsumesLayersReceivedInSameBatch() {
         TenantSettingDto setting = TenantSettingDto.builder().value("FIFO").build();
         when(tenantSettingService.findSetting("INVENTORY_VALUATION_METHOD")).thenReturn(Optional.of(setting));
 
-        Stock stock = new Stock();
-        stock.setProductVariant(productVariant);
-        stock.setWarehouse(warehouse);
-        stock.setQuantity(new BigDecimal("10"));
+        // Open layer: 5 @ 50
+        InventoryValuationLayer existing = new InventoryValuationLayer();
+        existing.setQuantityRemaining(new BigDecimal("5"));
+        existing.setUnitCost(new BigDecimal("50"));
+        when(layerRepository.findOpenLayersFifo(eq(productVariant.getId()), eq(warehouse.getId()), any(Pageable.class)))
+                .thenReturn(List.of(existing));
+
+        // Receive 10 @ 60, then ship 8: 5 @ 50 (250) + 3 @ 60 (180) = 430
+        StockMovement shipment = new StockMovement();
+        shipment.setProductVariant(productVariant);
+        shipment.setWarehouse(warehouse);
+        shipment.setQuantity(new BigDecimal("8"));
+
+        valuationService.processBatch(List.of(
+                new InventoryValuationService.BatchLine(movement, new BigDecimal("10"), new BigDecimal("60"), true, new BigDecimal("10")),
+                new InventoryValuationService.BatchLine(shipment, new BigDecimal("8"), null, false, new BigDecimal("-8"))));
+
+        assertEquals(BigDecimal.ZERO, existing.getQuantityRemaining());
+        assertEquals(new BigDecimal("430"), shipment.getTotalCost());
+        assertEquals(new BigDecimal("53.750000"), shipment.getUnitCost());
+        assertEquals(new BigDecimal("600"), movement.getTotalCost());
+        verify(layerRepository, times(1)).findOpenLayersFifo(eq(productVariant.getId()), eq(warehouse.getId()), any(Pageable.class));
+        verify(layerRepository).saveAll(argThat(layers -> {
+            List<InventoryValuationLayer> saved = new ArrayList<>();
+            layers.forEach(saved::add);
+            return saved.size() == 2 && saved.stream()
+                    .anyMatch(layer -> layer.getQuantityRemaining().compareTo(new BigDecimal("7")) == 0);
+        }));
+    }
 
-        when(stockRepository.findAll(any(Specification.class))).thenReturn(List.of(stock));
+    @Test
+    void getValuationReport() {
+        TenantSettingDto setting = TenantSettingDto.builder().value("FIFO").build();
+        when(tenantSettingService.findSetting("INVENTORY_VALUATION_METHOD")).thenReturn(Optional.of(setting));
 
-        when(layerRepository.calculateTotalValue(productVariant.getId(), warehouse.getId())).thenReturn(new BigDecimal("500"));
+        // 10 on hand, open layers worth 500
+        VariantWarehouseValuation row = valuationRow(new BigDecimal("10"), new BigDecimal("500"));
+        when(stockRepository.streamLayerValuation(warehouse.getId())).thenReturn(Stream.of(row));
 
         List<InventoryValuationReportDto> report = valuationService.getValuationReport(warehouse.getId());
 
@@ -175,5 +242,34 @@ public class InventoryValuationServiceImplTest {
         assertEquals(new BigDecimal("10"), report.get(0).getQuantity());
         assertEquals(new BigDecimal("500"), report.get(0).getTotalValue());
         assertEquals(new BigDecimal("50.000000"), report.get(0).getUnitCost());
+        assertEquals("SKU-1", report.get(0).getProductVariantSku());
+    }
+
+    @Test
+    void getValuationReportPage_WeightedAverage() {
+        TenantSettingDto setting = TenantSettingDto.builder().value("WEIGHTED_AVERAGE").build();
+        when(tenantSettingService.findSetting("INVENTORY_VALUATION_METHOD")).thenReturn(Optional.of(setting));
+
+        // 4 on hand at an average cost of 12.5
+        VariantWarehouseValuation row = valuationRow(new BigDecimal("4"), new BigDecimal("12.5"));
+        when(stockRepository.findAverageCostValuation(eq(warehouse.getId()), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(row)));
+
+        Page<InventoryValuationReportDto> report = valuationService.getValuationReport(warehouse.getId(), PageRequest.of(0, 50));
+
+        assertEquals(1, report.getTotalElements());
+        assertEquals(new BigDecimal("12.5"), report.getContent().get(0).getUnitCost());
+        assertEquals(new BigDecimal("50.0"), report.getContent().get(0).getTotalValue());
+        verify(stockRepository, never()).findLayerValuation(any(), any());
+    }
+
+    private VariantWarehouseValuation valuationRow(BigDecimal quantity, BigDecimal cost) {
+        VariantWarehouseValuation row = mock(VariantWarehouseValuation.class);
+        when(row.getProductVariantId()).thenReturn(productVariant.getId());
+        when(row.getProductVariantSku()).thenReturn("SKU-1");
+        when(row.getWarehouseId()).thenReturn(warehouse.getId());
+        when(row.getQuantity()).thenReturn(quantity);
+        when(row.getCost()).thenReturn(cost);
+        return row;
     }
 }
@@ -3,10 +3,13 @@ package com.inventory.system.service;
 import com.inventory.system.common.entity.*;
 import com.inventory.system.payload.ReplenishmentRuleDto;
 import com.inventory.system.payload.ReplenishmentSuggestionDto;
+import com.inventory.system.payload.StockAlertDto;
 import com.inventory.system.repository.ProductVariantRepository;
 import com.inventory.system.repository.ReplenishmentRuleRepository;
-import com.inventory.system.repository.StockMovementRepository;
+import com.inventory.system.repository.StockAlertRepository;
+import com.inventory.system.repository.StockMovementDailyTotalRepository;
 import com.inventory.system.repository.WarehouseRepository;
+import com.inventory.system.service.inventory.StockAlertEvaluator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,9 +18,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -31,13 +35,17 @@ class ReplenishmentServiceImplTest {
     @Mock
     private ReplenishmentRuleRepository replenishmentRuleRepository;
     @Mock
-    private StockMovementRepository stockMovementRepository;
+    private StockMovementDailyTotalRepository stockMovementDailyTotalRepository;
     @Mock
     private WarehouseRepository warehouseRepository;
     @Mock
     private ProductVariantRepository productVariantRepository;
     @Mock
     private StockReservationService stockReservationService;
+    @Mock
+    private StockAlertRepository stockAlertRepository;
+    @Mock
+    private StockAlertEvaluator stockAlertEvaluator;
 
     @InjectMocks
     private ReplenishmentServiceImpl replenishmentService;
@@ -93,8 +101,8 @@ class ReplenishmentServiceImplTest {
                 .thenReturn(Collections.singletonList(rule));
 
         // Mock ATP to be less than min stock (e.g., 5 < 10)
-        when(stockReservationService.getAvailableToPromise(productVariant.getId(), warehouse.getId()))
-                .thenReturn(new BigDecimal("5.00"));
+        when(stockReservationService.getAvailableToPromise(List.of(productVariant.getId()), warehouse.getId()))
+                .thenReturn(Map.of(productVariant.getId(), new BigDecimal("5.00")));
 
         List<ReplenishmentSuggestionDto> suggestions = replenishmentService.getReplenishmentSuggestions(warehouse.getId());
 
@@ -111,8 +119,8 @@ class ReplenishmentServiceImplTest {
                 .thenReturn(Collections.singletonList(rule));
 
         // Mock ATP to be more than min stock (e.g., 15 > 10)
-        when(stockReservationService.getAvailableToPromise(productVariant.getId(), warehouse.getId()))
-                .thenReturn(new BigDecimal("15.00"));
+        when(stockReservationService.getAvailableToPromise(List.of(productVariant.getId()), warehouse.getId()))
+                .thenReturn(Map.of(productVariant.getId(), new BigDecimal("15.00")));
 
         List<ReplenishmentSuggestionDto> suggestions = replenishmentService.getReplenishmentSuggestions(warehouse.getId());
 
@@ -124,11 +132,12 @@ class ReplenishmentServiceImplTest {
     void calculateReorderPoint_ShouldUpdateRule() {
         when(replenishmentRuleRepository.findById(rule.getId())).thenReturn(Optional.of(rule));
 
-        // Mock new repository method
-        when(stockMovementRepository.sumQuantityByProductAndWarehouseAndDateAndType(
+        LocalDate today = LocalDate.now();
+        when(stockMovementDailyTotalRepository.sumQuantity(
                 eq(rule.getProductVariant().getId()),
                 eq(rule.getWarehouse().getId()),
-                any(LocalDateTime.class),
+                eq(today.minusDays(29)),
+                eq(today),
                 anyList()
         )).thenReturn(new BigDecimal("30.00"));
 
@@ -137,5 +146,29 @@ class ReplenishmentServiceImplTest {
         // Expected Reorder Point = (1 * 5 lead days) + 2 safety stock = 7
         assertEquals(new BigDecimal("7.000000"), rule.getMinStock());
         verify(replenishmentRuleRepository).save(rule);
+        verify(stockAlertEvaluator).refreshRule(rule.getId());
+    }
+
+    @Test
+    void getStockAlerts_ShouldReadMaterializedAlerts() {
+        StockAlert stockAlert = new StockAlert();
+        stockAlert.setReplenishmentRuleId(rule.getId());
+        stockAlert.setProductVariant(productVariant);
+        stockAlert.setWarehouse(warehouse);
+        stockAlert.setStatus(StockAlertStatus.BELOW_MIN);
+        stockAlert.setCurrentStock(new BigDecimal("4.00"));
+        stockAlert.setMinStock(rule.getMinStock());
+        stockAlert.setMaxStock(rule.getMaxStock());
+        stockAlert.setSuggestedQuantity(new BigDecimal("96.00"));
+        when(stockAlertRepository.findFeed()).thenReturn(List.of(stockAlert));
+
+        List<StockAlertDto> alerts = replenishmentService.getStockAlerts(null);
+
+        assertEquals(1, alerts.size());
+        assertEquals("Test Product - SKU-123", alerts.get(0).getProductVariantName());
+        assertEquals("Main Warehouse", alerts.get(0).getWarehouseName());
+        assertEquals(StockAlertStatus.BELOW_MIN, alerts.get(0).getStatus());
+        assertEquals(new BigDecimal("96.00"), alerts.get(0).getSuggestedQuantity());
+        verifyNoInteractions(stockReservationService);
     }
 }
@@ -0,0 +1,203 @@
+package com.inventory.system.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.system.common.entity.ReportJob;
+import com.inventory.system.common.entity.ReportJobStatus;
+import com.inventory.system.common.entity.ReportOutputFormat;
+import com.inventory.system.common.entity.ReportType;
+import com.inventory.system.config.scaling.DistributedLockService;
+import com.inventory.system.config.tenant.TenantContext;
+import com.inventory.system.payload.DataExchangeDataset;
+import com.inventory.system.payload.GenerateReportRequest;
+import com.inventory.system.payload.ReportJobDto;
+import com.inventory.system.repository.ReportJobRepository;
+import com.inventory.system.service.reporting.export.ReportExport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReportJobServiceImplTest {
+
+    @Mock
+    private ReportJobRepository reportJobRepository;
+    @Mock
+    private ReportingService reportingService;
+    @Mock
+    private FileStorageService fileStorageService;
+    @Mock
+    private DistributedLockService lockService;
+    @Mock
+    private TaskExecutor reportingTaskExecutor;
+    @Mock
+    private ObjectProvider<RabbitTemplate> rabbitTemplateProvider;
+    @Mock
+    private ObjectProvider<ReportJobServiceImpl> self;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private ReportJobServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId("tenant-1");
+        service = new ReportJobServiceImpl(reportJobRepository, reportingService, fileStorageService, lockService,
+                objectMapper, reportingTaskExecutor, rabbitTemplateProvider, self, false, 2, 20, 24, 30);
+        when(self.getObject()).thenReturn(service);
+        when(lockService.tryAcquire(anyString(), anyString(), any())).thenReturn(true);
+        when(reportJobRepository.findByStatusOrderByRequestedAtAsc(eq(ReportJobStatus.QUEUED), any())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void submitReport_IdenticalRequestInFlight_ReturnsTheExistingJob() {
+        GenerateReportRequest request = new GenerateReportRequest();
+        request.setReportType(ReportType.STOCK_MOVEMENT);
+        when(reportingService.prepareReportExport(request))
+                .thenReturn(new ReportExport("stock-movement-report.csv", "text/csv", request));
+        ReportJob running = job(ReportJobStatus.RUNNING);
+        when(reportJobRepository.findFirstByRequestHashAndStatusIn(anyString(), any())).thenReturn(Optional.of(running));
+
+        ReportJobDto result = service.submitReport(request);
+
+        assertEquals(running.getId(), result.getId());
+        assertEquals(ReportJobStatus.RUNNING, result.getStatus());
+        verify(reportJobRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void claimQueued_ClaimsOnlyUpToTheTenantRunningLimit() {
+        ReportJob queued = job(ReportJobStatus.QUEUED);
+        when(reportJobRepository.countByStatus(ReportJobStatus.RUNNING)).thenReturn(1L);
+        when(reportJobRepository.findByStatusOrderByRequestedAtAsc(ReportJobStatus.QUEUED, PageRequest.of(0, 1)))
+                .thenReturn(List.of(queued));
+
+        List<UUID> claimed = service.claimQueued();
+
+        assertEquals(List.of(queued.getId()), claimed);
+        assertEquals(ReportJobStatus.RUNNING, queued.getStatus());
+        assertNotNull(queued.getHeartbeatAt());
+
+        when(reportJobRepository.countByStatus(ReportJobStatus.RUNNING)).thenReturn(2L);
+        assertEquals(List.of(), service.claimQueued());
+    }
+
+    @Test
+    void runJob_StoresTheFileAndCompletesTheJob() throws Exception {
+        ReportJob job = job(ReportJobStatus.RUNNING);
+        job.setRequestJson(objectMapper.writeValueAsString(new GenerateReportRequest()));
+        when(reportJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        when(reportingService.writeReportExport(any(), any(), any())).thenAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("sku\nA-1\n".getBytes(StandardCharsets.UTF_8));
+            return 1;
+        });
+        when(fileStorageService.uploadStream(any(), anyLong(), eq(job.getFileName()), eq("text/csv"), eq("reports/tenant-1")))
+                .thenReturn("reports/tenant-1/key");
+
+        service.runJob(job.getId());
+
+        assertEquals(ReportJobStatus.COMPLETED, job.getStatus());
+        assertEquals("reports/tenant-1/key", job.getFileKey());
+        assertEquals(8L, job.getFileSize());
+        assertEquals(1L, job.getRowsWritten());
+        assertNotNull(job.getExpiresAt());
+    }
+
+    @Test
+    void runJob_WriteFailure_MarksTheJobFailed() {
+        ReportJob job = job(ReportJobStatus.RUNNING);
+        job.setRequestJson("{}");
+        when(reportJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        when(reportingService.writeReportExport(any(), any(), any())).thenThrow(new IllegalStateException("cursor closed"));
+
+        service.runJob(job.getId());
+
+        assertEquals(ReportJobStatus.FAILED, job.getStatus());
+        assertEquals("cursor closed", job.getErrorMessage());
+        verify(fileStorageService, never()).uploadStream(any(), anyLong(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void runJob_Dataset_StreamsTheDatasetIntoTheSpoolFile() {
+        ReportJob job = job(ReportJobStatus.RUNNING);
+        job.setReportType(ReportType.DATA_EXPORT);
+        job.setDataset(DataExchangeDataset.PRODUCTS.name());
+        when(reportJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        when(reportingService.writeDatasetExport(eq(DataExchangeDataset.PRODUCTS), any(), any())).thenAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("sku\nA-1\nA-2\n".getBytes(StandardCharsets.UTF_8));
+            return 2;
+        });
+        when(fileStorageService.uploadStream(any(), eq(14L), anyString(), anyString(), anyString())).thenReturn("key");
+
+        service.runJob(job.getId());
+
+        assertEquals(ReportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(2L, job.getRowsWritten());
+        verify(reportingService, never()).exportDataset(any());
+    }
+
+    @Test
+    void heartbeat_RecordsRunningJobsWhileTheyWriteAndStopsAfterwards() throws Exception {
+        ReportJob job = job(ReportJobStatus.RUNNING);
+        job.setRequestJson(objectMapper.writeValueAsString(new GenerateReportRequest()));
+        when(reportJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        when(reportingService.writeReportExport(any(), any(), any())).thenAnswer(invocation -> {
+            service.heartbeat();
+            invocation.getArgument(2, IntConsumer.class).accept(1000);
+            service.heartbeat();
+            return 1200;
+        });
+        when(fileStorageService.uploadStream(any(), anyLong(), anyString(), anyString(), anyString())).thenReturn("key");
+
+        service.runJob(job.getId());
+        service.heartbeat();
+
+        verify(reportJobRepository).recordHeartbeat(eq(job.getId()), eq(0L), any(), eq(ReportJobStatus.RUNNING));
+        verify(reportJobRepository).recordHeartbeat(eq(job.getId()), eq(1000L), any(), eq(ReportJobStatus.RUNNING));
+        verify(reportJobRepository, times(2)).recordHeartbeat(any(), anyLong(), any(), any());
+    }
+
+    private static ReportJob job(ReportJobStatus status) {
+        ReportJob job = new ReportJob();
+        job.setId(UUID.randomUUID());
+        job.setTenantId("tenant-1");
+        job.setReportType(ReportType.STOCK_MOVEMENT);
+        job.setOutputFormat(ReportOutputFormat.CSV);
+        job.setStatus(status);
+        job.setRequestHash("hash");
+        job.setFileName("stock-movement-report.csv");
+        job.setContentType("text/csv");
+        return job;
+    }
+}
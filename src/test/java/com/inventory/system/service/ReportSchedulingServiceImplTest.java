@@ -0,0 +1,166 @@
+package com.inventory.system.service;
+
+import com.inventory.system.common.entity.ReportConfiguration;
+import com.inventory.system.common.entity.ReportOutputFormat;
+import com.inventory.system.common.entity.ReportType;
+import com.inventory.system.common.entity.WebhookEventType;
+import com.inventory.system.config.scaling.DistributedLockService;
+import com.inventory.system.config.tenant.TenantContext;
+import com.inventory.system.payload.GenerateReportRequest;
+import com.inventory.system.payload.ReportJobDto;
+import com.inventory.system.repository.ReportConfigurationRepository;
+import com.inventory.system.repository.projection.DueReportSchedule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReportSchedulingServiceImplTest {
+
+    @Mock
+    private ReportConfigurationRepository reportConfigurationRepository;
+    @Mock
+    private ReportJobService reportJobService;
+    @Mock
+    private WebhookService webhookService;
+    @Mock
+    private DistributedLockService lockService;
+
+    private ReportSchedulingServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ReportSchedulingServiceImpl(reportConfigurationRepository, reportJobService,
+                webhookService, lockService, 5, 100);
+        when(lockService.tryAcquire(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(reportConfigurationRepository.findUnscheduled()).thenReturn(List.of());
+    }
+
+    @Test
+    void processScheduledReports_ClaimedSchedule_IsSubmittedAsAJobOfItsTenant() {
+        ReportConfiguration configuration = configuration("xlsx,csv");
+        DueReportSchedule schedule = schedule(configuration.getId(), "tenant-2", "0 0 6 * * *");
+        when(reportConfigurationRepository.findDueSchedules(any(LocalDateTime.class), eq(5), eq(100)))
+                .thenReturn(List.of(schedule));
+        when(reportConfigurationRepository.claimDueSchedule(eq(configuration.getId()), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(reportConfigurationRepository.findById(configuration.getId())).thenReturn(Optional.of(configuration));
+        AtomicReference<String> submittedTenant = new AtomicReference<>();
+        ReportJobDto job = new ReportJobDto();
+        job.setId(UUID.randomUUID());
+        when(reportJobService.submitReport(any(GenerateReportRequest.class))).thenAnswer(invocation -> {
+            submittedTenant.set(TenantContext.getTenantId());
+            return job;
+        });
+
+        service.processScheduledReports();
+
+        ArgumentCaptor<GenerateReportRequest> request = ArgumentCaptor.forClass(GenerateReportRequest.class);
+        verify(reportJobService).submitReport(request.capture());
+        assertEquals(configuration.getId(), request.getValue().getConfigurationId());
+        assertEquals(ReportOutputFormat.XLSX, request.getValue().getFormat());
+        assertEquals("tenant-2", submittedTenant.get());
+        ArgumentCaptor<LocalDateTime> nextRunAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(reportConfigurationRepository).claimDueSchedule(eq(configuration.getId()), any(LocalDateTime.class), nextRunAt.capture());
+        assertEquals(6, nextRunAt.getValue().getHour());
+        assertTrue(nextRunAt.getValue().isAfter(LocalDateTime.now()));
+        verify(webhookService).publishEvent(eq(WebhookEventType.REPORT_SCHEDULED), anyMap());
+        verify(lockService).release(eq("reporting:schedules"), anyString());
+    }
+
+    @Test
+    void processScheduledReports_ScheduleClaimedElsewhere_IsNotSubmitted() {
+        DueReportSchedule schedule = schedule(UUID.randomUUID(), "tenant-1", "0 */5 * * * *");
+        when(reportConfigurationRepository.findDueSchedules(any(LocalDateTime.class), anyInt(), anyInt()))
+                .thenReturn(List.of(schedule));
+        when(reportConfigurationRepository.claimDueSchedule(any(UUID.class), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(0);
+
+        service.processScheduledReports();
+
+        verify(reportJobService, never()).submitReport(any());
+        verify(webhookService, never()).publishEvent(any(), any(Map.class));
+    }
+
+    @Test
+    void processScheduledReports_UnscheduledRows_GetANextRunWithoutRunning() {
+        DueReportSchedule valid = schedule(UUID.randomUUID(), "tenant-1", "0 30 2 * * *");
+        DueReportSchedule invalid = schedule(UUID.randomUUID(), "tenant-1", "not a cron");
+        when(reportConfigurationRepository.findUnscheduled()).thenReturn(List.of(valid, invalid));
+
+        LocalDateTime before = LocalDateTime.now();
+        service.processScheduledReports();
+
+        ArgumentCaptor<LocalDateTime> validNext = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(reportConfigurationRepository).initializeNextRun(eq(valid.getId()), validNext.capture());
+        assertEquals(2, validNext.getValue().getHour());
+        assertEquals(30, validNext.getValue().getMinute());
+        ArgumentCaptor<LocalDateTime> invalidNext = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(reportConfigurationRepository).initializeNextRun(eq(invalid.getId()), invalidNext.capture());
+        assertTrue(!invalidNext.getValue().isBefore(before.plusDays(1)));
+        verify(reportJobService, never()).submitReport(any());
+    }
+
+    @Test
+    void processScheduledReports_LockHeldElsewhere_ReadsNothing() {
+        when(lockService.tryAcquire(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+
+        service.processScheduledReports();
+
+        verify(reportConfigurationRepository, never()).findDueSchedules(any(), anyInt(), anyInt());
+        verify(reportConfigurationRepository, never()).findUnscheduled();
+    }
+
+    private ReportConfiguration configuration(String exportFormats) {
+        ReportConfiguration configuration = new ReportConfiguration();
+        configuration.setId(UUID.randomUUID());
+        configuration.setCode("daily-stock");
+        configuration.setReportType(ReportType.STOCK_VALUATION);
+        configuration.setExportFormats(exportFormats);
+        return configuration;
+    }
+
+    private DueReportSchedule schedule(UUID id, String tenantId, String cron) {
+        return new DueReportSchedule() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getTenantId() {
+                return tenantId;
+            }
+
+            @Override
+            public String getScheduleCron() {
+                return cron;
+            }
+        };
+    }
+}
@@ -0,0 +1,198 @@
+package com.inventory.system.service;
+
+import com.inventory.system.common.entity.PurchaseOrderStatus;
+import com.inventory.system.common.entity.StockStatus;
+import com.inventory.system.common.entity.ValuationMethod;
+import com.inventory.system.common.exception.BadRequestException;
+import com.inventory.system.payload.CurrentStockReportDto;
+import com.inventory.system.payload.CursorPageDto;
+import com.inventory.system.payload.SupplierPerformanceReportDto;
+import com.inventory.system.repository.GoodsReceiptNoteRepository;
+import com.inventory.system.repository.PurchaseOrderRepository;
+import com.inventory.system.repository.StockRepository;
+import com.inventory.system.repository.projection.CurrentStockPosition;
+import com.inventory.system.repository.projection.SupplierSpend;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReportingServiceImplTest {
+
+    @Mock
+    private PurchaseOrderRepository purchaseOrderRepository;
+    @Mock
+    private GoodsReceiptNoteRepository goodsReceiptNoteRepository;
+    @Mock
+    private StockRepository stockRepository;
+    @Mock
+    private InventoryValuationService inventoryValuationService;
+
+    @InjectMocks
+    private ReportingServiceImpl reportingService;
+
+    @Test
+    void supplierPerformancePage_RejectsASort() {
+        Pageable sorted = PageRequest.of(0, 20, Sort.by("supplierName"));
+
+        assertThrows(BadRequestException.class,
+                () -> reportingService.getSupplierPerformanceReport(null, null, sorted));
+        verify(purchaseOrderRepository, never()).findSupplierSpend(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void supplierPerformancePage_KeepsTheCallersPageAndOrder() {
+        Pageable pageable = PageRequest.of(2, 2);
+        List<SupplierSpend> rows = List.of(spend(BigDecimal.TEN), spend(BigDecimal.ONE));
+        when(purchaseOrderRepository.findSupplierSpend(any(), any(), eq(PurchaseOrderStatus.COMPLETED),
+                eq(PurchaseOrderStatus.CLOSED), eq(pageable))).thenReturn(new PageImpl<>(rows, pageable, 7));
+
+        Page<SupplierPerformanceReportDto> page = reportingService.getSupplierPerformanceReport(null, null, pageable);
+
+        assertEquals(7, page.getTotalElements());
+        assertEquals(2, page.getNumber());
+        assertEquals(List.of(rows.get(0).getSupplierId(), rows.get(1).getSupplierId()),
+                page.map(SupplierPerformanceReportDto::getSupplierId).getContent());
+    }
+
+    @Test
+    void supplierPerformanceExport_AggregatesSpendOnceAndGroupsDetailsPerChunk() {
+        List<SupplierSpend> rows = new ArrayList<>();
+        IntStream.range(0, 501).forEach(index -> rows.add(spend(BigDecimal.valueOf(1000 - index))));
+        when(purchaseOrderRepository.streamSupplierSpend(any(), any(), any(), any())).thenReturn(rows.stream());
+
+        List<SupplierPerformanceReportDto> report =
+                reportingService.getSupplierPerformanceReport(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 6, 30));
+
+        assertEquals(501, report.size());
+        assertEquals(rows.get(500).getSupplierId(), report.get(500).getSupplierId());
+        verify(purchaseOrderRepository, never()).findSupplierSpend(any(), any(), any(), any(), any());
+        verify(purchaseOrderRepository, times(2)).sumOrderedQuantityBySupplier(anyCollection(), any(), any());
+        verify(goodsReceiptNoteRepository, times(2)).summarizeBySupplier(anyCollection(), any(), any());
+    }
+
+    @Test
+    void currentStockCursor_ResumesAfterTheLastRowOfThePage() {
+        UUID variantId = UUID.randomUUID();
+        UUID firstWarehouse = UUID.randomUUID();
+        UUID secondWarehouse = UUID.randomUUID();
+        // Both rows share the SKU; the cursor must carry the full key of the second one
+        List<CurrentStockPosition> rows = List.of(
+                position("SKU|1", variantId, firstWarehouse, StockStatus.AVAILABLE, null),
+                position("SKU|1", variantId, secondWarehouse, StockStatus.QUARANTINE, null),
+                position("SKU|1", variantId, secondWarehouse, StockStatus.DAMAGED, null));
+        when(inventoryValuationService.getValuationMethod()).thenReturn(ValuationMethod.WEIGHTED_AVERAGE);
+        when(stockRepository.findCurrentStockFirstPage(any(), any(), any(), eq(PageRequest.of(0, 3))))
+                .thenReturn(rows);
+
+        CursorPageDto<CurrentStockReportDto> first = reportingService.getCurrentStockReportByCursor(null, null, null, 2);
+
+        assertEquals(2, first.getItems().size());
+        assertTrue(first.isHasMore());
+        assertNotNull(first.getNextCursor());
+
+        when(stockRepository.findCurrentStockPageAfter(any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(rows.subList(2, 3));
+        CursorPageDto<CurrentStockReportDto> second =
+                reportingService.getCurrentStockReportByCursor(null, null, first.getNextCursor(), 2);
+
+        verify(stockRepository).findCurrentStockPageAfter(isNull(), isNull(), any(), eq("SKU|1"), eq(variantId),
+                eq(secondWarehouse), eq(StockStatus.QUARANTINE), eq(PageRequest.of(0, 3)));
+        assertEquals(1, second.getItems().size());
+        assertFalse(second.isHasMore());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void currentStockCursor_RejectsAMalformedCursor() {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        List<String> malformed = List.of(
+                "not base64!",
+                encoder.encodeToString("only|three|parts".getBytes(StandardCharsets.UTF_8)),
+                encoder.encodeToString(("not-a-uuid|" + UUID.randomUUID() + "|AVAILABLE|SKU")
+                        .getBytes(StandardCharsets.UTF_8)),
+                encoder.encodeToString((UUID.randomUUID() + "|" + UUID.randomUUID() + "|MISSING|SKU")
+                        .getBytes(StandardCharsets.UTF_8)));
+
+        for (String cursor : malformed) {
+            assertThrows(BadRequestException.class,
+                    () -> reportingService.getCurrentStockReportByCursor(null, null, cursor, 10), cursor);
+        }
+        verify(stockRepository, never()).findCurrentStockPageAfter(any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void currentStockCursor_ValuesLayeredStockAtTheLayersAverageUnitCost() {
+        when(inventoryValuationService.getValuationMethod()).thenReturn(ValuationMethod.FIFO);
+        when(stockRepository.findCurrentStockFirstPage(any(), any(), any(), any())).thenReturn(List.of(
+                position("SKU-1", UUID.randomUUID(), UUID.randomUUID(), StockStatus.AVAILABLE, new BigDecimal("17.5"))));
+
+        CurrentStockReportDto row = reportingService.getCurrentStockReportByCursor(null, null, null, 10)
+                .getItems().get(0);
+
+        assertEquals(0, new BigDecimal("17.5").compareTo(row.getUnitCost()));
+        assertEquals(0, new BigDecimal("140").compareTo(row.getTotalValue()));
+    }
+
+    private static SupplierSpend spend(BigDecimal totalSpend) {
+        UUID supplierId = UUID.randomUUID();
+        return new SupplierSpend() {
+            public UUID getSupplierId() { return supplierId; }
+            public String getSupplierName() { return "Supplier " + supplierId; }
+            public Double getSupplierRating() { return null; }
+            public Long getPurchaseOrderCount() { return 1L; }
+            public Long getCompletedOrderCount() { return 0L; }
+            public BigDecimal getTotalSpend() { return totalSpend; }
+        };
+    }
+
+    private static CurrentStockPosition position(String sku, UUID variantId, UUID warehouseId, StockStatus status,
+                                                 BigDecimal layerUnitCost) {
+        return new CurrentStockPosition() {
+            public UUID getProductVariantId() { return variantId; }
+            public String getProductVariantSku() { return sku; }
+            public String getProductName() { return "Product " + sku; }
+            public UUID getWarehouseId() { return warehouseId; }
+            public String getWarehouseName() { return "Warehouse " + warehouseId; }
+            public StockStatus getStockStatus() { return status; }
+            public BigDecimal getQuantity() { return new BigDecimal("8"); }
+            public BigDecimal getAvailableToPromise() { return new BigDecimal("8"); }
+            public BigDecimal getAverageCost() { return BigDecimal.ONE; }
+            public BigDecimal getLayerUnitCost() { return layerUnitCost; }
+        };
+    }
+}
@@ -0,0 +1,166 @@
+package com.inventory.system.service;
+
+import com.inventory.system.common.entity.ProductVariant;
+import com.inventory.system.common.entity.StockReservation;
+import com.inventory.system.common.entity.StockReservationStatus;
+import com.inventory.system.common.entity.Warehouse;
+import com.inventory.system.payload.StockReservationRequest;
+import com.inventory.system.repository.BatchRepository;
+import com.inventory.system.repository.ProductVariantRepository;
+import com.inventory.system.repository.StockAvailabilityRepository;
+import com.inventory.system.repository.StockReservationRepository;
+import com.inventory.system.repository.StorageLocationRepository;
+import com.inventory.system.repository.WarehouseRepository;
+import com.inventory.system.service.inventory.AvailableToPromiseProjection;
+import com.inventory.system.service.inventory.ReservationExpirySweeper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class StockReservationServiceImplTest {
+
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+    @Mock
+    private ProductVariantRepository productVariantRepository;
+    @Mock
+    private WarehouseRepository warehouseRepository;
+    @Mock
+    private StorageLocationRepository storageLocationRepository;
+    @Mock
+    private BatchRepository batchRepository;
+    @Mock
+    private StockAvailabilityRepository stockAvailabilityRepository;
+    @Mock
+    private AvailableToPromiseProjection availableToPromise;
+    @Mock
+    private ReservationExpirySweeper reservationExpirySweeper;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private StockReservationServiceImpl reservationService;
+
+    private ProductVariant variant;
+    private Warehouse warehouse;
+
+    @BeforeEach
+    void setUp() {
+        variant = new ProductVariant();
+        variant.setId(UUID.randomUUID());
+        warehouse = new Warehouse();
+        warehouse.setId(UUID.randomUUID());
+        when(productVariantRepository.findById(variant.getId())).thenReturn(Optional.of(variant));
+        when(warehouseRepository.findById(warehouse.getId())).thenReturn(Optional.of(warehouse));
+        when(stockReservationRepository.save(any(StockReservation.class))).thenAnswer(i -> i.getArgument(0));
+        when(stockReservationRepository.transitionStatus(any(), any(), any())).thenReturn(1);
+    }
+
+    @Test
+    void reserveStock_DecrementsProjectionAndSavesReservation() {
+        when(availableToPromise.reserve(variant.getId(), warehouse.getId(), null, null, BigDecimal.TEN)).thenReturn(true);
+
+        reservationService.reserveStock(request(BigDecimal.TEN));
+
+        verify(availableToPromise).reserve(variant.getId(), warehouse.getId(), null, null, BigDecimal.TEN);
+        verify(stockReservationRepository).save(any(StockReservation.class));
+    }
+
+    @Test
+    void reserveStock_ConditionalDecrementRejected_ThrowsWithoutSaving() {
+        when(availableToPromise.reserve(variant.getId(), warehouse.getId(), null, null, BigDecimal.TEN)).thenReturn(false);
+        when(stockAvailabilityRepository.findAvailableToPromise(variant.getId(), warehouse.getId(),
+                AvailableToPromiseProjection.WAREHOUSE_TOTAL, AvailableToPromiseProjection.WAREHOUSE_TOTAL))
+                .thenReturn(new BigDecimal("3"));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> reservationService.reserveStock(request(BigDecimal.TEN)));
+
+        assertEquals("Insufficient stock available to promise. ATP: 3", ex.getMessage());
+        verify(stockReservationRepository, never()).save(any(StockReservation.class));
+    }
+
+    @Test
+    void releaseReservation_ReturnsQuantityToProjection() {
+        StockReservation reservation = new StockReservation();
+        reservation.setId(UUID.randomUUID());
+        reservation.setProductVariant(variant);
+        reservation.setWarehouse(warehouse);
+        reservation.setQuantity(new BigDecimal("4"));
+        reservation.setStatus(StockReservationStatus.ACTIVE);
+        when(stockReservationRepository.findById(reservation.getId())).thenReturn(Optional.of(reservation));
+
+        reservationService.releaseReservation(reservation.getId());
+
+        assertEquals(StockReservationStatus.RELEASED, reservation.getStatus());
+        verify(availableToPromise).release(variant.getId(), warehouse.getId(), null, null, new BigDecimal("4"));
+    }
+
+    @Test
+    void releaseReservation_LosesToAConcurrentExpiry_ReleasesNothing() {
+        StockReservation reservation = reservation(new BigDecimal("4"));
+        when(stockReservationRepository.findById(reservation.getId())).thenReturn(Optional.of(reservation));
+        // The sweeper expired the row after it was read: the conditional transition matches nothing
+        when(stockReservationRepository.transitionStatus(eq(reservation.getId()), any(),
+                eq(StockReservationStatus.RELEASED))).thenReturn(0);
+
+        assertThrows(IllegalStateException.class, () -> reservationService.releaseReservation(reservation.getId()));
+
+        verify(availableToPromise, never()).release(any(), any(), any(), any(), any());
+        verify(stockReservationRepository, never()).save(any(StockReservation.class));
+    }
+
+    @Test
+    void fulfillReservationsByReference_ReleasesOnlyTheReservationsItTransitioned() {
+        StockReservation won = reservation(new BigDecimal("4"));
+        StockReservation lost = reservation(new BigDecimal("6"));
+        when(stockReservationRepository.findByReferenceIdAndStatusIn(eq("SO-1"), any())).thenReturn(List.of(won, lost));
+        when(stockReservationRepository.transitionStatus(eq(lost.getId()), any(), any())).thenReturn(0);
+
+        reservationService.fulfillReservationsByReference("SO-1");
+
+        assertEquals(StockReservationStatus.FULFILLED, won.getStatus());
+        assertEquals(StockReservationStatus.ACTIVE, lost.getStatus());
+        verify(availableToPromise).release(variant.getId(), warehouse.getId(), null, null, new BigDecimal("4"));
+        verify(availableToPromise, never()).release(any(), any(), any(), any(), eq(new BigDecimal("6")));
+    }
+
+    private StockReservation reservation(BigDecimal quantity) {
+        StockReservation reservation = new StockReservation();
+        reservation.setId(UUID.randomUUID());
+        reservation.setProductVariant(variant);
+        reservation.setWarehouse(warehouse);
+        reservation.setQuantity(quantity);
+        reservation.setStatus(StockReservationStatus.ACTIVE);
+        return reservation;
+    }
+
+    private StockReservationRequest request(BigDecimal quantity) {
+        StockReservationRequest request = new StockReservationRequest();
+        request.setProductVariantId(variant.getId());
+        request.setWarehouseId(warehouse.getId());
+        request.setQuantity(quantity);
+        return request;
+    }
+}
@@ -4,9 +4,7 @@ import com.inventory.system.common.entity.ProductTemplate;
 import com.inventory.system.common.entity.ProductVariant;
 import com.inventory.system.common.entity.SerialNumber;
 import com.inventory.system.common.entity.SerialNumberStatus;
-import com.inventory.system.common.entity.Stock;
 import com.inventory.system.common.entity.StockMovement;
-import com.inventory.system.common.entity.StockMovementSerialNumber;
 import com.inventory.system.common.entity.Warehouse;
 import com.inventory.system.payload.StockAdjustmentDto;
 import com.inventory.system.payload.StockMovementDto;
@@ -18,6 +16,10 @@ import com.inventory.system.repository.StockMovementSerialNumberRepository;
 import com.inventory.system.repository.StockRepository;
 import com.inventory.system.repository.StorageLocationRepository;
 import com.inventory.system.repository.WarehouseRepository;
+import com.inventory.system.service.inventory.StockMutationEngine;
+import com.inventory.system.service.inventory.StockPosition;
+import com.inventory.system.service.inventory.StockMovementRollup;
+import com.inventory.system.service.inventory.WarehouseCapacityTracker;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -33,8 +35,13 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -64,6 +71,12 @@ public class StockServiceSerialTest {
     @Mock
     private TenantSettingService tenantSettingService;
     @Mock
+    private StockMutationEngine stockMutationEngine;
+    @Mock
+    private WarehouseCapacityTracker warehouseCapacityTracker;
+    @Mock
+    private StockMovementRollup stockMovementRollup;
+    @Mock
     private org.springframework.context.ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
@@ -99,16 +112,8 @@ public class StockServiceSerialTest {
         when(productVariantRepository.findById(variantId)).thenReturn(Optional.of(variant));
         when(warehouseRepository.findById(warehouseId)).thenReturn(Optional.of(warehouse));
 
-        // Mock stock find
-        when(stockRepository.findByProductVariantIdAndWarehouseIdAndStorageLocationIdIsNullAndBatchIdIsNull(
-                eq(variantId), eq(warehouseId)))
-                .thenReturn(Optional.empty());
-
-        when(stockRepository.save(any(Stock.class))).thenAnswer(i -> {
-            Stock s = (Stock) i.getArguments()[0];
-            s.setId(UUID.randomUUID());
-            return s;
-        });
+        when(stockMutationEngine.applyDelta(any(StockPosition.class), eq(quantity), anyBoolean()))
+                .thenReturn(Optional.of(quantity));
 
         when(stockMovementRepository.save(any(StockMovement.class))).thenAnswer(i -> {
             StockMovement m = (StockMovement) i.getArguments()[0];
@@ -116,24 +121,18 @@ public class StockServiceSerialTest {
             return m;
         });
 
-        // Mock Serial Number lookups (return empty -> create new)
-        when(serialNumberRepository.findBySerialNumberAndProductVariantId(eq("SN1"), eq(variantId))).thenReturn(Optional.empty());
-        when(serialNumberRepository.findBySerialNumberAndProductVariantId(eq("SN2"), eq(variantId))).thenReturn(Optional.empty());
-
-        when(serialNumberRepository.save(any(SerialNumber.class))).thenAnswer(i -> {
-            SerialNumber sn = (SerialNumber) i.getArguments()[0];
-            sn.setId(UUID.randomUUID());
-            return sn;
-        });
+        // Mock Serial Number lookup (none exist -> create new)
+        when(serialNumberRepository.findByProductVariantIdAndSerialNumberIn(eq(variantId), any())).thenReturn(List.of());
 
         StockMovementDto result = stockService.adjustStock(dto);
 
         assertNotNull(result);
         assertEquals(quantity, result.getQuantity());
 
-        // Verify serial numbers saved
-        verify(serialNumberRepository, times(2)).save(any(SerialNumber.class));
-        verify(stockMovementSerialNumberRepository, times(2)).save(any(StockMovementSerialNumber.class));
+        // Verify serial numbers resolved with one query and saved in one batch
+        verify(serialNumberRepository, times(1)).findByProductVariantIdAndSerialNumberIn(eq(variantId), any());
+        verify(serialNumberRepository).saveAll(argThat(serialNumbers -> sizeOf(serialNumbers) == 2));
+        verify(stockMovementSerialNumberRepository).saveAll(argThat(links -> sizeOf(links) == 2));
     }
 
     @Test
@@ -164,17 +163,9 @@ public class StockServiceSerialTest {
         when(productVariantRepository.findById(variantId)).thenReturn(Optional.of(variant));
         when(warehouseRepository.findById(warehouseId)).thenReturn(Optional.of(warehouse));
 
-        // Mock stock find (assume enough stock)
-        Stock existingStock = new Stock();
-        existingStock.setId(UUID.randomUUID());
-        existingStock.setQuantity(BigDecimal.TEN);
-        existingStock.setProductVariant(variant);
-        existingStock.setWarehouse(warehouse);
-        when(stockRepository.findByProductVariantIdAndWarehouseIdAndStorageLocationIdIsNullAndBatchIdIsNullAndStatus(
-                eq(variantId), eq(warehouseId), any()))
-                .thenReturn(Optional.of(existingStock));
-
-        when(stockRepository.save(any(Stock.class))).thenAnswer(i -> i.getArguments()[0]);
+        // Assume enough stock: the guarded decrement succeeds and leaves 9 on hand
+        when(stockMutationEngine.applyDelta(any(StockPosition.class), eq(quantity.negate()), anyBoolean()))
+                .thenReturn(Optional.of(BigDecimal.valueOf(9)));
 
         when(stockMovementRepository.save(any(StockMovement.class))).thenAnswer(i -> {
             StockMovement m = (StockMovement) i.getArguments()[0];
@@ -190,10 +181,8 @@ public class StockServiceSerialTest {
         sn1.setWarehouse(warehouse);
         sn1.setStatus(SerialNumberStatus.AVAILABLE);
 
-        when(serialNumberRepository.findBySerialNumberAndProductVariantId(eq("SN1"), eq(variantId)))
-                .thenReturn(Optional.of(sn1));
-
-        when(serialNumberRepository.save(any(SerialNumber.class))).thenAnswer(i -> i.getArguments()[0]);
+        when(serialNumberRepository.findByProductVariantIdAndSerialNumberIn(eq(variantId), any()))
+                .thenReturn(List.of(sn1));
 
         StockMovementDto result = stockService.adjustStock(dto);
 
@@ -201,6 +190,70 @@ public class StockServiceSerialTest {
 
         // Verify serial number status updated to SOLD
         assertEquals(SerialNumberStatus.SOLD, sn1.getStatus());
-        verify(stockMovementSerialNumberRepository, times(1)).save(any(StockMovementSerialNumber.class));
+        verify(stockMovementSerialNumberRepository).saveAll(argThat(links -> sizeOf(links) == 1));
+    }
+
+    @Test
+    void adjustStock_SerialTracked_Outbound_ReportsEveryInvalidSerial() {
+        UUID variantId = UUID.randomUUID();
+        UUID warehouseId = UUID.randomUUID();
+
+        ProductTemplate template = new ProductTemplate();
+        template.setIsSerialTracked(true);
+
+        ProductVariant variant = new ProductVariant();
+        variant.setId(variantId);
+        variant.setTemplate(template);
+
+        Warehouse warehouse = new Warehouse();
+        warehouse.setId(warehouseId);
+
+        Warehouse otherWarehouse = new Warehouse();
+        otherWarehouse.setId(UUID.randomUUID());
+
+        StockAdjustmentDto dto = new StockAdjustmentDto();
+        dto.setProductVariantId(variantId);
+        dto.setWarehouseId(warehouseId);
+        dto.setQuantity(BigDecimal.valueOf(4));
+        dto.setType(StockMovement.StockMovementType.OUT);
+        dto.setSerialNumbers(List.of("SN-OK", "SN-SOLD", "SN-ELSEWHERE", "SN-MISSING"));
+        dto.setReason("test");
+
+        when(productVariantRepository.findById(variantId)).thenReturn(Optional.of(variant));
+        when(warehouseRepository.findById(warehouseId)).thenReturn(Optional.of(warehouse));
+        when(stockMutationEngine.applyDelta(any(StockPosition.class), any(BigDecimal.class), anyBoolean()))
+                .thenReturn(Optional.of(BigDecimal.TEN));
+
+        when(serialNumberRepository.findByProductVariantIdAndSerialNumberIn(eq(variantId), any()))
+                .thenReturn(List.of(
+                        serial("SN-OK", variant, warehouse, SerialNumberStatus.AVAILABLE),
+                        serial("SN-SOLD", variant, null, SerialNumberStatus.SOLD),
+                        serial("SN-ELSEWHERE", variant, otherWarehouse, SerialNumberStatus.AVAILABLE)));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> stockService.adjustStock(dto));
+
+        assertTrue(ex.getMessage().contains("Serial number not available: SN-SOLD"));
+        assertTrue(ex.getMessage().contains("Serial number in different warehouse: SN-ELSEWHERE"));
+        assertTrue(ex.getMessage().contains("Serial number not found: SN-MISSING"));
+        verify(serialNumberRepository, never()).saveAll(any());
+        verify(stockMovementSerialNumberRepository, never()).saveAll(any());
+    }
+
+    private static SerialNumber serial(String number, ProductVariant variant, Warehouse warehouse, SerialNumberStatus status) {
+        SerialNumber serial = new SerialNumber();
+        serial.setId(UUID.randomUUID());
+        serial.setSerialNumber(number);
+        serial.setProductVariant(variant);
+        serial.setWarehouse(warehouse);
+        serial.setStatus(status);
+        return serial;
+    }
+
+    private static int sizeOf(Iterable<?> items) {
+        int size = 0;
+        for (Object ignored : items) {
+            size++;
+        }
+        return size;
     }
 }
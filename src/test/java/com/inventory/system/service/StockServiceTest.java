@@ -3,11 +3,14 @@ package com.inventory.system.service;
 import com.inventory.system.common.entity.Batch;
 import com.inventory.system.common.entity.ProductTemplate;
 import com.inventory.system.common.entity.ProductVariant;
-import com.inventory.system.common.entity.Stock;
 import com.inventory.system.common.entity.StockMovement;
+import com.inventory.system.common.entity.StockStatus;
 import com.inventory.system.common.entity.Warehouse;
+import com.inventory.system.common.exception.BadRequestException;
 import com.inventory.system.common.exception.ResourceNotFoundException;
+import com.inventory.system.payload.CursorPageDto;
 import com.inventory.system.payload.StockAdjustmentDto;
+import com.inventory.system.payload.StockBatchAdjustmentResultDto;
 import com.inventory.system.payload.StockMovementDto;
 import com.inventory.system.repository.BatchRepository;
 import com.inventory.system.repository.ProductVariantRepository;
@@ -17,6 +20,13 @@ import com.inventory.system.repository.StockMovementSerialNumberRepository;
 import com.inventory.system.repository.StockRepository;
 import com.inventory.system.repository.StorageLocationRepository;
 import com.inventory.system.repository.WarehouseRepository;
+import com.inventory.system.repository.projection.MovementSerialNumber;
+import com.inventory.system.repository.projection.StockMovementView;
+import com.inventory.system.service.inventory.StockMutationEngine;
+import com.inventory.system.service.inventory.StockPosition;
+import com.inventory.system.service.inventory.StockMovementRollup;
+import com.inventory.system.service.inventory.WarehouseCapacityTracker;
+import com.inventory.system.service.inventory.events.InventoryChangedEvent;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -24,18 +34,30 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -64,6 +86,12 @@ public class StockServiceTest {
     @Mock
     private TenantSettingService tenantSettingService;
     @Mock
+    private StockMutationEngine stockMutationEngine;
+    @Mock
+    private WarehouseCapacityTracker warehouseCapacityTracker;
+    @Mock
+    private StockMovementRollup stockMovementRollup;
+    @Mock
     private org.springframework.context.ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
@@ -104,16 +132,10 @@ public class StockServiceTest {
         when(warehouseRepository.findById(warehouseId)).thenReturn(Optional.of(warehouse));
         when(batchRepository.findById(batchId)).thenReturn(Optional.of(batch));
 
-        // Mock find stock to return empty, so it creates new
-        when(stockRepository.findByProductVariantIdAndWarehouseIdAndStorageLocationIdIsNullAndBatchId(
-                eq(variantId), eq(warehouseId), eq(batchId)))
-                .thenReturn(Optional.empty());
-
-        when(stockRepository.save(any(Stock.class))).thenAnswer(i -> {
-            Stock s = (Stock) i.getArguments()[0];
-            s.setId(UUID.randomUUID());
-            return s;
-        });
+        // Position does not exist yet, so the upsert creates it with the full quantity
+        StockPosition position = new StockPosition(variantId, warehouseId, null, batchId, StockStatus.AVAILABLE);
+        when(stockMutationEngine.applyDelta(eq(position), eq(quantity), anyBoolean()))
+                .thenReturn(Optional.of(quantity));
 
         when(stockMovementRepository.save(any(StockMovement.class))).thenAnswer(i -> {
             StockMovement m = (StockMovement) i.getArguments()[0];
@@ -126,8 +148,9 @@ public class StockServiceTest {
         assertNotNull(result);
         assertEquals(quantity, result.getQuantity());
         assertEquals(batchId, result.getBatchId());
+        assertEquals(quantity, result.getResultingQuantity());
 
-        verify(stockRepository).save(any(Stock.class));
+        verify(stockMutationEngine).applyDelta(eq(position), eq(quantity), anyBoolean());
         verify(valuationService).processInbound(any(StockMovement.class), any());
     }
 
@@ -190,16 +213,8 @@ public class StockServiceTest {
         when(productVariantRepository.findById(variantId)).thenReturn(Optional.of(variant));
         when(warehouseRepository.findById(warehouseId)).thenReturn(Optional.of(warehouse));
 
-        // Mock find stock for no batch
-        when(stockRepository.findByProductVariantIdAndWarehouseIdAndStorageLocationIdIsNullAndBatchIdIsNull(
-                eq(variantId), eq(warehouseId)))
-                .thenReturn(Optional.empty());
-
-        when(stockRepository.save(any(Stock.class))).thenAnswer(i -> {
-            Stock s = (Stock) i.getArguments()[0];
-            s.setId(UUID.randomUUID());
-            return s;
-        });
+        when(stockMutationEngine.applyDelta(any(StockPosition.class), eq(quantity), anyBoolean()))
+                .thenReturn(Optional.of(quantity));
 
         when(stockMovementRepository.save(any(StockMovement.class))).thenAnswer(i -> {
             StockMovement m = (StockMovement) i.getArguments()[0];
@@ -248,4 +263,226 @@ public class StockServiceTest {
         assertThrows(com.inventory.system.common.exception.BadRequestException.class,
                 () -> stockService.adjustStock(dto));
     }
+
+    @Test
+    void adjustStock_Outbound_RejectedByEngine_ThrowsInsufficientStock() {
+        UUID variantId = UUID.randomUUID();
+        UUID warehouseId = UUID.randomUUID();
+
+        ProductTemplate template = new ProductTemplate();
+        template.setIsBatchTracked(false);
+
+        ProductVariant variant = new ProductVariant();
+        variant.setId(variantId);
+        variant.setTemplate(template);
+
+        Warehouse warehouse = new Warehouse();
+        warehouse.setId(warehouseId);
+
+        StockAdjustmentDto dto = new StockAdjustmentDto();
+        dto.setProductVariantId(variantId);
+        dto.setWarehouseId(warehouseId);
+        dto.setQuantity(BigDecimal.TEN);
+        dto.setType(StockMovement.StockMovementType.OUT);
+        dto.setReason("test");
+
+        when(productVariantRepository.findById(variantId)).thenReturn(Optional.of(variant));
+        when(warehouseRepository.findById(warehouseId)).thenReturn(Optional.of(warehouse));
+        // Guarded update matched no row: the sale would oversell the position
+        when(stockMutationEngine.applyDelta(any(StockPosition.class), eq(BigDecimal.TEN.negate()), eq(false)))
+                .thenReturn(Optional.empty());
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> stockService.adjustStock(dto));
+
+        assertEquals("Insufficient stock", ex.getMessage());
+        verify(stockMovementRepository, never()).save(any(StockMovement.class));
+    }
+
+    @Test
+    void adjustStockBatch_NetsDeltasPerPositionAndPublishesOneEventPerVariantWarehouse() {
+        UUID variantId = UUID.randomUUID();
+        UUID warehouseId = UUID.randomUUID();
+
+        ProductTemplate template = new ProductTemplate();
+        template.setIsBatchTracked(false);
+
+        ProductVariant variant = new ProductVariant();
+        variant.setId(variantId);
+        variant.setTemplate(template);
+        variant.setSku("SKU-1");
+
+        Warehouse warehouse = new Warehouse();
+        warehouse.setId(warehouseId);
+        warehouse.setName("Main WH");
+
+        StockAdjustmentDto receipt = new StockAdjustmentDto();
+        receipt.setProductVariantId(variantId);
+        receipt.setWarehouseId(warehouseId);
+        receipt.setQuantity(BigDecimal.TEN);
+        receipt.setType(StockMovement.StockMovementType.IN);
+        receipt.setReferenceId("IMPORT-1");
+
+        StockAdjustmentDto sale = new StockAdjustmentDto();
+        sale.setProductVariantId(variantId);
+        sale.setWarehouseId(warehouseId);
+        sale.setQuantity(new BigDecimal("3"));
+        sale.setType(StockMovement.StockMovementType.OUT);
+        sale.setReferenceId("IMPORT-1");
+
+        when(productVariantRepository.findAllWithTemplateByIdIn(any())).thenReturn(List.of(variant));
+        when(warehouseRepository.findAllById(any())).thenReturn(List.of(warehouse));
+        when(stockMutationEngine.applyDeltas(any(), anyBoolean())).thenReturn(List.of());
+
+        StockBatchAdjustmentResultDto result = stockService.adjustStockBatch(List.of(receipt, sale));
+
+        assertEquals(2, result.getTotalLines());
+        assertEquals(2, result.getMovementsCreated());
+        assertEquals(1, result.getPositionsUpdated());
+
+        StockPosition position = new StockPosition(variantId, warehouseId, null, null, StockStatus.AVAILABLE);
+        verify(stockMutationEngine).applyDeltas(eq(Map.of(position, new BigDecimal("7"))), eq(false));
+        verify(warehouseCapacityTracker).record(warehouseId, new BigDecimal("7"));
+        verify(valuationService).processBatch(argThat(lines -> lines.size() == 2
+                && lines.get(0).inbound() && !lines.get(1).inbound()));
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) -> event instanceof InventoryChangedEvent changed
+                && "IMPORT-1".equals(changed.referenceId())));
+        verify(productVariantRepository, never()).findById(any());
+    }
+
+    @Test
+    void adjustStockBatch_ReportsEveryInvalidLineAndWritesNothing() {
+        UUID warehouseId = UUID.randomUUID();
+        Warehouse warehouse = new Warehouse();
+        warehouse.setId(warehouseId);
+
+        StockAdjustmentDto unknownVariant = new StockAdjustmentDto();
+        unknownVariant.setProductVariantId(UUID.randomUUID());
+        unknownVariant.setWarehouseId(warehouseId);
+        unknownVariant.setQuantity(BigDecimal.ONE);
+        unknownVariant.setType(StockMovement.StockMovementType.IN);
+        unknownVariant.setReason("count");
+
+        StockAdjustmentDto missingReason = new StockAdjustmentDto();
+        missingReason.setProductVariantId(UUID.randomUUID());
+        missingReason.setWarehouseId(warehouseId);
+        missingReason.setQuantity(BigDecimal.ONE);
+        missingReason.setType(StockMovement.StockMovementType.IN);
+
+        when(productVariantRepository.findAllWithTemplateByIdIn(any())).thenReturn(List.of());
+        when(warehouseRepository.findAllById(any())).thenReturn(List.of(warehouse));
+
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> stockService.adjustStockBatch(List.of(unknownVariant, missingReason)));
+
+        assertTrue(ex.getMessage().contains("Line 1: "));
+        assertTrue(ex.getMessage().contains("Line 2: A movement reason or reference is required"));
+        verify(stockMutationEngine, never()).applyDeltas(any(), anyBoolean());
+        verify(stockMovementRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void adjustStock_Outbound_UsesOutboundValuation() {
+        UUID variantId = UUID.randomUUID();
+        UUID warehouseId = UUID.randomUUID();
+
+        ProductTemplate template = new ProductTemplate();
+        template.setIsBatchTracked(false);
+
+        ProductVariant variant = new ProductVariant();
+        variant.setId(variantId);
+        variant.setTemplate(template);
+
+        Warehouse warehouse = new Warehouse();
+        warehouse.setId(warehouseId);
+
+        StockAdjustmentDto dto = new StockAdjustmentDto();
+        dto.setProductVariantId(variantId);
+        dto.setWarehouseId(warehouseId);
+        dto.setQuantity(BigDecimal.ONE);
+        dto.setType(StockMovement.StockMovementType.OUT);
+        dto.setReason("sale");
+
+        when(productVariantRepository.findById(variantId)).thenReturn(Optional.of(variant));
+        when(warehouseRepository.findById(warehouseId)).thenReturn(Optional.of(warehouse));
+        when(stockMutationEngine.applyDelta(any(StockPosition.class), eq(BigDecimal.ONE.negate()), anyBoolean()))
+                .thenReturn(Optional.of(BigDecimal.ZERO));
+
+        stockService.adjustStock(dto);
+
+        verify(valuationService).processOutbound(any(StockMovement.class));
+        verify(valuationService, never()).processInbound(any(StockMovement.class), any());
+    }
+
+    @Test
+    void getStockMovements_LoadsSerialNumbersForWholePageInOneQuery() {
+        UUID firstId = UUID.randomUUID();
+        UUID secondId = UUID.randomUUID();
+        StockMovementView first = movementView(firstId);
+        StockMovementView second = movementView(secondId);
+        Pageable pageable = PageRequest.of(0, 500);
+        when(stockMovementRepository.findViews(null, null, pageable)).thenReturn(new PageImpl<>(List.of(first, second), pageable, 2));
+
+        MovementSerialNumber serial = mock(MovementSerialNumber.class);
+        when(serial.getStockMovementId()).thenReturn(secondId);
+        when(serial.getSerialNumber()).thenReturn("SN-1");
+        when(stockMovementSerialNumberRepository.findSerialNumbersByStockMovementIds(List.of(firstId, secondId)))
+                .thenReturn(List.of(serial));
+
+        Page<StockMovementDto> page = stockService.getStockMovements(null, null, pageable);
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals("SKU-1", page.getContent().get(0).getProductVariantSku());
+        assertEquals(null, page.getContent().get(0).getSerialNumbers());
+        assertEquals(List.of("SN-1"), page.getContent().get(1).getSerialNumbers());
+        verify(stockMovementSerialNumberRepository, times(1)).findSerialNumbersByStockMovementIds(any());
+        verify(stockMovementSerialNumberRepository, never()).findByStockMovement(any());
+    }
+
+    @Test
+    void getStockMovementsByCursor_ContinuesAfterLastRowOfPreviousPage() {
+        LocalDateTime newest = LocalDateTime.of(2026, 3, 2, 10, 0);
+        UUID firstId = UUID.randomUUID();
+        UUID secondId = UUID.randomUUID();
+        UUID thirdId = UUID.randomUUID();
+        StockMovementView first = movementView(firstId);
+        StockMovementView second = movementView(secondId);
+        StockMovementView third = movementView(thirdId);
+        when(first.getCreatedAt()).thenReturn(newest);
+        when(second.getCreatedAt()).thenReturn(newest.minusHours(1));
+        when(third.getCreatedAt()).thenReturn(newest.minusHours(2));
+        when(stockMovementRepository.findViewsFirstPage(isNull(), isNull(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(first, second, third));
+
+        CursorPageDto<StockMovementDto> page = stockService.getStockMovementsByCursor(null, null, null, null, null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasMore());
+        assertNotNull(page.getNextCursor());
+        verify(stockMovementRepository).findViewsFirstPage(isNull(), isNull(), any(LocalDateTime.class), any(LocalDateTime.class),
+                eq(PageRequest.of(0, 3)));
+
+        when(stockMovementRepository.findViewsPageBefore(isNull(), isNull(), any(LocalDateTime.class),
+                eq(newest.minusHours(1)), eq(secondId), any(Pageable.class))).thenReturn(List.of(third));
+
+        CursorPageDto<StockMovementDto> next = stockService.getStockMovementsByCursor(null, null, null, null, page.getNextCursor(), 2);
+
+        assertEquals(1, next.getItems().size());
+        assertEquals(thirdId, next.getItems().get(0).getId());
+        assertEquals(null, next.getNextCursor());
+    }
+
+    @Test
+    void getStockMovementsByCursor_RejectsMalformedCursor() {
+        assertThrows(BadRequestException.class,
+                () -> stockService.getStockMovementsByCursor(null, null, null, null, "not-a-cursor", 50));
+    }
+
+    private static StockMovementView movementView(UUID id) {
+        StockMovementView view = mock(StockMovementView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getProductVariantSku()).thenReturn("SKU-1");
+        when(view.getQuantity()).thenReturn(BigDecimal.ONE);
+        when(view.getType()).thenReturn(StockMovement.StockMovementType.IN);
+        return view;
+    }
 }
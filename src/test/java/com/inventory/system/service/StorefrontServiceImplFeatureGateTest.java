@@ -1,10 +1,14 @@
 package com.inventory.system.service;
 
+import com.inventory.system.common.entity.SalesChannel;
+import com.inventory.system.common.entity.SalesOrderStatus;
 import com.inventory.system.common.entity.StorefrontPublishVersion;
 import com.inventory.system.common.exception.StorefrontModuleDisabledException;
 import com.inventory.system.common.exception.StorefrontModuleUnavailableException;
 import com.inventory.system.common.entity.TenantSetting;
+import com.inventory.system.config.scaling.CacheInvalidationBus;
 import com.inventory.system.config.tenant.TenantContext;
+import com.inventory.system.payload.StorefrontAnalyticsDto;
 import com.inventory.system.payload.StorefrontConfigDto;
 import com.inventory.system.payload.StorefrontDomainContextDto;
 import com.inventory.system.payload.StorefrontThemeDocumentDto;
@@ -21,14 +25,26 @@ import com.inventory.system.repository.StorefrontLoginChallengeRepository;
 import com.inventory.system.repository.StorefrontPublishVersionRepository;
 import com.inventory.system.repository.TenantSettingRepository;
 import com.inventory.system.repository.WarehouseRepository;
+import com.inventory.system.repository.projection.DailySalesTotals;
+import com.inventory.system.repository.projection.ProductSales;
+import com.inventory.system.repository.projection.SalesStatusCount;
+import com.inventory.system.repository.projection.SalesTotals;
+import com.inventory.system.service.storefront.StorefrontPublishedConfig;
+import com.inventory.system.service.storefront.StorefrontPublishedConfigCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.List;
@@ -38,8 +54,10 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -105,6 +123,10 @@ class StorefrontServiceImplFeatureGateTest {
     @Mock
     private StorefrontThemeRegistry storefrontThemeRegistry;
 
+    @Spy
+    private StorefrontPublishedConfigCache storefrontPublishedConfigCache =
+            new StorefrontPublishedConfigCache(new CacheInvalidationBus(null, false), new SimpleMeterRegistry(), 300);
+
     @InjectMocks
     private StorefrontServiceImpl storefrontService;
 
@@ -141,6 +163,7 @@ class StorefrontServiceImplFeatureGateTest {
 
         StorefrontPublishVersion version = new StorefrontPublishVersion();
         version.setId(UUID.randomUUID());
+        version.setVersionNumber(4);
         version.setSnapshotJson("{}");
         when(storefrontPublishVersionRepository.findTopByTenantIdOrderByVersionNumberDesc(TENANT_ID))
             .thenReturn(Optional.of(version));
@@ -159,6 +182,7 @@ class StorefrontServiceImplFeatureGateTest {
             .thenReturn(List.of());
         when(storefrontDomainService.getDomainContextForCurrentTenant())
             .thenReturn(new StorefrontDomainContextDto("tenant-a.localhost", "https://tenant-a.localhost", "shop.localdemo.test", "https://shop.localdemo.test", "localhost", java.util.List.of()));
+        when(objectMapper.writeValueAsBytes(any())).thenReturn(new byte[]{1, 2, 3});
 
         StorefrontConfigDto config = storefrontService.getPublicConfig();
 
@@ -166,6 +190,14 @@ class StorefrontServiceImplFeatureGateTest {
         assertEquals("shop.localdemo.test", config.getDomains().getPrimaryHostname());
         verify(storefrontPublishVersionRepository).findTopByTenantIdOrderByVersionNumberDesc(TENANT_ID);
         verify(storefrontPublishVersionRepository, never()).findTopByOrderByVersionNumberDesc();
+
+        clearInvocations(storefrontPublishVersionRepository, storefrontDomainService, tenantSettingRepository);
+        StorefrontPublishedConfig cached = storefrontService.getPublishedConfig();
+
+        assertSame(config, cached.config());
+        assertEquals(4, cached.versionNumber());
+        assertTrue(cached.eTag().startsWith("\"4-"));
+        verifyNoInteractions(storefrontPublishVersionRepository, storefrontDomainService, tenantSettingRepository);
         }
 
     @Test
@@ -216,6 +248,58 @@ class StorefrontServiceImplFeatureGateTest {
         verifyNoInteractions(tenantSettingRepository);
     }
 
+    @Test
+    void getStorefrontAnalytics_summarisesTheWebChannelWithGroupedQueries() {
+        LocalDateTime from = LocalDate.of(2026, 3, 1).atStartOfDay();
+        LocalDateTime to = LocalDate.of(2026, 4, 1).atStartOfDay();
+        when(salesOrderRepository.sumByChannel(SalesChannel.WEB_ORDER, from, to))
+                .thenReturn(totals(3L, new BigDecimal("100.00")));
+        when(salesOrderRepository.countByChannelGroupByStatus(SalesChannel.WEB_ORDER, from, to))
+                .thenReturn(List.of(statusCount(SalesOrderStatus.DELIVERED, 2L),
+                        statusCount(SalesOrderStatus.CANCELLED, 1L)));
+        when(salesOrderRepository.findTopProductsByChannel(SalesChannel.WEB_ORDER, from, to, PageRequest.of(0, 5)))
+                .thenReturn(List.of(productSales("SKU-1", null, new BigDecimal("4"), new BigDecimal("80.00"))));
+        when(salesOrderRepository.sumByChannelGroupByDay(SalesChannel.WEB_ORDER, from, to))
+                .thenReturn(List.of(dailyTotals(LocalDate.of(2026, 3, 2), 3L, new BigDecimal("100.00"))));
+        when(storefrontAccountRepository.countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(from, to)).thenReturn(3L);
+        when(storefrontAccountRepository.countCreatedWithOrder(SalesChannel.WEB_ORDER, from, to)).thenReturn(1L);
+
+        StorefrontAnalyticsDto analytics =
+                storefrontService.getStorefrontAnalytics(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31));
+
+        assertEquals(3L, analytics.getTotalOrders());
+        assertEquals(new BigDecimal("100.00"), analytics.getTotalRevenue());
+        assertEquals(new BigDecimal("33.33"), analytics.getAverageOrderValue());
+        assertEquals(3L, analytics.getNewCustomers());
+        assertEquals(1L, analytics.getConvertedCustomers());
+        assertEquals(new BigDecimal("33.33"), analytics.getConversionRate());
+        assertEquals(List.of(new StorefrontAnalyticsDto.StatusBreakdown("DELIVERED", 2L),
+                new StorefrontAnalyticsDto.StatusBreakdown("CANCELLED", 1L)), analytics.getOrdersByStatus());
+        assertEquals(List.of(new StorefrontAnalyticsDto.TopProduct("SKU-1", "SKU-1", new BigDecimal("4"),
+                new BigDecimal("80.00"))), analytics.getTopProducts());
+        assertEquals(List.of(new StorefrontAnalyticsDto.DailyRevenue("2026-03-02", new BigDecimal("100.00"), 3L)),
+                analytics.getDailyRevenue());
+        verify(salesOrderRepository, never()).findAll();
+    }
+
+    @Test
+    void getStorefrontAnalytics_reportsZeroConversionWithoutNewCustomers() {
+        when(salesOrderRepository.sumByChannel(eq(SalesChannel.WEB_ORDER), any(), any()))
+                .thenReturn(totals(0L, BigDecimal.ZERO));
+        when(storefrontAccountRepository.countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(any(), any()))
+                .thenReturn(0L);
+
+        StorefrontAnalyticsDto analytics = storefrontService.getStorefrontAnalytics(null, null);
+
+        assertEquals(0L, analytics.getTotalOrders());
+        assertEquals(BigDecimal.ZERO, analytics.getAverageOrderValue());
+        assertEquals(0L, analytics.getNewCustomers());
+        assertEquals(0L, analytics.getConvertedCustomers());
+        assertEquals(BigDecimal.ZERO, analytics.getConversionRate());
+        assertTrue(analytics.getOrdersByStatus().isEmpty());
+        verify(storefrontAccountRepository, never()).countCreatedWithOrder(any(), any(), any());
+    }
+
     private TenantSetting settingWithValue(String value) {
         TenantSetting setting = new TenantSetting();
         setting.setSettingKey(STOREFRONT_MODULE_KEY);
@@ -224,4 +308,35 @@ class StorefrontServiceImplFeatureGateTest {
         setting.setTenantId(TENANT_ID);
         return setting;
     }
-}
\ No newline at end of file
+
+    private static SalesTotals totals(Long orderCount, BigDecimal revenue) {
+        return new SalesTotals() {
+            public Long getOrderCount() { return orderCount; }
+            public BigDecimal getRevenue() { return revenue; }
+        };
+    }
+
+    private static SalesStatusCount statusCount(SalesOrderStatus status, Long orderCount) {
+        return new SalesStatusCount() {
+            public SalesOrderStatus getStatus() { return status; }
+            public Long getOrderCount() { return orderCount; }
+        };
+    }
+
+    private static ProductSales productSales(String sku, String productName, BigDecimal quantity, BigDecimal revenue) {
+        return new ProductSales() {
+            public String getSku() { return sku; }
+            public String getProductName() { return productName; }
+            public BigDecimal getQuantity() { return quantity; }
+            public BigDecimal getRevenue() { return revenue; }
+        };
+    }
+
+    private static DailySalesTotals dailyTotals(LocalDate orderDay, Long orderCount, BigDecimal revenue) {
+        return new DailySalesTotals() {
+            public LocalDate getOrderDay() { return orderDay; }
+            public Long getOrderCount() { return orderCount; }
+            public BigDecimal getRevenue() { return revenue; }
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package com.inventory.system.service;
+
+import com.inventory.system.common.entity.Tenant;
+import com.inventory.system.payload.SuperAdminTenantUpdateRequest;
+import com.inventory.system.repository.StorefrontDomainRepository;
+import com.inventory.system.repository.TenantRepository;
+import com.inventory.system.repository.TenantSettingRepository;
+import com.inventory.system.service.storefront.events.StorefrontDomainsChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SuperAdminTenantServiceImplTest {
+
+    @Mock
+    private TenantRepository tenantRepository;
+    @Mock
+    private TenantService tenantService;
+    @Mock
+    private TenantSettingService tenantSettingService;
+    @Mock
+    private TenantSettingRepository tenantSettingRepository;
+    @Mock
+    private StorefrontDomainRepository storefrontDomainRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SuperAdminTenantServiceImpl superAdminTenantService;
+    private Tenant tenant;
+
+    @BeforeEach
+    void setUp() {
+        StorefrontDomainServiceImpl storefrontDomainService =
+                new StorefrontDomainServiceImpl(storefrontDomainRepository, tenantRepository, eventPublisher);
+        ReflectionTestUtils.setField(storefrontDomainService, "platformBaseDomain", "shop.example.com");
+        superAdminTenantService = new SuperAdminTenantServiceImpl(tenantRepository, tenantService,
+                tenantSettingService, tenantSettingRepository, storefrontDomainService);
+
+        tenant = new Tenant();
+        tenant.setId(UUID.randomUUID());
+        tenant.setName("Acme");
+        tenant.setSubdomain("acme");
+        tenant.setStatus(Tenant.TenantStatus.ACTIVE);
+        tenant.setSubscriptionPlan(Tenant.SubscriptionPlan.BASIC);
+        when(tenantRepository.findById(tenant.getId())).thenReturn(Optional.of(tenant));
+        when(tenantRepository.findBySubdomainIgnoreCase(any())).thenReturn(Optional.empty());
+        when(tenantRepository.save(tenant)).thenReturn(tenant);
+        when(tenantSettingRepository.findValueByTenantIdAndSettingKey(any(), any())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void updateTenant_RenamingTheSubdomainInvalidatesTheOldAndNewHosts() {
+        superAdminTenantService.updateTenant(tenant.getId(), update("Acme-Shop", Tenant.TenantStatus.ACTIVE));
+
+        assertEquals(List.of("acme.shop.example.com", "acme-shop.shop.example.com"), changedHostnames());
+    }
+
+    @Test
+    void updateTenant_LeavesCachedHostsAloneWhenSubdomainAndStatusAreUnchanged() {
+        superAdminTenantService.updateTenant(tenant.getId(), update("acme", Tenant.TenantStatus.ACTIVE));
+
+        verify(eventPublisher, never()).publishEvent(any(StorefrontDomainsChangedEvent.class));
+    }
+
+    @Test
+    void deactivateTenant_InvalidatesItsPlatformHost() {
+        superAdminTenantService.deactivateTenant(tenant.getId());
+
+        assertEquals(List.of("acme.shop.example.com"), changedHostnames());
+    }
+
+    private List<String> changedHostnames() {
+        ArgumentCaptor<StorefrontDomainsChangedEvent> event = ArgumentCaptor.forClass(StorefrontDomainsChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(tenant.getId().toString(), event.getValue().tenantId());
+        return event.getValue().hostnames();
+    }
+
+    private SuperAdminTenantUpdateRequest update(String subdomain, Tenant.TenantStatus status) {
+        SuperAdminTenantUpdateRequest request = new SuperAdminTenantUpdateRequest();
+        request.setName("Acme");
+        request.setSubdomain(subdomain);
+        request.setPlan(Tenant.SubscriptionPlan.BASIC);
+        request.setStatus(status);
+        request.setStorefrontEnabled(true);
+        return request;
+    }
+}
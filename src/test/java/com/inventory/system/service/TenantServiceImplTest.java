@@ -56,6 +56,8 @@ class TenantServiceImplTest {
     private PasswordEncoder passwordEncoder;
     @Mock
     private EntityManager entityManager;
+    @Mock
+    private StorefrontDomainService storefrontDomainService;
 
     @InjectMocks
     private TenantServiceImpl tenantService;
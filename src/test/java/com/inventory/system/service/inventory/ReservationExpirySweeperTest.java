@@ -0,0 +1,116 @@
+package com.inventory.system.service.inventory;
+
+import com.inventory.system.common.entity.StockStatus;
+import com.inventory.system.repository.TenantRepository;
+import com.inventory.system.service.inventory.events.AvailableToPromiseChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReservationExpirySweeperTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Mock
+    private AvailableToPromiseProjection availableToPromise;
+    @Mock
+    private TenantRepository tenantRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private ObjectProvider<ReservationExpirySweeper> self;
+
+    private ReservationExpirySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        sweeper = new ReservationExpirySweeper(jdbcTemplate, availableToPromise, tenantRepository, eventPublisher,
+                self, new SimpleMeterRegistry(), 500, 10);
+    }
+
+    @Test
+    void sweepTenant_ExpiresInChunksUntilAShortChunk() {
+        ReservationExpirySweeper proxy = mock(ReservationExpirySweeper.class);
+        when(self.getObject()).thenReturn(proxy);
+        when(proxy.countOverdue("tenant-a")).thenReturn(1200L);
+        when(proxy.expireChunk("tenant-a", 500)).thenReturn(500, 500, 200);
+
+        long overdue = sweeper.sweepTenant("tenant-a");
+
+        assertEquals(1200L, overdue);
+        verify(proxy, times(3)).expireChunk("tenant-a", 500);
+    }
+
+    @Test
+    void sweepTenant_NothingOverdue_SkipsUpdate() {
+        ReservationExpirySweeper proxy = mock(ReservationExpirySweeper.class);
+        when(self.getObject()).thenReturn(proxy);
+        when(proxy.countOverdue("tenant-a")).thenReturn(0L);
+
+        sweeper.sweepTenant("tenant-a");
+
+        verify(proxy, never()).expireChunk(anyString(), eq(500));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void expireChunk_ReleasesQuantitiesAndPublishesOneEventPerVariantWarehouse() throws Exception {
+        UUID variantId = UUID.randomUUID();
+        UUID warehouseId = UUID.randomUUID();
+        UUID locationId = UUID.randomUUID();
+        ResultSet warehouseRow = row(variantId, warehouseId, null, new BigDecimal("3"), 2);
+        ResultSet locationRow = row(variantId, warehouseId, locationId, new BigDecimal("1"), 1);
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenAnswer(invocation -> {
+                    RowMapper<Object> mapper = invocation.getArgument(2);
+                    return List.of(mapper.mapRow(warehouseRow, 0), mapper.mapRow(locationRow, 1));
+                });
+
+        int expired = sweeper.expireChunk("tenant-a", 500);
+
+        assertEquals(3, expired);
+        verify(availableToPromise).releaseAll(Map.of(
+                new StockPosition(variantId, warehouseId, null, null, StockStatus.AVAILABLE), new BigDecimal("3"),
+                new StockPosition(variantId, warehouseId, locationId, null, StockStatus.AVAILABLE), new BigDecimal("1")));
+        verify(eventPublisher, times(1)).publishEvent(any(AvailableToPromiseChangedEvent.class));
+    }
+
+    private ResultSet row(UUID variantId, UUID warehouseId, UUID locationId, BigDecimal quantity, int reservations) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getObject("product_variant_id", UUID.class)).thenReturn(variantId);
+        when(rs.getObject("warehouse_id", UUID.class)).thenReturn(warehouseId);
+        when(rs.getObject("storage_location_id", UUID.class)).thenReturn(locationId);
+        when(rs.getObject("batch_id", UUID.class)).thenReturn(null);
+        when(rs.getBigDecimal("quantity")).thenReturn(quantity);
+        when(rs.getInt("reservations")).thenReturn(reservations);
+        return rs;
+    }
+}
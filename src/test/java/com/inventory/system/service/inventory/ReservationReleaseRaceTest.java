@@ -0,0 +1,230 @@
+package com.inventory.system.service.inventory;
+
+import com.inventory.system.common.entity.ProductTemplate;
+import com.inventory.system.common.entity.ProductVariant;
+import com.inventory.system.common.entity.StockAvailability;
+import com.inventory.system.common.entity.StockReservationStatus;
+import com.inventory.system.common.entity.StockStatus;
+import com.inventory.system.common.entity.Warehouse;
+import com.inventory.system.config.JpaAuditingConfiguration;
+import com.inventory.system.config.tenant.TenantContext;
+import com.inventory.system.payload.StockReservationRequest;
+import com.inventory.system.service.StockReservationService;
+import com.inventory.system.service.StockReservationServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Races a manual release against another transaction that already moved the same reservation
+ * out of ACTIVE but has not committed yet, on real H2 row locks. The loser must neither
+ * overwrite the winner's status nor release the reserved quantity a second time.
+ *
+ * <p>H2 cannot run the sweeper's data-modifying CTE, so the expiry side replays its steps: lock
+ * the overdue ACTIVE rows with {@code SKIP LOCKED}, set them EXPIRED and release their quantity
+ * through {@link AvailableToPromiseProjection#releaseAll}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaAuditingConfiguration.class, AvailableToPromiseProjection.class, StockReservationServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReservationReleaseRaceTest {
+
+    private static final String TENANT = "reservation-race-tenant";
+
+    @Autowired
+    private StockReservationService reservationService;
+    @Autowired
+    private AvailableToPromiseProjection availableToPromise;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private ReservationExpirySweeper reservationExpirySweeper;
+
+    private TransactionTemplate tx;
+    private ProductVariant variant;
+    private Warehouse warehouse;
+
+    @BeforeEach
+    void seedStock() {
+        TenantContext.setTenantId(TENANT);
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            ProductTemplate template = new ProductTemplate();
+            template.setName("Widget");
+            em.persist(template);
+            variant = new ProductVariant();
+            variant.setSku("RACE-" + UUID.randomUUID());
+            variant.setPrice(BigDecimal.ONE);
+            variant.setTemplate(template);
+            em.persist(variant);
+            warehouse = new Warehouse();
+            warehouse.setName("North");
+            warehouse.setType("STANDARD");
+            em.persist(warehouse);
+            StockAvailability total = new StockAvailability();
+            total.setProductVariant(variant);
+            total.setWarehouse(warehouse);
+            total.setLocationKey(AvailableToPromiseProjection.WAREHOUSE_TOTAL);
+            total.setBatchKey(AvailableToPromiseProjection.WAREHOUSE_TOTAL);
+            total.setOnHand(BigDecimal.TEN);
+            total.setReserved(BigDecimal.ZERO);
+            em.persist(total);
+        });
+    }
+
+    @AfterEach
+    void clearTenant() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void releaseBlockedBehindAnExpiry_ReleasesNothing() throws Exception {
+        UUID reservationId = reserve(new BigDecimal("4"));
+
+        makeOverdue(reservationId);
+
+        CompletableFuture<Void> expiry = holdOpen(() -> assertThat(expireOverdue()).isEqualTo(1));
+
+        assertThatThrownBy(() -> reservationService.releaseReservation(reservationId))
+                .isInstanceOf(IllegalStateException.class);
+        expiry.get(10, TimeUnit.SECONDS);
+
+        assertThat(status(reservationId)).isEqualTo("EXPIRED");
+        assertThat(reserved()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void expiryWhileAReleaseHoldsTheRow_SkipsIt() throws Exception {
+        UUID reservationId = reserve(new BigDecimal("4"));
+        makeOverdue(reservationId);
+
+        CompletableFuture<Void> release = holdOpen(() -> reservationService.releaseReservation(reservationId));
+
+        Integer expired = tx.execute(status -> expireOverdue());
+        assertThat(expired).isZero();
+        release.get(10, TimeUnit.SECONDS);
+
+        assertThat(status(reservationId)).isEqualTo("RELEASED");
+        assertThat(reserved()).isEqualByComparingTo("0");
+        // Nothing left for a later sweep either
+        Integer expiredLater = tx.execute(status -> expireOverdue());
+        assertThat(expiredLater).isZero();
+    }
+
+    @Test
+    void releaseBlockedBehindAnotherRelease_ReleasesNothing() throws Exception {
+        UUID reservationId = reserve(new BigDecimal("4"));
+
+        CompletableFuture<Void> firstRelease = holdOpen(() -> reservationService.releaseReservation(reservationId));
+
+        assertThatThrownBy(() -> reservationService.releaseReservation(reservationId))
+                .isInstanceOf(IllegalStateException.class);
+        firstRelease.get(10, TimeUnit.SECONDS);
+
+        assertThat(status(reservationId)).isEqualTo("RELEASED");
+        assertThat(reserved()).isEqualByComparingTo("0");
+    }
+
+    private UUID reserve(BigDecimal quantity) {
+        StockReservationRequest request = new StockReservationRequest();
+        request.setProductVariantId(variant.getId());
+        request.setWarehouseId(warehouse.getId());
+        request.setQuantity(quantity);
+        request.setExpiresAt(LocalDateTime.now().plusHours(1));
+        UUID id = tx.execute(status -> reservationService.reserveStock(request).getId());
+        assertThat(reserved()).isEqualByComparingTo(quantity);
+        return id;
+    }
+
+    private void makeOverdue(UUID reservationId) {
+        jdbcTemplate.update("UPDATE stock_reservations SET expires_at = :past WHERE id = :id",
+                new MapSqlParameterSource("id", reservationId).addValue("past", LocalDateTime.now().minusMinutes(1)));
+    }
+
+    /**
+     * The sweeper's expiry chunk in the statements H2 supports: lock the overdue ACTIVE rows
+     * nobody else holds, expire them and release exactly their quantity.
+     *
+     * @return the number of reservations expired
+     */
+    private int expireOverdue() {
+        MapSqlParameterSource params = new MapSqlParameterSource("tenantId", TENANT)
+                .addValue("now", LocalDateTime.now());
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("""
+                SELECT id, quantity FROM stock_reservations
+                WHERE tenant_id = :tenantId AND status = 'ACTIVE' AND expires_at < :now
+                FOR UPDATE SKIP LOCKED
+                """, params);
+        BigDecimal quantity = BigDecimal.ZERO;
+        for (Map<String, Object> row : rows) {
+            jdbcTemplate.update("UPDATE stock_reservations SET status = 'EXPIRED' WHERE id = :id AND status = 'ACTIVE'",
+                    new MapSqlParameterSource("id", row.get("id")));
+            quantity = quantity.add((BigDecimal) row.get("quantity"));
+        }
+        if (!rows.isEmpty()) {
+            availableToPromise.releaseAll(Map.of(
+                    new StockPosition(variant.getId(), warehouse.getId(), null, null, StockStatus.AVAILABLE), quantity));
+        }
+        return rows.size();
+    }
+
+    /**
+     * Runs {@code work} in a transaction on another thread and keeps it open, holding its row
+     * locks, until the calling thread has had time to read the reservation and block on them.
+     */
+    private CompletableFuture<Void> holdOpen(Runnable work) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        CompletableFuture<Void> future = CompletableFuture.runAsync(() -> TenantContext.runWithTenant(TENANT, () ->
+                tx.executeWithoutResult(status -> {
+                    work.run();
+                    done.countDown();
+                    try {
+                        Thread.sleep(500);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                })));
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        return future;
+    }
+
+    private String status(UUID reservationId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM stock_reservations WHERE id = :id",
+                new MapSqlParameterSource("id", reservationId), String.class);
+    }
+
+    private BigDecimal reserved() {
+        return jdbcTemplate.queryForObject("SELECT reserved FROM stock_availability WHERE product_variant_id = :id",
+                new MapSqlParameterSource("id", variant.getId()), BigDecimal.class);
+    }
+}
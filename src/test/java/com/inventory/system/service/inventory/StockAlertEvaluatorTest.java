@@ -0,0 +1,128 @@
+package com.inventory.system.service.inventory;
+
+import com.inventory.system.config.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class StockAlertEvaluatorTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Mock
+    private AuditorAware<String> auditorProvider;
+
+    @InjectMocks
+    private StockAlertEvaluator evaluator;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId("tenant-1");
+        when(auditorProvider.getCurrentAuditor()).thenReturn(Optional.of("tester"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void refresh_LocksRulesThenReplacesTheScopeInOneStatement() {
+        UUID variantId = UUID.randomUUID();
+        UUID warehouseId = UUID.randomUUID();
+        when(jdbcTemplate.update(startsWith("INSERT INTO stock_alerts"), any(SqlParameterSource.class))).thenReturn(2);
+
+        int alerts = evaluator.refresh(variantId, warehouseId);
+
+        assertEquals(2, alerts);
+        var order = inOrder(jdbcTemplate);
+        ArgumentCaptor<String> lock = ArgumentCaptor.forClass(String.class);
+        order.verify(jdbcTemplate).query(lock.capture(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+        order.verify(jdbcTemplate).update(startsWith("DELETE FROM stock_alerts"), any(SqlParameterSource.class));
+        ArgumentCaptor<String> insert = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<SqlParameterSource> parameters = ArgumentCaptor.forClass(SqlParameterSource.class);
+        order.verify(jdbcTemplate).update(insert.capture(), parameters.capture());
+
+        assertTrue(lock.getValue().contains("FOR UPDATE"));
+        assertTrue(insert.getValue().contains("r.product_variant_id = :productVariantId AND r.warehouse_id = :warehouseId"));
+        assertEquals("tenant-1", parameters.getValue().getValue("tenantId"));
+        assertEquals(variantId, parameters.getValue().getValue("productVariantId"));
+        assertEquals(AvailableToPromiseProjection.WAREHOUSE_TOTAL, parameters.getValue().getValue("totalKey"));
+    }
+
+    @Test
+    void refreshScopes_ReevaluatesDistinctPairsInChunkedSetStatements() {
+        UUID warehouseId = UUID.randomUUID();
+        List<StockAlertEvaluator.Scope> scopes = new ArrayList<>();
+        for (int i = 0; i < StockAlertEvaluator.MAX_SCOPES_PER_STATEMENT + 1; i++) {
+            scopes.add(new StockAlertEvaluator.Scope(UUID.randomUUID(), warehouseId));
+        }
+        scopes.add(scopes.get(0));
+        when(jdbcTemplate.update(startsWith("INSERT INTO stock_alerts"), any(SqlParameterSource.class))).thenReturn(1);
+
+        int alerts = evaluator.refresh(scopes);
+
+        assertEquals(2, alerts);
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<SqlParameterSource> parameters = ArgumentCaptor.forClass(SqlParameterSource.class);
+        verify(jdbcTemplate, times(2)).query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+        verify(jdbcTemplate, times(4)).update(statements.capture(), parameters.capture());
+        statements.getAllValues().forEach(sql ->
+                assertTrue(sql.contains("(r.product_variant_id, r.warehouse_id) IN (:scopes)")));
+        assertEquals(StockAlertEvaluator.MAX_SCOPES_PER_STATEMENT,
+                ((List<?>) parameters.getAllValues().get(0).getValue("scopes")).size());
+        assertEquals(1, ((List<?>) parameters.getAllValues().get(3).getValue("scopes")).size());
+    }
+
+    @Test
+    void refreshRule_DeletesTheRulesAlertAndReevaluatesOnlyThatRule() {
+        UUID ruleId = UUID.randomUUID();
+
+        evaluator.refreshRule(ruleId);
+
+        verify(jdbcTemplate).update(startsWith("DELETE FROM stock_alerts"), any(SqlParameterSource.class));
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(2)).update(statements.capture(), any(SqlParameterSource.class));
+        assertTrue(statements.getAllValues().get(0).contains("r.replenishment_rule_id = :ruleId"));
+        assertTrue(statements.getAllValues().get(1).contains("r.id = :ruleId"));
+    }
+
+    @Test
+    void refreshAll_HasNoScopeBeyondTheTenant() {
+        evaluator.refreshAll();
+
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(2)).update(statements.capture(), any(SqlParameterSource.class));
+        statements.getAllValues().forEach(sql -> assertFalse(sql.contains(":ruleId") || sql.contains(":warehouseId")));
+        verify(jdbcTemplate).query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+    }
+}
@@ -0,0 +1,108 @@
+package com.inventory.system.service.inventory;
+
+import com.inventory.system.common.entity.Tenant;
+import com.inventory.system.config.scaling.DistributedLockService;
+import com.inventory.system.config.tenant.routing.ResolvedRouting;
+import com.inventory.system.config.tenant.routing.TenantCatalogService;
+import com.inventory.system.repository.TenantRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class StockMovementPartitionMaintainerTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Mock
+    private TenantRepository tenantRepository;
+    @Mock
+    private DistributedLockService lockService;
+    @Mock
+    private ObjectProvider<TenantCatalogService> tenantCatalog;
+    @Mock
+    private ObjectProvider<StockMovementPartitionMaintainer> self;
+
+    @Test
+    void maintain_RunsOncePerRoutedDatabase() {
+        Tenant sharedA = tenant(Tenant.TenantStatus.ACTIVE);
+        Tenant sharedB = tenant(Tenant.TenantStatus.ACTIVE);
+        Tenant dedicated = tenant(Tenant.TenantStatus.ACTIVE);
+        Tenant suspended = tenant(Tenant.TenantStatus.SUSPENDED);
+        when(tenantRepository.findAll()).thenReturn(List.of(sharedA, sharedB, dedicated, suspended));
+
+        TenantCatalogService catalog = mock(TenantCatalogService.class);
+        when(catalog.resolve(anyString())).thenReturn(ResolvedRouting.shared("__shared__"));
+        when(catalog.resolve(dedicated.getId().toString()))
+                .thenReturn(ResolvedRouting.dedicated(dedicated.getId().toString(), "jdbc:postgresql://db2/inv", "u", "p", "db2"));
+        when(tenantCatalog.getIfAvailable()).thenReturn(catalog);
+
+        StockMovementPartitionMaintainer proxy = mock(StockMovementPartitionMaintainer.class);
+        when(self.getObject()).thenReturn(proxy);
+        when(lockService.tryAcquire(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+
+        StockMovementPartitionMaintainer maintainer = maintainer(0);
+        Map<String, String> databases = maintainer.routedDatabases();
+        maintainer.maintain();
+
+        assertEquals(Map.of("__shared__", sharedA.getId().toString(),
+                dedicated.getId().toString(), dedicated.getId().toString()), databases);
+        verify(proxy, times(2)).maintainCurrentDatabase();
+        verify(lockService).release(anyString(), anyString());
+    }
+
+    @Test
+    void maintain_LockHeldElsewhere_DoesNothing() {
+        when(lockService.tryAcquire(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+
+        maintainer(0).maintain();
+
+        verify(tenantRepository, never()).findAll();
+    }
+
+    @Test
+    void maintainCurrentDatabase_ArchivesOnlyWhenRetentionIsConfigured() {
+        when(jdbcTemplate.queryForObject(anyString(), any(SqlParameterSource.class), eq(Integer.class))).thenReturn(0);
+
+        maintainer(0).maintainCurrentDatabase();
+        verify(jdbcTemplate, never()).queryForObject(startsWith("SELECT archive_"), any(SqlParameterSource.class), eq(Integer.class));
+
+        maintainer(24).maintainCurrentDatabase();
+        verify(jdbcTemplate, times(2)).queryForObject(startsWith("SELECT ensure_"), any(SqlParameterSource.class), eq(Integer.class));
+        verify(jdbcTemplate, times(1)).queryForObject(startsWith("SELECT archive_"), any(SqlParameterSource.class), eq(Integer.class));
+    }
+
+    private StockMovementPartitionMaintainer maintainer(int retentionMonths) {
+        return new StockMovementPartitionMaintainer(jdbcTemplate, tenantRepository, lockService, tenantCatalog, self, 3, retentionMonths);
+    }
+
+    private static Tenant tenant(Tenant.TenantStatus status) {
+        Tenant tenant = new Tenant();
+        tenant.setId(UUID.randomUUID());
+        tenant.setStatus(status);
+        return tenant;
+    }
+}
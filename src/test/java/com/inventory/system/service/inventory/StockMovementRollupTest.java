@@ -0,0 +1,124 @@
+package com.inventory.system.service.inventory;
+
+import com.inventory.system.common.entity.ProductVariant;
+import com.inventory.system.common.entity.StockMovement;
+import com.inventory.system.common.entity.Warehouse;
+import com.inventory.system.config.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class StockMovementRollupTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Mock
+    private AuditorAware<String> auditorProvider;
+
+    @InjectMocks
+    private StockMovementRollup rollup;
+
+    private ProductVariant variant;
+    private Warehouse warehouse;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId("tenant-1");
+        when(auditorProvider.getCurrentAuditor()).thenReturn(Optional.of("tester"));
+        variant = new ProductVariant();
+        variant.setId(UUID.randomUUID());
+        warehouse = new Warehouse();
+        warehouse.setId(UUID.randomUUID());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void record_AddsOneRowPerVariantWarehouseDayAndType() {
+        LocalDateTime morning = LocalDate.of(2026, 3, 2).atTime(9, 0);
+        List<StockMovement> movements = List.of(
+                movement(StockMovement.StockMovementType.OUT, "2", "20", morning),
+                movement(StockMovement.StockMovementType.OUT, "3", "30", morning.plusHours(5)),
+                movement(StockMovement.StockMovementType.OUT, "1", null, morning.plusDays(1)),
+                movement(StockMovement.StockMovementType.IN, "10", "100", morning));
+
+        rollup.record(movements);
+
+        ArgumentCaptor<SqlParameterSource[]> batch = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO stock_movement_daily_totals"), batch.capture());
+        SqlParameterSource[] rows = batch.getValue();
+        assertEquals(3, rows.length);
+
+        SqlParameterSource firstDayOut = List.of(rows).stream()
+                .filter(row -> "OUT".equals(row.getValue("movementType"))
+                        && Date.valueOf(morning.toLocalDate()).equals(row.getValue("movementDate")))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(0, new BigDecimal("5").compareTo((BigDecimal) firstDayOut.getValue("quantity")));
+        assertEquals(0, new BigDecimal("50").compareTo((BigDecimal) firstDayOut.getValue("totalCost")));
+        assertEquals(2L, firstDayOut.getValue("movementCount"));
+        assertEquals("tenant-1", firstDayOut.getValue("tenantId"));
+    }
+
+    @Test
+    void record_NoMovements_WritesNothing() {
+        rollup.record(List.of());
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(SqlParameterSource[].class));
+    }
+
+    @Test
+    void reaggregate_ReplacesTheRangeFromTheLedger() {
+        when(jdbcTemplate.update(startsWith("INSERT"), any(SqlParameterSource.class))).thenReturn(4);
+
+        int rows = rollup.reaggregate(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 3));
+
+        assertEquals(4, rows);
+        var order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).update(startsWith("DELETE FROM stock_movement_daily_totals"), any(SqlParameterSource.class));
+        order.verify(jdbcTemplate).update(startsWith("INSERT INTO stock_movement_daily_totals"), any(SqlParameterSource.class));
+    }
+
+    private StockMovement movement(StockMovement.StockMovementType type, String quantity, String totalCost, LocalDateTime createdAt) {
+        StockMovement movement = new StockMovement();
+        movement.setProductVariant(variant);
+        movement.setWarehouse(warehouse);
+        movement.setType(type);
+        movement.setQuantity(new BigDecimal(quantity));
+        movement.setTotalCost(totalCost != null ? new BigDecimal(totalCost) : null);
+        movement.setCreatedAt(createdAt);
+        return movement;
+    }
+}
@@ -0,0 +1,110 @@
+package com.inventory.system.service.inventory.listeners;
+
+import com.inventory.system.config.tenant.TenantContext;
+import com.inventory.system.service.inventory.StockAlertEvaluator;
+import com.inventory.system.service.inventory.events.AvailableToPromiseChangedEvent;
+import com.inventory.system.service.inventory.events.InventoryChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StockAlertRefreshListenerTest {
+
+    @Mock
+    private StockAlertEvaluator stockAlertEvaluator;
+    @Mock
+    private ObjectProvider<StockAlertRefreshListener> self;
+
+    private StockAlertRefreshListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new StockAlertRefreshListener(stockAlertEvaluator, self);
+        lenient().when(self.getObject()).thenReturn(listener);
+        TenantContext.setTenantId("tenant-a");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(listener);
+    }
+
+    @Test
+    void batchAdjustment_RefreshesEveryTouchedPositionOnceAfterCommit() {
+        UUID warehouseId = UUID.randomUUID();
+        List<UUID> variantIds = new ArrayList<>();
+        TransactionSynchronizationManager.initSynchronization();
+
+        for (int i = 0; i < 200; i++) {
+            UUID variantId = UUID.randomUUID();
+            variantIds.add(variantId);
+            listener.onInventoryChanged(new InventoryChangedEvent(variantId, warehouseId, null, Instant.now()));
+        }
+        listener.onAvailableToPromiseChanged(new AvailableToPromiseChangedEvent(variantIds.get(0), warehouseId, Instant.now()));
+        verify(stockAlertEvaluator, never()).refresh(anyCollection());
+
+        commit();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<StockAlertEvaluator.Scope>> scopes = ArgumentCaptor.forClass(Collection.class);
+        verify(stockAlertEvaluator, times(1)).refresh(scopes.capture());
+        assertEquals(200, scopes.getValue().size());
+        assertEquals(true, scopes.getValue().contains(new StockAlertEvaluator.Scope(variantIds.get(199), warehouseId)));
+    }
+
+    @Test
+    void rolledBackTransaction_RefreshesNothing() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        listener.onInventoryChanged(new InventoryChangedEvent(UUID.randomUUID(), UUID.randomUUID(), null, Instant.now()));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(stockAlertEvaluator, never()).refresh(anyCollection());
+    }
+
+    @Test
+    void outsideTransaction_RefreshesImmediatelyAndSwallowsFailures() {
+        UUID variantId = UUID.randomUUID();
+        UUID warehouseId = UUID.randomUUID();
+        when(stockAlertEvaluator.refresh(any(Collection.class))).thenThrow(new IllegalStateException("locked"));
+
+        listener.onInventoryChanged(new InventoryChangedEvent(variantId, warehouseId, null, Instant.now()));
+
+        verify(stockAlertEvaluator).refresh(Set.of(new StockAlertEvaluator.Scope(variantId, warehouseId)));
+    }
+
+    private void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+}
@@ -0,0 +1,118 @@
+package com.inventory.system.service.reporting;
+
+import com.inventory.system.config.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DashboardCacheTest {
+
+    private static final String TENANT = "tenant-1";
+
+    private DashboardCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DashboardCache(new SimpleMeterRegistry(), 30, 1000);
+        TenantContext.setTenantId(TENANT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void get_ConcurrentLoadsOfTheSameKey_ComputeOnce() throws Exception {
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(50);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                results.add(pool.submit(() -> TenantContext.callWithTenant(TENANT, () ->
+                        cache.get(DashboardCache.View.SUMMARY, null, null, null, () -> {
+                            computations.incrementAndGet();
+                            awaitQuietly(release);
+                            return "summary";
+                        }))));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("summary", result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, computations.get());
+    }
+
+    @Test
+    void invalidate_DropsTheWarehouseAndAllWarehouseEntriesOnly() {
+        UUID changed = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        AtomicInteger computations = new AtomicInteger();
+        for (UUID warehouseId : new UUID[]{changed, other, null}) {
+            cache.get(DashboardCache.View.SUMMARY, warehouseId, null, null, computations::incrementAndGet);
+        }
+
+        cache.invalidate(TENANT, changed);
+        cache.invalidate("tenant-2", null);
+
+        assertEquals(1, cache.size());
+        cache.get(DashboardCache.View.SUMMARY, other, null, null, computations::incrementAndGet);
+        assertEquals(3, computations.get());
+        cache.get(DashboardCache.View.SUMMARY, changed, null, null, computations::incrementAndGet);
+        assertEquals(4, computations.get());
+    }
+
+    @Test
+    void get_FailedComputation_IsNotCached() {
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        assertThrows(IllegalStateException.class, () -> cache.get(DashboardCache.View.WIDGETS, null, from, null, () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals("widgets", cache.get(DashboardCache.View.WIDGETS, null, from, null, () -> "widgets"));
+    }
+
+    @Test
+    void get_ArbitraryDateRanges_StayWithinTheBound() {
+        DashboardCache bounded = new DashboardCache(new SimpleMeterRegistry(), 30, 10);
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        for (int day = 0; day < 100; day++) {
+            LocalDate to = from.plusDays(day);
+            bounded.get(DashboardCache.View.SUMMARY, null, from, to, () -> "summary");
+        }
+
+        assertTrue(bounded.size() <= 10);
+        AtomicInteger computations = new AtomicInteger();
+        bounded.get(DashboardCache.View.SUMMARY, null, from, from.plusDays(99), computations::incrementAndGet);
+        assertEquals(0, computations.get());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.inventory.system.service.reporting.export;
+
+import com.inventory.system.common.entity.ReportOutputFormat;
+import com.inventory.system.payload.GenerateReportRequest;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportRowSinkTest {
+
+    @Test
+    void csv_AppliesFiltersColumnsAndLimitWhileStreaming() throws IOException {
+        GenerateReportRequest request = new GenerateReportRequest();
+        request.setFieldFilters(Map.of("type", "out"));
+        request.setColumns(List.of("sku", "quantity", "missing"));
+        request.setLimit(2);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ReportRowSink sink = new ReportRowSink(request, new CsvReportRowWriter(output));
+        for (int index = 0; index < 10 && !sink.isFull(); index++) {
+            sink.accept(row("SKU-" + index, index, index % 2 == 0 ? "OUT" : "IN", "note, " + index));
+        }
+        int rows = sink.finish();
+
+        assertEquals(2, rows);
+        assertEquals("sku,quantity\nSKU-0,0\nSKU-2,2\n", output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void sortedWithLimit_KeepsOnlyTheFirstRowsInOrder() throws IOException {
+        GenerateReportRequest request = new GenerateReportRequest();
+        request.setSortBy("sku");
+        request.setSortDirection("desc");
+        request.setLimit(3);
+        request.setColumns(List.of("sku"));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ReportRowSink sink = new ReportRowSink(request, new CsvReportRowWriter(output));
+        for (String sku : List.of("b", "e", "a", "d", "c")) {
+            sink.accept(row(sku, 1, "IN", null));
+        }
+        sink.finish();
+
+        assertEquals("sku\ne\nd\nc\n", output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void pdf_AddsPagesInsteadOfTruncating() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (ReportRowWriter writer = ReportRowWriter.open(ReportOutputFormat.PDF, "Stock Movement Report", output)) {
+            ReportRowSink sink = new ReportRowSink(new GenerateReportRequest(), writer);
+            for (int index = 0; index < 300; index++) {
+                sink.accept(row("SKU-" + index, index, "IN", "Lagerbestand – übertragen"));
+            }
+            sink.finish();
+        }
+
+        try (PDDocument document = PDDocument.load(output.toByteArray())) {
+            assertTrue(document.getNumberOfPages() >= 4);
+        }
+    }
+
+    @Test
+    void xlsx_WritesAWorkbookThatReadsBack() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (ReportRowWriter writer = ReportRowWriter.open(ReportOutputFormat.XLSX, "Stock Movement Report", output)) {
+            ReportRowSink sink = new ReportRowSink(new GenerateReportRequest(), writer);
+            for (int index = 0; index < 250; index++) {
+                sink.accept(row("SKU-" + index, index, "IN", null));
+            }
+            sink.finish();
+        }
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(output.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals(250, sheet.getLastRowNum());
+            assertEquals("sku", sheet.getRow(0).getCell(0).getStringCellValue());
+            assertEquals("reason", sheet.getRow(0).getCell(3).getStringCellValue());
+            assertEquals("SKU-249", sheet.getRow(250).getCell(0).getStringCellValue());
+            assertEquals(249d, sheet.getRow(250).getCell(1).getNumericCellValue());
+        }
+    }
+
+    @Test
+    void noMatchingRows_WritesTheDeclaredHeaders() throws IOException {
+        GenerateReportRequest request = new GenerateReportRequest();
+        request.setFieldFilters(Map.of("type", "none"));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ReportRowSink sink = new ReportRowSink(request, new CsvReportRowWriter(output),
+                List.of("sku", "quantity", "type", "reason"), count -> { });
+        sink.accept(row("SKU-1", 1, "IN", null));
+        int rows = sink.finish();
+
+        assertEquals(0, rows);
+        assertEquals("sku,quantity,type,reason\n", output.toString(StandardCharsets.UTF_8));
+
+        request.setColumns(List.of("quantity", "missing", "sku"));
+        output.reset();
+        new ReportRowSink(request, new CsvReportRowWriter(output), List.of("sku", "quantity", "type", "reason"), count -> { })
+                .finish();
+        assertEquals("quantity,sku\n", output.toString(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, Object> row(String sku, int quantity, String type, String reason) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("sku", sku);
+        row.put("quantity", quantity);
+        row.put("type", type);
+        row.put("reason", reason);
+        return row;
+    }
+}
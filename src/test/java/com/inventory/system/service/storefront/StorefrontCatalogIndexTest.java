@@ -0,0 +1,61 @@
+package com.inventory.system.service.storefront;
+
+import com.inventory.system.config.tenant.TenantContext;
+import com.inventory.system.repository.StorefrontCatalogChangeRepository;
+import com.inventory.system.repository.StorefrontCatalogVersionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StorefrontCatalogIndexTest {
+
+    @Mock
+    private StorefrontCatalogVersionRepository versionRepository;
+    @Mock
+    private StorefrontCatalogChangeRepository changeRepository;
+
+    private StorefrontCatalogIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new StorefrontCatalogIndex(versionRepository, changeRepository, new SimpleMeterRegistry());
+        TenantContext.setTenantId("tenant-a");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void current_StaleReaderAfterANewerSnapshot_GetsTheNewerSnapshot() {
+        StorefrontCatalogIndex.Loader loader = mock(StorefrontCatalogIndex.Loader.class);
+        when(loader.loadAll()).thenReturn(List.of());
+        when(versionRepository.findVersionByTenantId("tenant-a"))
+                .thenReturn(Optional.of(6L))
+                .thenReturn(Optional.of(5L));
+
+        StorefrontCatalogSnapshot newer = index.current(loader);
+        // A request whose transaction read the version before the last change committed
+        StorefrontCatalogSnapshot stale = index.current(loader);
+
+        assertSame(newer, stale);
+        assertEquals(6, index.current(loader).version());
+        verify(loader, times(1)).loadAll();
+    }
+}
@@ -0,0 +1,86 @@
+package com.inventory.system.service.storefront;
+
+import com.inventory.system.payload.StorefrontProductDto;
+import com.inventory.system.payload.StorefrontVariantOptionDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StorefrontCatalogSnapshotTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private final StorefrontCatalogEntry shirt = entry("Linen Shirt", "SH-1", "shirts", "12.00", true, 1, NOW);
+    private final StorefrontCatalogEntry tee = entry("Cotton Tee", "TE-1", "shirts", "8.00", false, 1, NOW.plusDays(1));
+    private final StorefrontCatalogEntry mug = entry("Blue Mug", "MU-1", "kitchen", null, false, null, NOW);
+
+    private final StorefrontCatalogSnapshot snapshot = StorefrontCatalogSnapshot.of(3, List.of(mug, shirt, tee));
+
+    @Test
+    void entries_AreInSortOrderThenNewestFirst() {
+        assertEquals(List.of(tee, shirt, mug), snapshot.entries());
+    }
+
+    @Test
+    void search_OrdersBySortKeyAndKeepsBaseOrderForTies() {
+        assertEquals(List.of(shirt, mug, tee), search(null, null, null).items());
+        assertEquals(List.of(mug, tee, shirt), search(null, null, "name").items());
+        assertEquals(List.of(tee, shirt, mug), search(null, null, "price-asc").items());
+        assertEquals(List.of(mug, shirt, tee), search(null, null, "price-desc").items());
+    }
+
+    @Test
+    void search_MatchesQueriesAsSubstringsIgnoringCase() {
+        assertEquals(List.of(tee, shirt), search("SHIRTS", null, "name").items());
+        assertEquals(List.of(shirt), search("en shi", null, null).items());
+        assertEquals(List.of(mug), search("mu-", null, null).items());
+        assertEquals(List.of(), search("shirt mug", null, null).items());
+    }
+
+    @Test
+    void search_FiltersByCollectionAndPages() {
+        StorefrontCatalogSnapshot.Page page = snapshot.search(null, " Shirts ", "name", 1, 5);
+
+        assertEquals(List.of(shirt), page.items());
+        assertEquals(2, page.totalItems());
+        assertEquals(0, search(null, "unknown", null).totalItems());
+    }
+
+    @Test
+    void withTemplates_ReplacesReloadedTemplatesAndDropsUnpublishedOnes() {
+        StorefrontCatalogEntry renamed = entry("Linen Overshirt", "SH-1", "shirts", "12.00", true, 1, NOW);
+        StorefrontCatalogEntry sameTemplate = new StorefrontCatalogEntry(shirt.productTemplateId(), renamed.product(),
+                renamed.sortOrder(), renamed.newestVariantCreatedAt(), renamed.collectionSlugs(), renamed.searchText());
+
+        StorefrontCatalogSnapshot updated = snapshot.withTemplates(5,
+                List.of(shirt.productTemplateId(), mug.productTemplateId()), List.of(sameTemplate));
+
+        assertEquals(5, updated.version());
+        assertEquals(List.of(tee, sameTemplate), updated.entries());
+        assertEquals(List.of(sameTemplate), updated.search("overshirt", null, null, 0, 10).items());
+        assertEquals(3, snapshot.entries().size());
+    }
+
+    private StorefrontCatalogSnapshot.Page search(String query, String collectionSlug, String sort) {
+        return snapshot.search(query, collectionSlug, sort, 0, 10);
+    }
+
+    private static StorefrontCatalogEntry entry(String name, String sku, String collectionSlug, String price,
+                                                boolean featured, Integer sortOrder, LocalDateTime createdAt) {
+        StorefrontProductDto product = new StorefrontProductDto();
+        product.setName(name);
+        product.setSku(sku);
+        product.setCategory(collectionSlug);
+        product.setCollectionSlug(collectionSlug);
+        product.setPrice(price != null ? new BigDecimal(price) : null);
+        product.setFeatured(featured);
+        product.setVariants(List.of(new StorefrontVariantOptionDto(UUID.randomUUID().toString(), null, sku, sku,
+                product.getPrice(), null, null, null, featured, null)));
+        return StorefrontCatalogEntry.of(UUID.randomUUID(), product, sortOrder, createdAt);
+    }
+}
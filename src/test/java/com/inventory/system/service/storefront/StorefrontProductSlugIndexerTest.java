@@ -0,0 +1,147 @@
+package com.inventory.system.service.storefront;
+
+import com.inventory.system.common.entity.ProductTemplate;
+import com.inventory.system.common.entity.ProductVariant;
+import com.inventory.system.common.entity.StorefrontProductSlug;
+import com.inventory.system.config.tenant.TenantContext;
+import com.inventory.system.repository.ProductVariantRepository;
+import com.inventory.system.repository.StorefrontProductSlugRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StorefrontProductSlugIndexerTest {
+
+    private static final String TENANT = "tenant-1";
+
+    @Mock
+    private ProductVariantRepository productVariantRepository;
+
+    @Mock
+    private StorefrontProductSlugRepository slugRepository;
+
+    @InjectMocks
+    private StorefrontProductSlugIndexer indexer;
+
+    private final UUID templateId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId(TENANT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void reindex_IndexesTheTemplateSlugAndOneSlugPerVariant() {
+        ProductTemplate template = template("Linen Shirt", null);
+        ProductVariant older = variant(template, "SH-1", LocalDateTime.of(2026, 1, 1, 0, 0));
+        ProductVariant newer = variant(template, "SH-2", LocalDateTime.of(2026, 1, 2, 0, 0));
+        publishedVariants(older, newer);
+
+        List<StorefrontProductSlug> saved = reindex();
+
+        assertEquals(List.of("linen-shirt", "linen-shirt-sh-1", "linen-shirt-sh-2"), slugs(saved));
+        assertNull(saved.get(0).getProductVariantId());
+        assertEquals(older.getId(), saved.get(1).getProductVariantId());
+        assertTrue(saved.stream().allMatch(row -> row.getIsCurrent() && templateId.equals(row.getProductTemplateId())));
+    }
+
+    @Test
+    void reindex_RetiresSlugsTheTemplateNoLongerUses() {
+        publishedVariants(variant(template("Linen Shirt", "linen-overshirt"), "SH-1", LocalDateTime.now()));
+        StorefrontProductSlug previous = slug("linen-shirt", templateId, true);
+        when(slugRepository.findByTenantIdAndProductTemplateId(TENANT, templateId)).thenReturn(List.of(previous));
+
+        List<StorefrontProductSlug> saved = reindex();
+
+        assertEquals(List.of("linen-overshirt", "linen-shirt"), slugs(saved));
+        assertFalse(previous.getIsCurrent());
+    }
+
+    @Test
+    void reindex_LeavesSlugsOfOtherProductsButReclaimsRetiredOnes() {
+        ProductTemplate template = template("Linen Shirt", null);
+        publishedVariants(variant(template, "SH-1", LocalDateTime.now()), variant(template, "SH-2", LocalDateTime.now()));
+        UUID otherTemplateId = UUID.randomUUID();
+        StorefrontProductSlug taken = slug("linen-shirt", otherTemplateId, true);
+        StorefrontProductSlug retired = slug("linen-shirt-sh-1", otherTemplateId, false);
+        when(slugRepository.findByTenantIdAndSlugIn(eq(TENANT), anyCollection())).thenReturn(List.of(taken, retired));
+
+        List<StorefrontProductSlug> saved = reindex();
+
+        assertEquals(List.of("linen-shirt-sh-1", "linen-shirt-sh-2"), slugs(saved));
+        assertEquals(otherTemplateId, taken.getProductTemplateId());
+        assertEquals(templateId, retired.getProductTemplateId());
+        assertTrue(retired.getIsCurrent());
+    }
+
+    private List<StorefrontProductSlug> reindex() {
+        indexer.reindex(templateId);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StorefrontProductSlug>> saved = ArgumentCaptor.forClass(List.class);
+        verify(slugRepository).saveAll(saved.capture());
+        List<StorefrontProductSlug> rows = new ArrayList<>(saved.getValue());
+        rows.sort(Comparator.comparing(StorefrontProductSlug::getSlug));
+        return rows;
+    }
+
+    private void publishedVariants(ProductVariant... variants) {
+        when(productVariantRepository.findByTenantIdAndTemplateIdInAndTemplatePublishedToStorefrontTrueAndTemplateIsActiveTrue(
+                eq(TENANT), any())).thenReturn(List.of(variants));
+    }
+
+    private ProductTemplate template(String name, String storefrontSlug) {
+        ProductTemplate template = new ProductTemplate();
+        template.setId(templateId);
+        template.setName(name);
+        template.setStorefrontSlug(storefrontSlug);
+        return template;
+    }
+
+    private static ProductVariant variant(ProductTemplate template, String sku, LocalDateTime createdAt) {
+        ProductVariant variant = new ProductVariant();
+        variant.setId(UUID.randomUUID());
+        variant.setTemplate(template);
+        variant.setSku(sku);
+        variant.setCreatedAt(createdAt);
+        return variant;
+    }
+
+    private static StorefrontProductSlug slug(String slug, UUID templateId, boolean current) {
+        StorefrontProductSlug row = new StorefrontProductSlug();
+        row.setSlug(slug);
+        row.setProductTemplateId(templateId);
+        row.setIsCurrent(current);
+        return row;
+    }
+
+    private static List<String> slugs(List<StorefrontProductSlug> rows) {
+        return rows.stream().map(StorefrontProductSlug::getSlug).toList();
+    }
+}
@@ -0,0 +1,61 @@
+package com.inventory.system.service.storefront;
+
+import com.inventory.system.config.scaling.CacheInvalidationBus;
+import com.inventory.system.payload.StorefrontConfigDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class StorefrontPublishedConfigCacheTest {
+
+    private CacheInvalidationBus bus;
+    private StorefrontPublishedConfigCache cache;
+
+    @BeforeEach
+    void setUp() {
+        bus = new CacheInvalidationBus(null, false);
+        cache = new StorefrontPublishedConfigCache(bus, new SimpleMeterRegistry(), 300);
+    }
+
+    @Test
+    void invalidate_DropsOnlyTheTenantsEntry() {
+        StorefrontPublishedConfig first = published(1);
+        StorefrontPublishedConfig other = published(7);
+        cache.load("tenant-a", () -> first);
+        cache.load("tenant-b", () -> other);
+
+        assertSame(first, cache.getIfPresent("tenant-a"));
+        cache.invalidate("tenant-a");
+
+        assertNull(cache.getIfPresent("tenant-a"));
+        assertSame(other, cache.getIfPresent("tenant-b"));
+    }
+
+    @Test
+    void load_OverlappingAnInvalidation_IsReturnedButNotKept() {
+        StorefrontPublishedConfig stale = published(1);
+
+        StorefrontPublishedConfig loaded = cache.load("tenant-a", () -> {
+            bus.invalidate(StorefrontPublishedConfigCache.CACHE, "tenant-a");
+            return stale;
+        });
+
+        assertSame(stale, loaded);
+        assertNull(cache.getIfPresent("tenant-a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void load_UnpublishedTenant_IsNotCached() {
+        assertNull(cache.load("tenant-a", () -> null));
+        assertEquals(0, cache.size());
+    }
+
+    private static StorefrontPublishedConfig published(int versionNumber) {
+        return new StorefrontPublishedConfig(versionNumber, "\"" + versionNumber + "-0\"", new StorefrontConfigDto());
+    }
+}